@@ -43,7 +43,8 @@ public class CorsConfig {
         corsConfig.setExposedHeaders(Arrays.asList(
             "Authorization",
             "Content-Type",
-            "X-Total-Count"
+            "X-Total-Count",
+            "Server-Timing"
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,121 @@
+package com.eadgequry.chat_bot_service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Optional memoization of raw provider responses for low-temperature calls (mapping and SQL).
+ * Keys are a SHA-256 of provider, model, temperature, the full message list and a scope: the hash
+ * of the API key that paid for the response, or "shared" when the user opted in to cross-key reuse.
+ * Backed by a {@link MappedResponseStore} so hot entries survive restarts. Disabled by default.
+ */
+@Component
+public class LlmResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmResponseCache.class);
+
+    public static final String SHARED_SCOPE = "shared";
+
+    @Value("${chatbot.llm-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chatbot.llm-cache.directory:llm-cache}")
+    private String directory;
+
+    @Value("${chatbot.llm-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${chatbot.llm-cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${chatbot.llm-cache.max-temperature:0.3}")
+    private double maxTemperature;
+
+    private MappedResponseStore store;
+
+    @PostConstruct
+    void open() {
+        if (!enabled) {
+            return;
+        }
+        MappedResponseStore opened = new MappedResponseStore(Paths.get(directory, "llm-responses.log"), maxBytes,
+                Duration.ofMinutes(ttlMinutes), Clock.systemUTC());
+        try {
+            opened.open();
+            store = opened;
+            log.info("LLM response cache opened with {} entries", opened.size());
+        } catch (IOException e) {
+            log.warn("LLM response cache disabled: cannot open {}", directory, e);
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                log.warn("Failed to close LLM response cache", e);
+            }
+            store = null;
+        }
+    }
+
+    /**
+     * Only deterministic-ish calls are cached; answer generation runs hotter and should vary
+     */
+    public boolean isCacheable(Double temperature) {
+        return store != null && temperature != null && temperature <= maxTemperature;
+    }
+
+    /**
+     * Cache scope for a call: responses are only reused under the same API key unless the user opted in
+     */
+    public static String scope(boolean shareAcrossKeys, String apiKey) {
+        return shareAcrossKeys ? SHARED_SCOPE : "key:" + HexFormat.of().formatHex(sha256(String.valueOf(apiKey)));
+    }
+
+    public static byte[] key(String provider, String model, Double temperature, String scope, String... messages) {
+        StringBuilder material = new StringBuilder()
+                .append(provider).append('\0')
+                .append(model).append('\0')
+                .append(temperature).append('\0')
+                .append(scope);
+        for (String message : messages) {
+            // Length prefix keeps ("ab","c") and ("a","bc") apart
+            material.append('\0').append(message.length()).append(':').append(message);
+        }
+        return sha256(material.toString());
+    }
+
+    public synchronized String get(byte[] key) {
+        return store != null ? store.get(key) : null;
+    }
+
+    public synchronized void put(byte[] key, String rawResponse) {
+        if (store != null && rawResponse != null) {
+            store.put(key, rawResponse);
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.eadgequry.chat_bot_service.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only key/value log in a memory-mapped file with an in-memory LRU index.
+ * <p>
+ * Record layout: magic (4) | key (32) | createdAt epoch millis (8) | length (4) | value | crc32 (4).
+ * On open the log is scanned and the index rebuilt (last write wins); the scan stops at the first
+ * record with a bad magic or checksum, so a torn write only loses the tail. When the log is full,
+ * live entries are compacted to the start of the file. Entries older than the TTL are dropped on
+ * read and on compaction; the least recently used are evicted once live values exceed the size cap.
+ * Not thread-safe on its own; {@link LlmResponseCache} synchronizes access.
+ */
+final class MappedResponseStore implements Closeable {
+
+    static final int KEY_BYTES = 32;
+
+    private static final int MAGIC = 0x4C4C4D31;  // "LLM1"
+    private static final int HEADER_BYTES = 4 + KEY_BYTES + 8 + 4;
+    private static final int TRAILER_BYTES = 4;
+
+    private final Path file;
+    private final int capacity;
+    private final long maxLiveBytes;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    // accessOrder = true: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long liveBytes;
+
+    private record Entry(int offset, int length, long createdAt) {
+    }
+
+    /**
+     * @param maxLiveBytes LRU cap on the stored values; the file is mapped at twice this size
+     *                     so appends have headroom before a compaction
+     */
+    MappedResponseStore(Path file, long maxLiveBytes, Duration ttl, Clock clock) {
+        this.file = file;
+        this.maxLiveBytes = maxLiveBytes;
+        this.capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(64 * 1024, maxLiveBytes * 2));
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    void open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        scan();
+    }
+
+    String get(byte[] key) {
+        String hex = HexFormat.of().formatHex(key);
+        Entry entry = index.get(hex);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry.createdAt())) {
+            remove(hex);
+            return null;
+        }
+        byte[] value = new byte[entry.length()];
+        buffer.get(entry.offset() + HEADER_BYTES, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    void put(byte[] key, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int recordSize = HEADER_BYTES + bytes.length + TRAILER_BYTES;
+        if (recordSize > capacity / 4 || bytes.length > maxLiveBytes) {
+            return;  // not worth evicting a quarter of the cache for one response
+        }
+        String hex = HexFormat.of().formatHex(key);
+        remove(hex);
+        if (writePosition + recordSize > capacity) {
+            compact();
+            if (writePosition + recordSize > capacity) {
+                return;
+            }
+        }
+        long createdAt = clock.millis();
+        int offset = writePosition;
+        writeRecord(offset, key, createdAt, bytes);
+        writePosition = offset + recordSize;
+        markEnd();
+
+        index.put(hex, new Entry(offset, bytes.length, createdAt));
+        liveBytes += bytes.length;
+        evictOverCap();
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void scan() {
+        int position = 0;
+        while (position + HEADER_BYTES + TRAILER_BYTES <= capacity && buffer.getInt(position) == MAGIC) {
+            int length = buffer.getInt(position + 4 + KEY_BYTES + 8);
+            int end = position + HEADER_BYTES + length;
+            if (length < 0 || end + TRAILER_BYTES > capacity || buffer.getInt(end) != crc(position, end)) {
+                break;
+            }
+            byte[] key = new byte[KEY_BYTES];
+            buffer.get(position + 4, key);
+            long createdAt = buffer.getLong(position + 4 + KEY_BYTES);
+            String hex = HexFormat.of().formatHex(key);
+            remove(hex);
+            if (!isExpired(createdAt)) {
+                index.put(hex, new Entry(position, length, createdAt));
+                liveBytes += length;
+            }
+            position = end + TRAILER_BYTES;
+        }
+        writePosition = position;
+        markEnd();
+        evictOverCap();
+    }
+
+    /**
+     * Rewrite live entries from the start of the file, least recently used first so the
+     * LRU order survives the next scan
+     */
+    private void compact() {
+        List<Map.Entry<String, byte[]>> live = new ArrayList<>(index.size());
+        List<Long> createdAts = new ArrayList<>(index.size());
+        for (Map.Entry<String, Entry> e : index.entrySet()) {
+            Entry entry = e.getValue();
+            if (isExpired(entry.createdAt())) {
+                continue;
+            }
+            byte[] value = new byte[entry.length()];
+            buffer.get(entry.offset() + HEADER_BYTES, value);
+            live.add(Map.entry(e.getKey(), value));
+            createdAts.add(entry.createdAt());
+        }
+
+        index.clear();
+        liveBytes = 0;
+        int position = 0;
+        for (int i = 0; i < live.size(); i++) {
+            byte[] key = HexFormat.of().parseHex(live.get(i).getKey());
+            byte[] value = live.get(i).getValue();
+            writeRecord(position, key, createdAts.get(i), value);
+            index.put(live.get(i).getKey(), new Entry(position, value.length, createdAts.get(i)));
+            liveBytes += value.length;
+            position += HEADER_BYTES + value.length + TRAILER_BYTES;
+        }
+        writePosition = position;
+        markEnd();
+    }
+
+    private void writeRecord(int offset, byte[] key, long createdAt, byte[] value) {
+        buffer.putInt(offset, MAGIC);
+        buffer.put(offset + 4, key);
+        buffer.putLong(offset + 4 + KEY_BYTES, createdAt);
+        buffer.putInt(offset + 4 + KEY_BYTES + 8, value.length);
+        buffer.put(offset + HEADER_BYTES, value);
+        int end = offset + HEADER_BYTES + value.length;
+        buffer.putInt(end, crc(offset, end));
+    }
+
+    /**
+     * Clear the magic after the last record so stale records left behind by a compaction are not replayed
+     */
+    private void markEnd() {
+        if (writePosition + 4 <= capacity) {
+            buffer.putInt(writePosition, 0);
+        }
+    }
+
+    private int crc(int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(from, to - from));
+        return (int) crc.getValue();
+    }
+
+    private void evictOverCap() {
+        Iterator<Entry> eldest = index.values().iterator();
+        while (liveBytes > maxLiveBytes && eldest.hasNext()) {
+            liveBytes -= eldest.next().length();
+            eldest.remove();
+        }
+    }
+
+    private void remove(String hex) {
+        Entry previous = index.remove(hex);
+        if (previous != null) {
+            liveBytes -= previous.length();
+        }
+    }
+
+    private boolean isExpired(long createdAt) {
+        return ttlMillis > 0 && clock.millis() - createdAt > ttlMillis;
+    }
+}
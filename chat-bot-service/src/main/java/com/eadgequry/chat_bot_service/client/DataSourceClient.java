@@ -17,12 +17,15 @@ public interface DataSourceClient {
                         @PathVariable("userId") Long userId);
 
         /**
-         * Execute SQL query on the specified database
+         * Execute SQL query on the specified database, reading at most maxRows rows.
+         * Pass {@link QueryExecutionResponse#COMPACT_LAYOUT} to get columns plus row arrays.
          * Note: This endpoint should only accept SELECT queries
          */
         @PostMapping("/query/execute")
         QueryExecutionResponse executeQuery(
                         @RequestParam("databaseConfigId") Long databaseConfigId,
                         @RequestParam("userId") Long userId,
+                        @RequestParam("maxRows") Integer maxRows,
+                        @RequestParam("layout") String layout,
                         @RequestBody String sqlQuery);
 }
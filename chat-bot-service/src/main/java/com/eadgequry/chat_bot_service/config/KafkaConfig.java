@@ -0,0 +1,105 @@
+package com.eadgequry.chat_bot_service.config;
+
+import com.eadgequry.chat_bot_service.event.AskJobEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka configuration for the async ask work queue
+ * Any instance can publish; instances with chatbot.async.worker-enabled=true consume
+ */
+@Configuration
+public class KafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${kafka.topics.ask-jobs}")
+    private String askJobsTopic;
+
+    @Value("${kafka.topics.ask-jobs-partitions:6}")
+    private int askJobsPartitions;
+
+    @Value("${chatbot.async.worker-concurrency:3}")
+    private int workerConcurrency;
+
+    @Bean
+    public NewTopic askJobsTopic() {
+        return TopicBuilder.name(askJobsTopic)
+                .partitions(askJobsPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    // ---------------- Producer ----------------
+    @Bean
+    public ProducerFactory<String, AskJobEvent> askJobProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, AskJobEvent> askJobKafkaTemplate() {
+        return new KafkaTemplate<>(askJobProducerFactory());
+    }
+
+    // ---------------- Consumer ----------------
+    @Bean
+    public ConsumerFactory<String, AskJobEvent> askJobConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // A job can take as long as the AI timeout, poll one record at a time
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1);
+
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+
+        config.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.eadgequry.chat_bot_service.event");
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, AskJobEvent.class.getName());
+
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, AskJobEvent> askJobKafkaListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, AskJobEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(askJobConsumerFactory());
+        factory.setConcurrency(workerConcurrency);
+        return factory;
+    }
+}
@@ -0,0 +1,23 @@
+package com.eadgequry.chat_bot_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Local stub AI provider (LOCAL_STUB) used for offline load testing and CI
+ */
+@Configuration
+@ConfigurationProperties(prefix = "chatbot.stub")
+@Data
+public class StubAiProperties {
+    private boolean enabled = false;
+    private String url;
+    private String model = "local-stub";
+    private long latencyMs = 150;
+    private long latencyJitterMs = 50;
+    private double errorRate = 0.0;       // fraction of calls answered with HTTP 500
+    private double rateLimitRate = 0.0;   // fraction of calls answered with HTTP 429
+    private int streamChunkSize = 16;     // characters per SSE delta
+    private long streamChunkDelayMs = 10;
+}
@@ -0,0 +1,30 @@
+package com.eadgequry.chat_bot_service.consumer;
+
+import com.eadgequry.chat_bot_service.event.AskJobEvent;
+import com.eadgequry.chat_bot_service.service.AskJobService;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka worker for async ask jobs
+ * Offsets are committed after the pipeline returns, so a job whose worker dies is redelivered
+ */
+@Component
+public class AskJobConsumer {
+
+    private final AskJobService askJobService;
+
+    public AskJobConsumer(AskJobService askJobService) {
+        this.askJobService = askJobService;
+    }
+
+    @KafkaListener(
+        topics = "${kafka.topics.ask-jobs}",
+        groupId = "${spring.kafka.consumer.group-id}",
+        containerFactory = "askJobKafkaListenerFactory",
+        autoStartup = "${chatbot.async.worker-enabled:true}"
+    )
+    public void handleAskJob(AskJobEvent event) {
+        askJobService.process(event);
+    }
+}
@@ -1,8 +1,13 @@
 package com.eadgequry.chat_bot_service.controller;
 
+import com.eadgequry.chat_bot_service.dto.AskJobResponse;
+import com.eadgequry.chat_bot_service.dto.BatchChatRequest;
+import com.eadgequry.chat_bot_service.dto.BatchChatResult;
 import com.eadgequry.chat_bot_service.dto.ChatRequest;
 import com.eadgequry.chat_bot_service.dto.ChatResponse;
 import com.eadgequry.chat_bot_service.model.Conversation;
+import com.eadgequry.chat_bot_service.service.AskJobService;
+import com.eadgequry.chat_bot_service.service.BatchChatService;
 import com.eadgequry.chat_bot_service.service.ChatbotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +32,8 @@ public class ChatbotController {
     private static final Logger log = LoggerFactory.getLogger(ChatbotController.class);
 
     private final ChatbotService chatbotService;
+    private final AskJobService askJobService;
+    private final BatchChatService batchChatService;
 
     /**
      * Ask a question (non-streaming response)
@@ -37,7 +44,57 @@ public class ChatbotController {
         log.info("Received question: {} from user: {}", request.getQuestion(), request.getUserId());
         ChatResponse response = chatbotService.ask(request);
         log.info("Response generated successfully");
-        return ResponseEntity.ok(response);
+        if (response.getTimings() == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok()
+                .header("Server-Timing", response.getTimings().toServerTimingHeader())
+                .body(response);
+    }
+
+    /**
+     * Ask several questions against one database (Server-Sent Events, one result per question as it finishes)
+     */
+    @PostMapping(value = "/ask/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Ask a batch of questions", description = "Run up to 50 questions against one database and stream each result as it finishes")
+    public Flux<BatchChatResult> askBatch(@Valid @RequestBody BatchChatRequest request) {
+        log.info("Received batch of {} questions from user: {}", request.getQuestions().size(), request.getUserId());
+        return batchChatService.askBatch(request);
+    }
+
+    /**
+     * Ask a question asynchronously - the question is queued and processed by a worker
+     */
+    @PostMapping("/ask/async")
+    @Operation(summary = "Ask a question asynchronously", description = "Queue a question and get a job ID to poll or subscribe to")
+    public ResponseEntity<AskJobResponse> askAsync(@Valid @RequestBody ChatRequest request) {
+        log.info("Received async question: {} from user: {}", request.getQuestion(), request.getUserId());
+        AskJobResponse job = askJobService.submit(request);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    /**
+     * Get async job status and result
+     */
+    @GetMapping("/ask/jobs/{jobId}")
+    @Operation(summary = "Get ask job", description = "Poll the status and result of an async question")
+    public ResponseEntity<AskJobResponse> getAskJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId,
+            @Parameter(description = "User ID") @RequestParam Long userId) {
+
+        return ResponseEntity.ok(askJobService.getJob(jobId, userId));
+    }
+
+    /**
+     * Subscribe to async job status changes (Server-Sent Events)
+     */
+    @GetMapping(value = "/ask/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to ask job", description = "Stream status changes of an async question until it finishes")
+    public Flux<AskJobResponse> subscribeAskJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId,
+            @Parameter(description = "User ID") @RequestParam Long userId) {
+
+        return askJobService.watchJob(jobId, userId);
     }
 
     /**
@@ -0,0 +1,179 @@
+package com.eadgequry.chat_bot_service.controller;
+
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
+import com.eadgequry.chat_bot_service.service.LocalStubAiService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stub of an OpenAI-compatible chat-completions endpoint (LOCAL_STUB provider).
+ * Only registered when chatbot.stub.enabled=true. Supports "stream": true (SSE deltas),
+ * configurable latency, and injected 500/429 responses for load and resilience testing.
+ */
+@RestController
+@Hidden
+@ConditionalOnProperty(prefix = "chatbot.stub", name = "enabled", havingValue = "true")
+public class LocalStubAiController {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStubAiController.class);
+
+    private final LocalStubAiService stubAiService;
+    private final StubAiProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public LocalStubAiController(LocalStubAiService stubAiService, StubAiProperties properties,
+                                 ObjectMapper objectMapper) {
+        this.stubAiService = stubAiService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/stub-ai/v1/chat/completions")
+    public ResponseEntity<StreamingResponseBody> chatCompletions(@RequestBody JsonNode request) {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < properties.getRateLimitRate()) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded (stub)");
+        }
+        if (roll < properties.getRateLimitRate() + properties.getErrorRate()) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Injected failure (stub)");
+        }
+
+        String prompt = lastUserMessage(request);
+        String model = request.path("model").asText(properties.getModel());
+        String content = stubAiService.complete(prompt);
+        String id = "stub-" + UUID.randomUUID();
+
+        if (request.path("stream").asBoolean(false)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(out -> stream(out, id, model, prompt, content));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    sleep(latency());
+                    out.write(objectMapper.writeValueAsBytes(completion(id, model, prompt, content)));
+                });
+    }
+
+    private void stream(OutputStream out, String id, String model, String prompt, String content) throws IOException {
+        sleep(latency());
+        int chunkSize = Math.max(1, properties.getStreamChunkSize());
+        for (int start = 0; start < content.length(); start += chunkSize) {
+            String piece = content.substring(start, Math.min(content.length(), start + chunkSize));
+            ObjectNode chunk = chunk(id, model);
+            chunk.withArray("choices").addObject()
+                    .put("index", 0)
+                    .putNull("finish_reason")
+                    .putObject("delta").put("content", piece);
+            writeEvent(out, chunk.toString());
+            sleep(properties.getStreamChunkDelayMs());
+        }
+
+        ObjectNode last = chunk(id, model);
+        last.withArray("choices").addObject()
+                .put("index", 0)
+                .put("finish_reason", "stop")
+                .putObject("delta");
+        last.set("usage", usage(prompt, content));
+        writeEvent(out, last.toString());
+        writeEvent(out, "[DONE]");
+    }
+
+    private ObjectNode completion(String id, String model, String prompt, String content) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("id", id);
+        body.put("object", "chat.completion");
+        body.put("created", System.currentTimeMillis() / 1000);
+        body.put("model", model);
+        ObjectNode choice = body.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.put("finish_reason", "stop");
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        body.set("usage", usage(prompt, content));
+        return body;
+    }
+
+    private ObjectNode chunk(String id, String model) {
+        ObjectNode chunk = objectMapper.createObjectNode();
+        chunk.put("id", id);
+        chunk.put("object", "chat.completion.chunk");
+        chunk.put("created", System.currentTimeMillis() / 1000);
+        chunk.put("model", model);
+        chunk.putArray("choices");
+        return chunk;
+    }
+
+    private ObjectNode usage(String prompt, String content) {
+        int promptTokens = stubAiService.estimateTokens(prompt);
+        int completionTokens = stubAiService.estimateTokens(content);
+        ObjectNode usage = objectMapper.createObjectNode();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        return usage;
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(HttpStatus status, String message) {
+        log.debug("Stub AI returning {}", status.value());
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("error").put("message", message).put("code", status.value());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+        if (status == HttpStatus.TOO_MANY_REQUESTS) {
+            response.header("Retry-After", "1");
+        }
+        return response.body(out -> out.write(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private String lastUserMessage(JsonNode request) {
+        String prompt = "";
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                prompt = message.path("content").asText();
+            }
+        }
+        return prompt;
+    }
+
+    private long latency() {
+        long jitter = properties.getLatencyJitterMs() > 0
+                ? ThreadLocalRandom.current().nextLong(-properties.getLatencyJitterMs(), properties.getLatencyJitterMs() + 1)
+                : 0;
+        return Math.max(0, properties.getLatencyMs() + jitter);
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.eadgequry.chat_bot_service.controller;
 import com.eadgequry.chat_bot_service.dto.UpdateAiSettingsRequest;
 import com.eadgequry.chat_bot_service.dto.UserAiSettingsDTO;
 import com.eadgequry.chat_bot_service.service.UserAiSettingsService;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserAiSettingsController {
 
     private final UserAiSettingsService service;
+    private final StubAiProperties stubAiProperties;
 
     /**
      * Get user's AI settings
@@ -69,6 +71,13 @@ public class UserAiSettingsController {
                 "gpt-3.5-turbo"
         });
 
+        // Local stub provider (load testing only)
+        if (stubAiProperties.isEnabled()) {
+            response.addProvider("LOCAL_STUB", "Local Stub (Load Testing)", new String[] {
+                    stubAiProperties.getModel()
+            });
+        }
+
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,42 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import com.eadgequry.chat_bot_service.model.AskJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AskJobResponse {
+
+    private String jobId;
+    private String status;  // PENDING, RUNNING, COMPLETED, FAILED
+    private String question;
+    private ChatResponse result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public static AskJobResponse fromEntity(AskJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        return AskJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus().name())
+                .question(job.getQuestion())
+                .result(job.getResult())
+                .error(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
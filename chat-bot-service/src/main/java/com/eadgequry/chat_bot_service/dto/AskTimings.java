@@ -0,0 +1,72 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-request latency breakdown, returned in ChatResponse and as a Server-Timing header
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AskTimings {
+
+    private Map<String, Long> stagesMs = new LinkedHashMap<>();  // stage name -> milliseconds
+    private List<LlmCall> llmCalls = new ArrayList<>();
+    private Long queryServerMs;  // executionTimeMs reported by data-source
+    private Long totalMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LlmCall {
+        private String call;
+        private String model;
+        private long durationMs;
+        private Integer promptTokens;
+        private Integer completionTokens;
+    }
+
+    public void addStage(String stage, long durationMs) {
+        stagesMs.merge(stage, durationMs, Long::sum);
+    }
+
+    /**
+     * Format as a Server-Timing header value, e.g. {@code schema_fetch;dur=12, llm_sql;dur=840;desc="512/64 tokens"}
+     */
+    public String toServerTimingHeader() {
+        List<String> metrics = new ArrayList<>();
+        stagesMs.forEach((stage, ms) -> metrics.add(stage + ";dur=" + ms));
+
+        int index = 0;
+        for (LlmCall llmCall : llmCalls) {
+            // Suffix with the call index so retried calls stay distinct entries
+            StringBuilder metric = new StringBuilder("llm_").append(llmCall.getCall())
+                    .append('_').append(++index)
+                    .append(";dur=").append(llmCall.getDurationMs());
+            if (llmCall.getPromptTokens() != null || llmCall.getCompletionTokens() != null) {
+                metric.append(";desc=\"").append(tokenCount(llmCall.getPromptTokens()))
+                        .append('/').append(tokenCount(llmCall.getCompletionTokens())).append(" tokens\"");
+            }
+            metrics.add(metric.toString());
+        }
+
+        if (queryServerMs != null) {
+            metrics.add("db_server;dur=" + queryServerMs);
+        }
+        if (totalMs != null) {
+            metrics.add("total;dur=" + totalMs);
+        }
+        return String.join(", ", metrics);
+    }
+
+    private static String tokenCount(Integer tokens) {
+        return tokens != null ? tokens.toString() : "?";
+    }
+}
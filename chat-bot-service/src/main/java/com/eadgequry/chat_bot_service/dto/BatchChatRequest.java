@@ -0,0 +1,35 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChatRequest {
+
+    @NotEmpty(message = "At least one question is required")
+    @Size(max = 50, message = "A batch must not exceed 50 questions")
+    private List<@NotBlank(message = "Question cannot be empty")
+            @Size(max = 500, message = "Question must not exceed 500 characters") String> questions;
+
+    @NotNull(message = "Database config ID is required")
+    private Long databaseConfigId;
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    // Optional, capped by chatbot.batch.parallelism
+    @Min(value = 1, message = "Parallelism must be at least 1")
+    @Max(value = 16, message = "Parallelism must not exceed 16")
+    private Integer parallelism;
+}
@@ -0,0 +1,44 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChatResult {
+
+    private int index;          // position of the question in the request
+    private String question;
+    private boolean success;
+    private ChatResponse response;
+    private String error;
+    private int attempts;
+    private long durationMs;
+
+    public static BatchChatResult of(int index, String question, ChatResponse response, int attempts, long durationMs) {
+        return BatchChatResult.builder()
+                .index(index)
+                .question(question)
+                .success(response.isSuccess())
+                .response(response)
+                .error(response.getError())
+                .attempts(attempts)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    public static BatchChatResult failed(int index, String question, String error, int attempts, long durationMs) {
+        return BatchChatResult.builder()
+                .index(index)
+                .question(question)
+                .success(false)
+                .error(error)
+                .attempts(attempts)
+                .durationMs(durationMs)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.eadgequry.chat_bot_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,9 @@ public class ChatResponse {
     private String answer;
     private String error;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AskTimings timings;
+
     public static ChatResponse success(String question, String sqlQuery, List<Map<String, Object>> sqlResult, String answer) {
         return ChatResponse.builder()
                 .success(true)
@@ -19,6 +19,7 @@ public class DatabaseSchemaDTO {
     private Long id;
     private Long databaseConfigId;
     private String schemaJson;
+    private Long schemaVersion;
     @JsonIgnore
     private LocalDateTime extractedAt;
     private LocalDateTime createdAt;
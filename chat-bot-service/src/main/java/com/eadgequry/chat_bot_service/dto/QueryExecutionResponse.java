@@ -1,13 +1,19 @@
 package com.eadgequry.chat_bot_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Response of data-source's /query/execute. The chatbot asks for the compact layout
+ * (columns plus rows); older data-source deployments only fill result.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +23,34 @@ public class QueryExecutionResponse {
     private boolean success;
     private String sqlQuery;
     private List<Map<String, Object>> result;
+    private List<ResultColumn> columns;
+    private List<Object[]> rows;
     private Integer rowCount;
     private Long executionTimeMs;
     private String error;
+    private boolean truncated;
+    private Integer rowsScanned;
+
+    // Cost guard estimate; null when data-source took no plan
+    private QueryPlanSummary plan;
+
+    public static final String COMPACT_LAYOUT = "compact";
+
+    /**
+     * True when data-source refused to run the query because its EXPLAIN estimate was too high
+     */
+    @JsonIgnore
+    public boolean isRejectedByCostGuard() {
+        return !success && plan != null && QueryPlanSummary.REJECTED.equals(plan.getVerdict());
+    }
+
+    /**
+     * The rows as a compact table, whichever layout data-source answered with
+     */
+    public ResultTable toTable() {
+        if (columns != null) {
+            return new ResultTable(columns, rows != null ? rows : new ArrayList<>());
+        }
+        return ResultTable.fromMaps(result);
+    }
 }
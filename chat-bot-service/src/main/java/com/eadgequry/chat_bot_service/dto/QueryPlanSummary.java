@@ -0,0 +1,33 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EXPLAIN estimate data-source checked before running a query (verdict OK, WARN or REJECTED)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryPlanSummary {
+
+    public static final String REJECTED = "REJECTED";
+
+    private String databaseType;
+    private Long estimatedRows;
+    private Double estimatedCost;
+
+    @Builder.Default
+    private List<String> fullScans = new ArrayList<>();
+
+    @Builder.Default
+    private List<String> violations = new ArrayList<>();
+
+    private String verdict;
+}
@@ -0,0 +1,19 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Column header of a compact query result
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultColumn {
+
+    private String name;
+
+    // JDBC type name reported by data-source; null for results converted from row maps
+    private String type;
+}
@@ -0,0 +1,127 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query result as one column header plus one array per row, in column order.
+ *
+ * This is how results travel from data-source, into the answer prompt and into
+ * {@code conversations.sql_result}. Clients that still expect one object per row get
+ * {@link #toMaps()}; conversations stored in that older shape are read back through
+ * {@link Deserializer}, which accepts both forms.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonDeserialize(using = ResultTable.Deserializer.class)
+public class ResultTable {
+
+    private List<ResultColumn> columns = new ArrayList<>();
+    private List<Object[]> rows = new ArrayList<>();
+
+    public static ResultTable empty() {
+        return new ResultTable();
+    }
+
+    /**
+     * Build a table from row maps; the header is the union of keys in first-seen order
+     */
+    public static ResultTable fromMaps(List<Map<String, Object>> maps) {
+        if (maps == null) {
+            return empty();
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (Map<String, Object> map : maps) {
+            names.addAll(map.keySet());
+        }
+
+        List<ResultColumn> columns = new ArrayList<>(names.size());
+        for (String name : names) {
+            columns.add(new ResultColumn(name, null));
+        }
+
+        List<Object[]> rows = new ArrayList<>(maps.size());
+        for (Map<String, Object> map : maps) {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = map.get(columns.get(i).getName());
+            }
+            rows.add(row);
+        }
+        return new ResultTable(columns, rows);
+    }
+
+    /**
+     * One map per row keyed by column name, the shape older clients read
+     */
+    public List<Map<String, Object>> toMaps() {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                map.put(columns.get(i).getName(), i < row.length ? row[i] : null);
+            }
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    /**
+     * Same header with at most maxRows rows
+     */
+    public ResultTable limit(int maxRows) {
+        if (rows.size() <= maxRows) {
+            return this;
+        }
+        return new ResultTable(columns, rows.subList(0, maxRows));
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Reads {"columns":[...],"rows":[[...]]} as well as the legacy [{"column":value}, ...]
+     */
+    public static class Deserializer extends JsonDeserializer<ResultTable> {
+
+        @Override
+        public ResultTable deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                JavaType mapsType = context.getTypeFactory().constructCollectionType(List.class,
+                        context.getTypeFactory().constructMapType(LinkedHashMap.class, String.class, Object.class));
+                return fromMaps(context.readValue(parser, mapsType));
+            }
+
+            Compact compact = context.readValue(parser, Compact.class);
+            return new ResultTable(compact.columns() != null ? compact.columns() : new ArrayList<>(),
+                    compact.rows() != null ? compact.rows() : new ArrayList<>());
+        }
+    }
+
+    record Compact(List<ResultColumn> columns, List<Object[]> rows) {
+    }
+}
@@ -11,7 +11,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class UpdateAiSettingsRequest {
 
-    private String provider;  // DEMO, CLAUDE, OPENAI
+    private String provider;  // DEMO, CLAUDE, OPENAI, LOCAL_STUB
     private String model;
     private String apiKey;    // Only required for CLAUDE and OPENAI providers
+    private Boolean routingEnabled;  // null = leave unchanged
+    private String fastModel;
+    private Boolean llmCacheShared;  // null = leave unchanged
 }
@@ -14,10 +14,13 @@ public class UserAiSettingsDTO {
 
     private Long id;
     private Long userId;
-    private String provider;  // DEMO, CLAUDE, OPENAI
+    private String provider;  // DEMO, CLAUDE, OPENAI, LOCAL_STUB
     private String model;
     private String apiKey;    // Not encrypted when sending to frontend (masked)
     private boolean hasApiKey;  // Whether user has set an API key
+    private boolean routingEnabled;
+    private String fastModel;
+    private boolean llmCacheShared;
 
     public static UserAiSettingsDTO fromEntity(UserAiSettings entity) {
         if (entity == null) {
@@ -31,6 +34,9 @@ public class UserAiSettingsDTO {
                 .model(entity.getModel())
                 .apiKey(null)  // Never send actual API key to frontend
                 .hasApiKey(entity.getApiKeyEncrypted() != null && !entity.getApiKeyEncrypted().isEmpty())
+                .routingEnabled(entity.isRoutingEnabled())
+                .fastModel(entity.getFastModel())
+                .llmCacheShared(entity.isLlmCacheShared())
                 .build();
     }
 }
@@ -0,0 +1,13 @@
+package com.eadgequry.chat_bot_service.event;
+
+/**
+ * Event published when a question is submitted through /ask/async.
+ * Keyed by databaseConfigId so questions for the same database land on the same partition.
+ */
+public record AskJobEvent(
+    String jobId,
+    Long userId,
+    Long databaseConfigId,
+    String question
+) {
+}
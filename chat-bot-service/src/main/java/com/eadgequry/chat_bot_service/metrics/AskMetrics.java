@@ -0,0 +1,198 @@
+package com.eadgequry.chat_bot_service.metrics;
+
+import com.eadgequry.chat_bot_service.dto.AskTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the ask pipeline.
+ * Stage and LLM timers publish percentile histograms so p95/p99 can be aggregated in Prometheus.
+ * The same measurements are collected per request (thread-bound) into {@link AskTimings}.
+ */
+@Component
+public class AskMetrics {
+
+    // Pipeline stages
+    public static final String STAGE_SCHEMA_FETCH = "schema_fetch";
+    public static final String STAGE_SQL_GENERATION = "sql_generation";
+    public static final String STAGE_QUERY_EXECUTION = "query_execution";
+    public static final String STAGE_ANSWER_GENERATION = "answer_generation";
+    public static final String STAGE_PERSISTENCE = "persistence";
+
+    // LLM calls
+    public static final String LLM_MAPPING = "mapping";
+    public static final String LLM_SQL = "sql";
+    public static final String LLM_ANSWER = "answer";
+
+    // Error classes
+    public static final String ERROR_TIMEOUT = "timeout";
+    public static final String ERROR_FORBIDDEN_KEYWORD = "forbidden_keyword";
+    public static final String ERROR_UNKNOWN_TABLE = "unknown_table";
+    public static final String ERROR_DEMO_LIMIT = "demo_limit";
+    public static final String ERROR_QUERY_TOO_EXPENSIVE = "query_too_expensive";
+    public static final String ERROR_OTHER = "other";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    // The ask pipeline runs on a single thread, so per-request timings are bound to it
+    private static final ThreadLocal<AskTimings> CURRENT_TIMINGS = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter retries;
+    private final Counter fastPath;
+
+    public AskMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("chatbot.ask.in_flight", inFlight, AtomicInteger::get)
+                .description("Asks currently being processed")
+                .register(registry);
+        this.retries = Counter.builder("chatbot.ask.sql_retries")
+                .description("SQL generation attempts retried after a failure")
+                .register(registry);
+        this.fastPath = Counter.builder("chatbot.ask.fast_path")
+                .description("Questions answered without touching the database")
+                .register(registry);
+    }
+
+    /**
+     * Start tracking one ask; every path must end with {@link #askFinished(Timer.Sample, String)}
+     */
+    public Timer.Sample askStarted() {
+        inFlight.incrementAndGet();
+        CURRENT_TIMINGS.set(new AskTimings());
+        return Timer.start(registry);
+    }
+
+    /**
+     * Stop tracking the current ask and return the timings collected on this thread
+     */
+    public AskTimings askFinished(Timer.Sample sample, String outcome) {
+        inFlight.decrementAndGet();
+        long durationNanos = sample.stop(Timer.builder("chatbot.ask.duration")
+                .description("End-to-end ask latency")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+
+        AskTimings timings = CURRENT_TIMINGS.get();
+        CURRENT_TIMINGS.remove();
+        if (timings != null) {
+            timings.setTotalMs(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+        return timings;
+    }
+
+    /**
+     * Time one pipeline stage, tagging the outcome by whether the action threw
+     */
+    public <T> T recordStage(String stage, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            long durationNanos = sample.stop(Timer.builder("chatbot.ask.stage")
+                    .description("Ask pipeline stage latency")
+                    .tag("stage", stage)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+
+            AskTimings timings = CURRENT_TIMINGS.get();
+            if (timings != null) {
+                timings.addStage(stage, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            }
+        }
+    }
+
+    public void recordStage(String stage, Runnable action) {
+        recordStage(stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record one LLM round trip with the provider, model and routing tier (ModelRouter.TIER_*) that served it.
+     * Token counts are null when the provider did not report usage.
+     */
+    public void recordLlmCall(String call, String provider, String model, String tier, long durationNanos,
+                              boolean success, Integer promptTokens, Integer completionTokens) {
+        Timer.builder("chatbot.ask.llm")
+                .description("LLM call latency")
+                .tag("call", call)
+                .tag("provider", provider)
+                .tag("model", model)
+                .tag("tier", tier)
+                .tag("outcome", success ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        AskTimings timings = CURRENT_TIMINGS.get();
+        if (timings != null) {
+            timings.getLlmCalls().add(new AskTimings.LlmCall(call, model,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), promptTokens, completionTokens));
+        }
+    }
+
+    /**
+     * LLM response cache lookup for a call type
+     */
+    public void recordLlmCacheLookup(String call, boolean hit) {
+        Counter.builder("chatbot.llm.cache")
+                .description("LLM response cache lookups")
+                .tag("call", call)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Execution time measured by data-source itself (excludes network and Feign overhead)
+     */
+    public void recordQueryServerTime(Long executionTimeMs) {
+        AskTimings timings = CURRENT_TIMINGS.get();
+        if (timings != null && executionTimeMs != null) {
+            timings.setQueryServerMs(executionTimeMs);
+        }
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordFastPath() {
+        fastPath.increment();
+    }
+
+    /**
+     * Follow-up question handled by editing the previous SQL ("reused") or by the full pipeline ("fallback")
+     */
+    public void recordFollowUp(boolean reused) {
+        Counter.builder("chatbot.ask.follow_ups")
+                .description("Follow-up questions detected within a session")
+                .tag("result", reused ? "reused" : "fallback")
+                .register(registry)
+                .increment();
+    }
+
+    public void recordError(String errorType) {
+        Counter.builder("chatbot.ask.errors")
+                .description("Failed asks by error class")
+                .tag("type", errorType)
+                .register(registry)
+                .increment();
+    }
+}
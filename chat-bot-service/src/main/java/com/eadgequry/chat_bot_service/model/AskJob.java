@@ -0,0 +1,80 @@
+package com.eadgequry.chat_bot_service.model;
+
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ask_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AskJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", unique = true, nullable = false, length = 36)
+    private String jobId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "database_config_id", nullable = false)
+    private Long databaseConfigId;
+
+    @Column(name = "question", nullable = false, columnDefinition = "TEXT")
+    private String question;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status; // PENDING, RUNNING, COMPLETED, FAILED
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "result", columnDefinition = "JSON")
+    private ChatResponse result;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "worker_id")
+    private String workerId;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public enum Status {
+        PENDING,    // Published to Kafka, waiting for a worker
+        RUNNING,    // Picked up by a worker
+        COMPLETED,  // Pipeline finished, result available
+        FAILED      // Pipeline threw, see errorMessage
+    }
+}
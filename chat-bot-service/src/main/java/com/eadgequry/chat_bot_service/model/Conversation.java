@@ -1,5 +1,8 @@
 package com.eadgequry.chat_bot_service.model;
 
+import com.eadgequry.chat_bot_service.dto.ResultTable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,9 +42,11 @@ public class Conversation {
     @Column(name = "sql_query", columnDefinition = "TEXT")
     private String sqlQuery;
 
+    // Stored compact (columns plus row arrays); rows saved as objects by older versions still load
+    @JsonIgnore
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "sql_result", columnDefinition = "JSON")
-    private List<Map<String, Object>> sqlResult;
+    private ResultTable resultTable;
 
     @Column(name = "answer", nullable = false, columnDefinition = "TEXT")
     private String answer;
@@ -52,12 +57,25 @@ public class Conversation {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    // Validated schema mapping the SQL was generated from, reused by follow-up questions
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "schema_mapping", columnDefinition = "JSON")
+    private String schemaMapping;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * One object per row, the shape the history endpoints have always returned
+     */
+    @JsonProperty("sqlResult")
+    public List<Map<String, Object>> getSqlResult() {
+        return resultTable != null ? resultTable.toMaps() : null;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
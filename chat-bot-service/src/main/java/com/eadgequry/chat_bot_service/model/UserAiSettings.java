@@ -27,7 +27,7 @@ public class UserAiSettings {
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
-    private AiProvider provider; // DEMO, CLAUDE, OPENAI
+    private AiProvider provider; // DEMO, CLAUDE, OPENAI, LOCAL_STUB
 
     @Column(length = 100)
     private String model;
@@ -35,6 +35,17 @@ public class UserAiSettings {
     @Column(length = 500)
     private String apiKeyEncrypted; // Encrypted API key for Claude/OpenAI
 
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean routingEnabled = false; // Send simple questions to fastModel
+
+    @Column(length = 100)
+    private String fastModel; // Same provider as model; null = provider default (DEMO only)
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean llmCacheShared = false; // Reuse cached LLM responses paid for by other API keys
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -46,6 +57,7 @@ public class UserAiSettings {
     public enum AiProvider {
         DEMO,      // Uses platform's OpenRouter key
         CLAUDE,    // User's Anthropic Claude API key
-        OPENAI     // User's OpenAI API key
+        OPENAI,    // User's OpenAI API key
+        LOCAL_STUB // Deterministic in-process stub for load testing (chatbot.stub.enabled)
     }
 }
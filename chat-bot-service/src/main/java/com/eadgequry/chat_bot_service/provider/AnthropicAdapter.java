@@ -0,0 +1,281 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Anthropic Messages API: x-api-key auth, top-level system prompt, the prompt's static schema
+ * section sent as its own content block marked for prompt caching, content blocks in the response
+ * and input/output token usage.
+ */
+@Component
+public class AnthropicAdapter implements ProviderAdapter {
+
+    static final String API_VERSION = "2023-06-01";
+
+    // max_tokens is mandatory for the Messages API
+    private static final int DEFAULT_MAX_TOKENS = 1500;
+    private static final int REQUEST_OVERHEAD_BYTES = 320;
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+
+    public AnthropicAdapter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    public Set<UserAiSettings.AiProvider> providers() {
+        return EnumSet.of(UserAiSettings.AiProvider.CLAUDE);
+    }
+
+    @Override
+    public String displayName(UserAiSettings.AiProvider provider) {
+        return "Anthropic";
+    }
+
+    @Override
+    public String defaultUrl(UserAiSettings.AiProvider provider) {
+        return "https://api.anthropic.com/v1/messages";
+    }
+
+    @Override
+    public void applyHeaders(UserAiSettings.AiProvider provider, String apiKey, HttpHeaders headers) {
+        headers.set("x-api-key", apiKey);
+        headers.set("anthropic-version", API_VERSION);
+    }
+
+    @Override
+    public BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(ProviderRequest request) {
+        return (outputMessage, context) -> outputMessage.writeWith(Mono.fromCallable(() ->
+                encodeRequest(outputMessage.bufferFactory(), request)));
+    }
+
+    DataBuffer encodeRequest(DataBufferFactory bufferFactory, ProviderRequest request) throws IOException {
+        DataBuffer buffer = bufferFactory.allocateBuffer(
+                request.systemPrompt().length() + request.prompt().length() + REQUEST_OVERHEAD_BYTES);
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("model", request.model());
+            generator.writeNumberField("max_tokens",
+                    request.maxTokens() != null ? request.maxTokens() : DEFAULT_MAX_TOKENS);
+            if (request.temperature() != null) {
+                generator.writeNumberField("temperature", request.temperature());
+            }
+            if (request.stream()) {
+                generator.writeBooleanField("stream", true);
+            }
+            generator.writeStringField("system", request.systemPrompt());
+            generator.writeArrayFieldStart("messages");
+            generator.writeStartObject();
+            generator.writeStringField("role", "user");
+            writeContent(generator, request);
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+        return buffer;
+    }
+
+    /**
+     * The system prompt alone is far below the minimum cacheable prefix (1024 tokens, 2048 for
+     * Haiku), so the breakpoint goes after the schema section: system prompt plus schema are cached
+     * and only the question that follows is new on each call.
+     */
+    private static void writeContent(JsonGenerator generator, ProviderRequest request) throws IOException {
+        String prompt = request.prompt();
+        int prefixLength = Math.min(request.cacheablePrefixLength(), prompt.length());
+        if (prefixLength <= 0) {
+            generator.writeStringField("content", prompt);
+            return;
+        }
+        generator.writeArrayFieldStart("content");
+        generator.writeStartObject();
+        generator.writeStringField("type", "text");
+        generator.writeStringField("text", prompt.substring(0, prefixLength));
+        generator.writeObjectFieldStart("cache_control");
+        generator.writeStringField("type", "ephemeral");
+        generator.writeEndObject();
+        generator.writeEndObject();
+        if (prefixLength < prompt.length()) {
+            generator.writeStartObject();
+            generator.writeStringField("type", "text");
+            generator.writeStringField("text", prompt.substring(prefixLength));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public ProviderCompletion decode(InputStream body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser);
+        } catch (IOException e) {
+            throw new ChatBotException("Failed to parse AI response: " + e.getMessage(), e);
+        }
+    }
+
+    private ProviderCompletion decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ChatBotException("Failed to parse AI response: not a JSON object");
+        }
+        StringBuilder text = null;
+        String stopReason = null;
+        int inputTokens = 0;
+        Integer outputTokens = null;
+        Integer cacheReadTokens = null;
+        boolean sawUsage = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "error" -> throw new ChatBotException("Anthropic API error: "
+                        + ChatCompletionCodec.readErrorMessage(parser, value));
+                case "content" -> {
+                    if (value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    text = new StringBuilder();
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        if (element == JsonToken.START_OBJECT) {
+                            appendTextBlock(parser, text);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                case "stop_reason" -> stopReason = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "usage" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        continue;
+                    }
+                    sawUsage = true;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String usageField = parser.currentName();
+                        JsonToken usageValue = parser.nextToken();
+                        if (usageValue != JsonToken.VALUE_NUMBER_INT) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        switch (usageField) {
+                            // input_tokens excludes cached tokens; add them back so totals compare across providers
+                            case "input_tokens", "cache_creation_input_tokens" -> inputTokens += parser.getIntValue();
+                            case "cache_read_input_tokens" -> {
+                                cacheReadTokens = parser.getIntValue();
+                                inputTokens += cacheReadTokens;
+                            }
+                            case "output_tokens" -> outputTokens = parser.getIntValue();
+                            default -> {
+                            }
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (text == null) {
+            throw new ChatBotException("Anthropic response missing 'content' field");
+        }
+        if (text.isEmpty()) {
+            throw new ChatBotException("Anthropic returned empty content");
+        }
+        return new ProviderCompletion(text.toString(), stopReason, sawUsage ? inputTokens : null, outputTokens,
+                cacheReadTokens);
+    }
+
+    /**
+     * Stream events are small, so they are read as trees: message_start carries input usage,
+     * content_block_delta the text, message_delta the stop reason and output usage
+     */
+    @Override
+    public String decodeStreamEvent(String data, CompletionStream stream) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(data);
+        } catch (IOException e) {
+            throw new ChatBotException("Failed to parse AI stream event: " + e.getMessage(), e);
+        }
+        switch (event.path("type").asText()) {
+            case "error" -> throw new ChatBotException("Anthropic API error: "
+                    + event.path("error").path("message").asText());
+            case "message_start" -> {
+                JsonNode usage = event.path("message").path("usage");
+                int cacheRead = usage.path("cache_read_input_tokens").asInt(0);
+                int input = usage.path("input_tokens").asInt(0)
+                        + usage.path("cache_creation_input_tokens").asInt(0) + cacheRead;
+                stream.usage(usage.isMissingNode() ? null : input, null,
+                        usage.has("cache_read_input_tokens") ? cacheRead : null);
+            }
+            case "content_block_delta" -> {
+                JsonNode delta = event.path("delta");
+                if ("text_delta".equals(delta.path("type").asText()) && delta.hasNonNull("text")) {
+                    String text = delta.get("text").asText();
+                    if (!text.isEmpty()) {
+                        stream.append(text);
+                        return text;
+                    }
+                }
+            }
+            case "message_delta" -> {
+                if (event.path("delta").hasNonNull("stop_reason")) {
+                    stream.finishReason(event.path("delta").path("stop_reason").asText());
+                }
+                if (event.path("usage").has("output_tokens")) {
+                    stream.usage(null, event.path("usage").path("output_tokens").asInt(), null);
+                }
+            }
+            case "message_stop" -> stream.done();
+            default -> {
+            }
+        }
+        return null;
+    }
+
+    private static void appendTextBlock(JsonParser parser, StringBuilder text) throws IOException {
+        String type = null;
+        String blockText = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("type".equals(field) && value == JsonToken.VALUE_STRING) {
+                type = parser.getText();
+            } else if ("text".equals(field) && value == JsonToken.VALUE_STRING) {
+                blockText = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if ("text".equals(type) && blockText != null) {
+            text.append(blockText);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+
+/**
+ * Streaming encoder/decoder for the OpenAI-compatible chat-completions format. Also the canonical
+ * format for stored responses (cache, traces) whatever provider produced them.
+ * Requests are written with a JsonGenerator directly into the transport's buffers and responses
+ * are read token by token into a {@link ProviderCompletion}, skipping everything else, so no
+ * intermediate Map, JsonNode or response String is built.
+ */
+@Component
+public class ChatCompletionCodec {
+
+    // JSON syntax and field names on top of the two messages
+    private static final int REQUEST_OVERHEAD_BYTES = 256;
+
+    private final JsonFactory jsonFactory;
+
+    public ChatCompletionCodec(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Request body inserter that encodes into the buffer factory of the outgoing request
+     */
+    public BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(String model, String systemPrompt,
+                                                                      String prompt, Double temperature,
+                                                                      Integer maxTokens, boolean stream) {
+        return (outputMessage, context) -> outputMessage.writeWith(Mono.fromCallable(() ->
+                encodeRequest(outputMessage.bufferFactory(), model, systemPrompt, prompt, temperature, maxTokens,
+                        stream)));
+    }
+
+    public DataBuffer encodeRequest(DataBufferFactory bufferFactory, String model, String systemPrompt, String prompt,
+                             Double temperature, Integer maxTokens) throws IOException {
+        return encodeRequest(bufferFactory, model, systemPrompt, prompt, temperature, maxTokens, false);
+    }
+
+    public DataBuffer encodeRequest(DataBufferFactory bufferFactory, String model, String systemPrompt, String prompt,
+                             Double temperature, Integer maxTokens, boolean stream) throws IOException {
+        // Sized for mostly-ASCII prompts; the buffer grows if escaping or multi-byte text needs more
+        DataBuffer buffer = bufferFactory.allocateBuffer(
+                systemPrompt.length() + prompt.length() + REQUEST_OVERHEAD_BYTES);
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("model", model);
+            generator.writeArrayFieldStart("messages");
+            writeMessage(generator, "system", systemPrompt);
+            writeMessage(generator, "user", prompt);
+            generator.writeEndArray();
+            if (temperature != null) {
+                generator.writeNumberField("temperature", temperature);
+            }
+            if (maxTokens != null) {
+                generator.writeNumberField("max_tokens", maxTokens);
+            }
+            if (stream) {
+                generator.writeBooleanField("stream", true);
+                // Usage arrives in a final chunk with empty choices
+                generator.writeObjectFieldStart("stream_options");
+                generator.writeBooleanField("include_usage", true);
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+        return buffer;
+    }
+
+    private static void writeMessage(JsonGenerator generator, String role, String content) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("role", role);
+        generator.writeStringField("content", content);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Decode a response body; the stream is read once and not closed
+     */
+    public ProviderCompletion decode(InputStream body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser);
+        } catch (IOException e) {
+            throw new ChatBotException("Failed to parse AI response: " + e.getMessage(), e);
+        }
+    }
+
+    public ProviderCompletion decode(String body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser);
+        } catch (IOException e) {
+            throw new ChatBotException("Failed to parse AI response: " + e.getMessage(), e);
+        }
+    }
+
+    private ProviderCompletion decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ChatBotException("Failed to parse AI response: not a JSON object");
+        }
+        String content = null;
+        String finishReason = null;
+        Integer promptTokens = null;
+        Integer completionTokens = null;
+        Integer cachedTokens = null;
+        boolean sawChoices = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "error" -> throw new ChatBotException("OpenRouter API error: " + readErrorMessage(parser, value));
+                case "choices" -> {
+                    if (value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    // Only the first choice is used; later ones are skipped
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        if (element == JsonToken.START_OBJECT && !sawChoices) {
+                            sawChoices = true;
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String choiceField = parser.currentName();
+                                JsonToken choiceValue = parser.nextToken();
+                                if ("message".equals(choiceField) && choiceValue == JsonToken.START_OBJECT) {
+                                    content = readMessageContent(parser);
+                                } else if ("finish_reason".equals(choiceField) && choiceValue == JsonToken.VALUE_STRING) {
+                                    finishReason = parser.getText();
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                case "usage" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String usageField = parser.currentName();
+                        JsonToken usageValue = parser.nextToken();
+                        if (usageValue == JsonToken.VALUE_NUMBER_INT && "prompt_tokens".equals(usageField)) {
+                            promptTokens = parser.getIntValue();
+                        } else if (usageValue == JsonToken.VALUE_NUMBER_INT && "completion_tokens".equals(usageField)) {
+                            completionTokens = parser.getIntValue();
+                        } else if (usageValue == JsonToken.START_OBJECT && "prompt_tokens_details".equals(usageField)) {
+                            cachedTokens = readIntField(parser, "cached_tokens");
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!sawChoices) {
+            throw new ChatBotException("OpenRouter response missing 'choices' field");
+        }
+        if (content == null || content.isEmpty()) {
+            throw new ChatBotException("OpenRouter returned empty content");
+        }
+        return new ProviderCompletion(content, finishReason, promptTokens, completionTokens, cachedTokens);
+    }
+
+    /**
+     * Decode one server-sent event of a streamed completion into the stream, returning the
+     * content delta it carried (null for role, usage and terminal events)
+     */
+    public String decodeStreamEvent(String data, CompletionStream stream) {
+        if ("[DONE]".equals(data.trim())) {
+            stream.done();
+            return null;
+        }
+        String delta = null;
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ChatBotException("Failed to parse AI stream event: not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("error".equals(field)) {
+                    throw new ChatBotException("OpenRouter API error: " + readErrorMessage(parser, value));
+                } else if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        if (element != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String choiceField = parser.currentName();
+                            JsonToken choiceValue = parser.nextToken();
+                            if ("delta".equals(choiceField) && choiceValue == JsonToken.START_OBJECT) {
+                                delta = readMessageContent(parser);
+                            } else if ("finish_reason".equals(choiceField) && choiceValue == JsonToken.VALUE_STRING) {
+                                stream.finishReason(parser.getText());
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                } else if ("usage".equals(field) && value == JsonToken.START_OBJECT) {
+                    Integer promptTokens = null;
+                    Integer completionTokens = null;
+                    Integer cachedTokens = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String usageField = parser.currentName();
+                        JsonToken usageValue = parser.nextToken();
+                        if (usageValue == JsonToken.VALUE_NUMBER_INT && "prompt_tokens".equals(usageField)) {
+                            promptTokens = parser.getIntValue();
+                        } else if (usageValue == JsonToken.VALUE_NUMBER_INT && "completion_tokens".equals(usageField)) {
+                            completionTokens = parser.getIntValue();
+                        } else if (usageValue == JsonToken.START_OBJECT && "prompt_tokens_details".equals(usageField)) {
+                            cachedTokens = readIntField(parser, "cached_tokens");
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    stream.usage(promptTokens, completionTokens, cachedTokens);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new ChatBotException("Failed to parse AI stream event: " + e.getMessage(), e);
+        }
+        if (delta != null && !delta.isEmpty()) {
+            stream.append(delta);
+            return delta;
+        }
+        return null;
+    }
+
+    private static String readMessageContent(JsonParser parser) throws IOException {
+        String content = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("content".equals(field) && value == JsonToken.VALUE_STRING) {
+                content = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Read one int field of the object the parser is in, skipping the rest of it
+     */
+    static Integer readIntField(JsonParser parser, String name) throws IOException {
+        Integer result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NUMBER_INT && name.equals(field)) {
+                result = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    static String readErrorMessage(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        String message = "";
+        if (value == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if ("message".equals(field) && fieldValue == JsonToken.VALUE_STRING) {
+                    message = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Canonical chat-completions JSON for a decoded completion, used where a raw body is stored
+     * (response cache, trace recording) now that the original String is never materialized
+     */
+    public String encodeCompletion(ProviderCompletion completion) {
+        StringWriter writer = new StringWriter(completion.content().length() + 128);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("choices");
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("message");
+            generator.writeStringField("role", "assistant");
+            generator.writeStringField("content", completion.content());
+            generator.writeEndObject();
+            if (completion.finishReason() != null) {
+                generator.writeStringField("finish_reason", completion.finishReason());
+            }
+            generator.writeEndObject();
+            generator.writeEndArray();
+            if (completion.promptTokens() != null || completion.completionTokens() != null) {
+                generator.writeObjectFieldStart("usage");
+                if (completion.promptTokens() != null) {
+                    generator.writeNumberField("prompt_tokens", completion.promptTokens());
+                }
+                if (completion.completionTokens() != null) {
+                    generator.writeNumberField("completion_tokens", completion.completionTokens());
+                }
+                if (completion.cachedPromptTokens() != null) {
+                    generator.writeObjectFieldStart("prompt_tokens_details");
+                    generator.writeNumberField("cached_tokens", completion.cachedPromptTokens());
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+}
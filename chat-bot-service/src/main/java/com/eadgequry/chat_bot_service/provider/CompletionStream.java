@@ -0,0 +1,57 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+
+/**
+ * Accumulates a streamed completion as a {@link ProviderAdapter} decodes its events.
+ * Not thread-safe; one instance per provider call.
+ */
+public class CompletionStream {
+
+    private final StringBuilder content = new StringBuilder();
+    private String finishReason;
+    private Integer promptTokens;
+    private Integer completionTokens;
+    private Integer cachedPromptTokens;
+    private boolean done;
+
+    void append(String delta) {
+        content.append(delta);
+    }
+
+    void finishReason(String finishReason) {
+        this.finishReason = finishReason;
+    }
+
+    void usage(Integer promptTokens, Integer completionTokens, Integer cachedPromptTokens) {
+        if (promptTokens != null) {
+            this.promptTokens = promptTokens;
+        }
+        if (completionTokens != null) {
+            this.completionTokens = completionTokens;
+        }
+        if (cachedPromptTokens != null) {
+            this.cachedPromptTokens = cachedPromptTokens;
+        }
+    }
+
+    void done() {
+        this.done = true;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int length() {
+        return content.length();
+    }
+
+    public ProviderCompletion toCompletion() {
+        if (content.isEmpty()) {
+            throw new ChatBotException("AI returned empty content");
+        }
+        return new ProviderCompletion(content.toString(), finishReason, promptTokens, completionTokens,
+                cachedPromptTokens);
+    }
+}
@@ -0,0 +1,72 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * OpenAI chat-completions format: OpenAI itself, OpenRouter (DEMO) and the local stub.
+ * OpenAI and OpenRouter cache long prompt prefixes automatically; the cached share is read
+ * from usage.prompt_tokens_details.
+ */
+@Component
+public class OpenAiCompatibleAdapter implements ProviderAdapter {
+
+    private final ChatCompletionCodec codec;
+
+    public OpenAiCompatibleAdapter(ChatCompletionCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Set<UserAiSettings.AiProvider> providers() {
+        return EnumSet.of(UserAiSettings.AiProvider.DEMO, UserAiSettings.AiProvider.OPENAI,
+                UserAiSettings.AiProvider.LOCAL_STUB);
+    }
+
+    @Override
+    public String displayName(UserAiSettings.AiProvider provider) {
+        return switch (provider) {
+            case OPENAI -> "OpenAI";
+            case LOCAL_STUB -> "Local stub";
+            default -> "OpenRouter";
+        };
+    }
+
+    @Override
+    public String defaultUrl(UserAiSettings.AiProvider provider) {
+        return provider == UserAiSettings.AiProvider.OPENAI ? "https://api.openai.com/v1/chat/completions" : null;
+    }
+
+    @Override
+    public void applyHeaders(UserAiSettings.AiProvider provider, String apiKey, HttpHeaders headers) {
+        headers.setBearerAuth(apiKey);
+        if (provider == UserAiSettings.AiProvider.DEMO) {
+            // OpenRouter app attribution
+            headers.set("HTTP-Referer", "http://localhost:3000");
+            headers.set("X-Title", "Eadgequry AI Chatbot");
+        }
+    }
+
+    @Override
+    public BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(ProviderRequest request) {
+        return codec.requestBody(request.model(), request.systemPrompt(), request.prompt(), request.temperature(),
+                request.maxTokens(), request.stream());
+    }
+
+    @Override
+    public ProviderCompletion decode(InputStream body) {
+        return codec.decode(body);
+    }
+
+    @Override
+    public String decodeStreamEvent(String data, CompletionStream stream) {
+        return codec.decodeStreamEvent(data, stream);
+    }
+}
@@ -0,0 +1,44 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
+
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Native wire format of an AI provider: endpoint, auth headers, request body and response decoding.
+ * Implementations are Spring beans collected by {@link ProviderAdapterRegistry}; each
+ * {@link UserAiSettings.AiProvider} must be served by exactly one adapter.
+ */
+public interface ProviderAdapter {
+
+    Set<UserAiSettings.AiProvider> providers();
+
+    /**
+     * Name used in user-facing error messages (e.g. "OpenAI rate limit exceeded")
+     */
+    String displayName(UserAiSettings.AiProvider provider);
+
+    /**
+     * Public endpoint, or null when the URL comes from configuration (DEMO, LOCAL_STUB)
+     */
+    String defaultUrl(UserAiSettings.AiProvider provider);
+
+    void applyHeaders(UserAiSettings.AiProvider provider, String apiKey, HttpHeaders headers);
+
+    BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(ProviderRequest request);
+
+    /**
+     * Decode a successful response body; throws ChatBotException for provider errors or empty content
+     */
+    ProviderCompletion decode(InputStream body);
+
+    /**
+     * Decode one server-sent event of a streamed response into the stream and return the content
+     * delta it carried, or null; marks the stream done on the provider's terminal event
+     */
+    String decodeStreamEvent(String data, CompletionStream stream);
+}
@@ -0,0 +1,39 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up the {@link ProviderAdapter} for a user's provider
+ */
+@Component
+public class ProviderAdapterRegistry {
+
+    private final Map<UserAiSettings.AiProvider, ProviderAdapter> adapters =
+            new EnumMap<>(UserAiSettings.AiProvider.class);
+
+    public ProviderAdapterRegistry(List<ProviderAdapter> adapters) {
+        for (ProviderAdapter adapter : adapters) {
+            for (UserAiSettings.AiProvider provider : adapter.providers()) {
+                ProviderAdapter previous = this.adapters.putIfAbsent(provider, adapter);
+                if (previous != null) {
+                    throw new IllegalStateException("Provider " + provider + " is served by both "
+                            + previous.getClass().getSimpleName() + " and " + adapter.getClass().getSimpleName());
+                }
+            }
+        }
+    }
+
+    public ProviderAdapter adapterFor(UserAiSettings.AiProvider provider) {
+        ProviderAdapter adapter = adapters.get(provider);
+        if (adapter == null) {
+            throw new ChatBotException("No AI provider adapter registered for " + provider);
+        }
+        return adapter;
+    }
+}
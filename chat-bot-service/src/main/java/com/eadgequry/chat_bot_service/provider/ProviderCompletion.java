@@ -0,0 +1,10 @@
+package com.eadgequry.chat_bot_service.provider;
+
+/**
+ * The parts of a provider response the pipeline uses. Token counts are null when the provider
+ * did not report usage; cachedPromptTokens is the part of the prompt served from the provider's
+ * prompt cache.
+ */
+public record ProviderCompletion(String content, String finishReason, Integer promptTokens,
+                                 Integer completionTokens, Integer cachedPromptTokens) {
+}
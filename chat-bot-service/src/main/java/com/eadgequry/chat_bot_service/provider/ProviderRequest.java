@@ -0,0 +1,11 @@
+package com.eadgequry.chat_bot_service.provider;
+
+/**
+ * One completion request, independent of the provider's wire format. With stream set the
+ * provider answers with server-sent events decoded by {@link ProviderAdapter#decodeStreamEvent}.
+ * The first cacheablePrefixLength characters of the prompt are the same across calls (the schema
+ * section), so providers with explicit prompt caching can mark them; 0 when there is no such part.
+ */
+public record ProviderRequest(String model, String systemPrompt, String prompt, int cacheablePrefixLength,
+                              Double temperature, Integer maxTokens, boolean stream) {
+}
@@ -0,0 +1,15 @@
+package com.eadgequry.chat_bot_service.repository;
+
+import com.eadgequry.chat_bot_service.model.AskJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AskJobRepository extends JpaRepository<AskJob, Long> {
+
+    Optional<AskJob> findByJobId(String jobId);
+
+    Optional<AskJob> findByJobIdAndUserId(String jobId, Long userId);
+}
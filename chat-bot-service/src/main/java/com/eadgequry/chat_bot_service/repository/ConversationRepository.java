@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
@@ -14,4 +15,6 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
     List<Conversation> findBySessionIdOrderByCreatedAtAsc(String sessionId);
 
     List<Conversation> findByUserIdAndDatabaseConfigIdOrderByCreatedAtDesc(Long userId, Long databaseConfigId);
+
+    Optional<Conversation> findFirstBySessionIdOrderByCreatedAtDesc(String sessionId);
 }
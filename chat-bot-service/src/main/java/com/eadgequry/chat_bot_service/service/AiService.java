@@ -1,27 +1,51 @@
 package com.eadgequry.chat_bot_service.service;
 
+import com.eadgequry.chat_bot_service.cache.LlmResponseCache;
 import com.eadgequry.chat_bot_service.config.AiApiProperties;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
 import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.ResultTable;
 import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.exception.InvalidSqlException;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.eadgequry.chat_bot_service.provider.ChatCompletionCodec;
+import com.eadgequry.chat_bot_service.provider.CompletionStream;
+import com.eadgequry.chat_bot_service.provider.ProviderAdapter;
+import com.eadgequry.chat_bot_service.provider.ProviderAdapterRegistry;
+import com.eadgequry.chat_bot_service.provider.ProviderCompletion;
+import com.eadgequry.chat_bot_service.provider.ProviderRequest;
+import com.eadgequry.chat_bot_service.trace.AskTraceRecorder;
 import com.eadgequry.chat_bot_service.model.UserAiSettings;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -34,10 +58,54 @@ public class AiService {
 
     private static final Logger log = LoggerFactory.getLogger(AiService.class);
 
+    private static final String SYSTEM_PROMPT =
+            "You are an EXPERT AI database assistant with ADVANCED natural language understanding. "
+                    + "You excel at understanding unclear questions, handling typos, interpreting user intent, "
+                    + "and providing intelligent, helpful responses. You are patient, friendly, supportive, and "
+                    + "can understand questions even when they have spelling mistakes, grammar errors, or are written "
+                    + "in unclear language. You always try to help the user get the information they need, regardless "
+                    + "of how their question is phrased. You are database-agnostic and can work with MySQL, PostgreSQL, "
+                    + "Oracle, SQL Server, and other databases using their specific syntax.";
+
+    // First line of the statement; anything before it is prose (same rule as SqlIdentifierGuard)
+    private static final Pattern STATEMENT_START = Pattern.compile("(?im)^[ \\t]*(SELECT|WITH)\\b");
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENTS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    // Sections of the mapping prompt; everything before them is the schema, identical for every question
+    static final String PREVIOUS_ERROR_SECTION = "=== PREVIOUS ERROR ===\n";
+    static final String TASK_SECTION = "=== TASK ===\n";
+
+    // Sections of the follow-up prompt, also recognised by LocalStubAiService
+    static final String PREVIOUS_SQL_SECTION = "=== PREVIOUS SQL ===\n";
+    static final String TABLES_IN_USE_SECTION = "=== TABLES IN USE ===\n";
+
+    // Label of the result table in the answer prompt, also recognised by LocalStubAiService
+    static final String QUERY_RESULTS_LABEL = "Query Results (column header, then one array per row): ";
+
     private final AiApiProperties aiApiProperties;
+    private final StubAiProperties stubAiProperties;
     private final ObjectMapper objectMapper;
     private final WebClient webClient;
     private final UserAiSettingsService userAiSettingsService;
+    private final AskMetrics askMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final AskTraceRecorder askTraceRecorder;
+    private final ModelRouter modelRouter;
+    private final LlmResponseCache llmResponseCache;
+    private final ChatCompletionCodec chatCompletionCodec;
+    private final ProviderAdapterRegistry providerAdapters;
+
+    // Identifiers for the streaming guard by database config, rebuilt when the schema version changes
+    private final Map<Long, VersionedSchema> compiledSchemas = new ConcurrentHashMap<>();
+
+    @Value("${chatbot.sql-streaming.enabled:true}")
+    private boolean sqlStreamingEnabled;
+
+    @Value("${chatbot.sql-streaming.max-reprompts:1}")
+    private int sqlStreamingMaxReprompts;
 
     /**
      * Check if question is a greeting or non-database question
@@ -121,6 +189,14 @@ public class AiService {
         return false;
     }
 
+    /**
+     * Parse the schema once so it can be shared by several questions
+     * (generateSqlQuery skips parsing when tables are already populated)
+     */
+    public DatabaseSchemaDTO prepareSchema(DatabaseSchemaDTO dto) {
+        return parseSchemaFromJson(dto);
+    }
+
     /**
      * Parse schemaJson string and populate the tables field
      */
@@ -161,10 +237,16 @@ public class AiService {
         }
     }
 
+    /**
+     * Generated SQL with the validated schema mapping behind it, persisted for follow-up questions
+     */
+    public record GeneratedSql(String sql, String schemaMapping) {
+    }
+
     /**
      * Generate SQL query with 99.9% accuracy using two-stage verification
      */
-    public String generateSqlQuery(Long userId, String question, DatabaseSchemaDTO schema, String previousError) {
+    public GeneratedSql generateSqlQuery(Long userId, String question, DatabaseSchemaDTO schema, String previousError) {
 
         schema = parseSchemaFromJson(schema);
         // Validate inputs
@@ -186,7 +268,7 @@ public class AiService {
             String sql = generateSqlFromMapping(userId, question, mapping, schema);
 
             log.debug("Generated SQL: {}", sql);
-            return cleanSqlResponse(sql);
+            return new GeneratedSql(cleanSqlResponse(sql), objectMapper.writeValueAsString(mapping));
 
         } catch (ChatBotException e) {
             throw e;
@@ -196,6 +278,84 @@ public class AiService {
         }
     }
 
+    /**
+     * Follow-up question: edit the previous SQL instead of mapping the schema again. The prompt
+     * carries only the tables of the previous mapping, not the whole schema.
+     *
+     * @param mappingJson mapping persisted with the previous conversation turn
+     */
+    public String generateFollowUpSql(Long userId, String question, DatabaseSchemaDTO schema,
+            String previousQuestion, String previousSql, String mappingJson) {
+        schema = parseSchemaFromJson(schema);
+        SchemaMapping mapping;
+        try {
+            mapping = objectMapper.readValue(mappingJson, SchemaMapping.class);
+        } catch (Exception e) {
+            throw new ChatBotException("Stored schema mapping is unreadable: " + e.getMessage(), e);
+        }
+        // The schema may have changed since the previous turn
+        validateMapping(mapping, schema);
+
+        String prompt = buildFollowUpPrompt(question, previousQuestion, previousSql, mapping, schema);
+        String sql = cleanSqlResponse(generateSql(userId, prompt, mapping, schema));
+        log.debug("Generated follow-up SQL: {}", sql);
+        return sql;
+    }
+
+    /**
+     * Build the delta prompt for a follow-up: previous question and SQL plus the columns of the mapped tables
+     */
+    String buildFollowUpPrompt(String question, String previousQuestion, String previousSql,
+            SchemaMapping mapping, DatabaseSchemaDTO schema) {
+        StringBuilder p = new StringBuilder();
+
+        String dbType = schema.getDatabaseType() != null
+                ? schema.getDatabaseType().toUpperCase()
+                : "UNKNOWN";
+
+        p.append("Edit the previous SQL query for ").append(dbType).append(".\n\n");
+
+        p.append("=== PREVIOUS QUESTION ===\n").append(previousQuestion).append("\n\n");
+        p.append(PREVIOUS_SQL_SECTION).append(previousSql).append("\n\n");
+
+        Set<String> tables = new LinkedHashSet<>();
+        if (mapping.getTables() != null) {
+            tables.addAll(mapping.getTables());
+        }
+        if (mapping.getJoins() != null) {
+            for (JoinInfo join : mapping.getJoins()) {
+                tables.add(join.getTable1());
+                tables.add(join.getTable2());
+            }
+        }
+        p.append(TABLES_IN_USE_SECTION);
+        for (DatabaseSchemaDTO.TableInfo table : schema.getTables()) {
+            if (table == null || !tables.contains(table.getName())) {
+                continue;
+            }
+            p.append(table.getName()).append("(");
+            if (table.getColumns() != null) {
+                p.append(table.getColumns().stream()
+                        .filter(col -> col != null && col.getName() != null)
+                        .map(col -> col.getName() + " " + col.getType())
+                        .collect(Collectors.joining(", ")));
+            }
+            p.append(")\n");
+        }
+        p.append("\n");
+
+        appendSyntaxRules(p, dbType);
+
+        p.append("=== FOLLOW-UP ===\n");
+        p.append("Request: \"").append(question).append("\"\n\n");
+        p.append("Rewrite the previous SQL for this request:\n");
+        p.append("• Change only what the request asks for; keep the rest of the query\n");
+        p.append("• Use ONLY tables and columns listed in TABLES IN USE\n");
+        p.append("• Return ONLY the SQL query (no markdown, no explanations)\n\n");
+
+        return p.toString();
+    }
+
     /**
      * STAGE 1: Analyze question and map to schema with validation
      */
@@ -203,7 +363,8 @@ public class AiService {
             DatabaseSchemaDTO schema, String previousError) {
 
         String prompt = buildMappingPrompt(question, schema, previousError);
-        String response = callAiApi(userId, prompt, 0.2); // Very low temp for structured output
+        String response = callAiApi(userId, prompt, schemaSectionLength(prompt), 0.2, AskMetrics.LLM_MAPPING, null,
+                null); // Very low temp for structured output
 
         // Parse and validate mapping
         SchemaMapping mapping = parseMappingResponse(response);
@@ -212,10 +373,21 @@ public class AiService {
         return mapping;
     }
 
+    /**
+     * Length of the mapping prompt's schema section, which is the same for every question on the schema
+     */
+    static int schemaSectionLength(String mappingPrompt) {
+        int end = mappingPrompt.indexOf(PREVIOUS_ERROR_SECTION);
+        if (end < 0) {
+            end = mappingPrompt.indexOf(TASK_SECTION);
+        }
+        return Math.max(end, 0);
+    }
+
     /**
      * Build prompt for schema mapping analysis
      */
-    private String buildMappingPrompt(String question, DatabaseSchemaDTO schema, String previousError) {
+    String buildMappingPrompt(String question, DatabaseSchemaDTO schema, String previousError) {
         StringBuilder p = new StringBuilder();
 
         p.append("You are a database schema analyzer. Map user question to exact schema identifiers.\n\n");
@@ -277,13 +449,13 @@ public class AiService {
         p.append("\n");
 
         if (previousError != null && !previousError.trim().isEmpty()) {
-            p.append("=== PREVIOUS ERROR ===\n");
+            p.append(PREVIOUS_ERROR_SECTION);
             p.append(previousError).append("\n\n");
             p.append("FIX: Choose different identifiers from AVAILABLE SCHEMA above\n\n");
         }
 
         // Mapping instructions
-        p.append("=== TASK ===\n");
+        p.append(TASK_SECTION);
         p.append("Question: \"").append(question).append("\"\n\n");
 
         p.append("Analyze and output JSON ONLY (no markdown, no explanations):\n");
@@ -317,7 +489,7 @@ public class AiService {
     /**
      * Parse mapping response from AI
      */
-    private SchemaMapping parseMappingResponse(String response) {
+    SchemaMapping parseMappingResponse(String response) {
         try {
             if (response == null || response.trim().isEmpty()) {
                 throw new ChatBotException("Empty response from AI");
@@ -356,7 +528,7 @@ public class AiService {
     /**
      * Validate mapping against schema
      */
-    private void validateMapping(SchemaMapping mapping, DatabaseSchemaDTO schema) {
+    void validateMapping(SchemaMapping mapping, DatabaseSchemaDTO schema) {
         if (mapping == null) {
             throw new ChatBotException("Mapping is null");
         }
@@ -424,7 +596,51 @@ public class AiService {
             DatabaseSchemaDTO schema) {
 
         String prompt = buildSqlPrompt(question, mapping, schema);
-        return callAiApi(userId, prompt, 0.3); // Low temp for accuracy
+        return generateSql(userId, prompt, mapping, schema);
+    }
+
+    private String generateSql(Long userId, String prompt, SchemaMapping mapping, DatabaseSchemaDTO schema) {
+        if (!sqlStreamingEnabled) {
+            return callAiApi(userId, prompt, 0.3, AskMetrics.LLM_SQL, mapping, null); // Low temp for accuracy
+        }
+
+        // Streamed: the guard cancels the call on the first unknown identifier and only this stage is re-prompted
+        SqlIdentifierGuard.CompiledSchema compiled = compiledSchema(schema);
+        String feedback = "";
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return callAiApi(userId, prompt + feedback, 0.3, AskMetrics.LLM_SQL, mapping,
+                        new SqlIdentifierGuard(compiled));
+            } catch (InvalidSqlException e) {
+                log.warn("SQL stream aborted on attempt {}: {}", attempt + 1, e.getMessage());
+                if (attempt >= sqlStreamingMaxReprompts) {
+                    throw new ChatBotException(e.getMessage());
+                }
+                askMetrics.recordRetry();
+                feedback = "=== PREVIOUS ATTEMPT REJECTED ===\n" + e.getMessage()
+                        + "\nUse ONLY the tables and columns given above.\n";
+            }
+        }
+    }
+
+    /**
+     * Compiled identifiers of the schema, reused while its config and version stay the same
+     */
+    SqlIdentifierGuard.CompiledSchema compiledSchema(DatabaseSchemaDTO schema) {
+        Long configId = schema.getDatabaseConfigId();
+        Long version = schema.getSchemaVersion();
+        if (configId == null || version == null) {
+            return SqlIdentifierGuard.CompiledSchema.of(schema);
+        }
+        VersionedSchema cached = compiledSchemas.get(configId);
+        if (cached == null || !cached.version().equals(version)) {
+            cached = new VersionedSchema(version, SqlIdentifierGuard.CompiledSchema.of(schema));
+            compiledSchemas.put(configId, cached);
+        }
+        return cached.compiled();
+    }
+
+    private record VersionedSchema(Long version, SqlIdentifierGuard.CompiledSchema compiled) {
     }
 
     /**
@@ -472,6 +688,19 @@ public class AiService {
         }
         p.append("\n");
 
+        appendSyntaxRules(p, dbType);
+
+        p.append("=== TASK ===\n");
+        p.append("Question: \"").append(question).append("\"\n\n");
+        p.append("Generate SQL query:\n");
+        p.append("• Use ONLY identifiers from VALIDATED MAPPING above\n");
+        p.append("• Follow ").append(dbType).append(" syntax\n");
+        p.append("• Return ONLY the SQL query (no markdown, no explanations)\n\n");
+
+        return p.toString();
+    }
+
+    private static void appendSyntaxRules(StringBuilder p, String dbType) {
         p.append("=== ").append(dbType).append(" SYNTAX ===\n");
         switch (dbType) {
             case "POSTGRESQL":
@@ -493,15 +722,6 @@ public class AiService {
                 p.append("• Use standard SQL\n");
         }
         p.append("\n");
-
-        p.append("=== TASK ===\n");
-        p.append("Question: \"").append(question).append("\"\n\n");
-        p.append("Generate SQL query:\n");
-        p.append("• Use ONLY identifiers from VALIDATED MAPPING above\n");
-        p.append("• Follow ").append(dbType).append(" syntax\n");
-        p.append("• Return ONLY the SQL query (no markdown, no explanations)\n\n");
-
-        return p.toString();
     }
 
     /**
@@ -511,9 +731,15 @@ public class AiService {
         if (response == null)
             return "";
 
-        return response
+        String cleaned = response
                 .replaceAll("```sql\\s*", "")
-                .replaceAll("```\\s*", "")
+                .replaceAll("```\\s*", "");
+        // Drop prose before the statement
+        Matcher start = STATEMENT_START.matcher(cleaned);
+        if (start.find()) {
+            cleaned = cleaned.substring(start.start());
+        }
+        return cleaned
                 .replaceAll("^--.*$", "")
                 .replaceAll("^\\s*\\n", "")
                 .trim();
@@ -524,7 +750,7 @@ public class AiService {
      */
     @lombok.Data
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
-    private static class SchemaMapping {
+    static class SchemaMapping {
         private String intent;
         private List<String> tables = new ArrayList<>();
         private Map<String, List<String>> columns = new HashMap<>();
@@ -537,7 +763,7 @@ public class AiService {
 
     @lombok.Data
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
-    private static class JoinInfo {
+    static class JoinInfo {
         private String table1;
         private String table2;
         private String on;
@@ -545,7 +771,7 @@ public class AiService {
 
     @lombok.Data
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
-    private static class OrderByInfo {
+    static class OrderByInfo {
         private String column;
         private String direction;
     }
@@ -553,11 +779,12 @@ public class AiService {
     /**
      * Generate natural language answer from SQL results
      */
-    public String generateAnswer(Long userId, String question, String sqlQuery, List<Map<String, Object>> result) {
+    public String generateAnswer(Long userId, String question, String sqlQuery, ResultTable result) {
         String prompt = buildAnswerPrompt(question, sqlQuery, result);
 
         try {
-            String response = callAiApi(userId, prompt, aiApiProperties.getTemperatureAnswer());
+            String response = callAiApi(userId, prompt, aiApiProperties.getTemperatureAnswer(), AskMetrics.LLM_ANSWER,
+                    null, null);
             log.debug("AI generated answer: {}", response);
             return cleanAnswer(response);
         } catch (Exception e) {
@@ -566,7 +793,7 @@ public class AiService {
         }
     }
 
-    private String buildQueryPrompt(String question, DatabaseSchemaDTO schema, String previousError) {
+    String buildQueryPrompt(String question, DatabaseSchemaDTO schema, String previousError) {
         StringBuilder p = new StringBuilder();
 
         String databaseType = schema != null && schema.getDatabaseType() != null
@@ -793,7 +1020,7 @@ public class AiService {
      * Build intelligent prompt for answer generation with user-friendly
      * explanations
      */
-    private String buildAnswerPrompt(String question, String sqlQuery, List<Map<String, Object>> result) {
+    String buildAnswerPrompt(String question, String sqlQuery, ResultTable result) {
         StringBuilder prompt = new StringBuilder();
 
         prompt.append(
@@ -802,7 +1029,9 @@ public class AiService {
         prompt.append("=== CONTEXT ===\n");
         prompt.append("User Question: \"").append(question).append("\"\n");
         prompt.append("SQL Query Executed: ").append(sqlQuery).append("\n");
-        prompt.append("Query Results: ").append(objectMapper.valueToTree(result).toString()).append("\n\n");
+        // Header once plus row arrays, instead of repeating every column name on every row
+        prompt.append(QUERY_RESULTS_LABEL)
+                .append(objectMapper.valueToTree(result).toString()).append("\n\n");
 
         prompt.append("=== YOUR CAPABILITIES ===\n");
         prompt.append("• Understand the user's ORIGINAL question (even with typos/unclear language)\n");
@@ -886,7 +1115,7 @@ public class AiService {
     /**
      * Format schema information for prompt - DETAILED VERSION
      */
-    private String formatSchemaInfoDetailed(DatabaseSchemaDTO schema) {
+    String formatSchemaInfoDetailed(DatabaseSchemaDTO schema) {
         if (schema == null || schema.getTables() == null) {
             return "Schema information not available";
         }
@@ -956,7 +1185,7 @@ public class AiService {
     /**
      * Generate examples based on actual schema
      */
-    private String getSchemaBasedExamples(DatabaseSchemaDTO schema, String databaseType) {
+    String getSchemaBasedExamples(DatabaseSchemaDTO schema, String databaseType) {
         if (schema == null || schema.getTables() == null || schema.getTables().isEmpty()) {
             return "No schema available for examples.\n";
         }
@@ -1064,6 +1293,8 @@ public class AiService {
         ProviderConfig config = new ProviderConfig();
         config.provider = settings.getProvider();
         config.model = settings.getModel();
+        config.fastModel = modelRouter.fastModelFor(settings);
+        config.adapter = providerAdapters.adapterFor(settings.getProvider());
 
         switch (settings.getProvider()) {
             case DEMO:
@@ -1074,7 +1305,7 @@ public class AiService {
 
             case CLAUDE:
                 // Use user's Anthropic API key
-                config.url = "https://api.anthropic.com/v1/messages";
+                config.url = config.adapter.defaultUrl(config.provider);
                 config.apiKey = userAiSettingsService.getDecryptedApiKey(userId);
                 if (config.apiKey == null) {
                     throw new ChatBotException("Claude API key not configured. Please add your API key in settings.");
@@ -1083,100 +1314,120 @@ public class AiService {
 
             case OPENAI:
                 // Use user's OpenAI API key
-                config.url = "https://api.openai.com/v1/chat/completions";
+                config.url = config.adapter.defaultUrl(config.provider);
                 config.apiKey = userAiSettingsService.getDecryptedApiKey(userId);
                 if (config.apiKey == null) {
                     throw new ChatBotException("OpenAI API key not configured. Please add your API key in settings.");
                 }
                 break;
+
+            case LOCAL_STUB:
+                // Offline stub speaking the same chat-completions format
+                if (!stubAiProperties.isEnabled()) {
+                    throw new ChatBotException("Local stub AI provider is disabled on this instance.");
+                }
+                config.url = stubAiProperties.getUrl();
+                config.apiKey = "local-stub";
+                if (config.model == null) {
+                    config.model = stubAiProperties.getModel();
+                }
+                break;
         }
 
+        config.cacheScope = LlmResponseCache.scope(settings.isLlmCacheShared(), config.apiKey);
         return config;
     }
 
     /**
      * Call AI API (non-streaming)
+     *
+     * @param call which pipeline call this is (AskMetrics.LLM_*), used to tag latency metrics and spans
+     * @param mapping validated mapping the prompt was built from, used for model routing (null if none)
+     * @param guard when set, the response is streamed through it and the call is cancelled as soon as the
+     *              guard rejects the SQL read so far (InvalidSqlException)
+     */
+    private String callAiApi(Long userId, String prompt, Double temperature, String call, SchemaMapping mapping,
+            SqlIdentifierGuard guard) {
+        return callAiApi(userId, prompt, 0, temperature, call, mapping, guard);
+    }
+
+    /**
+     * @param cacheablePrefixLength length of the prompt's leading part that repeats across calls, marked
+     *                              for providers with explicit prompt caching (0 for none)
      */
-    private String callAiApi(Long userId, String prompt, Double temperature) {
+    private String callAiApi(Long userId, String prompt, int cacheablePrefixLength, Double temperature, String call,
+            SchemaMapping mapping, SqlIdentifierGuard guard) {
         ProviderConfig config = getProviderConfig(userId);
 
-        Map<String, Object> requestBody = Map.of(
-                "model", config.model,
-                "messages", List.of(
-                        Map.of("role", "system", "content",
-                                "You are an EXPERT AI database assistant with ADVANCED natural language understanding. "
-                                        +
-                                        "You excel at understanding unclear questions, handling typos, interpreting user intent, "
-                                        +
-                                        "and providing intelligent, helpful responses. You are patient, friendly, supportive, and "
-                                        +
-                                        "can understand questions even when they have spelling mistakes, grammar errors, or are written "
-                                        +
-                                        "in unclear language. You always try to help the user get the information they need, regardless "
-                                        +
-                                        "of how their question is phrased. You are database-agnostic and can work with MySQL, PostgreSQL, "
-                                        +
-                                        "Oracle, SQL Server, and other databases using their specific syntax."),
-                        Map.of("role", "user", "content", prompt)),
-                "temperature", temperature,
-                "max_tokens", aiApiProperties.getMaxTokens());
+        String tier = ModelRouter.TIER_MAIN;
+        if (config.fastModel != null && ModelRouter.TIER_FAST.equals(modelRouter.route(call, mapping, prompt.length()))) {
+            tier = ModelRouter.TIER_FAST;
+            config.model = config.fastModel;
+        }
 
-        try {
+        String provider = config.provider.name().toLowerCase();
+        String providerName = config.adapter.displayName(config.provider);
+        String model = String.valueOf(config.model);
+
+        // Memoized low-temperature responses, scoped to the API key unless the user opted in to sharing
+        byte[] cacheKey = llmResponseCache.isCacheable(temperature)
+                ? LlmResponseCache.key(provider, model, temperature, config.cacheScope, SYSTEM_PROMPT, prompt)
+                : null;
+        if (cacheKey != null) {
+            String cached = llmResponseCache.get(cacheKey);
+            askMetrics.recordLlmCacheLookup(call, cached != null);
+            if (cached != null) {
+                log.debug("LLM cache hit for {} call (model: {})", call, model);
+                askTraceRecorder.recordLlmCall(call, model, temperature, prompt, cached, null, 0L);
+                String content = extractContent(cached).content();
+                if (guard != null) {
+                    guard.feed(content);
+                    guard.finish();
+                }
+                return content;
+            }
+        }
+        Observation observation = Observation.createNotStarted("chatbot.llm.call", observationRegistry)
+                .contextualName("llm " + call)
+                .lowCardinalityKeyValue("llm.call", call)
+                .lowCardinalityKeyValue("llm.provider", provider)
+                .lowCardinalityKeyValue("llm.model", model)
+                .lowCardinalityKeyValue("llm.tier", tier)
+                .highCardinalityKeyValue("llm.temperature", String.valueOf(temperature))
+                .highCardinalityKeyValue("llm.prompt.chars", String.valueOf(prompt.length()))
+                .lowCardinalityKeyValue("llm.streamed", String.valueOf(guard != null))
+                .start();
+
+        long startNanos = System.nanoTime();
+        ProviderCompletion completion = null;
+        String failure = null;
+        try (Observation.Scope ignored = observation.openScope()) {
             log.debug("Calling AI API: {} with model: {} (provider: {})", config.url, config.model, config.provider);
 
-            String response = webClient.post()
-                    .uri(config.url)
-                    .header("Authorization", "Bearer " + config.apiKey)
-                    .header("Content-Type", "application/json")
-                    .header("HTTP-Referer", "http://localhost:3000")
-                    .header("X-Title", "Eadgequry AI Chatbot")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .onStatus(
-                            status -> status.is4xxClientError(),
-                            clientResponse -> {
-                                return clientResponse.bodyToMono(String.class)
-                                        .flatMap(body -> {
-                                            log.error("OpenRouter 4xx error - Status: {}, Body: {}",
-                                                    clientResponse.statusCode(), body);
-                                            return clientResponse.createException()
-                                                    .flatMap(ex -> {
-                                                        if (clientResponse.statusCode().value() == 401) {
-                                                            return reactor.core.publisher.Mono
-                                                                    .error(new ChatBotException(
-                                                                            "OpenRouter authentication failed - check API key"));
-                                                        } else if (clientResponse.statusCode().value() == 429) {
-                                                            return reactor.core.publisher.Mono
-                                                                    .error(new ChatBotException(
-                                                                            "OpenRouter rate limit exceeded"));
-                                                        } else {
-                                                            return reactor.core.publisher.Mono
-                                                                    .error(new ChatBotException(
-                                                                            "OpenRouter client error: " + body));
-                                                        }
-                                                    });
-                                        });
-                            })
-                    .onStatus(
-                            status -> status.is5xxServerError(),
-                            clientResponse -> {
-                                return clientResponse.bodyToMono(String.class)
-                                        .flatMap(body -> {
-                                            log.error("OpenRouter 5xx error - Status: {}, Body: {}",
-                                                    clientResponse.statusCode(), body);
-                                            return reactor.core.publisher.Mono
-                                                    .error(new ChatBotException("OpenRouter server error: " + body));
-                                        });
-                            })
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofMillis(aiApiProperties.getTimeout()))
-                    .block();
-
-            log.debug("AI API raw response: {}", response);
-            return extractContent(response);
-        } catch (ChatBotException e) {
+            ProviderRequest request = new ProviderRequest(config.model, SYSTEM_PROMPT, prompt, cacheablePrefixLength,
+                    temperature, aiApiProperties.getMaxTokens(), guard != null);
+            if (guard != null) {
+                completion = streamCompletion(config, request, providerName, guard);
+            } else {
+                completion = retrieve(config, request, providerName)
+                        .bodyToMono(DataBuffer.class)
+                        .map(body -> decodeCompletion(config.adapter, body))
+                        .timeout(Duration.ofMillis(aiApiProperties.getTimeout()))
+                        .block();
+            }
+
+            log.debug("AI API completion: {}", completion);
+            if (cacheKey != null) {
+                llmResponseCache.put(cacheKey, chatCompletionCodec.encodeCompletion(completion));
+            }
+            return completion.content();
+        } catch (ChatBotException | InvalidSqlException e) {
+            observation.error(e);
+            failure = e.getMessage();
             throw e;
         } catch (Exception e) {
+            observation.error(e);
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
             log.error("AI API call failed. URL: {}, Model: {}, Error: {}",
                     aiApiProperties.getUrl(),
                     aiApiProperties.getModel(),
@@ -1184,46 +1435,129 @@ public class AiService {
             throw new ChatBotException(
                     "AI API call failed: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()),
                     e);
+        } finally {
+            Integer promptTokens = completion != null ? completion.promptTokens() : null;
+            Integer completionTokens = completion != null ? completion.completionTokens() : null;
+            if (promptTokens != null) {
+                observation.highCardinalityKeyValue("llm.usage.prompt_tokens", promptTokens.toString());
+            }
+            if (completionTokens != null) {
+                observation.highCardinalityKeyValue("llm.usage.completion_tokens", completionTokens.toString());
+            }
+            if (completion != null && completion.cachedPromptTokens() != null) {
+                observation.highCardinalityKeyValue("llm.usage.cached_prompt_tokens",
+                        completion.cachedPromptTokens().toString());
+            }
+            observation.stop();
+
+            long elapsedNanos = System.nanoTime() - startNanos;
+            askMetrics.recordLlmCall(call, provider, model, tier, elapsedNanos, completion != null,
+                    promptTokens, completionTokens);
+            if (askTraceRecorder.isEnabled()) {
+                askTraceRecorder.recordLlmCall(call, model, temperature, prompt,
+                        completion != null ? chatCompletionCodec.encodeCompletion(completion) : null, failure,
+                        elapsedNanos);
+            }
         }
     }
 
     /**
-     * Extract content from AI API response
+     * POST the request in the provider's native format, mapping error statuses to ChatBotException
      */
-    private String extractContent(String response) {
-        try {
-            JsonNode root = objectMapper.readTree(response);
-
-            // Check for error in response
-            if (root.has("error")) {
-                String errorMsg = root.path("error").path("message").asText();
-                String errorCode = root.path("error").path("code").asText();
-                log.error("OpenRouter API returned error - Code: {}, Message: {}", errorCode, errorMsg);
-                throw new ChatBotException("OpenRouter API error: " + errorMsg);
-            }
-
-            // Extract content
-            JsonNode choices = root.path("choices");
-            if (choices.isMissingNode() || choices.isEmpty()) {
-                log.error("No choices in response. Full response: {}", response);
-                throw new ChatBotException("OpenRouter response missing 'choices' field");
-            }
+    private WebClient.ResponseSpec retrieve(ProviderConfig config, ProviderRequest request, String providerName) {
+        WebClient.RequestBodySpec spec = webClient.post()
+                .uri(config.url)
+                .headers(headers -> config.adapter.applyHeaders(config.provider, config.apiKey, headers))
+                .header("Content-Type", "application/json");
+        if (request.stream()) {
+            spec = spec.accept(MediaType.TEXT_EVENT_STREAM);
+        }
+        return spec.body(config.adapter.requestBody(request))
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError(),
+                        clientResponse -> {
+                            return clientResponse.bodyToMono(String.class)
+                                    .flatMap(body -> {
+                                        log.error("{} 4xx error - Status: {}, Body: {}", providerName,
+                                                clientResponse.statusCode(), body);
+                                        return clientResponse.createException()
+                                                .flatMap(ex -> {
+                                                    if (clientResponse.statusCode().value() == 401) {
+                                                        return reactor.core.publisher.Mono
+                                                                .error(new ChatBotException(
+                                                                        providerName + " authentication failed - check API key"));
+                                                    } else if (clientResponse.statusCode().value() == 429) {
+                                                        return reactor.core.publisher.Mono
+                                                                .error(new ChatBotException(
+                                                                        providerName + " rate limit exceeded"));
+                                                    } else {
+                                                        return reactor.core.publisher.Mono
+                                                                .error(new ChatBotException(
+                                                                        providerName + " client error: " + body));
+                                                    }
+                                                });
+                                    });
+                        })
+                .onStatus(
+                        status -> status.is5xxServerError(),
+                        clientResponse -> {
+                            return clientResponse.bodyToMono(String.class)
+                                    .flatMap(body -> {
+                                        log.error("{} 5xx error - Status: {}, Body: {}", providerName,
+                                                clientResponse.statusCode(), body);
+                                        return reactor.core.publisher.Mono
+                                                .error(new ChatBotException(providerName + " server error: " + body));
+                                    });
+                        });
+    }
 
-            String content = choices.get(0).path("message").path("content").asText();
-            if (content == null || content.isEmpty()) {
-                log.error("Empty content in response. Full response: {}", response);
-                throw new ChatBotException("OpenRouter returned empty content");
-            }
+    /**
+     * Stream the completion, feeding every content delta to the guard. A rejection is thrown from
+     * inside the pipeline, which cancels the subscription and with it the provider connection, so
+     * the rest of the invalid statement is neither generated nor paid for.
+     */
+    private ProviderCompletion streamCompletion(ProviderConfig config, ProviderRequest request,
+            String providerName, SqlIdentifierGuard guard) {
+        CompletionStream stream = new CompletionStream();
+        retrieve(config, request, providerName)
+                .bodyToFlux(SSE_EVENTS)
+                .doOnNext(event -> {
+                    if (event.data() == null) {
+                        return;
+                    }
+                    String delta = config.adapter.decodeStreamEvent(event.data(), stream);
+                    if (delta != null) {
+                        guard.feed(delta);
+                    }
+                })
+                .takeUntil(event -> stream.isDone())
+                .then()
+                .timeout(Duration.ofMillis(aiApiProperties.getTimeout()))
+                .block();
+        guard.finish();
+        return stream.toCompletion();
+    }
 
-            return content;
-        } catch (ChatBotException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to parse AI response. Response: {}", response, e);
-            throw new ChatBotException("Failed to parse AI response: " + e.getMessage(), e);
+    /**
+     * Decode a response body in the provider's native format straight from the transport buffer,
+     * releasing it afterwards
+     */
+    private ProviderCompletion decodeCompletion(ProviderAdapter adapter, DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return adapter.decode(in);
+        } catch (IOException e) {
+            throw new ChatBotException("Failed to read AI response: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Extract content and token usage from a stored AI API response (cache hits)
+     */
+    ProviderCompletion extractContent(String response) {
+        return chatCompletionCodec.decode(response);
+    }
+
     /**
      * Clean answer (remove extra quotes, trim)
      */
@@ -1242,5 +1576,8 @@ public class AiService {
         String url;
         String apiKey;
         String model;
+        String fastModel;  // null when routing is off for this user
+        String cacheScope;
+        ProviderAdapter adapter;
     }
 }
\ No newline at end of file
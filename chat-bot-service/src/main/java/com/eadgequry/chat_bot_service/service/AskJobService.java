@@ -0,0 +1,151 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.dto.AskJobResponse;
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.event.AskJobEvent;
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.model.AskJob;
+import com.eadgequry.chat_bot_service.repository.AskJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async ask jobs: HTTP instances enqueue questions on Kafka, worker instances run the pipeline.
+ * Job state lives in the database so any instance can answer polling requests.
+ */
+@Service
+public class AskJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AskJobService.class);
+    private static final String WORKER_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final AskJobRepository askJobRepository;
+    private final KafkaTemplate<String, AskJobEvent> askJobKafkaTemplate;
+    private final ChatbotService chatbotService;
+
+    @Value("${kafka.topics.ask-jobs}")
+    private String askJobsTopic;
+
+    @Value("${chatbot.async.publish-timeout-ms:5000}")
+    private long publishTimeoutMs;
+
+    @Value("${chatbot.async.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${chatbot.async.subscription-timeout-ms:300000}")
+    private long subscriptionTimeoutMs;
+
+    public AskJobService(AskJobRepository askJobRepository,
+                         KafkaTemplate<String, AskJobEvent> askJobKafkaTemplate,
+                         ChatbotService chatbotService) {
+        this.askJobRepository = askJobRepository;
+        this.askJobKafkaTemplate = askJobKafkaTemplate;
+        this.chatbotService = chatbotService;
+    }
+
+    /**
+     * Persist a PENDING job and publish it, keyed by databaseConfigId
+     */
+    public AskJobResponse submit(ChatRequest request) {
+        AskJob job = AskJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .userId(request.getUserId())
+                .databaseConfigId(request.getDatabaseConfigId())
+                .question(request.getQuestion().trim())
+                .status(AskJob.Status.PENDING)
+                .build();
+        job = askJobRepository.save(job);
+
+        AskJobEvent event = new AskJobEvent(job.getJobId(), job.getUserId(), job.getDatabaseConfigId(),
+                job.getQuestion());
+        try {
+            askJobKafkaTemplate.send(askJobsTopic, job.getDatabaseConfigId().toString(), event)
+                    .get(publishTimeoutMs, TimeUnit.MILLISECONDS);
+            log.info("Ask job {} published for user {} on database config {}",
+                    job.getJobId(), job.getUserId(), job.getDatabaseConfigId());
+        } catch (Exception e) {
+            log.error("Failed to publish ask job {}", job.getJobId(), e);
+            job.setStatus(AskJob.Status.FAILED);
+            job.setErrorMessage("Failed to enqueue question: " + e.getMessage());
+            job.setCompletedAt(LocalDateTime.now());
+            askJobRepository.save(job);
+            throw new ChatBotException("Failed to enqueue question, please try again", e);
+        }
+
+        return AskJobResponse.fromEntity(job);
+    }
+
+    /**
+     * Run the pipeline for a consumed job (called by the Kafka worker)
+     */
+    public void process(AskJobEvent event) {
+        AskJob job = askJobRepository.findByJobId(event.jobId()).orElse(null);
+        if (job == null) {
+            log.warn("Ask job {} not found, skipping", event.jobId());
+            return;
+        }
+        if (job.isFinished()) {
+            // Redelivery after the result was already stored
+            log.info("Ask job {} already {}, skipping", job.getJobId(), job.getStatus());
+            return;
+        }
+
+        job.setStatus(AskJob.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job.setAttempts(job.getAttempts() + 1);
+        job.setWorkerId(WORKER_ID);
+        askJobRepository.save(job);
+
+        try {
+            ChatRequest request = new ChatRequest(event.question(), event.databaseConfigId(), event.userId());
+            ChatResponse response = chatbotService.ask(request);
+
+            job.setStatus(AskJob.Status.COMPLETED);
+            job.setResult(response);
+            log.info("Ask job {} completed (success={})", job.getJobId(), response.isSuccess());
+        } catch (Exception e) {
+            log.error("Ask job {} failed", job.getJobId(), e);
+            job.setStatus(AskJob.Status.FAILED);
+            job.setErrorMessage(e.getMessage());
+        }
+
+        job.setCompletedAt(LocalDateTime.now());
+        askJobRepository.save(job);
+    }
+
+    /**
+     * Get job status and result (polling)
+     */
+    public AskJobResponse getJob(String jobId, Long userId) {
+        AskJob job = askJobRepository.findByJobIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ChatBotException("Ask job not found: " + jobId));
+        return AskJobResponse.fromEntity(job);
+    }
+
+    /**
+     * Emit the job every time its status changes, completing once it is finished (subscription)
+     */
+    public Flux<AskJobResponse> watchJob(String jobId, Long userId) {
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(pollIntervalMs))
+                .onBackpressureDrop()
+                .publishOn(Schedulers.boundedElastic())
+                .map(tick -> getJob(jobId, userId))
+                .distinctUntilChanged(job -> Objects.hash(job.getStatus(), job.getCompletedAt()))
+                .takeUntil(job -> AskJob.Status.COMPLETED.name().equals(job.getStatus())
+                        || AskJob.Status.FAILED.name().equals(job.getStatus()))
+                .take(Duration.ofMillis(subscriptionTimeoutMs));
+    }
+}
@@ -0,0 +1,136 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.client.DataSourceClient;
+import com.eadgequry.chat_bot_service.dto.BatchChatRequest;
+import com.eadgequry.chat_bot_service.dto.BatchChatResult;
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch questions against one database: the schema is fetched and parsed once,
+ * then questions run with bounded parallelism and results are emitted as they finish.
+ */
+@Service
+public class BatchChatService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchChatService.class);
+
+    private final ChatbotService chatbotService;
+    private final AiService aiService;
+    private final DataSourceClient dataSourceClient;
+
+    @Value("${chatbot.batch.parallelism:4}")
+    private int maxParallelism;
+
+    @Value("${chatbot.batch.rate-limit-retries:2}")
+    private int rateLimitRetries;
+
+    @Value("${chatbot.batch.rate-limit-backoff-ms:2000}")
+    private long rateLimitBackoffMs;
+
+    public BatchChatService(ChatbotService chatbotService, AiService aiService, DataSourceClient dataSourceClient) {
+        this.chatbotService = chatbotService;
+        this.aiService = aiService;
+        this.dataSourceClient = dataSourceClient;
+    }
+
+    /**
+     * Run every question of the batch; each result carries its index in the request
+     * so clients can match out-of-order results. Failures are reported per question.
+     */
+    public Flux<BatchChatResult> askBatch(BatchChatRequest request) {
+        List<String> questions = request.getQuestions();
+        int parallelism = effectiveParallelism(request.getParallelism());
+
+        log.info("Batch of {} questions from user {} on database config {} (parallelism {})",
+                questions.size(), request.getUserId(), request.getDatabaseConfigId(), parallelism);
+
+        return Mono.fromCallable(() -> loadSchema(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(schema -> Flux.range(0, questions.size())
+                        .flatMap(index -> askOne(request, index, schema), parallelism))
+                .onErrorResume(e -> {
+                    // Only the schema load can fail here, per-question errors are already mapped
+                    log.error("Failed to load schema for batch on database config {}", request.getDatabaseConfigId(), e);
+                    String error = "Failed to load database schema: " + e.getMessage();
+                    return Flux.range(0, questions.size())
+                            .map(index -> BatchChatResult.failed(index, questions.get(index), error, 0, 0));
+                });
+    }
+
+    private DatabaseSchemaDTO loadSchema(BatchChatRequest request) {
+        DatabaseSchemaDTO schema = dataSourceClient.getSchemaByConfigId(request.getDatabaseConfigId(), request.getUserId());
+        return aiService.prepareSchema(schema);
+    }
+
+    private Mono<BatchChatResult> askOne(BatchChatRequest request, int index, DatabaseSchemaDTO schema) {
+        String question = request.getQuestions().get(index);
+        ChatRequest chatRequest = new ChatRequest(question, request.getDatabaseConfigId(), request.getUserId());
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+
+        return Mono.fromCallable(() -> {
+                    attempts.incrementAndGet();
+                    ChatResponse response = chatbotService.askWithSchema(chatRequest, schema);
+                    if (isRateLimited(response)) {
+                        throw new RateLimitedException(response);
+                    }
+                    return response;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .retryWhen(Retry.backoff(rateLimitRetries, Duration.ofMillis(rateLimitBackoffMs))
+                        .filter(RateLimitedException.class::isInstance))
+                .map(response -> BatchChatResult.of(index, question, response, attempts.get(), elapsedMs(start)))
+                .onErrorResume(e -> {
+                    Throwable cause = Exceptions.isRetryExhausted(e) ? e.getCause() : e;
+                    if (cause instanceof RateLimitedException rateLimited) {
+                        return Mono.just(BatchChatResult.of(index, question, rateLimited.response,
+                                attempts.get(), elapsedMs(start)));
+                    }
+                    log.error("Batch question {} failed", index, cause);
+                    return Mono.just(BatchChatResult.failed(index, question, "Error: " + cause.getMessage(),
+                            attempts.get(), elapsedMs(start)));
+                });
+    }
+
+    int effectiveParallelism(Integer requested) {
+        int limit = Math.max(1, maxParallelism);
+        if (requested == null) {
+            return limit;
+        }
+        return Math.max(1, Math.min(requested, limit));
+    }
+
+    private boolean isRateLimited(ChatResponse response) {
+        return !response.isSuccess()
+                && response.getError() != null
+                && response.getError().toLowerCase().contains("rate limit");
+    }
+
+    private long elapsedMs(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private static class RateLimitedException extends RuntimeException {
+        private final ChatResponse response;
+
+        RateLimitedException(ChatResponse response) {
+            super(response.getError());
+            this.response = response;
+        }
+    }
+}
@@ -3,10 +3,15 @@ package com.eadgequry.chat_bot_service.service;
 import com.eadgequry.chat_bot_service.client.DataSourceClient;
 import com.eadgequry.chat_bot_service.dto.*;
 import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
 import com.eadgequry.chat_bot_service.model.Conversation;
 import com.eadgequry.chat_bot_service.model.ConversationSession;
 import com.eadgequry.chat_bot_service.repository.ConversationRepository;
 import com.eadgequry.chat_bot_service.repository.ConversationSessionRepository;
+import com.eadgequry.chat_bot_service.trace.AskTraceRecorder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -29,6 +35,9 @@ public class ChatbotService {
 
     private static final Logger log = LoggerFactory.getLogger(ChatbotService.class);
 
+    // Rows shown to the user; data-source stops reading after this many
+    static final int MAX_DISPLAY_ROWS = 50;
+
     private final AiService aiService;
     private final SqlValidatorService sqlValidatorService;
     private final DataSourceClient dataSourceClient;
@@ -36,15 +45,54 @@ public class ChatbotService {
     private final ConversationSessionRepository conversationSessionRepository;
     private final UserAiSettingsService userAiSettingsService;
     private final DemoQueryUsageService demoQueryUsageService;
+    private final AskMetrics askMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final AskTraceRecorder askTraceRecorder;
 
     @Value("${chatbot.max-retries:2}")
     private int maxRetries;
 
+    @Value("${chatbot.follow-up.enabled:true}")
+    private boolean followUpEnabled;
+
+    @Value("${chatbot.follow-up.max-age-minutes:30}")
+    private long followUpMaxAgeMinutes;
+
     /**
      * Simple flow: Question → Generate SQL → Validate → Execute → Generate Answer
      */
     @Transactional
     public ChatResponse ask(ChatRequest request) {
+        return processQuestion(request, null);
+    }
+
+    /**
+     * Same flow as {@link #ask(ChatRequest)} but with a schema that was already fetched
+     * and parsed by the caller (batch requests share one schema across questions)
+     */
+    @Transactional
+    public ChatResponse askWithSchema(ChatRequest request, DatabaseSchemaDTO preparedSchema) {
+        return processQuestion(request, preparedSchema);
+    }
+
+    private ChatResponse processQuestion(ChatRequest request, DatabaseSchemaDTO preparedSchema) {
+        Timer.Sample askSample = askMetrics.askStarted();
+        long startNanos = System.nanoTime();
+        askTraceRecorder.begin(request);
+        ChatResponse response = null;
+        try {
+            response = runPipeline(request, preparedSchema);
+        } catch (RuntimeException e) {
+            askMetrics.askFinished(askSample, "error");
+            throw e;
+        } finally {
+            askTraceRecorder.finish(response, System.nanoTime() - startNanos);
+        }
+        response.setTimings(askMetrics.askFinished(askSample, response.isSuccess() ? "success" : "error"));
+        return response;
+    }
+
+    private ChatResponse runPipeline(ChatRequest request, DatabaseSchemaDTO preparedSchema) {
         String sqlQuery = null;
         try {
             String question = request.getQuestion().trim();
@@ -55,6 +103,7 @@ public class ChatbotService {
             String nonDbResponse = aiService.handleNonDatabaseQuestion(question);
             if (nonDbResponse != null) {
                 log.info("Handling non-database question: {}", question);
+                askMetrics.recordFastPath();
                 return ChatResponse.success(question, null, null, nonDbResponse);
             }
 
@@ -63,6 +112,7 @@ public class ChatbotService {
                 if (demoQueryUsageService.hasExceededDailyLimit(userId)) {
                     String limitMessage = buildDailyLimitExceededMessage(userId);
                     log.warn("User {} exceeded daily DEMO query limit", userId);
+                    askMetrics.recordError(AskMetrics.ERROR_DEMO_LIMIT);
                     return ChatResponse.builder()
                             .success(false)
                             .question(question)
@@ -74,17 +124,43 @@ public class ChatbotService {
                 }
             }
 
-            // Get database schema
-            DatabaseSchemaDTO schema = dataSourceClient.getSchemaByConfigId(databaseConfigId, userId);
+            // Get database schema (unless the caller already loaded it)
+            DatabaseSchemaDTO schema;
+            if (preparedSchema != null) {
+                schema = preparedSchema;
+                askTraceRecorder.recordSchema(schema, null);
+            } else {
+                schema = askMetrics.recordStage(AskMetrics.STAGE_SCHEMA_FETCH,
+                        () -> fetchSchema(databaseConfigId, userId));
+            }
 
-            // Generate SQL query with retries
-            sqlQuery = generateQueryWithRetries(userId, question, schema);
+            // Generate SQL query with retries, or edit the previous one for a follow-up in the same session
+            Conversation previousTurn = findFollowUpBase(userId, databaseConfigId, question);
+            AiService.GeneratedSql generated = askMetrics.recordStage(AskMetrics.STAGE_SQL_GENERATION,
+                    () -> generateQuery(userId, question, schema, previousTurn));
+            sqlQuery = generated.sql();
 
             // Clean SQL
             sqlQuery = sqlValidatorService.cleanQuery(sqlQuery);
 
-            // Execute query (datasource will validate for security)
-            QueryExecutionResponse queryResult = dataSourceClient.executeQuery(databaseConfigId, userId, sqlQuery);
+            // Execute query (datasource will validate for security and check its EXPLAIN estimate)
+            QueryExecutionResponse attempt = executeQueryStage(databaseConfigId, userId, sqlQuery, schema);
+            String schemaMapping = generated.schemaMapping();
+
+            // The cost guard rejected the plan: ask once for a cheaper query and run that instead
+            if (attempt.isRejectedByCostGuard()) {
+                log.info("Query rejected by cost guard, asking for a cheaper one: {}", attempt.getError());
+                askMetrics.recordRetry();
+                String feedback = buildCheaperQueryFeedback(attempt);
+                AiService.GeneratedSql cheaper = askMetrics.recordStage(AskMetrics.STAGE_SQL_GENERATION,
+                        () -> aiService.generateSqlQuery(userId, question, schema, feedback));
+                sqlQuery = sqlValidatorService.cleanQuery(cheaper.sql());
+                schemaMapping = cheaper.schemaMapping();
+                attempt = executeQueryStage(databaseConfigId, userId, sqlQuery, schema);
+            }
+            String finalSql = sqlQuery;
+            String finalMapping = schemaMapping;
+            QueryExecutionResponse queryResult = attempt;
 
             if (!queryResult.isSuccess()) {
                 String errorMsg = queryResult.getError();
@@ -92,12 +168,13 @@ public class ChatbotService {
                 // Check if it's a table/column not found error
                 if (isTableOrColumnNotFoundError(errorMsg)) {
                     log.warn("Table or column not found: {}", errorMsg);
+                    askMetrics.recordError(AskMetrics.ERROR_UNKNOWN_TABLE);
                     String friendlyError = buildTableNotFoundResponse(errorMsg, question, sqlQuery, schema);
 
                     // Save conversation with error
                     String sessionId = getOrCreateSession(userId, databaseConfigId);
                     saveConversation(userId, databaseConfigId, sessionId, question, sqlQuery, null, friendlyError,
-                            errorMsg);
+                            errorMsg, null);
 
                     // Return error response
                     return ChatResponse.builder()
@@ -113,12 +190,13 @@ public class ChatbotService {
                 // Check if it's a forbidden keyword error
                 if (isForbiddenKeywordError(errorMsg)) {
                     log.warn("Forbidden SQL operation attempted: {}", sqlQuery);
+                    askMetrics.recordError(AskMetrics.ERROR_FORBIDDEN_KEYWORD);
                     String friendlyError = buildForbiddenOperationResponse(errorMsg, schema.getDatabaseType());
 
                     // Save conversation with error
                     String sessionId = getOrCreateSession(userId, databaseConfigId);
                     saveConversation(userId, databaseConfigId, sessionId, question, sqlQuery, null, friendlyError,
-                            errorMsg);
+                            errorMsg, null);
 
                     // Return error response but include the SQL query so user can see what was
                     // attempted
@@ -132,14 +210,36 @@ public class ChatbotService {
                             .build();
                 }
 
+                // Still too expensive after asking for a cheaper query
+                if (queryResult.isRejectedByCostGuard()) {
+                    log.warn("Query still rejected by cost guard: {}", errorMsg);
+                    askMetrics.recordError(AskMetrics.ERROR_QUERY_TOO_EXPENSIVE);
+                    String friendlyError = buildQueryTooExpensiveResponse(queryResult.getPlan());
+
+                    // Save conversation with error
+                    String sessionId = getOrCreateSession(userId, databaseConfigId);
+                    saveConversation(userId, databaseConfigId, sessionId, question, sqlQuery, null, friendlyError,
+                            errorMsg, null);
+
+                    return ChatResponse.builder()
+                            .success(false)
+                            .question(question)
+                            .sqlQuery(sqlQuery)
+                            .sqlResult(null)
+                            .answer(friendlyError)
+                            .error(friendlyError)
+                            .build();
+                }
+
                 throw new ChatBotException("Query execution failed: " + errorMsg);
             }
 
-            // Limit results to 50 rows maximum (for display purposes)
-            List<Map<String, Object>> limitedResult = limitResults(queryResult.getResult(), 50);
+            // Data-source already caps at MAX_DISPLAY_ROWS; trimming again covers older deployments
+            ResultTable limitedResult = limitResults(queryResult.toTable(), MAX_DISPLAY_ROWS);
 
             // Generate answer (AI will mention if results were limited)
-            String answer = aiService.generateAnswer(userId, question, sqlQuery, limitedResult);
+            String answer = askMetrics.recordStage(AskMetrics.STAGE_ANSWER_GENERATION,
+                    () -> aiService.generateAnswer(userId, question, finalSql, limitedResult));
 
             // Increment query count for DEMO users
             if (userAiSettingsService.isUsingDemoMode(userId)) {
@@ -147,16 +247,20 @@ public class ChatbotService {
             }
 
             // Save conversation
-            String sessionId = getOrCreateSession(userId, databaseConfigId);
-            saveConversation(userId, databaseConfigId, sessionId, question, sqlQuery, limitedResult, answer, null);
+            askMetrics.recordStage(AskMetrics.STAGE_PERSISTENCE, () -> {
+                String sessionId = getOrCreateSession(userId, databaseConfigId);
+                saveConversation(userId, databaseConfigId, sessionId, question, finalSql, limitedResult, answer, null,
+                        finalMapping);
+            });
 
-            return ChatResponse.success(question, sqlQuery, limitedResult, answer);
+            return ChatResponse.success(question, sqlQuery, limitedResult.toMaps(), answer);
 
         } catch (Exception e) {
             log.error("Error processing question", e);
 
             // Handle timeout errors
             if (isTimeoutError(e)) {
+                askMetrics.recordError(AskMetrics.ERROR_TIMEOUT);
                 String timeoutMessage = "⏱️ **The AI took too long to process your question.**\n\n" +
                         "This usually happens with very complex questions or when the AI service is slow.\n\n" +
                         "**What you can do:**\n" +
@@ -179,6 +283,7 @@ public class ChatbotService {
             // If we have a SQL query and it's a forbidden keyword error, handle it
             // gracefully
             if (sqlQuery != null && isForbiddenKeywordError(e.getMessage())) {
+                askMetrics.recordError(AskMetrics.ERROR_FORBIDDEN_KEYWORD);
                 String friendlyError = buildForbiddenOperationResponse(e.getMessage(), "");
                 return ChatResponse.builder()
                         .success(false)
@@ -190,10 +295,66 @@ public class ChatbotService {
                         .build();
             }
 
+            askMetrics.recordError(AskMetrics.ERROR_OTHER);
             return ChatResponse.error("Error: " + e.getMessage());
         }
     }
 
+    /**
+     * Fetch the schema from data-source inside a span (Feign propagates the trace context)
+     */
+    private DatabaseSchemaDTO fetchSchema(Long databaseConfigId, Long userId) {
+        Observation observation = Observation.createNotStarted("chatbot.datasource.schema", observationRegistry)
+                .contextualName("fetch schema")
+                .highCardinalityKeyValue("datasource.config.id", String.valueOf(databaseConfigId));
+        return observation.observe(() -> {
+            long startNanos = System.nanoTime();
+            DatabaseSchemaDTO schema = dataSourceClient.getSchemaByConfigId(databaseConfigId, userId);
+            askTraceRecorder.recordSchema(schema, System.nanoTime() - startNanos);
+            if (schema != null) {
+                observation.highCardinalityKeyValue("db.system",
+                        String.valueOf(schema.getDatabaseType()).toLowerCase());
+            }
+            return schema;
+        });
+    }
+
+    /**
+     * Execute the query as a timed stage and record the data-source's own execution time
+     */
+    private QueryExecutionResponse executeQueryStage(Long databaseConfigId, Long userId, String sqlQuery,
+            DatabaseSchemaDTO schema) {
+        QueryExecutionResponse response = askMetrics.recordStage(AskMetrics.STAGE_QUERY_EXECUTION,
+                () -> executeQuery(databaseConfigId, userId, sqlQuery, schema.getDatabaseType()));
+        askMetrics.recordQueryServerTime(response.getExecutionTimeMs());
+        return response;
+    }
+
+    /**
+     * Execute the query through data-source inside a span tagged with database type and row count
+     */
+    private QueryExecutionResponse executeQuery(Long databaseConfigId, Long userId, String sqlQuery,
+            String databaseType) {
+        Observation observation = Observation.createNotStarted("chatbot.datasource.query", observationRegistry)
+                .contextualName("execute query")
+                .lowCardinalityKeyValue("db.system", String.valueOf(databaseType).toLowerCase())
+                .highCardinalityKeyValue("datasource.config.id", String.valueOf(databaseConfigId));
+        return observation.observe(() -> {
+            long startNanos = System.nanoTime();
+            QueryExecutionResponse response = dataSourceClient.executeQuery(databaseConfigId, userId,
+                    MAX_DISPLAY_ROWS, QueryExecutionResponse.COMPACT_LAYOUT, sqlQuery);
+            askTraceRecorder.recordQuery(sqlQuery, response, System.nanoTime() - startNanos);
+            observation.highCardinalityKeyValue("db.query.success", String.valueOf(response.isSuccess()));
+            if (response.getRowCount() != null) {
+                observation.highCardinalityKeyValue("db.rows", response.getRowCount().toString());
+            }
+            if (response.isTruncated()) {
+                observation.highCardinalityKeyValue("db.truncated", "true");
+            }
+            return response;
+        });
+    }
+
     /**
      * Check if exception is a timeout error
      */
@@ -327,6 +488,53 @@ public class ChatbotService {
         return null;
     }
 
+    /**
+     * Feedback for regenerating a query the cost guard rejected: what the plan estimated and how to cut it down
+     */
+    private String buildCheaperQueryFeedback(QueryExecutionResponse rejected) {
+        QueryPlanSummary plan = rejected.getPlan();
+        StringBuilder feedback = new StringBuilder();
+        feedback.append("The previous query was NOT executed because the database estimated it is too expensive.\n");
+        feedback.append("Rejected SQL: ").append(rejected.getSqlQuery()).append("\n");
+        if (plan.getEstimatedRows() != null) {
+            feedback.append("Estimated rows: ").append(plan.getEstimatedRows()).append("\n");
+        }
+        if (plan.getEstimatedCost() != null) {
+            feedback.append("Estimated cost: ").append(Math.round(plan.getEstimatedCost())).append("\n");
+        }
+        if (!plan.getFullScans().isEmpty()) {
+            feedback.append("Full table scans of: ").append(String.join(", ", plan.getFullScans())).append("\n");
+        }
+        if (!plan.getViolations().isEmpty()) {
+            feedback.append("Limits exceeded: ").append(String.join("; ", plan.getViolations())).append("\n");
+        }
+        feedback.append("Write a cheaper query that answers the same question: filter with WHERE on indexed or key ")
+                .append("columns, join only on foreign keys (no cross joins), aggregate with GROUP BY instead of ")
+                .append("returning raw rows, and select only the columns needed.");
+        return feedback.toString();
+    }
+
+    /**
+     * Build user-friendly response when the query is still too expensive to run
+     */
+    private String buildQueryTooExpensiveResponse(QueryPlanSummary plan) {
+        StringBuilder response = new StringBuilder();
+        response.append("🐢 **This question would need a very expensive query, so I didn't run it.**\n\n");
+        if (plan != null && plan.getEstimatedRows() != null) {
+            response.append("**Reason:** The database estimated it would process about ")
+                    .append(plan.getEstimatedRows()).append(" rows");
+            if (!plan.getFullScans().isEmpty()) {
+                response.append(" and read all of ").append(String.join(", ", plan.getFullScans()));
+            }
+            response.append(".\n\n");
+        }
+        response.append("**What you can do:**\n");
+        response.append("• Narrow the question to a time range, a customer or another filter\n");
+        response.append("• Ask for totals or counts instead of every row\n");
+        response.append("• Ask about fewer tables at once\n");
+        return response.toString();
+    }
+
     /**
      * Build a friendly response for forbidden operations
      */
@@ -388,18 +596,59 @@ public class ChatbotService {
         return null;
     }
 
+    /**
+     * Last successful turn of the active session when the question refines it, else null
+     */
+    private Conversation findFollowUpBase(Long userId, Long databaseConfigId, String question) {
+        if (!followUpEnabled || !FollowUpDetector.isRefinement(question)) {
+            return null;
+        }
+        List<ConversationSession> activeSessions = conversationSessionRepository
+                .findByUserIdAndIsActiveTrueOrderByLastActivityAtDesc(userId);
+        if (activeSessions.isEmpty() || !activeSessions.get(0).getDatabaseConfigId().equals(databaseConfigId)) {
+            return null;
+        }
+        LocalDateTime oldest = LocalDateTime.now().minusMinutes(followUpMaxAgeMinutes);
+        return conversationRepository.findFirstBySessionIdOrderByCreatedAtDesc(activeSessions.get(0).getSessionId())
+                .filter(turn -> turn.getErrorMessage() == null && turn.getSqlQuery() != null
+                        && turn.getSchemaMapping() != null)
+                .filter(turn -> turn.getCreatedAt() != null && turn.getCreatedAt().isAfter(oldest))
+                .orElse(null);
+    }
+
+    /**
+     * Edit the previous turn's SQL when there is one, falling back to the full pipeline if that fails
+     */
+    private AiService.GeneratedSql generateQuery(Long userId, String question, DatabaseSchemaDTO schema,
+            Conversation previousTurn) {
+        if (previousTurn != null) {
+            try {
+                String query = aiService.generateFollowUpSql(userId, question, schema, previousTurn.getQuestion(),
+                        previousTurn.getSqlQuery(), previousTurn.getSchemaMapping());
+                String cleaned = sqlValidatorService.cleanQuery(query);
+                askMetrics.recordFollowUp(true);
+                return new AiService.GeneratedSql(cleaned, previousTurn.getSchemaMapping());
+            } catch (Exception e) {
+                log.warn("Follow-up edit of conversation {} failed, running full pipeline: {}",
+                        previousTurn.getId(), e.getMessage());
+                askMetrics.recordFollowUp(false);
+            }
+        }
+        return generateQueryWithRetries(userId, question, schema);
+    }
+
     /**
      * Generate SQL query with retries
      */
-    private String generateQueryWithRetries(Long userId, String question, DatabaseSchemaDTO schema) {
+    private AiService.GeneratedSql generateQueryWithRetries(Long userId, String question, DatabaseSchemaDTO schema) {
         String lastError = null;
 
         for (int attempt = 0; attempt <= maxRetries; attempt++) {
             try {
-                String query = aiService.generateSqlQuery(userId, question, schema, lastError);
-                log.info("this is query come form ai :" + "  " + query);
-                String cleaned = sqlValidatorService.cleanQuery(query);
-                return cleaned;
+                AiService.GeneratedSql generated = aiService.generateSqlQuery(userId, question, schema, lastError);
+                log.info("this is query come form ai :" + "  " + generated.sql());
+                String cleaned = sqlValidatorService.cleanQuery(generated.sql());
+                return new AiService.GeneratedSql(cleaned, generated.schemaMapping());
             } catch (Exception e) {
                 lastError = e.getMessage();
                 log.warn("Query generation attempt {} failed: {}", attempt + 1, lastError);
@@ -408,6 +657,7 @@ public class ChatbotService {
                     throw new ChatBotException(
                             "Failed to generate valid SQL after " + maxRetries + " attempts: " + lastError);
                 }
+                askMetrics.recordRetry();
             }
         }
 
@@ -446,8 +696,8 @@ public class ChatbotService {
      */
     private void saveConversation(Long userId, Long databaseConfigId, String sessionId,
             String question, String sqlQuery,
-            List<Map<String, Object>> sqlResult,
-            String answer, String errorMessage) {
+            ResultTable sqlResult,
+            String answer, String errorMessage, String schemaMapping) {
         try {
             Conversation conversation = Conversation.builder()
                     .userId(userId)
@@ -455,9 +705,10 @@ public class ChatbotService {
                     .sessionId(sessionId)
                     .question(question)
                     .sqlQuery(sqlQuery)
-                    .sqlResult(sqlResult)
+                    .resultTable(sqlResult)
                     .answer(answer)
                     .errorMessage(errorMessage)
+                    .schemaMapping(schemaMapping)
                     .isGreeting(false)
                     .build();
 
@@ -486,17 +737,13 @@ public class ChatbotService {
     /**
      * Limit query results to maximum number of rows for display
      */
-    private List<Map<String, Object>> limitResults(List<Map<String, Object>> results, int maxRows) {
-        if (results == null || results.isEmpty()) {
-            return results;
-        }
-
+    private ResultTable limitResults(ResultTable results, int maxRows) {
         if (results.size() <= maxRows) {
             return results;
         }
 
         log.info("Limiting results from {} rows to {} rows for display", results.size(), maxRows);
-        return results.subList(0, maxRows);
+        return results.limit(maxRows);
     }
 
     /**
@@ -0,0 +1,87 @@
+package com.eadgequry.chat_bot_service.service;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Recognises questions that refine the previous one in a session ("now only for 2024",
+ * "sort by revenue instead") rather than asking something new. Deliberately conservative:
+ * a miss costs the full pipeline, a false hit is caught by the fallback in ChatbotService.
+ */
+final class FollowUpDetector {
+
+    private static final int MAX_WORDS = 14;
+    private static final int MAX_WORDS_WEAK_STARTER = 4;
+    private static final int MAX_WORDS_BARE_MODIFIER = 2;
+
+    // Openers that only make sense relative to a previous question
+    private static final Set<String> STRONG_STARTERS = Set.of(
+            "now", "instead", "also", "and", "but", "same", "then", "only", "just", "what about", "how about",
+            "same thing", "do the same", "what if");
+
+    // Edits of a result: refinements when the question is short or points back at the previous result
+    private static final Set<String> WEAK_STARTERS = Set.of(
+            "sort", "order", "filter", "limit", "exclude", "include", "without", "except", "remove", "change",
+            "show only", "break it down", "split");
+
+    // Openers just as common in new questions ("top 5 customers", "group orders by status"):
+    // refinements only when they point back at the previous result
+    private static final Set<String> GENERIC_STARTERS = Set.of("top", "group", "for", "in", "by", "add");
+
+    // A bare "by country" or "for 2024" has no subject of its own
+    private static final Set<String> BARE_MODIFIERS = Set.of("for", "in", "by");
+
+    private static final Set<String> BACK_REFERENCES = Set.of(
+            "instead", "those", "them", "these", "it", "that", "same", "previous", "above", "again", "too", "only");
+
+    // "that" and "it" also start relative and impersonal clauses in new questions
+    private static final Set<String> STRICT_BACK_REFERENCES = Set.of(
+            "instead", "those", "them", "these", "same", "previous", "above", "again", "too", "only");
+
+    private FollowUpDetector() {
+    }
+
+    static boolean isRefinement(String question) {
+        if (question == null) {
+            return false;
+        }
+        String normalized = question.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}\\s]", " ").trim()
+                .replaceAll("\\s+", " ");
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        String[] words = normalized.split(" ");
+        if (words.length > MAX_WORDS) {
+            return false;
+        }
+        if (startsWithAny(normalized, STRONG_STARTERS)) {
+            return true;
+        }
+        if (startsWithAny(normalized, GENERIC_STARTERS)) {
+            return (words.length <= MAX_WORDS_BARE_MODIFIER && BARE_MODIFIERS.contains(words[0]))
+                    || containsAny(words, STRICT_BACK_REFERENCES);
+        }
+        if (!startsWithAny(normalized, WEAK_STARTERS)) {
+            return false;
+        }
+        return words.length <= MAX_WORDS_WEAK_STARTER || containsAny(words, BACK_REFERENCES);
+    }
+
+    private static boolean containsAny(String[] words, Set<String> candidates) {
+        for (String word : words) {
+            if (candidates.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithAny(String normalized, Set<String> starters) {
+        for (String starter : starters) {
+            if (normalized.equals(starter) || normalized.startsWith(starter + " ")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
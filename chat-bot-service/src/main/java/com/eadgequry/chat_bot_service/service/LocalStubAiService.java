@@ -0,0 +1,196 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic completions for the LOCAL_STUB provider.
+ * Recognizes the mapping, SQL, follow-up and answer prompts built by AiService and derives a
+ * plausible response from the prompt's schema section, so the same prompt always
+ * yields the same output and the full pipeline can run without a real LLM.
+ */
+@Service
+public class LocalStubAiService {
+
+    private static final Pattern QUESTION = Pattern.compile("Question: \"(.*)\"");
+    private static final Pattern TABLE_LINE = Pattern.compile("^TABLE: (\\S+)\\R\\s+COLUMNS: (.*)$", Pattern.MULTILINE);
+    private static final Pattern DB_TYPE = Pattern.compile("Generate SQL query for (\\w+)\\.");
+    private static final Pattern MAPPED_TABLES = Pattern.compile("^Tables: \\[(.*)]$", Pattern.MULTILINE);
+    private static final Pattern MAPPED_COLUMNS = Pattern.compile("(\\w+)=\\[([^\\]]*)]");
+    private static final Pattern MAPPED_COLUMNS_LINE = Pattern.compile("^Columns: \\{(.*)}$", Pattern.MULTILINE);
+    private static final Pattern MAPPED_AGGREGATIONS = Pattern.compile("^Aggregations: \\[(.*)]$", Pattern.MULTILINE);
+    private static final Pattern MAPPED_LIMIT = Pattern.compile("^Limit: (\\d+)$", Pattern.MULTILINE);
+    private static final Pattern RESULTS = Pattern.compile("^" + Pattern.quote(AiService.QUERY_RESULTS_LABEL) + "(.*)$",
+            Pattern.MULTILINE);
+    private static final Pattern PREVIOUS_SQL = Pattern.compile(Pattern.quote(AiService.PREVIOUS_SQL_SECTION)
+            + "(.*?)\\s*" + Pattern.quote(AiService.TABLES_IN_USE_SECTION), Pattern.DOTALL);
+    private static final Pattern COUNT_QUESTION = Pattern.compile("\\b(how many|count|number of)\\b");
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_DEFAULT_COLUMNS = 3;
+
+    private final ObjectMapper objectMapper;
+
+    public LocalStubAiService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Produce the completion text for a prompt
+     */
+    public String complete(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        if (prompt.contains("=== AVAILABLE SCHEMA ===")) {
+            return mappingFor(prompt);
+        }
+        if (prompt.contains("=== VALIDATED MAPPING ===")) {
+            return sqlFor(prompt);
+        }
+        if (prompt.contains(AiService.PREVIOUS_SQL_SECTION)) {
+            // Follow-ups keep the previous query unchanged
+            return extract(PREVIOUS_SQL, prompt, "").trim();
+        }
+        if (prompt.contains(AiService.QUERY_RESULTS_LABEL)) {
+            return answerFor(prompt);
+        }
+        return "Stub response " + Integer.toHexString(prompt.hashCode());
+    }
+
+    /**
+     * Rough token estimate (4 characters per token) used for the usage block
+     */
+    public int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    private String mappingFor(String prompt) {
+        String question = extract(QUESTION, prompt, "");
+        String lowerQuestion = question.toLowerCase(Locale.ROOT);
+
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        Matcher matcher = TABLE_LINE.matcher(prompt);
+        while (matcher.find()) {
+            tables.put(matcher.group(1), splitList(matcher.group(2)));
+        }
+
+        ObjectNode mapping = objectMapper.createObjectNode();
+        mapping.put("intent", "stub: " + question);
+        ArrayNode tablesNode = mapping.putArray("tables");
+        ObjectNode columnsNode = mapping.putObject("columns");
+        mapping.putArray("joins");
+        ArrayNode aggregations = mapping.putArray("aggregations");
+        mapping.putArray("groupBy");
+
+        if (!tables.isEmpty()) {
+            String table = pickTable(tables, lowerQuestion);
+            tablesNode.add(table);
+
+            ArrayNode columns = columnsNode.putArray(table);
+            if (COUNT_QUESTION.matcher(lowerQuestion).find()) {
+                aggregations.add("COUNT(*)");
+            } else {
+                pickColumns(tables.get(table), lowerQuestion).forEach(columns::add);
+                mapping.put("limit", DEFAULT_LIMIT);
+            }
+        }
+        return mapping.toString();
+    }
+
+    private String pickTable(Map<String, List<String>> tables, String lowerQuestion) {
+        List<String> names = new ArrayList<>(tables.keySet());
+        names.sort(Comparator.naturalOrder());
+
+        for (String name : names) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            String singular = lower.endsWith("s") ? lower.substring(0, lower.length() - 1) : lower;
+            if (lowerQuestion.contains(singular)) {
+                return name;
+            }
+        }
+        return names.get(Math.floorMod(lowerQuestion.hashCode(), names.size()));
+    }
+
+    private List<String> pickColumns(List<String> columns, String lowerQuestion) {
+        List<String> mentioned = columns.stream()
+                .filter(column -> lowerQuestion.contains(column.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!mentioned.isEmpty()) {
+            return mentioned;
+        }
+        return columns.subList(0, Math.min(MAX_DEFAULT_COLUMNS, columns.size()));
+    }
+
+    private String sqlFor(String prompt) {
+        String dbType = extract(DB_TYPE, prompt, "UNKNOWN");
+        List<String> tables = splitList(extract(MAPPED_TABLES, prompt, ""));
+        if (tables.isEmpty()) {
+            return "SELECT 1";
+        }
+        String table = tables.get(0);
+
+        List<String> columns = new ArrayList<>();
+        Matcher columnsMatcher = MAPPED_COLUMNS.matcher(extract(MAPPED_COLUMNS_LINE, prompt, ""));
+        while (columnsMatcher.find()) {
+            if (columnsMatcher.group(1).equals(table)) {
+                columns.addAll(splitList(columnsMatcher.group(2)));
+            }
+        }
+
+        List<String> aggregations = splitList(extract(MAPPED_AGGREGATIONS, prompt, ""));
+        if (!aggregations.isEmpty()) {
+            return "SELECT " + String.join(", ", aggregations) + " FROM " + table;
+        }
+
+        String select = columns.isEmpty() ? "*" : String.join(", ", columns);
+        int limit = Integer.parseInt(extract(MAPPED_LIMIT, prompt, String.valueOf(DEFAULT_LIMIT)));
+        return switch (dbType) {
+            case "SQLSERVER" -> "SELECT TOP " + limit + " " + select + " FROM " + table;
+            case "ORACLE" -> "SELECT " + select + " FROM " + table + " FETCH FIRST " + limit + " ROWS ONLY";
+            default -> "SELECT " + select + " FROM " + table + " LIMIT " + limit;
+        };
+    }
+
+    private String answerFor(String prompt) {
+        String question = extract(Pattern.compile("User Question: \"(.*)\""), prompt, "your question");
+        int rows = 0;
+        try {
+            JsonNode results = objectMapper.readTree(extract(RESULTS, prompt, "{}"));
+            rows = results.path("rows").size();
+        } catch (Exception e) {
+            // Malformed results are answered as empty
+        }
+        if (rows == 0) {
+            return "I couldn't find any results for \"" + question + "\".";
+        }
+        return "I found " + rows + (rows == 1 ? " result" : " results") + " for \"" + question + "\".";
+    }
+
+    private static String extract(Pattern pattern, String text, String fallback) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group(1) : fallback;
+    }
+
+    private static List<String> splitList(String list) {
+        List<String> items = new ArrayList<>();
+        for (String item : list.split(",")) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+}
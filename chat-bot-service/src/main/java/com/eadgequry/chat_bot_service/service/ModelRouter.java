@@ -0,0 +1,84 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the model tier for each LLM call when the user has routing enabled.
+ * Low-complexity calls (few tables, no joins, small prompt) go to the fast model,
+ * everything else to the user's main model.
+ */
+@Component
+public class ModelRouter {
+
+    public static final String TIER_MAIN = "main";
+    public static final String TIER_FAST = "fast";
+
+    @Value("${chatbot.routing.default-fast-model:openai/gpt-4o-mini}")
+    private String defaultFastModel;  // OpenRouter id, only used for DEMO and LOCAL_STUB
+
+    @Value("${chatbot.routing.max-fast-score:3}")
+    private int maxFastScore;
+
+    @Value("${chatbot.routing.prompt-chars-per-point:4000}")
+    private int promptCharsPerPoint;
+
+    /**
+     * Fast model to use for this user, or null when routing is off or no fast model applies
+     */
+    public String fastModelFor(UserAiSettings settings) {
+        if (settings == null || !settings.isRoutingEnabled()) {
+            return null;
+        }
+        if (settings.getFastModel() != null && !settings.getFastModel().isBlank()) {
+            return settings.getFastModel();
+        }
+        // A default only makes sense where we know the provider's model ids
+        return switch (settings.getProvider()) {
+            case DEMO, LOCAL_STUB -> defaultFastModel;
+            default -> null;
+        };
+    }
+
+    /**
+     * Tier for one call. The mapping call always uses the main model because its output
+     * decides the complexity of everything after it.
+     *
+     * @param mapping validated schema mapping, or null when the call has none (answer generation)
+     */
+    String route(String call, AiService.SchemaMapping mapping, int promptChars) {
+        if (AskMetrics.LLM_MAPPING.equals(call)) {
+            return TIER_MAIN;
+        }
+        return complexity(mapping, promptChars) <= maxFastScore ? TIER_FAST : TIER_MAIN;
+    }
+
+    /**
+     * Complexity score: every table beyond the first and every join count double,
+     * aggregations, GROUP BY and ORDER BY count once, plus one point per promptCharsPerPoint
+     */
+    int complexity(AiService.SchemaMapping mapping, int promptChars) {
+        int score = promptCharsPerPoint > 0 ? promptChars / promptCharsPerPoint : 0;
+        if (mapping == null) {
+            return score;
+        }
+        if (mapping.getTables() != null) {
+            score += 2 * Math.max(0, mapping.getTables().size() - 1);
+        }
+        if (mapping.getJoins() != null) {
+            score += 2 * mapping.getJoins().size();
+        }
+        if (mapping.getAggregations() != null) {
+            score += mapping.getAggregations().size();
+        }
+        if (mapping.getGroupBy() != null && !mapping.getGroupBy().isEmpty()) {
+            score++;
+        }
+        if (mapping.getOrderBy() != null) {
+            score++;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,538 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.exception.InvalidSqlException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental identifier check for SQL arriving as a token stream from the model.
+ * Chunks are tokenized as they arrive and two kinds of reference are checked against the schema:
+ * <ul>
+ *   <li>a table after FROM/JOIN that is neither a schema table nor a CTE name</li>
+ *   <li>a qualified column (table.col or alias.col) whose table is known but lacks the column</li>
+ * </ul>
+ * Anything the guard cannot resolve (unqualified columns, derived tables, unknown qualifiers) is left
+ * to the database, so a rejection is always a real error. Checking starts at the first line that opens
+ * with SELECT or WITH, where the SQL extraction in AiService starts too. One instance per generated statement.
+ */
+class SqlIdentifierGuard {
+
+    static final String UNKNOWN_TABLE = "UNKNOWN_TABLE";
+    static final String UNKNOWN_COLUMN = "UNKNOWN_COLUMN";
+
+    // Marks an alias whose columns are unknown (subquery, table function, CTE) or ambiguous
+    private static final String UNRESOLVED = "";
+    private static final int MAX_LISTED_IDENTIFIERS = 30;
+
+    private static final Set<String> SYSTEM_SCHEMAS = Set.of("information_schema", "pg_catalog", "sys", "mysql");
+
+    // Words that end a table reference instead of aliasing it
+    private static final Set<String> CLAUSE_WORDS = Set.of(
+            "WHERE", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "CROSS", "OUTER", "NATURAL", "ON", "USING",
+            "GROUP", "ORDER", "HAVING", "LIMIT", "OFFSET", "FETCH", "UNION", "EXCEPT", "INTERSECT", "WINDOW",
+            "FOR", "SELECT", "FROM", "WITH", "QUALIFY", "TABLESAMPLE", "STRAIGHT_JOIN", "LATERAL", "PIVOT",
+            "UNPIVOT", "WHEN", "THEN", "ELSE", "END", "AND", "OR", "NOT", "IN", "IS", "LIKE", "BETWEEN", "ASC",
+            "DESC", "NULLS", "ROWS", "ONLY", "SET", "VALUES", "RETURNING", "INTO", "AS");
+
+    // Clause keywords that end a FROM list
+    private static final Set<String> FROM_TERMINATORS = Set.of(
+            "WHERE", "GROUP", "ORDER", "HAVING", "LIMIT", "OFFSET", "FETCH", "UNION", "EXCEPT", "INTERSECT",
+            "WINDOW", "QUALIFY", "ON", "USING", "SELECT", "FOR");
+
+    // A parenthesis after one of these opens a query or expression group rather than a function call
+    private static final Set<String> GROUP_OPENERS = Set.of(
+            "IN", "EXISTS", "FROM", "JOIN", "AS", "ON", "AND", "OR", "NOT", "WHERE", "ANY", "ALL", "SOME",
+            "SELECT", "UNION", "EXCEPT", "INTERSECT", "LATERAL", "WITH", "HAVING", "WHEN", "THEN", "ELSE",
+            "RECURSIVE", "VALUES", "BY", "DISTINCT", "CASE", "USING", "IS", "LIKE", "BETWEEN");
+
+    private enum Mode { CODE, WORD, QUOTED, STRING, LINE_COMMENT, BLOCK_COMMENT, FENCE_LINE }
+
+    private enum Token { NONE, WORD, OTHER }
+
+    private static final class Frame {
+        boolean function;
+        boolean derivedTable;
+        boolean fromClause;
+        boolean withClause;
+    }
+
+    private final CompiledSchema schema;
+
+    // Tokenizer state, carried across chunks
+    private Mode mode = Mode.CODE;
+    private final StringBuilder word = new StringBuilder();
+    private char quoteClose;
+    private char previousChar;
+    private boolean lineStart = true;
+    private boolean wordAtLineStart;
+    private boolean active;
+    private boolean stopped;
+
+    // Parser state
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private Token lastToken = Token.NONE;
+    private String lastWord;
+    private String wordBeforeLast;
+    private final List<String> chain = new ArrayList<>();
+    private boolean chainAwaitingPart;
+    private boolean chainAtTablePosition;
+    private boolean expectTable;
+    private boolean expectCteName;
+    private boolean functionTable;
+    private String aliasTarget;
+    private final Set<String> cteNames = new HashSet<>();
+    private final Map<String, String> aliases = new HashMap<>();
+    private final List<String[]> pendingReferences = new ArrayList<>();
+
+    SqlIdentifierGuard(CompiledSchema schema) {
+        this.schema = schema;
+        frames.push(new Frame());
+    }
+
+    /**
+     * Consume the next piece of model output
+     *
+     * @throws InvalidSqlException as soon as an unknown table or column has been read completely
+     */
+    void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !stopped; i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    /**
+     * End of output: flush the last token
+     */
+    void finish() {
+        if (stopped) {
+            return;
+        }
+        if (mode == Mode.WORD) {
+            emitWord(false);
+        }
+        finishChain(false);
+    }
+
+    private void accept(char c) {
+        switch (mode) {
+            case WORD -> {
+                if (isWordChar(c)) {
+                    word.append(c);
+                    return;
+                }
+                emitWord(false);
+                mode = Mode.CODE;
+                acceptCode(c);
+            }
+            case QUOTED -> {
+                if (c == quoteClose) {
+                    if (word.isEmpty() && c == '`') {
+                        // `` is the start of a markdown fence, not an identifier
+                        mode = Mode.FENCE_LINE;
+                        if (active) {
+                            stopped = true;
+                        }
+                        return;
+                    }
+                    mode = Mode.CODE;
+                    emitWord(true);
+                } else {
+                    word.append(c);
+                }
+            }
+            case STRING -> {
+                if (c == '\'') {
+                    mode = Mode.CODE;
+                }
+            }
+            case LINE_COMMENT, FENCE_LINE -> {
+                if (c == '\n') {
+                    mode = Mode.CODE;
+                }
+            }
+            case BLOCK_COMMENT -> {
+                if (c == '/' && previousChar == '*') {
+                    mode = Mode.CODE;
+                    c = ' ';
+                }
+            }
+            default -> acceptCode(c);
+        }
+        previousChar = c;
+    }
+
+    private void acceptCode(char c) {
+        if (isWordChar(c)) {
+            if (!chainAwaitingPart) {
+                // A new word settles the name before it, no need to wait for the word to end
+                finishChain(false);
+            }
+            mode = Mode.WORD;
+            word.setLength(0);
+            word.append(c);
+            wordAtLineStart = lineStart;
+            lineStart = false;
+            return;
+        }
+        if (Character.isWhitespace(c)) {
+            if (c == '\n') {
+                lineStart = true;
+            }
+            return;
+        }
+        if (!active) {
+            // Prose before the statement: quotes there are apostrophes, not SQL
+            lineStart = false;
+            return;
+        }
+        switch (c) {
+            case '\'' -> mode = Mode.STRING;
+            case '"', '`', '[' -> {
+                mode = Mode.QUOTED;
+                quoteClose = c == '[' ? ']' : c;
+                word.setLength(0);
+            }
+            case '-' -> {
+                if (previousChar == '-') {
+                    mode = Mode.LINE_COMMENT;
+                } else {
+                    other(c);
+                }
+            }
+            case '*' -> {
+                if (previousChar == '/') {
+                    mode = Mode.BLOCK_COMMENT;
+                    previousChar = ' ';
+                } else {
+                    other(c);
+                }
+            }
+            default -> other(c);
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private void emitWord(boolean quoted) {
+        String text = word.toString();
+        word.setLength(0);
+        if (!active) {
+            String upper = text.toUpperCase(Locale.ROOT);
+            // "I select the names from the customers table" is prose, not a statement
+            if (!quoted && wordAtLineStart && (upper.equals("SELECT") || upper.equals("WITH"))) {
+                active = true;
+            } else {
+                return;
+            }
+        }
+        onWord(text, quoted);
+    }
+
+    private void onWord(String text, boolean quoted) {
+        if (chainAwaitingPart) {
+            chain.add(text);
+            chainAwaitingPart = false;
+            lastToken = Token.WORD;
+            return;
+        }
+        finishChain(false);
+
+        String upper = quoted ? null : text.toUpperCase(Locale.ROOT);
+        Frame frame = frames.peek();
+
+        if (aliasTarget != null) {
+            if ("AS".equals(upper)) {
+                rememberWord(upper);
+                return;
+            }
+            String target = aliasTarget;
+            aliasTarget = null;
+            if (upper == null || !CLAUSE_WORDS.contains(upper)) {
+                registerAlias(text, target);
+                rememberWord(null);
+                return;
+            }
+        }
+
+        if (expectTable && !"LATERAL".equals(upper) && !"ONLY".equals(upper)) {
+            startChain(text, true);
+            expectTable = false;
+            rememberWord(null);
+            return;
+        }
+
+        if (expectCteName && (upper == null || !GROUP_OPENERS.contains(upper))) {
+            cteNames.add(text.toLowerCase(Locale.ROOT));
+            expectCteName = false;
+            rememberWord(null);
+            return;
+        }
+
+        if (upper != null) {
+            switch (upper) {
+                case "FROM" -> {
+                    boolean distinctFrom = "DISTINCT".equals(lastWord)
+                            && ("IS".equals(wordBeforeLast) || "NOT".equals(wordBeforeLast));
+                    if (!frame.function && !distinctFrom) {
+                        expectTable = true;
+                        frame.fromClause = true;
+                    }
+                    rememberWord(upper);
+                    return;
+                }
+                case "JOIN", "STRAIGHT_JOIN" -> {
+                    expectTable = true;
+                    frame.fromClause = true;
+                    rememberWord(upper);
+                    return;
+                }
+                case "WITH" -> {
+                    frame.withClause = true;
+                    expectCteName = true;
+                    rememberWord(upper);
+                    return;
+                }
+                case "RECURSIVE" -> {
+                    rememberWord(upper);
+                    return;
+                }
+                default -> {
+                }
+            }
+            if (FROM_TERMINATORS.contains(upper)) {
+                frame.fromClause = false;
+                if ("SELECT".equals(upper)) {
+                    frame.withClause = false;
+                }
+            }
+            if (CLAUSE_WORDS.contains(upper) || GROUP_OPENERS.contains(upper)) {
+                rememberWord(upper);
+                return;
+            }
+        }
+
+        startChain(text, false);
+        rememberWord(upper);
+    }
+
+    private void other(char c) {
+        if (chainAwaitingPart && c == '*') {
+            // t.* selects every column, nothing to check
+            chain.clear();
+            chainAwaitingPart = false;
+            lastToken = Token.OTHER;
+            return;
+        }
+        if (c == '.') {
+            if (!chain.isEmpty() && !chainAwaitingPart) {
+                chainAwaitingPart = true;
+            }
+            return;
+        }
+        finishChain(c == '(');
+
+        Frame frame = frames.peek();
+        switch (c) {
+            case '(' -> {
+                Frame opened = new Frame();
+                opened.function = lastToken == Token.WORD && (lastWord == null || !GROUP_OPENERS.contains(lastWord));
+                opened.derivedTable = expectTable || functionTable;
+                expectTable = false;
+                functionTable = false;
+                aliasTarget = null;
+                frames.push(opened);
+            }
+            case ')' -> {
+                if (frames.size() > 1) {
+                    Frame closed = frames.pop();
+                    if (closed.derivedTable) {
+                        aliasTarget = UNRESOLVED;
+                    }
+                }
+            }
+            case ',' -> {
+                aliasTarget = null;
+                if (frame.fromClause && !frame.function) {
+                    expectTable = true;
+                } else if (frame.withClause) {
+                    expectCteName = true;
+                }
+            }
+            case ';' -> {
+                if (frames.size() == 1) {
+                    stopped = true;
+                }
+            }
+            default -> {
+                aliasTarget = null;
+                expectTable = false;
+            }
+        }
+        lastToken = Token.OTHER;
+        lastWord = null;
+    }
+
+    private void rememberWord(String upper) {
+        lastToken = Token.WORD;
+        wordBeforeLast = lastWord;
+        lastWord = upper;
+    }
+
+    private void startChain(String text, boolean tablePosition) {
+        chain.add(text);
+        chainAtTablePosition = tablePosition;
+    }
+
+    /**
+     * Resolve the dotted name just read, now that the token after it is known
+     */
+    private void finishChain(boolean followedByParen) {
+        if (chain.isEmpty()) {
+            return;
+        }
+        List<String> parts = new ArrayList<>(chain.size());
+        for (String part : chain) {
+            parts.add(part.toLowerCase(Locale.ROOT));
+        }
+        boolean tablePosition = chainAtTablePosition;
+        chain.clear();
+        chainAwaitingPart = false;
+
+        if (followedByParen) {
+            // Function call; at a table position it is a table function, aliased like a subquery
+            functionTable = tablePosition;
+            return;
+        }
+        if (tablePosition) {
+            String table = parts.get(parts.size() - 1);
+            if (SYSTEM_SCHEMAS.contains(parts.get(0)) || cteNames.contains(table)
+                    || (parts.size() == 1 && table.equals("dual"))) {
+                aliasTarget = UNRESOLVED;
+            } else if (schema.hasTable(table)) {
+                aliasTarget = table;
+            } else {
+                throw new InvalidSqlException("Unknown table '" + chainText(parts) + "'. Valid tables: "
+                        + schema.describeTables(), UNKNOWN_TABLE);
+            }
+            return;
+        }
+        if (parts.size() < 2) {
+            return;
+        }
+        String qualifier = parts.get(parts.size() - 2);
+        String column = parts.get(parts.size() - 1);
+        String table = aliases.get(qualifier);
+        if (table == null && schema.hasTable(qualifier) && !cteNames.contains(qualifier)) {
+            table = qualifier;
+        }
+        if (table == null) {
+            // Alias declared later in the statement (SELECT list before FROM)
+            pendingReferences.add(new String[]{qualifier, column});
+        } else if (!table.equals(UNRESOLVED)) {
+            checkColumn(qualifier, table, column);
+        }
+    }
+
+    private void registerAlias(String alias, String target) {
+        String key = alias.toLowerCase(Locale.ROOT);
+        String previous = aliases.putIfAbsent(key, target);
+        if (previous != null && !previous.equals(target)) {
+            // Same alias for different tables in different scopes
+            aliases.put(key, UNRESOLVED);
+            return;
+        }
+        if (target.equals(UNRESOLVED)) {
+            return;
+        }
+        Iterator<String[]> pending = pendingReferences.iterator();
+        while (pending.hasNext()) {
+            String[] reference = pending.next();
+            if (reference[0].equals(key)) {
+                pending.remove();
+                checkColumn(key, target, reference[1]);
+            }
+        }
+    }
+
+    private void checkColumn(String qualifier, String table, String column) {
+        Set<String> columns = schema.columns(table);
+        if (!columns.isEmpty() && !columns.contains(column)) {
+            throw new InvalidSqlException("Unknown column '" + qualifier + "." + column + "' for table '" + table
+                    + "'. Valid columns: " + CompiledSchema.describe(columns), UNKNOWN_COLUMN);
+        }
+    }
+
+    private static String chainText(List<String> parts) {
+        return String.join(".", parts);
+    }
+
+    /**
+     * Lower-cased table and column names of a schema, built once per generated statement
+     */
+    static final class CompiledSchema {
+
+        private final Map<String, Set<String>> columnsByTable;
+
+        private CompiledSchema(Map<String, Set<String>> columnsByTable) {
+            this.columnsByTable = columnsByTable;
+        }
+
+        static CompiledSchema of(DatabaseSchemaDTO schema) {
+            Map<String, Set<String>> columnsByTable = new HashMap<>();
+            if (schema != null && schema.getTables() != null) {
+                for (DatabaseSchemaDTO.TableInfo table : schema.getTables()) {
+                    if (table == null || table.getName() == null) {
+                        continue;
+                    }
+                    Set<String> columns = new HashSet<>();
+                    if (table.getColumns() != null) {
+                        for (DatabaseSchemaDTO.ColumnInfo column : table.getColumns()) {
+                            if (column != null && column.getName() != null) {
+                                columns.add(column.getName().toLowerCase(Locale.ROOT));
+                            }
+                        }
+                    }
+                    String name = table.getName().toLowerCase(Locale.ROOT);
+                    columnsByTable.put(name, columns);
+                    // Schema-qualified names are also reachable by their bare table name
+                    int dot = name.lastIndexOf('.');
+                    if (dot >= 0) {
+                        columnsByTable.putIfAbsent(name.substring(dot + 1), columns);
+                    }
+                }
+            }
+            return new CompiledSchema(columnsByTable);
+        }
+
+        boolean hasTable(String table) {
+            return columnsByTable.containsKey(table);
+        }
+
+        Set<String> columns(String table) {
+            return columnsByTable.getOrDefault(table, Collections.emptySet());
+        }
+
+        String describeTables() {
+            return describe(columnsByTable.keySet());
+        }
+
+        static String describe(Set<String> names) {
+            String listed = names.stream().sorted().limit(MAX_LISTED_IDENTIFIERS).collect(Collectors.joining(", "));
+            return "[" + listed + (names.size() > MAX_LISTED_IDENTIFIERS ? ", ..." : "") + "]";
+        }
+    }
+}
@@ -44,12 +44,23 @@ public class UserAiSettingsService {
         // Update model
         settings.setModel(request.getModel());
 
+        // Update model routing (only when sent, so older clients don't reset it)
+        if (request.getRoutingEnabled() != null) {
+            settings.setRoutingEnabled(request.getRoutingEnabled());
+        }
+        if (request.getFastModel() != null) {
+            settings.setFastModel(request.getFastModel().isBlank() ? null : request.getFastModel());
+        }
+        if (request.getLlmCacheShared() != null) {
+            settings.setLlmCacheShared(request.getLlmCacheShared());
+        }
+
         // Update API key (encrypt if provided)
         if (request.getApiKey() != null && !request.getApiKey().trim().isEmpty()) {
             String encryptedKey = encryptionService.encrypt(request.getApiKey());
             settings.setApiKeyEncrypted(encryptedKey);
-        } else if (provider == UserAiSettings.AiProvider.DEMO) {
-            // DEMO mode doesn't need API key
+        } else if (provider == UserAiSettings.AiProvider.DEMO || provider == UserAiSettings.AiProvider.LOCAL_STUB) {
+            // DEMO and LOCAL_STUB modes don't need an API key
             settings.setApiKeyEncrypted(null);
         }
 
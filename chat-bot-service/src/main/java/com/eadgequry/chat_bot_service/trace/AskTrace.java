@@ -0,0 +1,54 @@
+package com.eadgequry.chat_bot_service.trace;
+
+import com.eadgequry.chat_bot_service.dto.QueryExecutionResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One recorded ask() execution, written as a single JSONL line by {@link AskTraceRecorder}.
+ * The schema itself is stored once per hash next to the trace files.
+ */
+@Data
+@NoArgsConstructor
+public class AskTrace {
+
+    private String traceId;
+    private Instant recordedAt;
+    private String question;
+    private Long databaseConfigId;
+    private String schemaHash;
+    private Long schemaFetchMs;  // null when the caller supplied the schema (batch)
+    private List<LlmExchange> llmCalls = new ArrayList<>();
+    private List<QueryExchange> queries = new ArrayList<>();
+    private String generatedSql;
+    private boolean success;
+    private String error;
+    private long totalMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LlmExchange {
+        private String call;
+        private String model;
+        private Double temperature;
+        private String prompt;
+        private String rawResponse;  // null when the call failed
+        private String error;
+        private long latencyMs;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryExchange {
+        private String sql;
+        private QueryExecutionResponse response;
+        private long latencyMs;
+    }
+}
@@ -0,0 +1,231 @@
+package com.eadgequry.chat_bot_service.trace;
+
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.QueryExecutionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records ask() executions (prompts, raw provider responses, data-source results) to local JSONL
+ * files for offline replay. Disabled by default; enable with chatbot.trace.recording-enabled=true.
+ * Emails, long digit sequences and API-key-like tokens are redacted before anything is written.
+ * ISO dates and bare JSON numbers are kept, so recorded SQL and provider responses still replay.
+ */
+@Component
+public class AskTraceRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(AskTraceRecorder.class);
+
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+\\.[\\w.-]+");
+    private static final Pattern LONG_NUMBER = Pattern.compile("\\b\\d[\\d -]{7,}\\d\\b");
+    // A date, optionally with the hour the number pattern runs into ('2024-01-01 10:15:00')
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}( \\d{1,2})?");
+    // Value of a JSON member, such as "created":1729283000 in a provider response
+    private static final Pattern JSON_MEMBER_PREFIX = Pattern.compile("\"\\s*:\\s*$");
+    private static final Pattern JSON_VALUE_END = Pattern.compile("^\\s*([,}\\]]|$)");
+    private static final Pattern API_KEY = Pattern.compile("\\b(sk|pk|key)-[A-Za-z0-9_-]{10,}");
+
+    // The ask pipeline runs on a single thread, so the trace in progress is bound to it
+    private static final ThreadLocal<AskTrace> CURRENT = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${chatbot.trace.recording-enabled:false}")
+    private boolean enabled;
+
+    @Value("${chatbot.trace.directory:ask-traces}")
+    private String directory;
+
+    @Value("${chatbot.trace.redact:true}")
+    private boolean redact;
+
+    public AskTraceRecorder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void begin(ChatRequest request) {
+        if (!enabled) {
+            return;
+        }
+        AskTrace trace = new AskTrace();
+        trace.setTraceId(UUID.randomUUID().toString());
+        trace.setRecordedAt(Instant.now());
+        trace.setQuestion(redact(request.getQuestion()));
+        trace.setDatabaseConfigId(request.getDatabaseConfigId());
+        CURRENT.set(trace);
+    }
+
+    /**
+     * Record the schema used for this ask; fetchNanos is null when it was not fetched here
+     */
+    public void recordSchema(DatabaseSchemaDTO schema, Long fetchNanos) {
+        AskTrace trace = CURRENT.get();
+        if (trace == null || schema == null) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(schema);
+            String hash = sha256(schema.getSchemaJson() != null ? schema.getSchemaJson() : json);
+            trace.setSchemaHash(hash);
+            trace.setSchemaFetchMs(fetchNanos != null ? TimeUnit.NANOSECONDS.toMillis(fetchNanos) : null);
+            writeSchemaOnce(hash, json);
+        } catch (IOException e) {
+            log.warn("Failed to record schema for trace {}", trace.getTraceId(), e);
+        }
+    }
+
+    public void recordLlmCall(String call, String model, Double temperature, String prompt, String rawResponse,
+                              String error, long durationNanos) {
+        AskTrace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+        trace.getLlmCalls().add(new AskTrace.LlmExchange(call, model, temperature, redact(prompt),
+                redact(rawResponse), redact(error), TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+    }
+
+    public void recordQuery(String sql, QueryExecutionResponse response, long durationNanos) {
+        AskTrace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+        trace.getQueries().add(new AskTrace.QueryExchange(redact(sql), redact(response),
+                TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+    }
+
+    /**
+     * Close the trace in progress and append it to today's trace file
+     */
+    public void finish(ChatResponse response, long totalNanos) {
+        AskTrace trace = CURRENT.get();
+        CURRENT.remove();
+        if (trace == null) {
+            return;
+        }
+        trace.setSuccess(response != null && response.isSuccess());
+        trace.setGeneratedSql(response != null ? redact(response.getSqlQuery()) : null);
+        trace.setError(response != null ? redact(response.getError()) : null);
+        trace.setTotalMs(TimeUnit.NANOSECONDS.toMillis(totalNanos));
+
+        try {
+            Path file = Paths.get(directory).resolve("ask-traces-" + LocalDate.now() + ".jsonl");
+            byte[] line = (objectMapper.writeValueAsString(trace) + "\n").getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                Files.createDirectories(file.getParent());
+                Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write ask trace {}", trace.getTraceId(), e);
+        }
+    }
+
+    private void writeSchemaOnce(String hash, String json) throws IOException {
+        Path file = Paths.get(directory).resolve("schemas").resolve(hash + ".json");
+        if (Files.exists(file)) {
+            return;
+        }
+        synchronized (this) {
+            Files.createDirectories(file.getParent());
+            if (!Files.exists(file)) {
+                Files.writeString(file, json, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    String redact(String text) {
+        if (!redact || text == null) {
+            return text;
+        }
+        String masked = API_KEY.matcher(EMAIL.matcher(text).replaceAll("[EMAIL]")).replaceAll("[KEY]");
+        return LONG_NUMBER.matcher(masked).replaceAll(match -> Matcher.quoteReplacement(
+                keepsNumber(masked, match) ? match.group() : "[NUMBER]"));
+    }
+
+    private static boolean keepsNumber(String text, MatchResult match) {
+        String number = match.group();
+        if (ISO_DATE.matcher(number).matches()) {
+            return true;
+        }
+        return number.chars().allMatch(Character::isDigit)
+                && JSON_MEMBER_PREFIX.matcher(text.substring(Math.max(0, match.start() - 64), match.start())).find()
+                && JSON_VALUE_END.matcher(text.substring(match.end(), Math.min(text.length(), match.end() + 8)))
+                        .find();
+    }
+
+    private QueryExecutionResponse redact(QueryExecutionResponse response) {
+        if (!redact || response == null) {
+            return response;
+        }
+        List<Map<String, Object>> rows = null;
+        if (response.getResult() != null) {
+            rows = new ArrayList<>(response.getResult().size());
+            for (Map<String, Object> row : response.getResult()) {
+                Map<String, Object> copy = new LinkedHashMap<>();
+                row.forEach((column, value) -> copy.put(column, value instanceof String s ? redact(s) : value));
+                rows.add(copy);
+            }
+        }
+        List<Object[]> compactRows = null;
+        if (response.getRows() != null) {
+            compactRows = new ArrayList<>(response.getRows().size());
+            for (Object[] row : response.getRows()) {
+                Object[] copy = new Object[row.length];
+                for (int i = 0; i < row.length; i++) {
+                    copy[i] = row[i] instanceof String s ? redact(s) : row[i];
+                }
+                compactRows.add(copy);
+            }
+        }
+        return QueryExecutionResponse.builder()
+                .success(response.isSuccess())
+                .sqlQuery(redact(response.getSqlQuery()))
+                .result(rows)
+                .columns(response.getColumns())
+                .rows(compactRows)
+                .rowCount(response.getRowCount())
+                .executionTimeMs(response.getExecutionTimeMs())
+                .error(redact(response.getError()))
+                .truncated(response.isTruncated())
+                .rowsScanned(response.getRowsScanned())
+                .build();
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Asynchronous ask jobs processed by Kafka workers
+CREATE TABLE ask_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(36) UNIQUE NOT NULL,
+    user_id BIGINT NOT NULL,
+    database_config_id BIGINT NOT NULL,
+    question TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    result JSON,
+    error_message TEXT,
+    attempts INT NOT NULL DEFAULT 0,
+    worker_id VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+
+    INDEX idx_user_id (user_id),
+    INDEX idx_status (status),
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
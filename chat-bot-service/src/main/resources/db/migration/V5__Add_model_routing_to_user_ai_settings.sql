@@ -0,0 +1,4 @@
+-- Per-user latency routing between the main model and a fast model
+ALTER TABLE user_ai_settings
+    ADD COLUMN routing_enabled BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN fast_model VARCHAR(100);
@@ -0,0 +1,3 @@
+-- Opt-in to reuse cached LLM responses across API keys
+ALTER TABLE user_ai_settings
+    ADD COLUMN llm_cache_shared BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,3 @@
+-- Schema mapping behind each generated query, so follow-up questions can edit the previous SQL
+ALTER TABLE conversations
+    ADD COLUMN schema_mapping JSON NULL;
@@ -0,0 +1,136 @@
+package com.eadgequry.chat_bot_service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedResponseStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void put_ShouldSurviveReopen() throws Exception {
+        // Arrange
+        Path file = directory.resolve("cache.log");
+        byte[] key = key("mapping");
+        try (MappedResponseStore store = store(file, 1024 * 1024, Duration.ofHours(1))) {
+            store.put(key, "{\"choices\":[]}");
+        }
+
+        // Act
+        try (MappedResponseStore reopened = store(file, 1024 * 1024, Duration.ofHours(1))) {
+
+            // Assert
+            assertEquals("{\"choices\":[]}", reopened.get(key));
+            assertEquals(1, reopened.size());
+        }
+    }
+
+    @Test
+    void get_WhenEntryOlderThanTtl_ShouldMiss() throws Exception {
+        try (MappedResponseStore store = store(directory.resolve("cache.log"), 1024 * 1024, Duration.ofMinutes(5))) {
+            store.put(key("sql"), "SELECT 1");
+
+            clock.advance(Duration.ofMinutes(6));
+
+            assertNull(store.get(key("sql")));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void put_WhenOverSizeCap_ShouldEvictLeastRecentlyUsed() throws Exception {
+        try (MappedResponseStore store = store(directory.resolve("cache.log"), 250, Duration.ofHours(1))) {
+            store.put(key("a"), "a".repeat(100));
+            store.put(key("b"), "b".repeat(100));
+            store.get(key("a"));  // b is now the least recently used
+
+            store.put(key("c"), "c".repeat(100));
+
+            assertNotNull(store.get(key("a")));
+            assertNull(store.get(key("b")));
+            assertNotNull(store.get(key("c")));
+        }
+    }
+
+    @Test
+    void put_WhenLogFull_ShouldCompactAndKeepLiveEntries() throws Exception {
+        Path file = directory.resolve("cache.log");
+        try (MappedResponseStore store = store(file, 16 * 1024, Duration.ofHours(1))) {
+            // Rewriting the same keys fills the log with dead records
+            for (int round = 0; round < 200; round++) {
+                for (int k = 0; k < 5; k++) {
+                    store.put(key("k" + k), "value-" + round + "-" + "x".repeat(200));
+                }
+            }
+
+            assertTrue(store.writePosition() < 64 * 1024);
+            assertEquals(5, store.size());
+            assertTrue(store.get(key("k3")).startsWith("value-199-"));
+        }
+
+        try (MappedResponseStore reopened = store(file, 16 * 1024, Duration.ofHours(1))) {
+            assertEquals(5, reopened.size());
+            assertTrue(reopened.get(key("k0")).startsWith("value-199-"));
+        }
+    }
+
+    @Test
+    void key_ShouldDependOnScopeAndMessages() {
+        byte[] base = LlmResponseCache.key("openai", "gpt-4o", 0.2, LlmResponseCache.scope(false, "sk-one"),
+                "system", "prompt");
+
+        assertArrayEquals(base, LlmResponseCache.key("openai", "gpt-4o", 0.2,
+                LlmResponseCache.scope(false, "sk-one"), "system", "prompt"));
+        assertFalse(Arrays.equals(base, LlmResponseCache.key("openai", "gpt-4o", 0.2,
+                LlmResponseCache.scope(false, "sk-two"), "system", "prompt")));
+        assertFalse(Arrays.equals(base, LlmResponseCache.key("openai", "gpt-4o", 0.2,
+                LlmResponseCache.scope(false, "sk-one"), "systemp", "rompt")));
+        assertEquals(LlmResponseCache.SHARED_SCOPE, LlmResponseCache.scope(true, "sk-one"));
+    }
+
+    private MappedResponseStore store(Path file, long maxBytes, Duration ttl) throws Exception {
+        MappedResponseStore store = new MappedResponseStore(file, maxBytes, ttl, clock);
+        store.open();
+        return store;
+    }
+
+    private static byte[] key(String name) {
+        return LlmResponseCache.key("openai", "gpt-4o", 0.2, LlmResponseCache.SHARED_SCOPE, name);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
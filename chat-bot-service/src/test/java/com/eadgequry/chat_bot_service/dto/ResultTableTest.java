@@ -0,0 +1,91 @@
+package com.eadgequry.chat_bot_service.dto;
+
+import com.eadgequry.chat_bot_service.model.Conversation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultTableTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ResultTable table = new ResultTable(
+            List.of(new ResultColumn("id", "INTEGER"), new ResultColumn("name", "VARCHAR")),
+            new ArrayList<>(List.of(new Object[]{1, "Ada"}, new Object[]{2, null}, new Object[]{3, "Linus"})));
+
+    @Test
+    void serialize_ShouldWriteHeaderOnceAndRowArrays() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(table));
+
+        assertEquals(2, json.size());
+        assertEquals("INTEGER", json.get("columns").get(0).get("type").asText());
+        assertEquals("Ada", json.get("rows").get(0).get(1).asText());
+        assertTrue(json.get("rows").get(1).get(1).isNull());
+    }
+
+    @Test
+    void deserialize_CompactJson_ShouldRoundTrip() throws Exception {
+        ResultTable read = objectMapper.readValue(objectMapper.writeValueAsString(table), ResultTable.class);
+
+        assertEquals(table.getColumns(), read.getColumns());
+        assertEquals(3, read.size());
+        assertArrayEquals(new Object[]{3, "Linus"}, read.getRows().get(2));
+    }
+
+    @Test
+    void deserialize_LegacyRowObjects_ShouldBuildHeaderFromKeys() throws Exception {
+        ResultTable read = objectMapper.readValue("[{\"id\":1,\"name\":\"Ada\"},{\"id\":2,\"email\":\"b@x.io\"}]",
+                ResultTable.class);
+
+        assertEquals(List.of("id", "name", "email"),
+                read.getColumns().stream().map(ResultColumn::getName).toList());
+        assertArrayEquals(new Object[]{2, null, "b@x.io"}, read.getRows().get(1));
+    }
+
+    @Test
+    void toMaps_ShouldKeepColumnOrderAndNulls() {
+        List<Map<String, Object>> maps = table.toMaps();
+
+        assertEquals(List.of("id", "name"), List.copyOf(maps.get(0).keySet()));
+        assertTrue(maps.get(1).containsKey("name"));
+        assertNull(maps.get(1).get("name"));
+    }
+
+    @Test
+    void limit_ShouldKeepHeaderAndFirstRows() {
+        ResultTable limited = table.limit(2);
+
+        assertEquals(2, limited.size());
+        assertSame(table.getColumns(), limited.getColumns());
+        assertSame(table, table.limit(50));
+    }
+
+    @Test
+    void toTable_ShouldPreferCompactLayoutAndFallBackToRowObjects() {
+        QueryExecutionResponse compact = QueryExecutionResponse.builder()
+                .columns(table.getColumns()).rows(table.getRows()).build();
+        QueryExecutionResponse legacy = QueryExecutionResponse.builder()
+                .result(List.of(Map.of("id", 1))).build();
+
+        assertSame(table.getRows(), compact.toTable().getRows());
+        assertEquals("id", legacy.toTable().getColumns().get(0).getName());
+        assertTrue(QueryExecutionResponse.builder().build().toTable().isEmpty());
+    }
+
+    @Test
+    void conversation_ShouldStillExposeSqlResultAsRowObjects() {
+        Conversation conversation = Conversation.builder().question("who?").resultTable(table).build();
+
+        JsonNode json = objectMapper.valueToTree(conversation);
+
+        assertFalse(json.has("resultTable"));
+        assertEquals("Ada", json.get("sqlResult").get(0).get("name").asText());
+        assertEquals(3, json.get("sqlResult").size());
+    }
+}
@@ -0,0 +1,598 @@
+package com.eadgequry.chat_bot_service.golden;
+
+import com.eadgequry.chat_bot_service.cache.LlmResponseCache;
+import com.eadgequry.chat_bot_service.client.DataSourceClient;
+import com.eadgequry.chat_bot_service.config.AiApiProperties;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
+import com.eadgequry.chat_bot_service.dto.AskTimings;
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.QueryExecutionResponse;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.eadgequry.chat_bot_service.provider.AnthropicAdapter;
+import com.eadgequry.chat_bot_service.provider.ChatCompletionCodec;
+import com.eadgequry.chat_bot_service.provider.OpenAiCompatibleAdapter;
+import com.eadgequry.chat_bot_service.provider.ProviderAdapterRegistry;
+import com.eadgequry.chat_bot_service.provider.ProviderCompletion;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import com.eadgequry.chat_bot_service.repository.ConversationRepository;
+import com.eadgequry.chat_bot_service.repository.ConversationSessionRepository;
+import com.eadgequry.chat_bot_service.service.AiService;
+import com.eadgequry.chat_bot_service.service.ChatbotService;
+import com.eadgequry.chat_bot_service.service.DemoQueryUsageService;
+import com.eadgequry.chat_bot_service.service.LocalStubAiService;
+import com.eadgequry.chat_bot_service.service.ModelRouter;
+import com.eadgequry.chat_bot_service.service.SqlValidatorService;
+import com.eadgequry.chat_bot_service.service.UserAiSettingsService;
+import com.eadgequry.chat_bot_service.trace.AskTrace;
+import com.eadgequry.chat_bot_service.trace.AskTraceRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.h2.tools.RunScript;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Golden NL-to-SQL suite: runs the curated questions in {@code golden/questions.jsonl} through the
+ * full {@link ChatbotService} pipeline against the sample retail database in {@code golden/sample-db.sql}
+ * (in-memory H2) and scores each answer against its golden query.
+ * <p>
+ * Model responses come from a {@link ModelResponses} source so the suite runs offline: the deterministic
+ * LOCAL_STUB completions, or provider responses recorded by {@link AskTraceRecorder} for the same questions.
+ * A result is correct when it has as many rows as the golden result and every golden row's values appear
+ * in the matching generated row (extra columns are tolerated; row order only matters for ORDER BY).
+ * <p>
+ * SQL generation is streamed through the identifier guard as in production unless the suite is built
+ * for blocking calls; streamed requests get the same responses replayed as server-sent events.
+ */
+public class GoldenSuite implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GoldenSuite.class);
+
+    private static final long CONFIG_ID = 1L;
+    private static final long USER_ID = 1L;
+    private static final int STREAM_CHUNK_CHARS = 16;
+
+    private static final ThreadLocal<GoldenQuestion> CURRENT_QUESTION = new ThreadLocal<>();
+    private static final ThreadLocal<QueryExecutionResponse> LAST_QUERY = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Connection connection;
+    private final String schemaJson;
+    private final ModelResponses modelResponses;
+    private final boolean sqlStreaming;
+    private final ChatCompletionCodec codec = new ChatCompletionCodec(objectMapper);
+    private final ChatbotService chatbotService;
+
+    /**
+     * Suite configured like production: streamed SQL generation with one re-prompt
+     */
+    public GoldenSuite(ModelResponses modelResponses) throws SQLException, IOException {
+        this(modelResponses, true);
+    }
+
+    public GoldenSuite(ModelResponses modelResponses, boolean sqlStreaming) throws SQLException, IOException {
+        this.modelResponses = modelResponses;
+        this.sqlStreaming = sqlStreaming;
+        this.connection = DriverManager.getConnection(
+                "jdbc:h2:mem:golden-" + System.nanoTime() + ";DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (InputStream script = resource("golden/sample-db.sql")) {
+            RunScript.execute(connection, new InputStreamReader(script, StandardCharsets.UTF_8));
+        }
+        this.schemaJson = objectMapper.writeValueAsString(extractSchema());
+
+        AiApiProperties properties = new AiApiProperties();
+        properties.setTemperatureAnswer(0.7);
+        properties.setMaxTokens(1500);
+        properties.setTimeout(600_000);
+
+        UserAiSettingsService userAiSettingsService = mock(UserAiSettingsService.class);
+        when(userAiSettingsService.getUserSettingsEntity(anyLong())).thenAnswer(invocation -> UserAiSettings.builder()
+                .userId(invocation.getArgument(0))
+                .provider(UserAiSettings.AiProvider.OPENAI)
+                .model(modelResponses.name())
+                .build());
+        when(userAiSettingsService.getDecryptedApiKey(anyLong())).thenReturn("golden");
+
+        AskMetrics askMetrics = new AskMetrics(new SimpleMeterRegistry());
+        AskTraceRecorder recorder = new AskTraceRecorder(objectMapper);
+        AiService aiService = new AiService(properties, new StubAiProperties(), objectMapper, modelWebClient(),
+                userAiSettingsService, askMetrics, ObservationRegistry.NOOP, recorder, new ModelRouter(),
+                new LlmResponseCache(), codec,
+                new ProviderAdapterRegistry(List.of(new OpenAiCompatibleAdapter(codec),
+                        new AnthropicAdapter(objectMapper))));
+        ReflectionTestUtils.setField(aiService, "sqlStreamingEnabled", sqlStreaming);
+        ReflectionTestUtils.setField(aiService, "sqlStreamingMaxReprompts", 1);
+        this.chatbotService = new ChatbotService(aiService, new SqlValidatorService(), new H2DataSourceClient(),
+                mock(ConversationRepository.class), mock(ConversationSessionRepository.class),
+                userAiSettingsService, mock(DemoQueryUsageService.class), askMetrics, ObservationRegistry.NOOP,
+                recorder);
+        ReflectionTestUtils.setField(chatbotService, "maxRetries", 2);
+    }
+
+    public List<GoldenQuestion> loadQuestions() throws IOException {
+        List<GoldenQuestion> questions = new ArrayList<>();
+        try (InputStream in = resource("golden/questions.jsonl")) {
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    questions.add(objectMapper.readValue(line, GoldenQuestion.class));
+                }
+            }
+        }
+        return questions;
+    }
+
+    /**
+     * Run one question through the pipeline and score it against the golden query
+     */
+    public GoldenResult run(GoldenQuestion question) {
+        QueryExecutionResponse golden = execute(question.sql());
+        CURRENT_QUESTION.set(question);
+        LAST_QUERY.remove();
+        try {
+            ChatRequest request = new ChatRequest();
+            request.setQuestion(question.question());
+            request.setDatabaseConfigId(CONFIG_ID);
+            request.setUserId(USER_ID);
+            ChatResponse response = chatbotService.ask(request);
+
+            QueryExecutionResponse generated = LAST_QUERY.get();
+            boolean valid = generated != null && generated.isSuccess();
+            boolean correct = valid && golden.isSuccess()
+                    && matches(golden.getResult(), generated.getResult(), question.sql());
+
+            AskTimings timings = response.getTimings() != null ? response.getTimings() : new AskTimings();
+            int mappingCalls = 0;
+            int promptTokens = 0;
+            int completionTokens = 0;
+            for (AskTimings.LlmCall call : timings.getLlmCalls()) {
+                if (AskMetrics.LLM_MAPPING.equals(call.getCall())) {
+                    mappingCalls++;
+                }
+                promptTokens += call.getPromptTokens() != null ? call.getPromptTokens() : 0;
+                completionTokens += call.getCompletionTokens() != null ? call.getCompletionTokens() : 0;
+            }
+
+            return new GoldenResult(question.id(), question.category(), question.question(), question.sql(),
+                    response.getSqlQuery(), golden.isSuccess(), valid, correct, Math.max(0, mappingCalls - 1),
+                    promptTokens, completionTokens, timings.getStagesMs(),
+                    timings.getTotalMs() != null ? timings.getTotalMs() : 0L,
+                    response.isSuccess() ? null : response.getError());
+        } finally {
+            CURRENT_QUESTION.remove();
+            LAST_QUERY.remove();
+        }
+    }
+
+    public GoldenReport runAll() throws IOException {
+        List<GoldenResult> results = new ArrayList<>();
+        for (GoldenQuestion question : loadQuestions()) {
+            results.add(run(question));
+        }
+        return new GoldenReport(modelResponses.name(), sqlStreaming, results);
+    }
+
+    public void writeReport(GoldenReport report, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    static boolean matches(List<Map<String, Object>> golden, List<Map<String, Object>> generated, String goldenSql) {
+        if (golden == null || generated == null || golden.size() != generated.size()) {
+            return false;
+        }
+        List<List<String>> goldenRows = golden.stream().map(GoldenSuite::normalizedValues).toList();
+        List<List<String>> generatedRows = new ArrayList<>(generated.stream().map(GoldenSuite::normalizedValues).toList());
+
+        if (goldenSql.toUpperCase(Locale.ROOT).contains("ORDER BY")) {
+            for (int i = 0; i < goldenRows.size(); i++) {
+                if (!containsAll(generatedRows.get(i), goldenRows.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (List<String> goldenRow : goldenRows) {
+            int match = -1;
+            for (int i = 0; i < generatedRows.size(); i++) {
+                if (containsAll(generatedRows.get(i), goldenRow)) {
+                    match = i;
+                    break;
+                }
+            }
+            if (match < 0) {
+                return false;
+            }
+            generatedRows.remove(match);
+        }
+        return true;
+    }
+
+    private static boolean containsAll(List<String> row, List<String> expected) {
+        List<String> remaining = new ArrayList<>(row);
+        for (String value : expected) {
+            if (!remaining.remove(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> normalizedValues(Map<String, Object> row) {
+        List<String> values = new ArrayList<>(row.size());
+        for (Object value : row.values()) {
+            if (value instanceof Number number) {
+                // 2 decimals so AVG/SUM precision differences between equivalent queries don't count
+                values.add(new BigDecimal(number.toString()).setScale(2, RoundingMode.HALF_UP).toPlainString());
+            } else {
+                values.add(String.valueOf(value));
+            }
+        }
+        return values;
+    }
+
+    private QueryExecutionResponse execute(String sql) {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    // Positional keys keep duplicate labels (e.g. two last_name columns) apart
+                    row.put(i + ":" + metaData.getColumnLabel(i), resultSet.getObject(i));
+                }
+                rows.add(row);
+            }
+            return QueryExecutionResponse.builder()
+                    .success(true)
+                    .sqlQuery(sql)
+                    .result(rows)
+                    .rowCount(rows.size())
+                    .executionTimeMs((System.nanoTime() - start) / 1_000_000)
+                    .build();
+        } catch (SQLException e) {
+            return QueryExecutionResponse.builder()
+                    .success(false)
+                    .sqlQuery(sql)
+                    .error(e.getMessage())
+                    .build();
+        }
+    }
+
+    private DatabaseSchemaDTO extractSchema() throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<DatabaseSchemaDTO.TableInfo> tables = new ArrayList<>();
+        try (ResultSet tableRs = metaData.getTables(null, "public", null, new String[]{"TABLE"})) {
+            while (tableRs.next()) {
+                String table = tableRs.getString("TABLE_NAME");
+                List<DatabaseSchemaDTO.ColumnInfo> columns = new ArrayList<>();
+                try (ResultSet rs = metaData.getColumns(null, "public", table, null)) {
+                    while (rs.next()) {
+                        columns.add(new DatabaseSchemaDTO.ColumnInfo(rs.getString("COLUMN_NAME"),
+                                rs.getString("TYPE_NAME"), rs.getInt("COLUMN_SIZE"),
+                                rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable, null,
+                                rs.getInt("ORDINAL_POSITION"), null));
+                    }
+                }
+                List<String> primaryKeys = new ArrayList<>();
+                try (ResultSet rs = metaData.getPrimaryKeys(null, "public", table)) {
+                    while (rs.next()) {
+                        primaryKeys.add(rs.getString("COLUMN_NAME"));
+                    }
+                }
+                List<DatabaseSchemaDTO.ForeignKeyInfo> foreignKeys = new ArrayList<>();
+                try (ResultSet rs = metaData.getImportedKeys(null, "public", table)) {
+                    while (rs.next()) {
+                        foreignKeys.add(new DatabaseSchemaDTO.ForeignKeyInfo(rs.getString("FK_NAME"),
+                                rs.getString("FKCOLUMN_NAME"), rs.getString("PKTABLE_NAME"),
+                                rs.getString("PKCOLUMN_NAME"), null, null));
+                    }
+                }
+                tables.add(new DatabaseSchemaDTO.TableInfo(table, "TABLE", null, columns, primaryKeys,
+                        foreignKeys, List.of()));
+            }
+        }
+        DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+        schema.setDatabaseName("golden");
+        schema.setDatabaseType("H2");
+        schema.setTables(tables);
+        return schema;
+    }
+
+    /**
+     * WebClient whose transport answers chat-completion requests from the configured model responses
+     */
+    private WebClient modelWebClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    MockClientHttpRequest captured = new MockClientHttpRequest(HttpMethod.POST, request.url());
+                    GoldenQuestion question = CURRENT_QUESTION.get();
+                    return request.writeTo(captured, ExchangeStrategies.withDefaults())
+                            .then(Mono.defer(captured::getBodyAsString))
+                            .map(body -> {
+                                JsonNode json = readRequest(body);
+                                String completion = modelResponses.respond(question, promptOf(json));
+                                if (completion == null) {
+                                    return response(HttpStatus.INTERNAL_SERVER_ERROR, "no model response for "
+                                            + question.id());
+                                }
+                                return json.path("stream").asBoolean()
+                                        ? streamResponse(codec.decode(completion))
+                                        : response(HttpStatus.OK, completion);
+                            });
+                })
+                .build();
+    }
+
+    private JsonNode readRequest(String requestBody) {
+        try {
+            return objectMapper.readTree(requestBody);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable chat-completion request", e);
+        }
+    }
+
+    private static String promptOf(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        return messages.get(messages.size() - 1).path("content").asText();
+    }
+
+    /**
+     * Replay a completion as chat-completion stream events: content deltas, then finish reason and usage
+     */
+    private ClientResponse streamResponse(ProviderCompletion completion) {
+        List<String> events = new ArrayList<>();
+        String content = completion.content();
+        for (int i = 0; i < content.length(); i += STREAM_CHUNK_CHARS) {
+            ObjectNode event = objectMapper.createObjectNode();
+            event.putArray("choices").addObject().putObject("delta")
+                    .put("content", content.substring(i, Math.min(content.length(), i + STREAM_CHUNK_CHARS)));
+            events.add(event.toString());
+        }
+        ObjectNode last = objectMapper.createObjectNode();
+        last.putArray("choices").addObject().put("finish_reason",
+                completion.finishReason() != null ? completion.finishReason() : "stop");
+        if (completion.promptTokens() != null || completion.completionTokens() != null) {
+            ObjectNode usage = last.putObject("usage");
+            if (completion.promptTokens() != null) {
+                usage.put("prompt_tokens", completion.promptTokens());
+            }
+            if (completion.completionTokens() != null) {
+                usage.put("completion_tokens", completion.completionTokens());
+            }
+        }
+        events.add(last.toString());
+        events.add("[DONE]");
+
+        Flux<DataBuffer> body = Flux.fromIterable(events).map(data -> DefaultDataBufferFactory.sharedInstance
+                .wrap(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8)));
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static ClientResponse response(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static InputStream resource(String path) throws IOException {
+        InputStream in = GoldenSuite.class.getClassLoader().getResourceAsStream(path);
+        if (in == null) {
+            throw new IOException("Missing classpath resource " + path);
+        }
+        return in;
+    }
+
+    private class H2DataSourceClient implements DataSourceClient {
+
+        @Override
+        public DatabaseSchemaDTO getSchemaByConfigId(Long configId, Long userId) {
+            // Fresh DTO per ask: AiService fills the parsed tables in place
+            DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+            schema.setDatabaseConfigId(configId);
+            schema.setSchemaJson(schemaJson);
+            return schema;
+        }
+
+        @Override
+        public QueryExecutionResponse executeQuery(Long databaseConfigId, Long userId, Integer maxRows,
+                                                   String layout, String sqlQuery) {
+            QueryExecutionResponse response = execute(sqlQuery);
+            LAST_QUERY.set(response);
+            return response;
+        }
+    }
+
+    /**
+     * Source of raw chat-completion responses for the suite
+     */
+    public interface ModelResponses {
+
+        String name();
+
+        /**
+         * @return the raw provider response body, or null when there is none for this prompt
+         */
+        String respond(GoldenQuestion question, String prompt);
+
+        /**
+         * Deterministic LOCAL_STUB completions
+         */
+        static ModelResponses stub(ObjectMapper objectMapper) {
+            LocalStubAiService stub = new LocalStubAiService(objectMapper);
+            return new ModelResponses() {
+                @Override
+                public String name() {
+                    return "local-stub";
+                }
+
+                @Override
+                public String respond(GoldenQuestion question, String prompt) {
+                    String content = stub.complete(prompt);
+                    ObjectNode body = objectMapper.createObjectNode();
+                    body.putArray("choices").addObject().putObject("message")
+                            .put("role", "assistant").put("content", content);
+                    body.putObject("usage")
+                            .put("prompt_tokens", stub.estimateTokens(prompt))
+                            .put("completion_tokens", stub.estimateTokens(content));
+                    return body.toString();
+                }
+            };
+        }
+
+        /**
+         * Provider responses recorded by AskTraceRecorder, matched to golden questions by question text
+         * and replayed in call order
+         */
+        static ModelResponses recorded(ObjectMapper objectMapper, Path traceFile) throws IOException {
+            Map<String, AskTrace> byQuestion = new HashMap<>();
+            for (String line : Files.readAllLines(traceFile)) {
+                if (!line.isBlank()) {
+                    AskTrace trace = objectMapper.readValue(line, AskTrace.class);
+                    byQuestion.putIfAbsent(trace.getQuestion(), trace);
+                }
+            }
+            Map<String, Integer> cursors = new TreeMap<>();
+            return new ModelResponses() {
+                @Override
+                public String name() {
+                    return "recorded:" + traceFile.getFileName();
+                }
+
+                @Override
+                public synchronized String respond(GoldenQuestion question, String prompt) {
+                    AskTrace trace = byQuestion.get(question.question());
+                    if (trace == null) {
+                        return null;
+                    }
+                    int index = cursors.merge(question.id(), 1, Integer::sum) - 1;
+                    return index < trace.getLlmCalls().size() ? trace.getLlmCalls().get(index).getRawResponse() : null;
+                }
+            };
+        }
+
+        static ModelResponses fromSystemProperty(ObjectMapper objectMapper) throws IOException {
+            String source = System.getProperty("golden.responses", "stub");
+            return "stub".equals(source) ? stub(objectMapper) : recorded(objectMapper, Path.of(source));
+        }
+    }
+
+    public record GoldenQuestion(String id, String category, String question, String sql) {
+    }
+
+    public record GoldenResult(String id, String category, String question, String goldenSql, String generatedSql,
+                               boolean goldenValid, boolean valid, boolean correct, int retries, int promptTokens,
+                               int completionTokens, Map<String, Long> stagesMs, long totalMs, String error) {
+    }
+
+    public record GoldenReport(String model, boolean sqlStreaming, List<GoldenResult> results) {
+
+        public long validCount() {
+            return results.stream().filter(GoldenResult::valid).count();
+        }
+
+        public long correctCount() {
+            return results.stream().filter(GoldenResult::correct).count();
+        }
+
+        public String summary() {
+            StringBuilder summary = new StringBuilder();
+            int total = results.size();
+            summary.append(String.format("Golden suite (%s, %s SQL): %d questions, valid SQL %.1f%%, correct %.1f%%%n",
+                    model, sqlStreaming ? "streamed" : "blocking", total, 100.0 * validCount() / total, 100.0 * correctCount() / total));
+            summary.append(String.format("Retries: %d total, tokens: %d prompt / %d completion%n",
+                    results.stream().mapToInt(GoldenResult::retries).sum(),
+                    results.stream().mapToInt(GoldenResult::promptTokens).sum(),
+                    results.stream().mapToInt(GoldenResult::completionTokens).sum()));
+
+            Map<String, long[]> stages = new TreeMap<>();
+            for (GoldenResult result : results) {
+                result.stagesMs().forEach((stage, ms) -> {
+                    long[] sum = stages.computeIfAbsent(stage, k -> new long[2]);
+                    sum[0] += ms;
+                    sum[1]++;
+                });
+            }
+            stages.forEach((stage, sum) -> summary.append(String.format("  %-18s mean %.1f ms%n", stage,
+                    (double) sum[0] / sum[1])));
+
+            Map<String, int[]> categories = new TreeMap<>();
+            for (GoldenResult result : results) {
+                int[] counts = categories.computeIfAbsent(result.category(), k -> new int[2]);
+                counts[0]++;
+                counts[1] += result.correct() ? 1 : 0;
+            }
+            categories.forEach((category, counts) -> summary.append(String.format("  %-18s %d/%d correct%n",
+                    category, counts[1], counts[0])));
+            return summary.toString();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        boolean sqlStreaming = Boolean.parseBoolean(System.getProperty("golden.sql-streaming", "true"));
+        try (GoldenSuite suite = new GoldenSuite(ModelResponses.fromSystemProperty(objectMapper), sqlStreaming)) {
+            GoldenReport report = suite.runAll();
+            Path file = Path.of(args.length > 0 ? args[0] : "target/golden-report.json");
+            suite.writeReport(report, file);
+            log.info("Golden report written to {}\n{}", file, report.summary());
+        }
+    }
+}
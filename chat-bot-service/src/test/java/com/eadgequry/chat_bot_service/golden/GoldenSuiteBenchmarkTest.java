@@ -0,0 +1,47 @@
+package com.eadgequry.chat_bot_service.golden;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the full golden suite. Excluded from the default build; run with {@code mvn test -Pgolden}
+ * (add {@code -Dgolden.responses=<trace.jsonl>} to score recorded provider responses instead of the stub).
+ * Runs once with streamed SQL generation as in production and once with blocking calls; each mode writes
+ * its report to {@code target/golden-report-<mode>.json}.
+ */
+@Tag("benchmark")
+class GoldenSuiteBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GoldenSuiteBenchmarkTest.class);
+
+    @ParameterizedTest(name = "sqlStreaming={0}")
+    @ValueSource(booleans = {true, false})
+    void goldenSuite_ShouldScoreEveryQuestion(boolean sqlStreaming) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        try (GoldenSuite suite = new GoldenSuite(GoldenSuite.ModelResponses.fromSystemProperty(objectMapper),
+                sqlStreaming)) {
+            GoldenSuite.GoldenReport report = suite.runAll();
+            Path file = Path.of("target", "golden-report-" + (sqlStreaming ? "streaming" : "blocking") + ".json");
+            suite.writeReport(report, file);
+            log.info("Golden report written to {}\n{}", file, report.summary());
+
+            assertTrue(report.results().size() >= 200);
+            List<String> brokenGolden = report.results().stream()
+                    .filter(result -> !result.goldenValid())
+                    .map(GoldenSuite.GoldenResult::id)
+                    .toList();
+            assertEquals(List.of(), brokenGolden, "golden queries must run on the sample database");
+            assertTrue(report.correctCount() > 0);
+        }
+    }
+}
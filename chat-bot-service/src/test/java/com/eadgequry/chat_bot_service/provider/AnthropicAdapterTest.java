@@ -0,0 +1,119 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnthropicAdapterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnthropicAdapter adapter = new AnthropicAdapter(objectMapper);
+
+    @Test
+    void encodeRequest_ShouldUseMessagesFormatWithPlainContentWithoutCacheablePrefix() throws Exception {
+        // Act
+        JsonNode body = encode(new ProviderRequest("claude-sonnet-4-5", "system", "Question: \"how many\"", 0, 0.2,
+                null, false));
+
+        // Assert
+        assertEquals("claude-sonnet-4-5", body.path("model").asText());
+        assertEquals(1500, body.path("max_tokens").asInt());
+        assertEquals("system", body.path("system").asText());
+        assertEquals(1, body.path("messages").size());
+        assertEquals("user", body.path("messages").get(0).path("role").asText());
+        assertEquals("Question: \"how many\"", body.path("messages").get(0).path("content").asText());
+    }
+
+    @Test
+    void encodeRequest_ShouldMarkSchemaBlockForCachingAheadOfQuestion() throws Exception {
+        // Arrange
+        String schemaSection = "=== AVAILABLE SCHEMA ===\nTABLE: customers\n  COLUMNS: id, name\n\n";
+        String prompt = schemaSection + "=== TASK ===\nQuestion: \"how many\"\n";
+
+        // Act
+        JsonNode body = encode(new ProviderRequest("claude-sonnet-4-5", "system", prompt, schemaSection.length(),
+                0.2, null, false));
+
+        // Assert
+        assertFalse(body.path("system").isArray());
+        JsonNode content = body.path("messages").get(0).path("content");
+        assertEquals(2, content.size());
+        assertEquals(schemaSection, content.get(0).path("text").asText());
+        assertEquals("ephemeral", content.get(0).path("cache_control").path("type").asText());
+        assertEquals("=== TASK ===\nQuestion: \"how many\"\n", content.get(1).path("text").asText());
+        assertTrue(content.get(1).path("cache_control").isMissingNode());
+    }
+
+    @Test
+    void applyHeaders_ShouldUseApiKeyHeaderInsteadOfBearer() {
+        HttpHeaders headers = new HttpHeaders();
+
+        adapter.applyHeaders(UserAiSettings.AiProvider.CLAUDE, "sk-ant-test", headers);
+
+        assertEquals("sk-ant-test", headers.getFirst("x-api-key"));
+        assertEquals(AnthropicAdapter.API_VERSION, headers.getFirst("anthropic-version"));
+        assertNull(headers.getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void decode_ShouldJoinTextBlocksAndCountCachedInput() {
+        // Arrange
+        String response = "{\"id\":\"msg_1\",\"type\":\"message\",\"role\":\"assistant\","
+                + "\"content\":[{\"type\":\"text\",\"text\":\"SELECT \"},{\"type\":\"thinking\",\"thinking\":\"x\"},"
+                + "{\"type\":\"text\",\"text\":\"1\"}],\"stop_reason\":\"end_turn\","
+                + "\"usage\":{\"input_tokens\":20,\"cache_creation_input_tokens\":0,"
+                + "\"cache_read_input_tokens\":100,\"output_tokens\":5}}";
+
+        // Act
+        ProviderCompletion completion = adapter.decode(
+                new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(new ProviderCompletion("SELECT 1", "end_turn", 120, 5, 100), completion);
+    }
+
+    @Test
+    void decode_WhenErrorOrEmpty_ShouldThrow() {
+        ChatBotException error = assertThrows(ChatBotException.class, () -> adapter.decode(stream(
+                "{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\",\"message\":\"Overloaded\"}}")));
+        assertEquals("Anthropic API error: Overloaded", error.getMessage());
+
+        assertThrows(ChatBotException.class, () -> adapter.decode(stream("{\"id\":\"x\"}")));
+        assertThrows(ChatBotException.class, () -> adapter.decode(stream("{\"content\":[]}")));
+    }
+
+    @Test
+    void registry_ShouldResolveEveryProviderAndRejectDuplicates() {
+        OpenAiCompatibleAdapter openAi = new OpenAiCompatibleAdapter(new ChatCompletionCodec(objectMapper));
+        ProviderAdapterRegistry registry = new ProviderAdapterRegistry(List.of(openAi, adapter));
+
+        for (UserAiSettings.AiProvider provider : UserAiSettings.AiProvider.values()) {
+            assertNotNull(registry.adapterFor(provider));
+        }
+        assertSame(adapter, registry.adapterFor(UserAiSettings.AiProvider.CLAUDE));
+        assertThrows(IllegalStateException.class, () -> new ProviderAdapterRegistry(List.of(adapter, adapter)));
+    }
+
+    private JsonNode encode(ProviderRequest request) throws Exception {
+        DataBuffer buffer = adapter.encodeRequest(DefaultDataBufferFactory.sharedInstance, request);
+        String json = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return objectMapper.readTree(json);
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,91 @@
+package com.eadgequry.chat_bot_service.provider;
+
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatCompletionCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChatCompletionCodec codec = new ChatCompletionCodec(objectMapper);
+
+    @Test
+    void encodeRequest_ShouldWriteEscapedChatCompletionBody() throws Exception {
+        // Arrange
+        String prompt = "Question: \"how many\"\nline two é ✓";
+
+        // Act
+        DataBuffer buffer = codec.encodeRequest(DefaultDataBufferFactory.sharedInstance, "gpt-4o", "system",
+                prompt, 0.2, 1500);
+        String json = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+
+        // Assert
+        JsonNode body = objectMapper.readTree(json);
+        assertEquals("gpt-4o", body.path("model").asText());
+        assertEquals("system", body.path("messages").get(0).path("role").asText());
+        assertEquals(prompt, body.path("messages").get(1).path("content").asText());
+        assertEquals(0.2, body.path("temperature").asDouble());
+        assertEquals(1500, body.path("max_tokens").asInt());
+    }
+
+    @Test
+    void decode_ShouldReadFirstChoiceAndUsageSkippingUnknownFields() {
+        // Arrange
+        String response = "{\"id\":\"gen-1\",\"provider\":{\"name\":\"x\",\"nested\":[1,{\"a\":[]}]},"
+                + "\"choices\":[{\"index\":0,\"logprobs\":null,\"message\":{\"role\":\"assistant\","
+                + "\"content\":\"SELECT 1\",\"tool_calls\":[]},\"finish_reason\":\"stop\"},"
+                + "{\"message\":{\"content\":\"ignored\"}}],"
+                + "\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":8,\"prompt_tokens_details\":{\"cached_tokens\":0}}}";
+
+        // Act
+        ProviderCompletion completion = codec.decode(
+                new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(new ProviderCompletion("SELECT 1", "stop", 120, 8, 0), completion);
+    }
+
+    @Test
+    void decode_WhenErrorOrEmpty_ShouldThrow() {
+        ChatBotException error = assertThrows(ChatBotException.class,
+                () -> codec.decode("{\"error\":{\"code\":429,\"message\":\"Rate limited\"}}"));
+        assertEquals("OpenRouter API error: Rate limited", error.getMessage());
+
+        assertThrows(ChatBotException.class, () -> codec.decode("{\"id\":\"x\"}"));
+        assertThrows(ChatBotException.class, () -> codec.decode("{\"choices\":[{\"message\":{\"content\":\"\"}}]}"));
+        assertThrows(ChatBotException.class, () -> codec.decode("not json"));
+    }
+
+    @Test
+    void decodeStreamEvent_ShouldAccumulateDeltasUsageAndDone() {
+        CompletionStream stream = new CompletionStream();
+
+        assertNull(codec.decodeStreamEvent("{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}", stream));
+        assertEquals("SELECT ", codec.decodeStreamEvent("{\"choices\":[{\"delta\":{\"content\":\"SELECT \"}}]}", stream));
+        assertEquals("1", codec.decodeStreamEvent(
+                "{\"choices\":[{\"delta\":{\"content\":\"1\"},\"finish_reason\":\"stop\"}]}", stream));
+        codec.decodeStreamEvent("{\"choices\":[],\"usage\":{\"prompt_tokens\":50,\"completion_tokens\":2}}", stream);
+        assertFalse(stream.isDone());
+        codec.decodeStreamEvent("[DONE]", stream);
+
+        assertTrue(stream.isDone());
+        assertEquals(new ProviderCompletion("SELECT 1", "stop", 50, 2, null), stream.toCompletion());
+    }
+
+    @Test
+    void encodeCompletion_ShouldRoundTrip() {
+        ProviderCompletion completion = new ProviderCompletion("You have \"42\" customers.", "stop", 100, 7, 64);
+
+        assertEquals(completion, codec.decode(codec.encodeCompletion(completion)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.dto.ResultTable;
+import com.eadgequry.chat_bot_service.provider.ChatCompletionCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result-dependent AiService hot paths (answer prompt, request encoding, response parsing) across result sizes.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=AiServiceResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AiServiceResponseBenchmark {
+
+    private static final String QUESTION = "show the latest orders";
+    private static final String SQL = "SELECT * FROM orders ORDER BY created_at DESC LIMIT 50";
+    private static final int COLUMNS = 20;
+
+    @Param({"0", "1", "10", "50"})
+    public int rows;
+
+    private AiService aiService;
+    private ResultTable result;
+    private String completionResponse;
+    private String mappingResponse;
+    private ChatCompletionCodec codec;
+    private byte[] completionBytes;
+    private String answerPrompt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        aiService = BenchmarkFixtures.aiService(objectMapper);
+        result = BenchmarkFixtures.rows(rows, COLUMNS);
+        completionResponse = BenchmarkFixtures.completionResponse(objectMapper, rows);
+        mappingResponse = BenchmarkFixtures.mappingResponse(10);
+        codec = new ChatCompletionCodec(objectMapper);
+        completionBytes = completionResponse.getBytes(StandardCharsets.UTF_8);
+        answerPrompt = aiService.buildAnswerPrompt(QUESTION, SQL, result);
+
+        System.out.printf("# output chars (rows=%d): answerPrompt=%d, extractedContent=%d%n",
+                rows,
+                aiService.buildAnswerPrompt(QUESTION, SQL, result).length(),
+                aiService.extractContent(completionResponse).content().length());
+    }
+
+    @Benchmark
+    public String buildAnswerPrompt() {
+        return aiService.buildAnswerPrompt(QUESTION, SQL, result);
+    }
+
+    @Benchmark
+    public Object extractContent() {
+        return aiService.extractContent(completionResponse);
+    }
+
+    /**
+     * Response decoding as done on the live path: token-wise from the transport bytes
+     */
+    @Benchmark
+    public Object decodeCompletionBytes() {
+        return codec.decode(new ByteArrayInputStream(completionBytes));
+    }
+
+    @Benchmark
+    public int encodeAnswerRequest() throws IOException {
+        DataBuffer buffer = codec.encodeRequest(DefaultDataBufferFactory.sharedInstance, "openai/gpt-4o-mini",
+                "system", answerPrompt, 0.7, 1500);
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    @Benchmark
+    public Object parseMappingResponse() {
+        return aiService.parseMappingResponse(mappingResponse);
+    }
+}
@@ -0,0 +1,85 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema-dependent AiService hot paths (prompt builders and mapping validation) across schema sizes.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=AiServiceSchemaPrompt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AiServiceSchemaPromptBenchmark {
+
+    private static final String QUESTION = "top 10 parents by total amount";
+    private static final String PREVIOUS_ERROR = "Unknown column 'total' in 'field list'";
+
+    @Param({"10", "100", "1000", "5000"})
+    public int tables;
+
+    private AiService aiService;
+    private DatabaseSchemaDTO schema;
+    private String mappingResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        aiService = BenchmarkFixtures.aiService(objectMapper);
+        schema = BenchmarkFixtures.schema(tables);
+        mappingResponse = BenchmarkFixtures.mappingResponse(tables);
+
+        // Output sizes are deterministic per schema size, so report them once per trial
+        System.out.printf("# output chars (tables=%d): mappingPrompt=%d, queryPrompt=%d, schemaInfo=%d, examples=%d%n",
+                tables,
+                aiService.buildMappingPrompt(QUESTION, schema, PREVIOUS_ERROR).length(),
+                aiService.buildQueryPrompt(QUESTION, schema, PREVIOUS_ERROR).length(),
+                aiService.formatSchemaInfoDetailed(schema).length(),
+                aiService.getSchemaBasedExamples(schema, "MYSQL").length());
+    }
+
+    @Benchmark
+    public String buildMappingPrompt() {
+        return aiService.buildMappingPrompt(QUESTION, schema, PREVIOUS_ERROR);
+    }
+
+    @Benchmark
+    public String buildQueryPrompt() {
+        return aiService.buildQueryPrompt(QUESTION, schema, PREVIOUS_ERROR);
+    }
+
+    @Benchmark
+    public String formatSchemaInfoDetailed() {
+        return aiService.formatSchemaInfoDetailed(schema);
+    }
+
+    @Benchmark
+    public String getSchemaBasedExamples() {
+        return aiService.getSchemaBasedExamples(schema, "MYSQL");
+    }
+
+    @Benchmark
+    public void parseAndValidateMapping(Blackhole blackhole) {
+        AiService.SchemaMapping mapping = aiService.parseMappingResponse(mappingResponse);
+        aiService.validateMapping(mapping, schema);
+        blackhole.consume(mapping);
+    }
+}
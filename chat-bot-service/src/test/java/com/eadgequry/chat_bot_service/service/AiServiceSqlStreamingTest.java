@@ -0,0 +1,222 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.cache.LlmResponseCache;
+import com.eadgequry.chat_bot_service.config.AiApiProperties;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import com.eadgequry.chat_bot_service.provider.AnthropicAdapter;
+import com.eadgequry.chat_bot_service.provider.ChatCompletionCodec;
+import com.eadgequry.chat_bot_service.provider.OpenAiCompatibleAdapter;
+import com.eadgequry.chat_bot_service.provider.ProviderAdapterRegistry;
+import com.eadgequry.chat_bot_service.trace.AskTraceRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AiServiceSqlStreamingTest {
+
+    private static final String MAPPING = "{\"intent\":\"list\",\"tables\":[\"customers\"],"
+            + "\"columns\":{\"customers\":[\"name\"]}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Deque<Flux<String>> responses = new ArrayDeque<>();
+    private final List<JsonNode> requests = new ArrayList<>();
+    private final AtomicBoolean invalidStreamCancelled = new AtomicBoolean();
+    private AiService aiService;
+
+    @BeforeEach
+    void setUp() {
+        AiApiProperties properties = new AiApiProperties();
+        properties.setUrl("http://model.test/v1/chat/completions");
+        properties.setKey("test-key");
+        properties.setModel("openai/gpt-4o-mini");
+        properties.setMaxTokens(1500);
+        properties.setTimeout(5000);
+
+        UserAiSettingsService userAiSettingsService = mock(UserAiSettingsService.class);
+        when(userAiSettingsService.getUserSettingsEntity(anyLong())).thenReturn(UserAiSettings.builder()
+                .userId(1L).provider(UserAiSettings.AiProvider.DEMO).model("openai/gpt-4o-mini").build());
+
+        ChatCompletionCodec codec = new ChatCompletionCodec(objectMapper);
+        aiService = new AiService(properties, new StubAiProperties(), objectMapper, webClient(),
+                userAiSettingsService, new AskMetrics(new SimpleMeterRegistry()), ObservationRegistry.NOOP,
+                new AskTraceRecorder(objectMapper), new ModelRouter(), new LlmResponseCache(), codec,
+                new ProviderAdapterRegistry(List.of(new OpenAiCompatibleAdapter(codec),
+                        new AnthropicAdapter(objectMapper))));
+        ReflectionTestUtils.setField(aiService, "sqlStreamingEnabled", true);
+        ReflectionTestUtils.setField(aiService, "sqlStreamingMaxReprompts", 1);
+    }
+
+    @Test
+    void generateSqlQuery_WhenStreamHitsUnknownTable_ShouldCancelAndRepromptOnlySqlStage() throws Exception {
+        // Arrange
+        responses.add(Flux.just(completion(MAPPING)));
+        responses.add(Flux.just(delta("SELECT name FROM cust"), delta("omer WHERE"), delta(" name LIKE 'A%'"))
+                .concatWith(Flux.never())
+                .doOnCancel(() -> invalidStreamCancelled.set(true)));
+        responses.add(Flux.just(delta("SELECT name "), delta("FROM customers"), "[DONE]"));
+
+        // Act
+        AiService.GeneratedSql generated = aiService.generateSqlQuery(1L, "list customer names", schema(), null);
+
+        // Assert
+        assertEquals("SELECT name FROM customers", generated.sql());
+        assertEquals("customers", objectMapper.readTree(generated.schemaMapping()).path("tables").get(0).asText());
+        assertTrue(invalidStreamCancelled.get());
+        assertEquals(3, requests.size());
+        assertFalse(requests.get(0).path("stream").asBoolean());
+        assertTrue(requests.get(1).path("stream").asBoolean());
+        String reprompt = lastMessage(requests.get(2));
+        assertTrue(reprompt.contains("Unknown table 'customer'"), reprompt);
+        assertTrue(reprompt.startsWith(lastMessage(requests.get(1))));
+    }
+
+    @Test
+    void generateSqlQuery_WhenRepromptsAreExhausted_ShouldFailWithGuardMessage() {
+        responses.add(Flux.just(completion(MAPPING)));
+        responses.add(Flux.just(delta("SELECT * FROM clients;"), "[DONE]"));
+        responses.add(Flux.just(delta("SELECT * FROM clients;"), "[DONE]"));
+
+        ChatBotException e = assertThrows(ChatBotException.class,
+                () -> aiService.generateSqlQuery(1L, "list customer names", schema(), null));
+
+        assertTrue(e.getMessage().startsWith("Unknown table 'clients'"), e.getMessage());
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void generateSqlQuery_WhenProseLeadsTheStatement_ShouldCheckAndReturnOnlyTheStatement() {
+        responses.add(Flux.just(completion(MAPPING)));
+        responses.add(Flux.just(delta("I select the names from the "), delta("customers table:\n```sql\n"),
+                delta("SELECT name FROM customers;\n```"), "[DONE]"));
+
+        AiService.GeneratedSql generated = aiService.generateSqlQuery(1L, "list customer names", schema(), null);
+
+        assertEquals("SELECT name FROM customers;", generated.sql());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void compiledSchema_ShouldBeReusedUntilSchemaVersionChanges() {
+        SqlIdentifierGuard.CompiledSchema first = aiService.compiledSchema(schema(7L, 1L));
+
+        assertSame(first, aiService.compiledSchema(schema(7L, 1L)));
+        assertNotSame(first, aiService.compiledSchema(schema(7L, 2L)));
+        assertNotSame(first, aiService.compiledSchema(schema(8L, 1L)));
+    }
+
+    @Test
+    void schemaSectionLength_ShouldEndBeforeAnythingThatVariesPerQuestion() {
+        String first = aiService.buildMappingPrompt("list customer names", schema(), null);
+        String retry = aiService.buildMappingPrompt("count customers", schema(), "Unknown column 'nme'");
+
+        int length = AiService.schemaSectionLength(first);
+
+        assertTrue(length > 0);
+        assertEquals(first.substring(0, length), retry.substring(0, AiService.schemaSectionLength(retry)));
+        assertFalse(first.substring(0, length).contains("list customer names"));
+        assertTrue(first.substring(length).startsWith(AiService.TASK_SECTION));
+        assertTrue(retry.substring(AiService.schemaSectionLength(retry)).startsWith(AiService.PREVIOUS_ERROR_SECTION));
+    }
+
+    private WebClient webClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    MockClientHttpRequest captured = new MockClientHttpRequest(HttpMethod.POST, request.url());
+                    return request.writeTo(captured, ExchangeStrategies.withDefaults())
+                            .then(Mono.defer(captured::getBodyAsString))
+                            .map(body -> {
+                                JsonNode json = read(body);
+                                requests.add(json);
+                                Flux<String> events = responses.poll();
+                                if (!json.path("stream").asBoolean()) {
+                                    return ClientResponse.create(HttpStatus.OK)
+                                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                            .body(events.blockFirst())
+                                            .build();
+                                }
+                                Flux<DataBuffer> sse = events.map(data -> DefaultDataBufferFactory.sharedInstance
+                                        .wrap(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8)));
+                                return ClientResponse.create(HttpStatus.OK)
+                                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                                        .body(sse)
+                                        .build();
+                            });
+                })
+                .build();
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String lastMessage(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        return messages.get(messages.size() - 1).path("content").asText();
+    }
+
+    private String completion(String content) {
+        return objectMapper.createObjectNode().set("choices", objectMapper.createArrayNode().add(
+                objectMapper.createObjectNode().set("message",
+                        objectMapper.createObjectNode().put("content", content)))).toString();
+    }
+
+    private String delta(String content) {
+        return objectMapper.createObjectNode().set("choices", objectMapper.createArrayNode().add(
+                objectMapper.createObjectNode().set("delta",
+                        objectMapper.createObjectNode().put("content", content)))).toString();
+    }
+
+    private static DatabaseSchemaDTO schema(Long databaseConfigId, Long schemaVersion) {
+        DatabaseSchemaDTO schema = schema();
+        schema.setDatabaseConfigId(databaseConfigId);
+        schema.setSchemaVersion(schemaVersion);
+        return schema;
+    }
+
+    private static DatabaseSchemaDTO schema() {
+        List<DatabaseSchemaDTO.ColumnInfo> columns = List.of(
+                new DatabaseSchemaDTO.ColumnInfo("id", "INTEGER", 10, false, null, 1, null),
+                new DatabaseSchemaDTO.ColumnInfo("name", "VARCHAR", 255, true, null, 2, null));
+        DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+        schema.setDatabaseType("postgresql");
+        schema.setTables(List.of(new DatabaseSchemaDTO.TableInfo("customers", "TABLE", null, columns,
+                List.of("id"), List.of(), List.of())));
+        return schema;
+    }
+}
@@ -0,0 +1,116 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.dto.AskJobResponse;
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.event.AskJobEvent;
+import com.eadgequry.chat_bot_service.exception.ChatBotException;
+import com.eadgequry.chat_bot_service.model.AskJob;
+import com.eadgequry.chat_bot_service.repository.AskJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AskJobServiceTest {
+
+    @Mock
+    private AskJobRepository askJobRepository;
+
+    @Mock
+    private KafkaTemplate<String, AskJobEvent> askJobKafkaTemplate;
+
+    @Mock
+    private ChatbotService chatbotService;
+
+    @InjectMocks
+    private AskJobService askJobService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(askJobService, "askJobsTopic", "chatbot.ask.jobs");
+        ReflectionTestUtils.setField(askJobService, "publishTimeoutMs", 1000L);
+    }
+
+    @Test
+    void submit_ShouldSavePendingJobAndPublishKeyedByDatabaseConfig() {
+        // Arrange
+        ChatRequest request = new ChatRequest("  How many customers?  ", 100L, 1L);
+        when(askJobRepository.save(any(AskJob.class))).thenAnswer(inv -> inv.getArgument(0));
+        CompletableFuture<SendResult<String, AskJobEvent>> sent = CompletableFuture.completedFuture(null);
+        when(askJobKafkaTemplate.send(eq("chatbot.ask.jobs"), eq("100"), any(AskJobEvent.class))).thenReturn(sent);
+
+        // Act
+        AskJobResponse response = askJobService.submit(request);
+
+        // Assert
+        assertEquals("PENDING", response.getStatus());
+        assertNotNull(response.getJobId());
+        ArgumentCaptor<AskJobEvent> event = ArgumentCaptor.forClass(AskJobEvent.class);
+        verify(askJobKafkaTemplate).send(eq("chatbot.ask.jobs"), eq("100"), event.capture());
+        assertEquals(response.getJobId(), event.getValue().jobId());
+        assertEquals("How many customers?", event.getValue().question());
+    }
+
+    @Test
+    void submit_WhenPublishFails_ShouldMarkJobFailed() {
+        // Arrange
+        ChatRequest request = new ChatRequest("How many customers?", 100L, 1L);
+        when(askJobRepository.save(any(AskJob.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(askJobKafkaTemplate.send(anyString(), anyString(), any(AskJobEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        // Act & Assert
+        assertThrows(ChatBotException.class, () -> askJobService.submit(request));
+        ArgumentCaptor<AskJob> saved = ArgumentCaptor.forClass(AskJob.class);
+        verify(askJobRepository, times(2)).save(saved.capture());
+        assertEquals(AskJob.Status.FAILED, saved.getValue().getStatus());
+    }
+
+    @Test
+    void process_ShouldRunPipelineAndStoreResult() {
+        // Arrange
+        AskJob job = AskJob.builder().jobId("job-1").userId(1L).databaseConfigId(100L)
+                .question("How many customers?").status(AskJob.Status.PENDING).build();
+        when(askJobRepository.findByJobId("job-1")).thenReturn(Optional.of(job));
+        when(chatbotService.ask(any(ChatRequest.class)))
+                .thenReturn(ChatResponse.success("How many customers?", "SELECT COUNT(*) FROM customer", null, "42"));
+
+        // Act
+        askJobService.process(new AskJobEvent("job-1", 1L, 100L, "How many customers?"));
+
+        // Assert
+        assertEquals(AskJob.Status.COMPLETED, job.getStatus());
+        assertEquals("42", job.getResult().getAnswer());
+        assertEquals(1, job.getAttempts());
+        assertNotNull(job.getCompletedAt());
+    }
+
+    @Test
+    void process_WhenJobAlreadyFinished_ShouldSkip() {
+        // Arrange
+        AskJob job = AskJob.builder().jobId("job-1").status(AskJob.Status.COMPLETED).build();
+        when(askJobRepository.findByJobId("job-1")).thenReturn(Optional.of(job));
+
+        // Act
+        askJobService.process(new AskJobEvent("job-1", 1L, 100L, "How many customers?"));
+
+        // Assert
+        verify(chatbotService, never()).ask(any());
+        verify(askJobRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,124 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.client.DataSourceClient;
+import com.eadgequry.chat_bot_service.dto.BatchChatRequest;
+import com.eadgequry.chat_bot_service.dto.BatchChatResult;
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchChatServiceTest {
+
+    @Mock
+    private ChatbotService chatbotService;
+
+    @Mock
+    private AiService aiService;
+
+    @Mock
+    private DataSourceClient dataSourceClient;
+
+    @InjectMocks
+    private BatchChatService batchChatService;
+
+    private DatabaseSchemaDTO schema;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchChatService, "maxParallelism", 4);
+        ReflectionTestUtils.setField(batchChatService, "rateLimitRetries", 2);
+        ReflectionTestUtils.setField(batchChatService, "rateLimitBackoffMs", 1L);
+
+        schema = new DatabaseSchemaDTO();
+        schema.setDatabaseName("shop");
+    }
+
+    @Test
+    void askBatch_ShouldLoadSchemaOnceAndReportEachQuestion() {
+        // Arrange
+        BatchChatRequest request = new BatchChatRequest(
+                List.of("How many customers?", "Total revenue?", "Top product?"), 100L, 1L, null);
+        when(dataSourceClient.getSchemaByConfigId(100L, 1L)).thenReturn(schema);
+        when(aiService.prepareSchema(schema)).thenReturn(schema);
+        when(chatbotService.askWithSchema(any(ChatRequest.class), same(schema))).thenAnswer(inv -> {
+            ChatRequest chatRequest = inv.getArgument(0);
+            if (chatRequest.getQuestion().startsWith("Total")) {
+                throw new IllegalStateException("boom");
+            }
+            return ChatResponse.success(chatRequest.getQuestion(), "SELECT 1", List.of(), "ok");
+        });
+
+        // Act
+        List<BatchChatResult> results = batchChatService.askBatch(request)
+                .collectSortedList(Comparator.comparingInt(BatchChatResult::getIndex))
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Error: boom", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+        verify(dataSourceClient, times(1)).getSchemaByConfigId(100L, 1L);
+        verify(aiService, times(1)).prepareSchema(schema);
+    }
+
+    @Test
+    void askBatch_WhenRateLimited_ShouldRetryQuestion() {
+        // Arrange
+        BatchChatRequest request = new BatchChatRequest(List.of("How many customers?"), 100L, 1L, 1);
+        when(dataSourceClient.getSchemaByConfigId(100L, 1L)).thenReturn(schema);
+        when(aiService.prepareSchema(schema)).thenReturn(schema);
+        when(chatbotService.askWithSchema(any(ChatRequest.class), same(schema)))
+                .thenReturn(ChatResponse.error("Error: OpenRouter rate limit exceeded"))
+                .thenReturn(ChatResponse.success("How many customers?", "SELECT 1", List.of(), "ok"));
+
+        // Act
+        BatchChatResult result = batchChatService.askBatch(request).blockFirst(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(result);
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getAttempts());
+    }
+
+    @Test
+    void askBatch_WhenSchemaLoadFails_ShouldFailEveryQuestion() {
+        // Arrange
+        BatchChatRequest request = new BatchChatRequest(List.of("q1", "q2"), 100L, 1L, null);
+        when(dataSourceClient.getSchemaByConfigId(100L, 1L)).thenThrow(new RuntimeException("unreachable"));
+
+        // Act
+        List<BatchChatResult> results = batchChatService.askBatch(request).collectList().block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(BatchChatResult::isSuccess));
+        verifyNoInteractions(chatbotService);
+    }
+
+    @Test
+    void effectiveParallelism_ShouldBeCappedByConfiguration() {
+        assertEquals(4, batchChatService.effectiveParallelism(null));
+        assertEquals(2, batchChatService.effectiveParallelism(2));
+        assertEquals(4, batchChatService.effectiveParallelism(10));
+    }
+}
@@ -0,0 +1,152 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.cache.LlmResponseCache;
+import com.eadgequry.chat_bot_service.config.AiApiProperties;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.ResultColumn;
+import com.eadgequry.chat_bot_service.dto.ResultTable;
+import com.eadgequry.chat_bot_service.provider.AnthropicAdapter;
+import com.eadgequry.chat_bot_service.provider.ChatCompletionCodec;
+import com.eadgequry.chat_bot_service.provider.OpenAiCompatibleAdapter;
+import com.eadgequry.chat_bot_service.provider.ProviderAdapterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic schemas, result sets and AI responses shared by the JMH benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private static final String[][] COLUMNS = {
+            {"id", "INT"}, {"name", "VARCHAR"}, {"description", "TEXT"}, {"status", "VARCHAR"},
+            {"amount", "DECIMAL"}, {"quantity", "INT"}, {"created_at", "DATETIME"}, {"updated_at", "DATETIME"},
+            {"email", "VARCHAR"}, {"country", "VARCHAR"}, {"parent_id", "INT"}
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * AiService with only the collaborators the prompt builders and parsers touch
+     */
+    static AiService aiService(ObjectMapper objectMapper) {
+        AiApiProperties properties = new AiApiProperties();
+        properties.setModel("openai/gpt-4o-mini");
+        properties.setTemperatureAnswer(0.7);
+        properties.setMaxTokens(1500);
+        ChatCompletionCodec codec = new ChatCompletionCodec(objectMapper);
+        return new AiService(properties, new StubAiProperties(), objectMapper, null, null, null,
+                ObservationRegistry.NOOP, null, new ModelRouter(),
+                new LlmResponseCache(), codec,
+                new ProviderAdapterRegistry(List.of(new OpenAiCompatibleAdapter(codec),
+                        new AnthropicAdapter(objectMapper))));
+    }
+
+    /**
+     * Schema with {@code tableCount} tables of 11 columns, each table referencing the previous one
+     */
+    static DatabaseSchemaDTO schema(int tableCount) {
+        List<DatabaseSchemaDTO.TableInfo> tables = new ArrayList<>(tableCount);
+        for (int t = 0; t < tableCount; t++) {
+            List<DatabaseSchemaDTO.ColumnInfo> columns = new ArrayList<>(COLUMNS.length);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                columns.add(new DatabaseSchemaDTO.ColumnInfo(COLUMNS[c][0], COLUMNS[c][1], 255, c > 0, null,
+                        c + 1, null));
+            }
+
+            List<DatabaseSchemaDTO.ForeignKeyInfo> foreignKeys = new ArrayList<>();
+            if (t > 0) {
+                foreignKeys.add(new DatabaseSchemaDTO.ForeignKeyInfo("fk_" + t, "parent_id", tableName(t - 1), "id",
+                        "NO ACTION", "CASCADE"));
+            }
+
+            tables.add(new DatabaseSchemaDTO.TableInfo(tableName(t), "TABLE", null, columns, List.of("id"),
+                    foreignKeys, List.of()));
+        }
+
+        DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+        schema.setDatabaseName("benchmark");
+        schema.setDatabaseType("MYSQL");
+        schema.setTables(tables);
+        return schema;
+    }
+
+    static String tableName(int index) {
+        return String.format("table_%04d", index);
+    }
+
+    private static final String[] COLUMN_TYPES = {"BIGINT", "VARCHAR", "DECIMAL", "TIMESTAMP"};
+
+    /**
+     * Result set of {@code rowCount} rows with {@code columnCount} mixed-type columns
+     */
+    static ResultTable rows(int rowCount, int columnCount) {
+        List<ResultColumn> columns = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            columns.add(new ResultColumn("column_" + c, COLUMN_TYPES[c % 4]));
+        }
+
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            Object[] row = new Object[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                Object value = switch (c % 4) {
+                    case 0 -> r * 31L + c;
+                    case 1 -> "value " + r + "-" + c + " with some descriptive text";
+                    case 2 -> BigDecimal.valueOf(r * 100 + c, 2);
+                    default -> LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(r + c).toString();
+                };
+                row[c] = value;
+            }
+            rows.add(row);
+        }
+        return new ResultTable(columns, rows);
+    }
+
+    /**
+     * Mapping JSON as returned by the model for a three-table join
+     */
+    static String mappingResponse(int tableCount) {
+        int last = Math.max(0, tableCount - 1);
+        int middle = last / 2;
+        return "```json\n{\n"
+                + "  \"intent\": \"total amount per parent\",\n"
+                + "  \"tables\": [\"" + tableName(last) + "\", \"" + tableName(middle) + "\"],\n"
+                + "  \"columns\": {\"" + tableName(last) + "\": [\"amount\", \"parent_id\"], \""
+                + tableName(middle) + "\": [\"id\", \"name\"]},\n"
+                + "  \"joins\": [{\"table1\": \"" + tableName(last) + "\", \"table2\": \"" + tableName(middle)
+                + "\", \"on\": \"" + tableName(last) + ".parent_id = " + tableName(middle) + ".id\"}],\n"
+                + "  \"aggregations\": [\"SUM(amount)\"],\n"
+                + "  \"groupBy\": [\"" + tableName(middle) + ".name\"],\n"
+                + "  \"orderBy\": {\"column\": \"SUM(amount)\", \"direction\": \"DESC\"},\n"
+                + "  \"limit\": 10\n"
+                + "}\n```";
+    }
+
+    /**
+     * Chat-completions response body whose content grows with the result size
+     */
+    static String completionResponse(ObjectMapper objectMapper, int rowCount) {
+        StringBuilder content = new StringBuilder("Here are the results:\n");
+        for (int r = 0; r < Math.max(1, rowCount); r++) {
+            content.append("• Row ").append(r).append(": value ").append(r * 31).append(" with some description\n");
+        }
+
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("id", "gen-benchmark");
+        body.put("model", "openai/gpt-4o-mini");
+        ObjectNode choice = body.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.put("finish_reason", "stop");
+        choice.putObject("message").put("role", "assistant").put("content", content.toString());
+        body.putObject("usage").put("prompt_tokens", 1200).put("completion_tokens", 80).put("total_tokens", 1280);
+        return body.toString();
+    }
+}
@@ -2,16 +2,22 @@ package com.eadgequry.chat_bot_service.service;
 
 import com.eadgequry.chat_bot_service.client.DataSourceClient;
 import com.eadgequry.chat_bot_service.dto.*;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
 import com.eadgequry.chat_bot_service.model.Conversation;
 import com.eadgequry.chat_bot_service.model.ConversationSession;
 import com.eadgequry.chat_bot_service.repository.ConversationRepository;
 import com.eadgequry.chat_bot_service.repository.ConversationSessionRepository;
+import com.eadgequry.chat_bot_service.trace.AskTraceRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -44,6 +50,17 @@ class ChatbotServiceTest {
     @Mock
     private DemoQueryUsageService demoQueryUsageService;
 
+    @Mock
+    private AskTraceRecorder askTraceRecorder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AskMetrics askMetrics = new AskMetrics(meterRegistry);
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
     @InjectMocks
     private ChatbotService chatbotService;
 
@@ -84,6 +101,46 @@ class ChatbotServiceTest {
         assertEquals("Hi! How can I help you?", response.getAnswer());
         assertNull(response.getSqlQuery());
         verify(aiService).handleNonDatabaseQuestion("Hello");
+        assertEquals(1.0, meterRegistry.get("chatbot.ask.fast_path").counter().count());
+    }
+
+    @Test
+    void ask_WhenFollowUpInSameSession_ShouldEditPreviousSqlAndKeepMapping() {
+        // Arrange
+        ReflectionTestUtils.setField(chatbotService, "followUpEnabled", true);
+        ReflectionTestUtils.setField(chatbotService, "followUpMaxAgeMinutes", 30L);
+        chatRequest.setQuestion("Now only for 2024");
+        String mapping = "{\"tables\":[\"orders\"]}";
+        Conversation previous = Conversation.builder()
+                .id(7L).sessionId("session-1").question("Total revenue per month")
+                .sqlQuery("SELECT month, SUM(total) FROM orders GROUP BY month")
+                .schemaMapping(mapping).answer("...").createdAt(LocalDateTime.now().minusMinutes(2))
+                .build();
+        when(aiService.handleNonDatabaseQuestion(anyString())).thenReturn(null);
+        when(userAiSettingsService.isUsingDemoMode(1L)).thenReturn(false);
+        when(dataSourceClient.getSchemaByConfigId(100L, 1L)).thenReturn(schemaDTO);
+        when(conversationSessionRepository.findByUserIdAndIsActiveTrueOrderByLastActivityAtDesc(1L))
+                .thenReturn(List.of(ConversationSession.builder().sessionId("session-1").userId(1L)
+                        .databaseConfigId(100L).isActive(true).build()));
+        when(conversationRepository.findFirstBySessionIdOrderByCreatedAtDesc("session-1"))
+                .thenReturn(Optional.of(previous));
+        String edited = "SELECT month, SUM(total) FROM orders WHERE year = 2024 GROUP BY month";
+        when(aiService.generateFollowUpSql(eq(1L), eq("Now only for 2024"), any(DatabaseSchemaDTO.class),
+                eq(previous.getQuestion()), eq(previous.getSqlQuery()), eq(mapping))).thenReturn(edited);
+        when(sqlValidatorService.cleanQuery(edited)).thenReturn(edited);
+        when(dataSourceClient.executeQuery(100L, 1L, ChatbotService.MAX_DISPLAY_ROWS,
+                QueryExecutionResponse.COMPACT_LAYOUT, edited)).thenReturn(queryResult);
+        when(aiService.generateAnswer(eq(1L), anyString(), anyString(), any(ResultTable.class))).thenReturn("Revenue for 2024");
+
+        // Act
+        ChatResponse response = chatbotService.ask(chatRequest);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(edited, response.getSqlQuery());
+        verify(aiService, never()).generateSqlQuery(anyLong(), anyString(), any(), any());
+        verify(conversationRepository).save(argThat(saved -> mapping.equals(saved.getSchemaMapping())));
+        assertEquals(1.0, meterRegistry.get("chatbot.ask.follow_ups").tag("result", "reused").counter().count());
     }
 
     @Test
@@ -93,10 +150,11 @@ class ChatbotServiceTest {
         when(userAiSettingsService.isUsingDemoMode(1L)).thenReturn(false);
         when(dataSourceClient.getSchemaByConfigId(100L, 1L)).thenReturn(schemaDTO);
         when(aiService.generateSqlQuery(eq(1L), anyString(), any(DatabaseSchemaDTO.class), isNull()))
-                .thenReturn("SELECT * FROM users");
+                .thenReturn(new AiService.GeneratedSql("SELECT * FROM users", "{}"));
         when(sqlValidatorService.cleanQuery(anyString())).thenReturn("SELECT * FROM users");
-        when(dataSourceClient.executeQuery(eq(100L), eq(1L), anyString())).thenReturn(queryResult);
-        when(aiService.generateAnswer(eq(1L), anyString(), anyString(), anyList()))
+        when(dataSourceClient.executeQuery(eq(100L), eq(1L), eq(ChatbotService.MAX_DISPLAY_ROWS),
+                eq(QueryExecutionResponse.COMPACT_LAYOUT), anyString())).thenReturn(queryResult);
+        when(aiService.generateAnswer(eq(1L), anyString(), anyString(), any(ResultTable.class)))
                 .thenReturn("Found 1 user");
 
         List<ConversationSession> sessions = List.of(
@@ -117,7 +175,65 @@ class ChatbotServiceTest {
         assertTrue(response.isSuccess());
         assertNotNull(response.getAnswer());
         assertNotNull(response.getSqlQuery());
-        verify(dataSourceClient).executeQuery(eq(100L), eq(1L), anyString());
+        verify(dataSourceClient).executeQuery(eq(100L), eq(1L), eq(ChatbotService.MAX_DISPLAY_ROWS),
+                eq(QueryExecutionResponse.COMPACT_LAYOUT), anyString());
+        assertEquals(1, meterRegistry.get("chatbot.ask.stage")
+                .tags("stage", AskMetrics.STAGE_QUERY_EXECUTION, "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("chatbot.ask.duration").tag("outcome", "success").timer().count());
+        assertEquals(0.0, meterRegistry.get("chatbot.ask.in_flight").gauge().value());
+
+        AskTimings timings = response.getTimings();
+        assertNotNull(timings);
+        assertTrue(timings.getStagesMs().containsKey(AskMetrics.STAGE_SCHEMA_FETCH));
+        assertTrue(timings.getStagesMs().containsKey(AskMetrics.STAGE_PERSISTENCE));
+        assertNotNull(timings.getTotalMs());
+        assertTrue(timings.toServerTimingHeader().contains("query_execution;dur="));
+    }
+
+    @Test
+    void ask_WhenCostGuardRejectsQuery_ShouldRegenerateOnceWithPlanFeedback() {
+        // Arrange
+        String expensive = "SELECT * FROM orders o, customers c";
+        String cheaper = "SELECT c.country, COUNT(*) FROM orders o JOIN customers c ON c.id = o.customer_id "
+                + "GROUP BY c.country";
+        String cheaperMapping = "{\"tables\":[\"orders\",\"customers\"]}";
+        QueryExecutionResponse rejected = QueryExecutionResponse.builder()
+                .success(false)
+                .sqlQuery(expensive)
+                .error("Query rejected by cost guard: estimated rows 400000000 exceed limit 50000000")
+                .plan(QueryPlanSummary.builder()
+                        .estimatedRows(400_000_000L)
+                        .fullScans(List.of("orders", "customers"))
+                        .violations(List.of("estimated rows 400000000 exceed limit 50000000"))
+                        .verdict(QueryPlanSummary.REJECTED)
+                        .build())
+                .build();
+        when(aiService.handleNonDatabaseQuestion(anyString())).thenReturn(null);
+        when(userAiSettingsService.isUsingDemoMode(1L)).thenReturn(false);
+        when(dataSourceClient.getSchemaByConfigId(100L, 1L)).thenReturn(schemaDTO);
+        when(aiService.generateSqlQuery(eq(1L), anyString(), any(DatabaseSchemaDTO.class), isNull()))
+                .thenReturn(new AiService.GeneratedSql(expensive, "{\"tables\":[\"orders\"]}"));
+        when(aiService.generateSqlQuery(eq(1L), anyString(), any(DatabaseSchemaDTO.class),
+                contains("Full table scans of: orders, customers")))
+                .thenReturn(new AiService.GeneratedSql(cheaper, cheaperMapping));
+        when(sqlValidatorService.cleanQuery(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(dataSourceClient.executeQuery(100L, 1L, ChatbotService.MAX_DISPLAY_ROWS,
+                QueryExecutionResponse.COMPACT_LAYOUT, expensive)).thenReturn(rejected);
+        when(dataSourceClient.executeQuery(100L, 1L, ChatbotService.MAX_DISPLAY_ROWS,
+                QueryExecutionResponse.COMPACT_LAYOUT, cheaper)).thenReturn(queryResult);
+        when(aiService.generateAnswer(eq(1L), anyString(), eq(cheaper), any(ResultTable.class)))
+                .thenReturn("Orders per country");
+
+        // Act
+        ChatResponse response = chatbotService.ask(chatRequest);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(cheaper, response.getSqlQuery());
+        verify(conversationRepository).save(argThat(saved -> cheaper.equals(saved.getSqlQuery())
+                && cheaperMapping.equals(saved.getSchemaMapping())));
+        assertEquals(2, meterRegistry.get("chatbot.ask.stage")
+                .tags("stage", AskMetrics.STAGE_QUERY_EXECUTION, "outcome", "success").timer().count());
     }
 
     @Test
@@ -0,0 +1,42 @@
+package com.eadgequry.chat_bot_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FollowUpDetectorTest {
+
+    @Test
+    void isRefinement_WhenQuestionEditsThePreviousOne_ShouldReturnTrue() {
+        assertTrue(FollowUpDetector.isRefinement("Now only for 2024"));
+        assertTrue(FollowUpDetector.isRefinement("sort by revenue instead"));
+        assertTrue(FollowUpDetector.isRefinement("What about last month?"));
+        assertTrue(FollowUpDetector.isRefinement("by country"));
+        assertTrue(FollowUpDetector.isRefinement("Exclude those without an email address please"));
+        assertTrue(FollowUpDetector.isRefinement("for 2024"));
+        assertTrue(FollowUpDetector.isRefinement("top 5 of those"));
+        assertTrue(FollowUpDetector.isRefinement("group them by country"));
+    }
+
+    @Test
+    void isRefinement_WhenGenericOpenerStartsNewQuestion_ShouldReturnFalse() {
+        // e.g. asked after "how many orders were placed last month"
+        assertFalse(FollowUpDetector.isRefinement("top 5 customers"));
+        assertFalse(FollowUpDetector.isRefinement("Top 10 products that sold the most"));
+        assertFalse(FollowUpDetector.isRefinement("group orders by status"));
+        assertFalse(FollowUpDetector.isRefinement("in stock products"));
+        assertFalse(FollowUpDetector.isRefinement("by how much did revenue grow this year"));
+        assertFalse(FollowUpDetector.isRefinement("add up all order totals"));
+        assertFalse(FollowUpDetector.isRefinement("for each region"));
+    }
+
+    @Test
+    void isRefinement_WhenQuestionStandsAlone_ShouldReturnFalse() {
+        assertFalse(FollowUpDetector.isRefinement("How many customers do we have?"));
+        assertFalse(FollowUpDetector.isRefinement("For each product show total revenue and quantity sold"));
+        assertFalse(FollowUpDetector.isRefinement("In which city do most of our customers live"));
+        assertFalse(FollowUpDetector.isRefinement("Show me all customers from California"));
+        assertFalse(FollowUpDetector.isRefinement("   "));
+        assertFalse(FollowUpDetector.isRefinement(null));
+    }
+}
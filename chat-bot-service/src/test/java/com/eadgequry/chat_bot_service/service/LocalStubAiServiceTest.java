@@ -0,0 +1,122 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.config.AiApiProperties;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.ResultTable;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStubAiServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalStubAiService stubAiService = new LocalStubAiService(objectMapper);
+    // Only prompt building is used, which needs nothing but the object mapper
+    private final AiService aiService = new AiService(new AiApiProperties(), new StubAiProperties(), objectMapper,
+            null, null, null, null, null, null, null, null, null);
+
+    private static final String MAPPING_PROMPT = """
+            You are a database schema analyzer. Map user question to exact schema identifiers.
+
+            === AVAILABLE SCHEMA ===
+            TABLE: orders
+              COLUMNS: id, customer_id, amount
+            TABLE: customer
+              COLUMNS: id, first_name, last_name, email
+
+            === TASK ===
+            Question: "Show customer email addresses"
+            """;
+
+    @Test
+    void complete_WhenMappingPrompt_ShouldPickMentionedTableAndColumns() throws Exception {
+        // Act
+        JsonNode mapping = objectMapper.readTree(stubAiService.complete(MAPPING_PROMPT));
+
+        // Assert
+        assertEquals("customer", mapping.path("tables").get(0).asText());
+        assertEquals("email", mapping.path("columns").path("customer").get(0).asText());
+        assertEquals(10, mapping.path("limit").asInt());
+    }
+
+    @Test
+    void complete_WhenCountQuestion_ShouldMapToCountAggregation() throws Exception {
+        // Arrange
+        String prompt = MAPPING_PROMPT.replace("Show customer email addresses", "How many orders are there?");
+
+        // Act
+        JsonNode mapping = objectMapper.readTree(stubAiService.complete(prompt));
+
+        // Assert
+        assertEquals("orders", mapping.path("tables").get(0).asText());
+        assertEquals("COUNT(*)", mapping.path("aggregations").get(0).asText());
+    }
+
+    @Test
+    void complete_ShouldBeDeterministic() {
+        assertEquals(stubAiService.complete(MAPPING_PROMPT), stubAiService.complete(MAPPING_PROMPT));
+    }
+
+    @Test
+    void complete_WhenSqlPrompt_ShouldBuildQueryForDialect() {
+        // Arrange
+        String prompt = """
+                Generate SQL query for SQLSERVER.
+
+                === VALIDATED MAPPING ===
+                Tables: [customer]
+                Columns: {customer=[first_name, email]}
+                Limit: 5
+
+                === TASK ===
+                Question: "Show customer emails"
+                """;
+
+        // Act & Assert
+        assertEquals("SELECT TOP 5 first_name, email FROM customer", stubAiService.complete(prompt));
+        assertEquals("SELECT first_name, email FROM customer LIMIT 5",
+                stubAiService.complete(prompt.replace("SQLSERVER", "MYSQL")));
+    }
+
+    @Test
+    void complete_WhenFollowUpPrompt_ShouldReturnPreviousSql() {
+        // Arrange
+        AiService.SchemaMapping mapping = new AiService.SchemaMapping();
+        mapping.setTables(List.of("customer"));
+        DatabaseSchemaDTO.ColumnInfo email = new DatabaseSchemaDTO.ColumnInfo();
+        email.setName("email");
+        email.setType("VARCHAR");
+        DatabaseSchemaDTO.TableInfo customer = new DatabaseSchemaDTO.TableInfo();
+        customer.setName("customer");
+        customer.setColumns(List.of(email));
+        DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+        schema.setDatabaseType("mysql");
+        schema.setTables(List.of(customer));
+        String previousSql = "SELECT email\nFROM customer LIMIT 5";
+
+        String prompt = aiService.buildFollowUpPrompt("Only the first 3", "Show customer emails", previousSql,
+                mapping, schema);
+
+        // Act & Assert
+        assertEquals(previousSql, stubAiService.complete(prompt));
+    }
+
+    @Test
+    void complete_WhenAnswerPrompt_ShouldDescribeRowCount() {
+        // Arrange
+        String prompt = aiService.buildAnswerPrompt("Show customers", "SELECT * FROM customer",
+                ResultTable.fromMaps(List.of(Map.of("id", 1), Map.of("id", 2))));
+        String emptyPrompt = aiService.buildAnswerPrompt("Show customers", "SELECT * FROM customer",
+                ResultTable.empty());
+
+        // Act & Assert
+        assertEquals("I found 2 results for \"Show customers\".", stubAiService.complete(prompt));
+        assertEquals("I couldn't find any results for \"Show customers\".", stubAiService.complete(emptyPrompt));
+    }
+}
@@ -0,0 +1,92 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelRouterTest {
+
+    private ModelRouter modelRouter;
+
+    @BeforeEach
+    void setUp() {
+        modelRouter = new ModelRouter();
+        ReflectionTestUtils.setField(modelRouter, "defaultFastModel", "openai/gpt-4o-mini");
+        ReflectionTestUtils.setField(modelRouter, "maxFastScore", 3);
+        ReflectionTestUtils.setField(modelRouter, "promptCharsPerPoint", 4000);
+    }
+
+    @Test
+    void route_WhenSingleTableCount_ShouldUseFastTier() {
+        // Arrange
+        AiService.SchemaMapping mapping = mapping(List.of("customers"), 0);
+        mapping.setAggregations(List.of("COUNT(*)"));
+
+        // Act & Assert
+        assertEquals(ModelRouter.TIER_FAST, modelRouter.route(AskMetrics.LLM_SQL, mapping, 2000));
+    }
+
+    @Test
+    void route_WhenMultiTableJoin_ShouldUseMainTier() {
+        // Arrange
+        AiService.SchemaMapping mapping = mapping(List.of("orders", "customers", "products"), 2);
+
+        // Act & Assert
+        assertEquals(ModelRouter.TIER_MAIN, modelRouter.route(AskMetrics.LLM_SQL, mapping, 2000));
+    }
+
+    @Test
+    void route_WhenMappingCallOrLargePrompt_ShouldUseMainTier() {
+        // Arrange
+        AiService.SchemaMapping mapping = mapping(List.of("customers"), 0);
+
+        // Act & Assert
+        assertEquals(ModelRouter.TIER_MAIN, modelRouter.route(AskMetrics.LLM_MAPPING, mapping, 100));
+        assertEquals(ModelRouter.TIER_MAIN, modelRouter.route(AskMetrics.LLM_ANSWER, null, 20_000));
+        assertEquals(ModelRouter.TIER_FAST, modelRouter.route(AskMetrics.LLM_ANSWER, null, 3000));
+    }
+
+    @Test
+    void fastModelFor_ShouldHonourUserToggleAndProvider() {
+        // Arrange
+        UserAiSettings disabled = settings(UserAiSettings.AiProvider.DEMO, false, null);
+        UserAiSettings demo = settings(UserAiSettings.AiProvider.DEMO, true, null);
+        UserAiSettings openAiWithoutFastModel = settings(UserAiSettings.AiProvider.OPENAI, true, null);
+        UserAiSettings openAi = settings(UserAiSettings.AiProvider.OPENAI, true, "gpt-4o-mini");
+
+        // Act & Assert
+        assertNull(modelRouter.fastModelFor(disabled));
+        assertEquals("openai/gpt-4o-mini", modelRouter.fastModelFor(demo));
+        assertNull(modelRouter.fastModelFor(openAiWithoutFastModel));
+        assertEquals("gpt-4o-mini", modelRouter.fastModelFor(openAi));
+    }
+
+    private static AiService.SchemaMapping mapping(List<String> tables, int joins) {
+        AiService.SchemaMapping mapping = new AiService.SchemaMapping();
+        mapping.setTables(tables);
+        List<AiService.JoinInfo> joinInfos = new ArrayList<>();
+        for (int i = 0; i < joins; i++) {
+            joinInfos.add(new AiService.JoinInfo());
+        }
+        mapping.setJoins(joinInfos);
+        return mapping;
+    }
+
+    private static UserAiSettings settings(UserAiSettings.AiProvider provider, boolean routingEnabled,
+                                           String fastModel) {
+        return UserAiSettings.builder()
+                .userId(1L)
+                .provider(provider)
+                .model("main-model")
+                .routingEnabled(routingEnabled)
+                .fastModel(fastModel)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.eadgequry.chat_bot_service.service;
+
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.exception.InvalidSqlException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlIdentifierGuardTest {
+
+    private static final SqlIdentifierGuard.CompiledSchema SCHEMA = SqlIdentifierGuard.CompiledSchema.of(schema());
+
+    @Test
+    void feed_WhenValidSqlArrivesInSmallChunks_ShouldAccept() {
+        assertAccepted("```sql\nSELECT c.name, COUNT(o.id) AS order_count\n"
+                + "FROM customers c LEFT JOIN orders o ON o.customer_id = c.id\n"
+                + "WHERE c.email LIKE '%from nowhere.x%' AND EXTRACT(YEAR FROM o.order_date) = 2024\n"
+                + "GROUP BY c.name ORDER BY order_count DESC LIMIT 10;\n```");
+    }
+
+    @Test
+    void feed_WhenCteDerivedTableOrFunctionIsUsed_ShouldAccept() {
+        assertAccepted("WITH RECURSIVE totals(customer_id, total) AS (SELECT customer_id, SUM(amount) FROM orders "
+                + "GROUP BY customer_id), top AS (SELECT * FROM totals) "
+                + "SELECT t.total, x.n, s.whatever FROM top t, (SELECT 1 AS n) x, generate_series(1, 3) s "
+                + "JOIN public.customers pc ON pc.id = t.customer_id");
+    }
+
+    @Test
+    void feed_WhenProseSurroundsStatement_ShouldOnlyCheckTheStatement() {
+        assertAccepted("Here's the query you asked for:\nSELECT id FROM orders;\nThis reads from the orders table.");
+    }
+
+    @Test
+    void feed_WhenLeadingProseSaysSelectFrom_ShouldWaitForTheStatementLine() {
+        assertAccepted("To answer this I select the names from the customers table.\n"
+                + "```sql\nSELECT name FROM customers;\n```");
+
+        SqlIdentifierGuard guard = new SqlIdentifierGuard(SCHEMA);
+        guard.feed("I select rows from the invoices table:\n  SELECT * FROM invoices");
+        assertThrows(InvalidSqlException.class, guard::finish);
+    }
+
+    @Test
+    void feed_WhenUnknownTableIsComplete_ShouldAbortBeforeRestOfStream() {
+        SqlIdentifierGuard guard = new SqlIdentifierGuard(SCHEMA);
+        guard.feed("SELECT name FROM custo");
+        guard.feed("mer");
+
+        InvalidSqlException e = assertThrows(InvalidSqlException.class, () -> guard.feed(" WHERE"));
+
+        assertEquals(SqlIdentifierGuard.UNKNOWN_TABLE, e.getViolationType());
+        assertTrue(e.getMessage().startsWith("Unknown table 'customer'"), e.getMessage());
+        assertTrue(e.getMessage().contains("customers"), e.getMessage());
+    }
+
+    @Test
+    void feed_WhenAliasedColumnDoesNotExist_ShouldAbortOnceAliasIsKnown() {
+        SqlIdentifierGuard guard = new SqlIdentifierGuard(SCHEMA);
+        guard.feed("SELECT c.full_name FROM customers");
+
+        InvalidSqlException e = assertThrows(InvalidSqlException.class, () -> guard.feed(" c WHERE"));
+
+        assertEquals(SqlIdentifierGuard.UNKNOWN_COLUMN, e.getViolationType());
+        assertTrue(e.getMessage().startsWith("Unknown column 'c.full_name' for table 'customers'"), e.getMessage());
+    }
+
+    @Test
+    void feed_WhenTableQualifiedColumnDoesNotExist_ShouldAbort() {
+        SqlIdentifierGuard guard = new SqlIdentifierGuard(SCHEMA);
+
+        assertThrows(InvalidSqlException.class, () -> guard.feed("SELECT \"orders\".\"total_price\" FROM orders"));
+    }
+
+    @Test
+    void finish_WhenStatementEndsOnUnknownTable_ShouldAbort() {
+        SqlIdentifierGuard guard = new SqlIdentifierGuard(SCHEMA);
+        guard.feed("SELECT * FROM invoices");
+
+        assertThrows(InvalidSqlException.class, guard::finish);
+    }
+
+    private static void assertAccepted(String sql) {
+        SqlIdentifierGuard guard = new SqlIdentifierGuard(SCHEMA);
+        for (int i = 0; i < sql.length(); i += 3) {
+            guard.feed(sql.substring(i, Math.min(sql.length(), i + 3)));
+        }
+        assertDoesNotThrow(guard::finish);
+    }
+
+    private static DatabaseSchemaDTO schema() {
+        List<DatabaseSchemaDTO.TableInfo> tables = new ArrayList<>();
+        tables.add(table("customers", "id", "name", "email"));
+        tables.add(table("orders", "id", "customer_id", "order_date", "amount"));
+        DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+        schema.setDatabaseType("postgresql");
+        schema.setTables(tables);
+        return schema;
+    }
+
+    private static DatabaseSchemaDTO.TableInfo table(String name, String... columns) {
+        List<DatabaseSchemaDTO.ColumnInfo> columnInfos = new ArrayList<>();
+        for (String column : columns) {
+            columnInfos.add(new DatabaseSchemaDTO.ColumnInfo(column, "VARCHAR", 255, true, null, null, null));
+        }
+        return new DatabaseSchemaDTO.TableInfo(name, "TABLE", null, columnInfos, List.of("id"), List.of(), List.of());
+    }
+}
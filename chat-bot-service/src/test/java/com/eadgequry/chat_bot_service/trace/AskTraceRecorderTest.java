@@ -0,0 +1,140 @@
+package com.eadgequry.chat_bot_service.trace;
+
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.QueryExecutionResponse;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AskTraceRecorderTest {
+
+    private static final String SCHEMA_JSON = "{\"databaseName\":\"shop\",\"databaseType\":\"MYSQL\",\"tables\":["
+            + "{\"name\":\"customers\",\"columns\":[{\"name\":\"id\",\"type\":\"INT\"},"
+            + "{\"name\":\"email\",\"type\":\"VARCHAR\"}]}]}";
+
+    private static final String SQL = "SELECT COUNT(*) AS total FROM customers";
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private AskTraceRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new AskTraceRecorder(objectMapper);
+        ReflectionTestUtils.setField(recorder, "enabled", true);
+        ReflectionTestUtils.setField(recorder, "redact", true);
+        ReflectionTestUtils.setField(recorder, "directory", directory.toString());
+    }
+
+    @Test
+    void redact_ShouldMaskEmailsKeysAndLongNumbers() {
+        String redacted = recorder.redact("mail jane.doe@example.com, key sk-abcdef1234567890, card 4111 1111 1111 1111");
+
+        assertEquals("mail [EMAIL], key [KEY], card [NUMBER]", redacted);
+    }
+
+    @Test
+    void redact_ShouldKeepDateLiteralsAndJsonNumbers() throws Exception {
+        String sql = "SELECT * FROM orders WHERE created_at >= '2024-01-01' AND paid_at < '2024-02-01 10:15:00'";
+        String raw = "{\"id\":\"chatcmpl-1\",\"created\":1729283000,\"usage\":{\"total_tokens\":123456789}}";
+
+        assertEquals(sql, recorder.redact(sql));
+        String redactedRaw = recorder.redact(raw);
+        assertEquals(raw, redactedRaw);
+        assertEquals(1729283000L, objectMapper.readTree(redactedRaw).get("created").asLong());
+        assertEquals("call [NUMBER] today", recorder.redact("call 555 123 4567 today"));
+        assertEquals("{\"phone\":\"[NUMBER]\"}", recorder.redact("{\"phone\":\"5551234567\"}"));
+    }
+
+    @Test
+    void finish_WhenDisabled_ShouldNotWriteAnything() throws Exception {
+        ReflectionTestUtils.setField(recorder, "enabled", false);
+
+        recorder.begin(request("How many customers?"));
+        recorder.finish(ChatResponse.success("How many customers?", SQL, List.of(), "42"), 1_000_000L);
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void recordedTrace_ShouldReplayToTheSameSql() throws Exception {
+        record("How many customers does bob@example.com have?");
+
+        Path traceFile = directory.resolve("ask-traces-" + LocalDate.now() + ".jsonl");
+        assertTrue(Files.exists(traceFile));
+        String line = Files.readString(traceFile);
+        assertFalse(line.contains("bob@example.com"));
+
+        AskTraceReplayRunner runner = new AskTraceReplayRunner(directory.resolve("schemas"), 0);
+        List<AskTrace> traces = runner.load(traceFile);
+        assertEquals(1, traces.size());
+        assertEquals(3, traces.get(0).getLlmCalls().size());
+
+        AskTraceReplayRunner.ReplayResult result = runner.replay(traces.get(0));
+
+        assertTrue(result.success());
+        assertTrue(result.sqlMatches(), () -> "replayed " + result.replayedSql());
+        assertEquals(0, runner.llmOverruns());
+    }
+
+    private void record(String question) throws Exception {
+        DatabaseSchemaDTO schema = new DatabaseSchemaDTO();
+        schema.setDatabaseConfigId(7L);
+        schema.setSchemaJson(SCHEMA_JSON);
+
+        QueryExecutionResponse queryResponse = QueryExecutionResponse.builder()
+                .success(true)
+                .sqlQuery(SQL)
+                .result(List.of(Map.of("total", 42)))
+                .rowCount(1)
+                .executionTimeMs(3L)
+                .build();
+
+        recorder.begin(request(question));
+        recorder.recordSchema(schema, 2_000_000L);
+        recorder.recordLlmCall(AskMetrics.LLM_MAPPING, "replay", 0.2, "mapping prompt",
+                completion("{\"intent\":\"count customers\",\"tables\":[\"customers\"],"
+                        + "\"columns\":{\"customers\":[\"id\"]},\"aggregations\":[\"COUNT(*)\"]}"),
+                null, 5_000_000L);
+        recorder.recordLlmCall(AskMetrics.LLM_SQL, "replay", 0.3, "sql prompt", completion(SQL), null, 5_000_000L);
+        recorder.recordQuery(SQL, queryResponse, 3_000_000L);
+        recorder.recordLlmCall(AskMetrics.LLM_ANSWER, "replay", 0.7, "answer prompt",
+                completion("You have 42 customers."), null, 5_000_000L);
+        recorder.finish(ChatResponse.success(question, SQL, queryResponse.getResult(), "You have 42 customers."),
+                20_000_000L);
+    }
+
+    private String completion(String content) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putArray("choices").addObject().putObject("message").put("role", "assistant").put("content", content);
+        body.putObject("usage").put("prompt_tokens", 100).put("completion_tokens", 10);
+        return body.toString();
+    }
+
+    private static ChatRequest request(String question) {
+        ChatRequest request = new ChatRequest();
+        request.setQuestion(question);
+        request.setDatabaseConfigId(7L);
+        request.setUserId(1L);
+        return request;
+    }
+}
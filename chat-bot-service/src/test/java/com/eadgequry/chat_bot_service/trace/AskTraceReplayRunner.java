@@ -0,0 +1,307 @@
+package com.eadgequry.chat_bot_service.trace;
+
+import com.eadgequry.chat_bot_service.cache.LlmResponseCache;
+import com.eadgequry.chat_bot_service.client.DataSourceClient;
+import com.eadgequry.chat_bot_service.config.AiApiProperties;
+import com.eadgequry.chat_bot_service.config.StubAiProperties;
+import com.eadgequry.chat_bot_service.dto.ChatRequest;
+import com.eadgequry.chat_bot_service.dto.ChatResponse;
+import com.eadgequry.chat_bot_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.chat_bot_service.dto.QueryExecutionResponse;
+import com.eadgequry.chat_bot_service.metrics.AskMetrics;
+import com.eadgequry.chat_bot_service.provider.AnthropicAdapter;
+import com.eadgequry.chat_bot_service.provider.ChatCompletionCodec;
+import com.eadgequry.chat_bot_service.provider.OpenAiCompatibleAdapter;
+import com.eadgequry.chat_bot_service.provider.ProviderAdapterRegistry;
+import com.eadgequry.chat_bot_service.model.UserAiSettings;
+import com.eadgequry.chat_bot_service.repository.ConversationRepository;
+import com.eadgequry.chat_bot_service.repository.ConversationSessionRepository;
+import com.eadgequry.chat_bot_service.service.AiService;
+import com.eadgequry.chat_bot_service.service.ChatbotService;
+import com.eadgequry.chat_bot_service.service.DemoQueryUsageService;
+import com.eadgequry.chat_bot_service.service.ModelRouter;
+import com.eadgequry.chat_bot_service.service.SqlValidatorService;
+import com.eadgequry.chat_bot_service.service.UserAiSettingsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays traces written by {@link AskTraceRecorder} through a real {@link ChatbotService}.
+ * The AI provider and data-source are replaced by fakes that return the recorded responses after
+ * the recorded latency multiplied by a scale factor, so prompt/parsing changes can be compared
+ * against production-shaped inputs without network or LLM variance.
+ *
+ * <pre>
+ * mvn -P replay exec:exec -Dreplay.args="ask-traces/ask-traces-2026-10-18.jsonl 0.5 8 3"
+ * </pre>
+ * Arguments: trace file, latency scale (0 = no waiting), concurrency, iterations.
+ */
+public class AskTraceReplayRunner {
+
+    private static final ThreadLocal<Cursor> CURSOR = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper;
+    private final Path schemaDirectory;
+    private final double latencyScale;
+    private final ChatbotService chatbotService;
+    private final AtomicInteger llmOverruns = new AtomicInteger();
+
+    public AskTraceReplayRunner(Path schemaDirectory, double latencyScale) {
+        this.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        this.schemaDirectory = schemaDirectory;
+        this.latencyScale = latencyScale;
+
+        AiApiProperties properties = new AiApiProperties();
+        properties.setTemperatureAnswer(0.7);
+        properties.setMaxTokens(1500);
+        properties.setTimeout(600_000);
+
+        UserAiSettingsService userAiSettingsService = mock(UserAiSettingsService.class);
+        when(userAiSettingsService.getUserSettingsEntity(anyLong())).thenAnswer(invocation -> UserAiSettings.builder()
+                .userId(invocation.getArgument(0))
+                .provider(UserAiSettings.AiProvider.OPENAI)
+                .model("replay")
+                .build());
+        when(userAiSettingsService.getDecryptedApiKey(anyLong())).thenReturn("replay");
+
+        AskMetrics askMetrics = new AskMetrics(new SimpleMeterRegistry());
+        AskTraceRecorder recorder = new AskTraceRecorder(objectMapper);  // recording stays disabled
+        ChatCompletionCodec codec = new ChatCompletionCodec(objectMapper);
+        AiService aiService = new AiService(properties, new StubAiProperties(), objectMapper, replayWebClient(),
+                userAiSettingsService, askMetrics, ObservationRegistry.NOOP, recorder, new ModelRouter(),
+                new LlmResponseCache(), codec,
+                new ProviderAdapterRegistry(List.of(new OpenAiCompatibleAdapter(codec),
+                        new AnthropicAdapter(objectMapper))));
+
+        this.chatbotService = new ChatbotService(aiService, new SqlValidatorService(), new ReplayDataSourceClient(),
+                mock(ConversationRepository.class), mock(ConversationSessionRepository.class),
+                userAiSettingsService, mock(DemoQueryUsageService.class), askMetrics, ObservationRegistry.NOOP,
+                recorder);
+        ReflectionTestUtils.setField(chatbotService, "maxRetries", 2);
+    }
+
+    public List<AskTrace> load(Path traceFile) throws IOException {
+        List<AskTrace> traces = new ArrayList<>();
+        for (String line : Files.readAllLines(traceFile)) {
+            if (!line.isBlank()) {
+                traces.add(objectMapper.readValue(line, AskTrace.class));
+            }
+        }
+        return traces;
+    }
+
+    /**
+     * Run one recorded trace through the pipeline on the calling thread
+     */
+    public ReplayResult replay(AskTrace trace) {
+        CURSOR.set(new Cursor(trace));
+        long start = System.nanoTime();
+        try {
+            ChatRequest request = new ChatRequest();
+            request.setQuestion(trace.getQuestion());
+            request.setDatabaseConfigId(trace.getDatabaseConfigId());
+            request.setUserId(1L);
+            ChatResponse response = chatbotService.ask(request);
+            long elapsedNanos = System.nanoTime() - start;
+            boolean sqlMatches = Objects.equals(response.getSqlQuery(), trace.getGeneratedSql());
+            return new ReplayResult(trace.getTraceId(), elapsedNanos, response.isSuccess(), sqlMatches,
+                    response.getSqlQuery(), trace.getGeneratedSql());
+        } finally {
+            CURSOR.remove();
+        }
+    }
+
+    int llmOverruns() {
+        return llmOverruns.get();
+    }
+
+    /**
+     * WebClient whose transport hands back the current trace's next recorded provider response
+     */
+    private WebClient replayWebClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    Cursor cursor = CURSOR.get();
+                    AskTrace.LlmExchange exchange = cursor != null ? cursor.nextLlmCall() : null;
+                    if (exchange == null) {
+                        llmOverruns.incrementAndGet();
+                        return Mono.just(response(HttpStatus.INTERNAL_SERVER_ERROR, "no recorded response left"));
+                    }
+                    ClientResponse response = exchange.getRawResponse() != null
+                            ? response(HttpStatus.OK, exchange.getRawResponse())
+                            : response(HttpStatus.INTERNAL_SERVER_ERROR, String.valueOf(exchange.getError()));
+                    long delay = scaled(exchange.getLatencyMs());
+                    return delay > 0 ? Mono.delay(Duration.ofMillis(delay)).thenReturn(response) : Mono.just(response);
+                })
+                .build();
+    }
+
+    private static ClientResponse response(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private long scaled(Long recordedMs) {
+        return recordedMs == null ? 0 : Math.round(recordedMs * latencyScale);
+    }
+
+    private void sleep(Long recordedMs) {
+        long delay = scaled(recordedMs);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private class ReplayDataSourceClient implements DataSourceClient {
+
+        @Override
+        public DatabaseSchemaDTO getSchemaByConfigId(Long configId, Long userId) {
+            AskTrace trace = CURSOR.get().trace;
+            sleep(trace.getSchemaFetchMs());
+            try {
+                return objectMapper.readValue(schemaDirectory.resolve(trace.getSchemaHash() + ".json").toFile(),
+                        DatabaseSchemaDTO.class);
+            } catch (IOException e) {
+                throw new IllegalStateException("Schema " + trace.getSchemaHash() + " missing from "
+                        + schemaDirectory, e);
+            }
+        }
+
+        @Override
+        public QueryExecutionResponse executeQuery(Long databaseConfigId, Long userId, Integer maxRows,
+                                                   String layout, String sqlQuery) {
+            AskTrace.QueryExchange exchange = CURSOR.get().nextQuery();
+            if (exchange == null) {
+                return QueryExecutionResponse.builder()
+                        .success(false)
+                        .sqlQuery(sqlQuery)
+                        .error("No recorded query result left")
+                        .build();
+            }
+            sleep(exchange.getLatencyMs());
+            return exchange.getResponse();
+        }
+    }
+
+    private static final class Cursor {
+        private final AskTrace trace;
+        private int llmIndex;
+        private int queryIndex;
+
+        private Cursor(AskTrace trace) {
+            this.trace = trace;
+        }
+
+        private AskTrace.LlmExchange nextLlmCall() {
+            return llmIndex < trace.getLlmCalls().size() ? trace.getLlmCalls().get(llmIndex++) : null;
+        }
+
+        private AskTrace.QueryExchange nextQuery() {
+            return queryIndex < trace.getQueries().size() ? trace.getQueries().get(queryIndex++) : null;
+        }
+    }
+
+    public record ReplayResult(String traceId, long elapsedNanos, boolean success, boolean sqlMatches,
+                               String replayedSql, String recordedSql) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: AskTraceReplayRunner <trace-file.jsonl> [latencyScale=1.0] [concurrency=1] [iterations=1]");
+            System.exit(1);
+        }
+        Path traceFile = Paths.get(args[0]);
+        double latencyScale = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        AskTraceReplayRunner runner = new AskTraceReplayRunner(traceFile.toAbsolutePath().getParent()
+                .resolve("schemas"), latencyScale);
+        List<AskTrace> traces = runner.load(traceFile);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<ReplayResult>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (AskTrace trace : traces) {
+                futures.add(executor.submit(() -> runner.replay(trace)));
+            }
+        }
+        List<ReplayResult> results = new ArrayList<>(futures.size());
+        for (Future<ReplayResult> future : futures) {
+            results.add(future.get());
+        }
+        long wallNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        List<Long> latencies = new ArrayList<>(results.size());
+        int failures = 0;
+        List<ReplayResult> divergent = new ArrayList<>();
+        for (ReplayResult result : results) {
+            latencies.add(result.elapsedNanos());
+            if (!result.success()) {
+                failures++;
+            }
+            if (!result.sqlMatches()) {
+                divergent.add(result);
+            }
+        }
+        Collections.sort(latencies);
+
+        System.out.printf("Replayed %d asks (%d traces x %d) at scale %.2f with concurrency %d%n",
+                results.size(), traces.size(), iterations, latencyScale, concurrency);
+        System.out.printf("Throughput: %.1f asks/s%n", results.size() / (wallNanos / 1e9));
+        System.out.printf("Latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                percentile(latencies, 1.0));
+        System.out.printf("Failures: %d, SQL divergences: %d, extra LLM calls: %d%n",
+                failures, divergent.size(), runner.llmOverruns());
+        divergent.stream().map(ReplayResult::traceId).distinct().limit(20).forEach(id -> {
+            ReplayResult result = divergent.stream().filter(r -> r.traceId().equals(id)).findFirst().orElseThrow();
+            System.out.printf("  %s%n    recorded: %s%n    replayed: %s%n", id, result.recordedSql(),
+                    result.replayedSql());
+        });
+    }
+
+    private static double percentile(List<Long> sortedNanos, double quantile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sortedNanos.get(Math.max(index, 0))) / 1000.0;
+    }
+}
@@ -0,0 +1,1072 @@
+-- Sample retail database for the golden NL-to-SQL suite (H2, loaded by GoldenSuite)
+
+CREATE TABLE customers (
+    id INT PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(120) NOT NULL,
+    country VARCHAR(50) NOT NULL,
+    city VARCHAR(50) NOT NULL,
+    segment VARCHAR(20) NOT NULL,
+    created_at DATE NOT NULL
+);
+
+CREATE TABLE employees (
+    id INT PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    title VARCHAR(60) NOT NULL,
+    department VARCHAR(40) NOT NULL,
+    manager_id INT,
+    hire_date DATE NOT NULL,
+    salary DECIMAL(10, 2) NOT NULL,
+    FOREIGN KEY (manager_id) REFERENCES employees(id)
+);
+
+CREATE TABLE products (
+    id INT PRIMARY KEY,
+    name VARCHAR(80) NOT NULL,
+    category VARCHAR(40) NOT NULL,
+    supplier VARCHAR(60) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    stock_quantity INT NOT NULL
+);
+
+CREATE TABLE orders (
+    id INT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    employee_id INT NOT NULL,
+    order_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(12, 2) NOT NULL,
+    FOREIGN KEY (customer_id) REFERENCES customers(id),
+    FOREIGN KEY (employee_id) REFERENCES employees(id)
+);
+
+CREATE TABLE order_items (
+    id INT PRIMARY KEY,
+    order_id INT NOT NULL,
+    product_id INT NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10, 2) NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders(id),
+    FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE TABLE payments (
+    id INT PRIMARY KEY,
+    order_id INT NOT NULL,
+    payment_date DATE NOT NULL,
+    amount DECIMAL(12, 2) NOT NULL,
+    method VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders(id)
+);
+
+INSERT INTO customers (id, first_name, last_name, email, country, city, segment, created_at) VALUES
+    (1, 'Grace', 'Muller', 'grace.muller1@example.com', 'France', 'Lyon', 'small_business', DATE '2023-07-13'),
+    (2, 'David', 'Moreau', 'david.moreau2@example.com', 'Germany', 'Berlin', 'small_business', DATE '2022-10-07'),
+    (3, 'Ines', 'Novak', 'ines.novak3@example.com', 'Germany', 'Berlin', 'consumer', DATE '2024-06-04'),
+    (4, 'Emma', 'Fischer', 'emma.fischer4@example.com', 'Italy', 'Rome', 'consumer', DATE '2023-08-26'),
+    (5, 'Hugo', 'Novak', 'hugo.novak5@example.com', 'Germany', 'Berlin', 'small_business', DATE '2022-04-09'),
+    (6, 'Vera', 'Fischer', 'vera.fischer6@example.com', 'Italy', 'Milan', 'consumer', DATE '2024-04-20'),
+    (7, 'Chloe', 'Silva', 'chloe.silva7@example.com', 'France', 'Paris', 'consumer', DATE '2023-10-03'),
+    (8, 'Samir', 'Fischer', 'samir.fischer8@example.com', 'France', 'Paris', 'corporate', DATE '2023-07-15'),
+    (9, 'Walter', 'Bernard', 'walter.bernard9@example.com', 'Spain', 'Madrid', 'small_business', DATE '2022-03-01'),
+    (10, 'Chloe', 'Jensen', 'chloe.jensen10@example.com', 'Morocco', 'Casablanca', 'small_business', DATE '2023-04-30'),
+    (11, 'Paula', 'Silva', 'paula.silva11@example.com', 'Morocco', 'Casablanca', 'consumer', DATE '2024-02-06'),
+    (12, 'Walter', 'Haddad', 'walter.haddad12@example.com', 'USA', 'New York', 'consumer', DATE '2024-01-21'),
+    (13, 'Alice', 'Dubois', 'alice.dubois13@example.com', 'USA', 'New York', 'corporate', DATE '2023-02-19'),
+    (14, 'Grace', 'Martin', 'grace.martin14@example.com', 'France', 'Lyon', 'corporate', DATE '2023-12-22'),
+    (15, 'Oscar', 'Garcia', 'oscar.garcia15@example.com', 'France', 'Paris', 'small_business', DATE '2022-08-26'),
+    (16, 'Emma', 'Garcia', 'emma.garcia16@example.com', 'USA', 'New York', 'small_business', DATE '2023-12-03'),
+    (17, 'Laura', 'Novak', 'laura.novak17@example.com', 'Italy', 'Rome', 'corporate', DATE '2023-06-06'),
+    (18, 'Marco', 'Dubois', 'marco.dubois18@example.com', 'USA', 'Chicago', 'corporate', DATE '2022-07-12'),
+    (19, 'Rita', 'Rossi', 'rita.rossi19@example.com', 'Italy', 'Milan', 'corporate', DATE '2024-05-08'),
+    (20, 'Karim', 'Bernard', 'karim.bernard20@example.com', 'France', 'Paris', 'consumer', DATE '2022-02-13'),
+    (21, 'Quentin', 'Fischer', 'quentin.fischer21@example.com', 'USA', 'Chicago', 'small_business', DATE '2022-05-18'),
+    (22, 'Ines', 'Smith', 'ines.smith22@example.com', 'France', 'Lyon', 'small_business', DATE '2023-02-10'),
+    (23, 'Rita', 'Lopez', 'rita.lopez23@example.com', 'Morocco', 'Rabat', 'small_business', DATE '2024-04-17'),
+    (24, 'Hugo', 'Lopez', 'hugo.lopez24@example.com', 'Spain', 'Madrid', 'small_business', DATE '2023-04-03'),
+    (25, 'Hugo', 'Dubois', 'hugo.dubois25@example.com', 'Germany', 'Berlin', 'corporate', DATE '2022-07-27'),
+    (26, 'Emma', 'Dubois', 'emma.dubois26@example.com', 'USA', 'New York', 'small_business', DATE '2022-02-19'),
+    (27, 'Tina', 'Jensen', 'tina.jensen27@example.com', 'Morocco', 'Casablanca', 'corporate', DATE '2023-09-24'),
+    (28, 'Yasmine', 'Novak', 'yasmine.novak28@example.com', 'Spain', 'Barcelona', 'corporate', DATE '2023-01-27'),
+    (29, 'Karim', 'Lopez', 'karim.lopez29@example.com', 'USA', 'Chicago', 'small_business', DATE '2022-07-26'),
+    (30, 'Bruno', 'Novak', 'bruno.novak30@example.com', 'Germany', 'Munich', 'small_business', DATE '2024-03-10'),
+    (31, 'Jonas', 'Martin', 'jonas.martin31@example.com', 'Italy', 'Milan', 'small_business', DATE '2024-03-09'),
+    (32, 'Bruno', 'Haddad', 'bruno.haddad32@example.com', 'Italy', 'Rome', 'consumer', DATE '2024-05-04'),
+    (33, 'Emma', 'Garcia', 'emma.garcia33@example.com', 'Italy', 'Milan', 'small_business', DATE '2023-02-09'),
+    (34, 'Bruno', 'Dubois', 'bruno.dubois34@example.com', 'Spain', 'Barcelona', 'corporate', DATE '2022-11-09'),
+    (35, 'Oscar', 'Martin', 'oscar.martin35@example.com', 'Spain', 'Madrid', 'consumer', DATE '2022-05-30'),
+    (36, 'Yasmine', 'Moreau', 'yasmine.moreau36@example.com', 'USA', 'New York', 'consumer', DATE '2023-08-11'),
+    (37, 'Walter', 'Bernard', 'walter.bernard37@example.com', 'France', 'Lyon', 'small_business', DATE '2022-09-19'),
+    (38, 'Emma', 'Bernard', 'emma.bernard38@example.com', 'Morocco', 'Rabat', 'corporate', DATE '2023-09-29'),
+    (39, 'Farid', 'Jensen', 'farid.jensen39@example.com', 'Italy', 'Rome', 'consumer', DATE '2023-06-29'),
+    (40, 'Marco', 'Jensen', 'marco.jensen40@example.com', 'Germany', 'Berlin', 'small_business', DATE '2022-05-18'),
+    (41, 'Yasmine', 'Novak', 'yasmine.novak41@example.com', 'Italy', 'Rome', 'corporate', DATE '2022-04-18'),
+    (42, 'Umar', 'Haddad', 'umar.haddad42@example.com', 'France', 'Paris', 'corporate', DATE '2024-06-14'),
+    (43, 'Quentin', 'Dubois', 'quentin.dubois43@example.com', 'France', 'Lyon', 'small_business', DATE '2022-11-13'),
+    (44, 'Yasmine', 'Garcia', 'yasmine.garcia44@example.com', 'France', 'Lyon', 'consumer', DATE '2023-11-01'),
+    (45, 'Oscar', 'Smith', 'oscar.smith45@example.com', 'France', 'Lyon', 'small_business', DATE '2023-08-13'),
+    (46, 'Vera', 'Fischer', 'vera.fischer46@example.com', 'Germany', 'Berlin', 'corporate', DATE '2022-04-12'),
+    (47, 'Tina', 'Dubois', 'tina.dubois47@example.com', 'Spain', 'Barcelona', 'small_business', DATE '2024-05-24'),
+    (48, 'Tina', 'Moreau', 'tina.moreau48@example.com', 'France', 'Paris', 'consumer', DATE '2022-01-06'),
+    (49, 'David', 'Lopez', 'david.lopez49@example.com', 'Morocco', 'Casablanca', 'consumer', DATE '2022-10-02'),
+    (50, 'Emma', 'Silva', 'emma.silva50@example.com', 'Italy', 'Milan', 'consumer', DATE '2023-12-25'),
+    (51, 'Farid', 'Garcia', 'farid.garcia51@example.com', 'Morocco', 'Casablanca', 'consumer', DATE '2023-06-18'),
+    (52, 'Laura', 'Lopez', 'laura.lopez52@example.com', 'Germany', 'Berlin', 'small_business', DATE '2022-01-31'),
+    (53, 'Jonas', 'Haddad', 'jonas.haddad53@example.com', 'France', 'Lyon', 'small_business', DATE '2023-10-24'),
+    (54, 'Alice', 'Dubois', 'alice.dubois54@example.com', 'Italy', 'Milan', 'corporate', DATE '2024-04-22'),
+    (55, 'Farid', 'Smith', 'farid.smith55@example.com', 'France', 'Paris', 'corporate', DATE '2022-02-10'),
+    (56, 'Oscar', 'Fischer', 'oscar.fischer56@example.com', 'Spain', 'Barcelona', 'consumer', DATE '2023-12-11'),
+    (57, 'Yasmine', 'Smith', 'yasmine.smith57@example.com', 'Spain', 'Madrid', 'corporate', DATE '2022-11-12'),
+    (58, 'Ines', 'Haddad', 'ines.haddad58@example.com', 'USA', 'New York', 'small_business', DATE '2024-04-15'),
+    (59, 'Jonas', 'Fischer', 'jonas.fischer59@example.com', 'Germany', 'Munich', 'corporate', DATE '2022-05-28'),
+    (60, 'Grace', 'Smith', 'grace.smith60@example.com', 'Italy', 'Rome', 'corporate', DATE '2023-08-08');
+
+INSERT INTO employees (id, first_name, last_name, title, department, manager_id, hire_date, salary) VALUES
+    (1, 'Umar', 'Dubois', 'Sales Manager', 'Sales', NULL, DATE '2019-09-13', 84000.00),
+    (2, 'Grace', 'Bernard', 'Support Lead', 'Support', NULL, DATE '2019-05-26', 94000.00),
+    (3, 'Tina', 'Silva', 'Engineering Manager', 'Engineering', NULL, DATE '2019-01-25', 89000.00),
+    (4, 'Hugo', 'Haddad', 'Finance Manager', 'Finance', NULL, DATE '2019-03-07', 79000.00),
+    (5, 'Emma', 'Smith', 'Account Executive', 'Sales', 1, DATE '2020-04-24', 65000.00),
+    (6, 'Oscar', 'Muller', 'Sales Representative', 'Sales', 1, DATE '2020-08-31', 45000.00),
+    (7, 'Bruno', 'Martin', 'Sales Representative', 'Sales', 1, DATE '2021-02-26', 62000.00),
+    (8, 'Emma', 'Smith', 'Sales Representative', 'Sales', 1, DATE '2020-01-18', 46000.00),
+    (9, 'Laura', 'Silva', 'Support Agent', 'Support', 2, DATE '2021-10-18', 65000.00),
+    (10, 'Grace', 'Garcia', 'Support Agent', 'Support', 2, DATE '2020-05-16', 46000.00),
+    (11, 'Alice', 'Moreau', 'Software Engineer', 'Engineering', 3, DATE '2019-07-29', 49000.00),
+    (12, 'Quentin', 'Kowalski', 'Software Engineer', 'Engineering', 3, DATE '2020-01-15', 48000.00),
+    (13, 'Karim', 'Silva', 'Accountant', 'Finance', 4, DATE '2020-03-27', 50000.00),
+    (14, 'Alice', 'Martin', 'Accountant', 'Finance', 4, DATE '2019-08-20', 45000.00);
+
+INSERT INTO products (id, name, category, supplier, price, stock_quantity) VALUES
+    (1, 'Laptop', 'Electronics', 'Globex', 63.82, 146),
+    (2, 'Monitor', 'Electronics', 'Umbrella Supply', 1068.19, 186),
+    (3, 'Headphones', 'Electronics', 'Initech', 1019.31, 235),
+    (4, 'Keyboard', 'Electronics', 'Initech', 817.83, 62),
+    (5, 'Webcam', 'Electronics', 'Umbrella Supply', 711.49, 78),
+    (6, 'Desk', 'Furniture', 'Globex', 375.68, 223),
+    (7, 'Office Chair', 'Furniture', 'Acme Corp', 249.69, 175),
+    (8, 'Bookshelf', 'Furniture', 'Umbrella Supply', 114.95, 148),
+    (9, 'Lamp', 'Furniture', 'Initech', 239.63, 129),
+    (10, 'Notebook', 'Office Supplies', 'Globex', 9.81, 147),
+    (11, 'Pen Set', 'Office Supplies', 'Globex', 7.73, 9),
+    (12, 'Stapler', 'Office Supplies', 'Acme Corp', 6.60, 26),
+    (13, 'Paper Ream', 'Office Supplies', 'Acme Corp', 8.37, 108),
+    (14, 'Antivirus License', 'Software', 'Initech', 114.16, 160),
+    (15, 'Office Suite', 'Software', 'Acme Corp', 29.84, 161),
+    (16, 'Design Tool', 'Software', 'Globex', 190.43, 83);
+
+INSERT INTO orders (id, customer_id, employee_id, order_date, status, total_amount) VALUES
+    (1, 29, 5, DATE '2024-03-30', 'delivered', 1019.31),
+    (2, 54, 5, DATE '2023-02-01', 'delivered', 5004.11),
+    (3, 26, 8, DATE '2024-04-28', 'shipped', 5064.64),
+    (4, 39, 8, DATE '2023-04-30', 'pending', 2634.42),
+    (5, 57, 6, DATE '2024-09-10', 'shipped', 3381.72),
+    (6, 41, 7, DATE '2024-11-24', 'pending', 1068.19),
+    (7, 34, 5, DATE '2024-03-08', 'pending', 3124.24),
+    (8, 46, 5, DATE '2024-01-07', 'delivered', 1083.65),
+    (9, 54, 1, DATE '2023-06-07', 'shipped', 19.80),
+    (10, 38, 8, DATE '2024-01-03', 'delivered', 5096.55),
+    (11, 36, 5, DATE '2023-04-23', 'shipped', 4464.36),
+    (12, 59, 6, DATE '2023-04-28', 'pending', 998.76),
+    (13, 18, 7, DATE '2023-07-02', 'pending', 3842.12),
+    (14, 20, 1, DATE '2023-07-01', 'shipped', 49.05),
+    (15, 55, 1, DATE '2024-05-06', 'delivered', 49.05),
+    (16, 30, 8, DATE '2023-03-05', 'pending', 270.17),
+    (17, 53, 8, DATE '2024-09-08', 'pending', 5938.07),
+    (18, 18, 6, DATE '2023-04-08', 'delivered', 375.68),
+    (19, 9, 1, DATE '2024-10-27', 'delivered', 5299.33),
+    (20, 50, 6, DATE '2024-03-16', 'shipped', 492.46),
+    (21, 27, 7, DATE '2023-05-06', 'delivered', 3991.23),
+    (22, 40, 8, DATE '2023-07-22', 'pending', 3559.36),
+    (23, 6, 5, DATE '2023-08-05', 'delivered', 5371.87),
+    (24, 31, 6, DATE '2024-05-23', 'delivered', 4302.19),
+    (25, 15, 5, DATE '2024-02-06', 'shipped', 1543.64),
+    (26, 13, 8, DATE '2024-01-25', 'shipped', 4386.92),
+    (27, 27, 7, DATE '2023-05-25', 'delivered', 568.79),
+    (28, 8, 1, DATE '2024-09-21', 'delivered', 4657.33),
+    (29, 26, 8, DATE '2024-05-20', 'cancelled', 2150.30),
+    (30, 27, 8, DATE '2024-05-16', 'delivered', 3291.74),
+    (31, 17, 1, DATE '2024-02-14', 'pending', 4838.32),
+    (32, 29, 5, DATE '2024-06-14', 'delivered', 998.76),
+    (33, 45, 7, DATE '2024-10-04', 'pending', 4393.58),
+    (34, 11, 1, DATE '2024-01-10', 'delivered', 59.55),
+    (35, 26, 6, DATE '2024-12-01', 'pending', 3068.30),
+    (36, 11, 8, DATE '2024-07-31', 'delivered', 1206.52),
+    (37, 5, 6, DATE '2024-02-16', 'delivered', 2046.16),
+    (38, 53, 1, DATE '2023-01-28', 'shipped', 5527.35),
+    (39, 29, 7, DATE '2023-03-12', 'cancelled', 5539.43),
+    (40, 6, 1, DATE '2024-10-31', 'shipped', 958.52),
+    (41, 18, 1, DATE '2023-02-27', 'delivered', 711.49),
+    (42, 35, 5, DATE '2024-07-24', 'shipped', 4192.19),
+    (43, 27, 5, DATE '2023-09-28', 'shipped', 1903.51),
+    (44, 51, 5, DATE '2023-01-02', 'delivered', 5390.53),
+    (45, 10, 5, DATE '2023-09-09', 'pending', 5739.82),
+    (46, 39, 6, DATE '2024-06-06', 'delivered', 33.48),
+    (47, 7, 6, DATE '2024-10-20', 'cancelled', 1895.17),
+    (48, 46, 8, DATE '2023-11-20', 'delivered', 6151.16),
+    (49, 34, 5, DATE '2024-06-15', 'shipped', 936.78),
+    (50, 32, 7, DATE '2024-08-04', 'delivered', 2703.81),
+    (51, 11, 5, DATE '2023-02-19', 'delivered', 8855.01),
+    (52, 45, 1, DATE '2024-01-18', 'pending', 2845.96),
+    (53, 23, 8, DATE '2024-07-25', 'shipped', 1913.16),
+    (54, 38, 1, DATE '2023-02-22', 'delivered', 631.14),
+    (55, 59, 5, DATE '2023-10-13', 'delivered', 1222.94),
+    (56, 20, 6, DATE '2023-12-12', 'delivered', 1940.55),
+    (57, 8, 8, DATE '2024-08-09', 'shipped', 4850.87),
+    (58, 50, 6, DATE '2024-09-19', 'delivered', 978.55),
+    (59, 20, 7, DATE '2024-06-06', 'cancelled', 479.59),
+    (60, 44, 5, DATE '2024-03-14', 'delivered', 2607.47),
+    (61, 46, 1, DATE '2024-08-30', 'shipped', 6592.57),
+    (62, 40, 7, DATE '2023-03-21', 'shipped', 728.95),
+    (63, 2, 8, DATE '2024-02-27', 'delivered', 1626.24),
+    (64, 1, 1, DATE '2024-07-27', 'shipped', 473.00),
+    (65, 21, 6, DATE '2023-10-15', 'delivered', 4568.41),
+    (66, 56, 7, DATE '2023-10-28', 'delivered', 1294.21),
+    (67, 49, 8, DATE '2023-01-13', 'pending', 814.01),
+    (68, 33, 1, DATE '2024-04-11', 'delivered', 4783.82),
+    (69, 53, 7, DATE '2024-11-26', 'shipped', 5068.81),
+    (70, 31, 1, DATE '2024-10-24', 'shipped', 1081.29),
+    (71, 7, 8, DATE '2023-02-14', 'shipped', 1271.12),
+    (72, 4, 5, DATE '2023-06-15', 'delivered', 229.90),
+    (73, 32, 8, DATE '2023-03-02', 'delivered', 4272.76),
+    (74, 33, 7, DATE '2024-07-31', 'shipped', 85.62),
+    (75, 3, 5, DATE '2024-08-22', 'delivered', 1117.24),
+    (76, 54, 1, DATE '2024-02-11', 'pending', 1248.45),
+    (77, 59, 6, DATE '2024-03-09', 'delivered', 1880.24),
+    (78, 11, 1, DATE '2024-08-21', 'cancelled', 6019.70),
+    (79, 27, 5, DATE '2024-05-02', 'shipped', 355.68),
+    (80, 60, 7, DATE '2024-05-12', 'pending', 2164.85),
+    (81, 5, 1, DATE '2024-09-19', 'delivered', 3271.32),
+    (82, 38, 5, DATE '2023-07-07', 'shipped', 939.78),
+    (83, 5, 8, DATE '2024-05-14', 'shipped', 962.86),
+    (84, 33, 8, DATE '2023-11-17', 'shipped', 4338.84),
+    (85, 9, 1, DATE '2024-11-17', 'delivered', 342.48),
+    (86, 5, 5, DATE '2023-04-01', 'delivered', 868.09),
+    (87, 18, 7, DATE '2024-05-15', 'shipped', 3703.95),
+    (88, 11, 8, DATE '2023-06-24', 'shipped', 459.80),
+    (89, 17, 8, DATE '2024-04-27', 'delivered', 1457.75),
+    (90, 48, 8, DATE '2024-05-16', 'shipped', 6742.01),
+    (91, 19, 6, DATE '2023-12-29', 'delivered', 23.19),
+    (92, 8, 1, DATE '2024-11-26', 'shipped', 59.40),
+    (93, 34, 7, DATE '2023-02-08', 'delivered', 4838.87),
+    (94, 34, 8, DATE '2023-03-11', 'delivered', 656.95),
+    (95, 4, 1, DATE '2023-10-22', 'delivered', 1127.04),
+    (96, 5, 6, DATE '2024-05-16', 'delivered', 23.19),
+    (97, 37, 8, DATE '2024-05-08', 'delivered', 4562.00),
+    (98, 6, 1, DATE '2023-09-28', 'delivered', 3625.93),
+    (99, 56, 5, DATE '2024-07-06', 'pending', 810.92),
+    (100, 40, 8, DATE '2024-09-26', 'shipped', 1422.98),
+    (101, 2, 1, DATE '2024-11-10', 'shipped', 23.19),
+    (102, 11, 7, DATE '2023-11-28', 'delivered', 5275.59),
+    (103, 42, 7, DATE '2024-08-03', 'delivered', 195.69),
+    (104, 7, 1, DATE '2023-02-16', 'shipped', 1740.07),
+    (105, 51, 1, DATE '2024-10-02', 'delivered', 123.97),
+    (106, 37, 5, DATE '2023-09-13', 'pending', 1186.84),
+    (107, 3, 7, DATE '2024-06-08', 'pending', 3250.74),
+    (108, 2, 7, DATE '2023-11-23', 'delivered', 1635.66),
+    (109, 39, 8, DATE '2024-01-15', 'delivered', 266.03),
+    (110, 30, 1, DATE '2024-07-16', 'delivered', 228.32),
+    (111, 59, 6, DATE '2023-07-26', 'pending', 3204.57),
+    (112, 21, 7, DATE '2023-12-10', 'delivered', 4671.14),
+    (113, 38, 6, DATE '2024-01-05', 'shipped', 1248.45),
+    (114, 38, 7, DATE '2024-06-13', 'cancelled', 3831.72),
+    (115, 48, 1, DATE '2023-10-06', 'shipped', 10122.21),
+    (116, 34, 8, DATE '2023-07-04', 'pending', 1530.25),
+    (117, 35, 1, DATE '2024-05-20', 'delivered', 500.22),
+    (118, 41, 8, DATE '2024-07-13', 'pending', 1356.94),
+    (119, 34, 6, DATE '2024-07-25', 'delivered', 272.17),
+    (120, 40, 6, DATE '2023-02-19', 'delivered', 1674.31),
+    (121, 24, 8, DATE '2023-03-11', 'delivered', 13.20),
+    (122, 57, 6, DATE '2023-09-12', 'shipped', 23.19),
+    (123, 35, 8, DATE '2024-05-08', 'shipped', 2142.98),
+    (124, 46, 1, DATE '2023-07-27', 'delivered', 3308.27),
+    (125, 49, 8, DATE '2023-01-25', 'delivered', 5399.81),
+    (126, 33, 5, DATE '2024-10-28', 'delivered', 650.08),
+    (127, 2, 1, DATE '2023-01-01', 'delivered', 4730.49),
+    (128, 9, 5, DATE '2024-04-28', 'shipped', 3298.76),
+    (129, 52, 8, DATE '2023-11-24', 'pending', 515.72),
+    (130, 3, 8, DATE '2024-05-12', 'pending', 6243.00),
+    (131, 23, 5, DATE '2024-08-04', 'pending', 8504.98),
+    (132, 31, 1, DATE '2023-09-08', 'delivered', 1543.15),
+    (133, 34, 1, DATE '2023-07-24', 'delivered', 6267.84),
+    (134, 41, 8, DATE '2023-01-24', 'delivered', 5472.23),
+    (135, 9, 1, DATE '2024-10-24', 'pending', 4158.58),
+    (136, 42, 8, DATE '2024-06-15', 'delivered', 4281.13),
+    (137, 49, 7, DATE '2024-01-14', 'cancelled', 127.64),
+    (138, 53, 7, DATE '2023-10-28', 'delivered', 69.49),
+    (139, 25, 6, DATE '2023-08-05', 'delivered', 2038.62),
+    (140, 38, 7, DATE '2023-04-11', 'pending', 1154.14),
+    (141, 42, 7, DATE '2023-08-13', 'cancelled', 6011.50),
+    (142, 38, 1, DATE '2024-08-23', 'delivered', 571.29),
+    (143, 13, 6, DATE '2023-07-25', 'delivered', 2479.89),
+    (144, 44, 6, DATE '2023-04-17', 'delivered', 2045.22),
+    (145, 15, 1, DATE '2023-09-23', 'delivered', 1685.88),
+    (146, 27, 7, DATE '2024-11-26', 'pending', 4318.01),
+    (147, 6, 5, DATE '2023-11-30', 'pending', 26.40),
+    (148, 39, 5, DATE '2024-08-25', 'delivered', 751.36),
+    (149, 41, 8, DATE '2023-07-15', 'shipped', 233.31),
+    (150, 5, 5, DATE '2024-10-18', 'delivered', 4588.53),
+    (151, 6, 7, DATE '2023-11-29', 'cancelled', 7401.06),
+    (152, 13, 6, DATE '2023-11-27', 'delivered', 4307.02),
+    (153, 43, 8, DATE '2024-10-03', 'shipped', 63.82),
+    (154, 18, 6, DATE '2024-04-16', 'delivered', 803.78),
+    (155, 19, 6, DATE '2023-08-05', 'cancelled', 4338.84),
+    (156, 37, 6, DATE '2023-10-14', 'delivered', 2461.86),
+    (157, 6, 1, DATE '2023-06-17', 'shipped', 7974.56),
+    (158, 35, 1, DATE '2024-01-12', 'pending', 4066.30),
+    (159, 6, 6, DATE '2023-05-27', 'delivered', 13958.14),
+    (160, 31, 6, DATE '2024-11-16', 'shipped', 3073.91),
+    (161, 33, 5, DATE '2023-12-11', 'delivered', 2206.80),
+    (162, 55, 7, DATE '2024-07-29', 'delivered', 1699.86),
+    (163, 57, 7, DATE '2023-06-07', 'delivered', 967.20),
+    (164, 51, 6, DATE '2023-03-15', 'shipped', 3156.74),
+    (165, 19, 8, DATE '2023-01-05', 'pending', 1246.13),
+    (166, 25, 8, DATE '2023-04-03', 'cancelled', 1460.56),
+    (167, 21, 1, DATE '2023-01-15', 'delivered', 8954.29),
+    (168, 55, 6, DATE '2024-03-02', 'cancelled', 304.59),
+    (169, 21, 7, DATE '2023-03-15', 'shipped', 29.84),
+    (170, 27, 6, DATE '2023-08-20', 'pending', 7203.55),
+    (171, 7, 8, DATE '2023-11-23', 'delivered', 297.17),
+    (172, 10, 7, DATE '2024-07-16', 'delivered', 242.97),
+    (173, 7, 5, DATE '2023-10-07', 'pending', 3874.87),
+    (174, 26, 7, DATE '2023-10-20', 'shipped', 2048.43),
+    (175, 50, 8, DATE '2024-01-04', 'delivered', 407.26),
+    (176, 41, 8, DATE '2023-07-02', 'pending', 114.16),
+    (177, 44, 6, DATE '2023-09-19', 'delivered', 718.89),
+    (178, 28, 6, DATE '2023-12-26', 'shipped', 642.98),
+    (179, 41, 1, DATE '2024-06-25', 'shipped', 2229.73),
+    (180, 56, 6, DATE '2024-04-10', 'delivered', 1878.40),
+    (181, 59, 5, DATE '2023-11-29', 'delivered', 5502.07),
+    (182, 53, 5, DATE '2024-04-30', 'shipped', 5111.01),
+    (183, 51, 1, DATE '2023-12-14', 'delivered', 41.85),
+    (184, 31, 7, DATE '2023-12-13', 'delivered', 1218.92),
+    (185, 55, 5, DATE '2023-12-01', 'pending', 2600.77),
+    (186, 55, 7, DATE '2024-03-28', 'delivered', 472.10),
+    (187, 23, 5, DATE '2024-08-22', 'delivered', 1109.81),
+    (188, 32, 6, DATE '2023-07-27', 'delivered', 1434.20),
+    (189, 43, 7, DATE '2024-03-20', 'delivered', 2088.59),
+    (190, 17, 5, DATE '2024-07-07', 'delivered', 329.60),
+    (191, 39, 8, DATE '2024-07-27', 'shipped', 127.64),
+    (192, 47, 6, DATE '2023-12-25', 'delivered', 253.80),
+    (193, 21, 7, DATE '2023-07-15', 'delivered', 1311.58),
+    (194, 2, 6, DATE '2024-11-10', 'shipped', 6974.95),
+    (195, 5, 8, DATE '2023-09-26', 'pending', 2453.49),
+    (196, 53, 5, DATE '2024-10-23', 'delivered', 380.86),
+    (197, 39, 8, DATE '2023-11-13', 'cancelled', 15.46),
+    (198, 47, 1, DATE '2023-05-07', 'delivered', 59.88),
+    (199, 34, 5, DATE '2023-10-08', 'delivered', 830.85),
+    (200, 54, 1, DATE '2023-10-09', 'pending', 3652.18);
+
+INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES
+    (1, 1, 3, 1, 1019.31),
+    (2, 2, 9, 4, 239.63),
+    (3, 2, 11, 3, 7.73),
+    (4, 2, 2, 3, 1068.19),
+    (5, 2, 4, 1, 817.83),
+    (6, 3, 13, 2, 8.37),
+    (7, 3, 16, 5, 190.43),
+    (8, 3, 12, 1, 6.60),
+    (9, 3, 4, 5, 817.83),
+    (10, 4, 4, 2, 817.83),
+    (11, 4, 7, 4, 249.69),
+    (12, 5, 15, 1, 29.84),
+    (13, 5, 13, 2, 8.37),
+    (14, 5, 1, 1, 63.82),
+    (15, 5, 4, 4, 817.83),
+    (16, 6, 2, 1, 1068.19),
+    (17, 7, 16, 2, 190.43),
+    (18, 7, 15, 5, 29.84),
+    (19, 7, 4, 2, 817.83),
+    (20, 7, 9, 4, 239.63),
+    (21, 8, 11, 2, 7.73),
+    (22, 8, 2, 1, 1068.19),
+    (23, 9, 12, 3, 6.60),
+    (24, 10, 3, 5, 1019.31),
+    (25, 11, 2, 4, 1068.19),
+    (26, 11, 15, 4, 29.84),
+    (27, 11, 11, 3, 7.73),
+    (28, 11, 10, 5, 9.81),
+    (29, 12, 7, 4, 249.69),
+    (30, 13, 4, 4, 817.83),
+    (31, 13, 14, 5, 114.16),
+    (32, 14, 10, 5, 9.81),
+    (33, 15, 10, 5, 9.81),
+    (34, 16, 14, 2, 114.16),
+    (35, 16, 13, 5, 8.37),
+    (36, 17, 2, 1, 1068.19),
+    (37, 17, 3, 4, 1019.31),
+    (38, 17, 16, 4, 190.43),
+    (39, 17, 11, 4, 7.73),
+    (40, 18, 6, 1, 375.68),
+    (41, 19, 3, 5, 1019.31),
+    (42, 19, 11, 2, 7.73),
+    (43, 19, 15, 2, 29.84),
+    (44, 19, 1, 2, 63.82),
+    (45, 20, 9, 2, 239.63),
+    (46, 20, 12, 2, 6.60),
+    (47, 21, 3, 1, 1019.31),
+    (48, 21, 5, 3, 711.49),
+    (49, 21, 4, 1, 817.83),
+    (50, 21, 10, 2, 9.81),
+    (51, 22, 2, 2, 1068.19),
+    (52, 22, 5, 2, 711.49),
+    (53, 23, 2, 5, 1068.19),
+    (54, 23, 11, 4, 7.73),
+    (55, 24, 10, 3, 9.81),
+    (56, 24, 2, 4, 1068.19),
+    (57, 25, 13, 2, 8.37),
+    (58, 25, 16, 5, 190.43),
+    (59, 25, 8, 5, 114.95),
+    (60, 26, 14, 1, 114.16),
+    (61, 26, 2, 4, 1068.19),
+    (62, 27, 7, 1, 249.69),
+    (63, 27, 1, 5, 63.82),
+    (64, 28, 14, 5, 114.16),
+    (65, 28, 15, 1, 29.84),
+    (66, 28, 7, 4, 249.69),
+    (67, 28, 3, 3, 1019.31),
+    (68, 29, 9, 5, 239.63),
+    (69, 29, 16, 5, 190.43),
+    (70, 30, 9, 3, 239.63),
+    (71, 30, 15, 4, 29.84),
+    (72, 30, 4, 3, 817.83),
+    (73, 31, 5, 3, 711.49),
+    (74, 31, 2, 1, 1068.19),
+    (75, 31, 4, 2, 817.83),
+    (76, 32, 7, 4, 249.69),
+    (77, 33, 9, 3, 239.63),
+    (78, 33, 14, 3, 114.16),
+    (79, 33, 2, 3, 1068.19),
+    (80, 33, 1, 2, 63.82),
+    (81, 34, 12, 5, 6.60),
+    (82, 34, 10, 1, 9.81),
+    (83, 34, 13, 2, 8.37),
+    (84, 35, 2, 1, 1068.19),
+    (85, 35, 9, 1, 239.63),
+    (86, 35, 7, 4, 249.69),
+    (87, 35, 16, 4, 190.43),
+    (88, 36, 13, 1, 8.37),
+    (89, 36, 9, 5, 239.63),
+    (90, 37, 9, 2, 239.63),
+    (91, 37, 7, 1, 249.69),
+    (92, 37, 7, 2, 249.69),
+    (93, 37, 4, 1, 817.83),
+    (94, 38, 10, 4, 9.81),
+    (95, 38, 2, 5, 1068.19),
+    (96, 38, 14, 1, 114.16),
+    (97, 38, 12, 5, 6.60),
+    (98, 39, 6, 4, 375.68),
+    (99, 39, 5, 5, 711.49),
+    (100, 39, 9, 2, 239.63),
+    (101, 40, 9, 4, 239.63),
+    (102, 41, 5, 1, 711.49),
+    (103, 42, 3, 4, 1019.31),
+    (104, 42, 8, 1, 114.95),
+    (105, 43, 6, 5, 375.68),
+    (106, 43, 13, 3, 8.37),
+    (107, 44, 13, 5, 8.37),
+    (108, 44, 2, 5, 1068.19),
+    (109, 44, 11, 1, 7.73),
+    (110, 45, 2, 5, 1068.19),
+    (111, 45, 11, 3, 7.73),
+    (112, 45, 6, 1, 375.68),
+    (113, 46, 13, 4, 8.37),
+    (114, 47, 4, 2, 817.83),
+    (115, 47, 15, 1, 29.84),
+    (116, 47, 16, 1, 190.43),
+    (117, 47, 10, 4, 9.81),
+    (118, 48, 2, 4, 1068.19),
+    (119, 48, 6, 5, 375.68),
+    (120, 49, 4, 1, 817.83),
+    (121, 49, 15, 3, 29.84),
+    (122, 49, 10, 3, 9.81),
+    (123, 50, 4, 2, 817.83),
+    (124, 50, 15, 4, 29.84),
+    (125, 50, 9, 3, 239.63),
+    (126, 50, 8, 2, 114.95),
+    (127, 51, 6, 5, 375.68),
+    (128, 51, 2, 5, 1068.19),
+    (129, 51, 4, 2, 817.83),
+    (130, 52, 5, 4, 711.49),
+    (131, 53, 13, 3, 8.37),
+    (132, 53, 16, 5, 190.43),
+    (133, 53, 14, 4, 114.16),
+    (134, 53, 9, 2, 239.63),
+    (135, 54, 15, 3, 29.84),
+    (136, 54, 13, 2, 8.37),
+    (137, 54, 15, 5, 29.84),
+    (138, 54, 6, 1, 375.68),
+    (139, 55, 3, 1, 1019.31),
+    (140, 55, 16, 1, 190.43),
+    (141, 55, 12, 2, 6.60),
+    (142, 56, 6, 1, 375.68),
+    (143, 56, 6, 1, 375.68),
+    (144, 56, 7, 4, 249.69),
+    (145, 56, 16, 1, 190.43),
+    (146, 57, 4, 5, 817.83),
+    (147, 57, 16, 4, 190.43),
+    (148, 58, 16, 5, 190.43),
+    (149, 58, 12, 4, 6.60),
+    (150, 59, 8, 2, 114.95),
+    (151, 59, 7, 1, 249.69),
+    (152, 60, 8, 4, 114.95),
+    (153, 60, 12, 2, 6.60),
+    (154, 60, 5, 3, 711.49),
+    (155, 61, 5, 3, 711.49),
+    (156, 61, 16, 1, 190.43),
+    (157, 61, 16, 1, 190.43),
+    (158, 61, 3, 4, 1019.31),
+    (159, 62, 9, 2, 239.63),
+    (160, 62, 7, 1, 249.69),
+    (161, 63, 15, 3, 29.84),
+    (162, 63, 4, 1, 817.83),
+    (163, 63, 9, 3, 239.63),
+    (164, 64, 12, 2, 6.60),
+    (165, 64, 8, 4, 114.95),
+    (166, 65, 4, 5, 817.83),
+    (167, 65, 9, 2, 239.63),
+    (168, 66, 1, 2, 63.82),
+    (169, 66, 3, 1, 1019.31),
+    (170, 66, 1, 2, 63.82),
+    (171, 66, 10, 2, 9.81),
+    (172, 67, 1, 4, 63.82),
+    (173, 67, 9, 1, 239.63),
+    (174, 67, 1, 5, 63.82),
+    (175, 68, 5, 2, 711.49),
+    (176, 68, 4, 4, 817.83),
+    (177, 68, 15, 3, 29.84),
+    (178, 69, 5, 2, 711.49),
+    (179, 69, 7, 5, 249.69),
+    (180, 69, 16, 4, 190.43),
+    (181, 69, 4, 2, 817.83),
+    (182, 70, 10, 5, 9.81),
+    (183, 70, 13, 4, 8.37),
+    (184, 70, 7, 4, 249.69),
+    (185, 71, 13, 4, 8.37),
+    (186, 71, 9, 4, 239.63),
+    (187, 71, 10, 3, 9.81),
+    (188, 71, 7, 1, 249.69),
+    (189, 72, 8, 2, 114.95),
+    (190, 73, 2, 4, 1068.19),
+    (191, 74, 11, 2, 7.73),
+    (192, 74, 10, 4, 9.81),
+    (193, 74, 11, 4, 7.73),
+    (194, 75, 2, 1, 1068.19),
+    (195, 75, 10, 5, 9.81),
+    (196, 76, 7, 5, 249.69),
+    (197, 77, 14, 2, 114.16),
+    (198, 77, 6, 3, 375.68),
+    (199, 77, 15, 5, 29.84),
+    (200, 77, 6, 1, 375.68),
+    (201, 78, 15, 2, 29.84),
+    (202, 78, 3, 4, 1019.31),
+    (203, 78, 8, 4, 114.95),
+    (204, 78, 5, 2, 711.49),
+    (205, 79, 14, 3, 114.16),
+    (206, 79, 12, 2, 6.60),
+    (207, 80, 11, 3, 7.73),
+    (208, 80, 2, 1, 1068.19),
+    (209, 80, 9, 4, 239.63),
+    (210, 80, 8, 1, 114.95),
+    (211, 81, 4, 4, 817.83),
+    (212, 82, 1, 3, 63.82),
+    (213, 82, 9, 3, 239.63),
+    (214, 82, 10, 3, 9.81),
+    (215, 83, 14, 2, 114.16),
+    (216, 83, 1, 4, 63.82),
+    (217, 83, 9, 2, 239.63),
+    (218, 84, 7, 1, 249.69),
+    (219, 84, 4, 5, 817.83),
+    (220, 85, 14, 3, 114.16),
+    (221, 86, 9, 3, 239.63),
+    (222, 86, 15, 5, 29.84),
+    (223, 87, 7, 2, 249.69),
+    (224, 87, 2, 3, 1068.19),
+    (225, 88, 8, 4, 114.95),
+    (226, 89, 4, 1, 817.83),
+    (227, 89, 15, 5, 29.84),
+    (228, 89, 8, 4, 114.95),
+    (229, 89, 11, 4, 7.73),
+    (230, 90, 7, 2, 249.69),
+    (231, 90, 11, 4, 7.73),
+    (232, 90, 5, 3, 711.49),
+    (233, 90, 3, 4, 1019.31),
+    (234, 91, 11, 3, 7.73),
+    (235, 92, 12, 5, 6.60),
+    (236, 92, 12, 4, 6.60),
+    (237, 93, 4, 4, 817.83),
+    (238, 93, 7, 5, 249.69),
+    (239, 93, 1, 5, 63.82),
+    (240, 94, 15, 5, 29.84),
+    (241, 94, 13, 1, 8.37),
+    (242, 94, 7, 1, 249.69),
+    (243, 94, 7, 1, 249.69),
+    (244, 95, 6, 3, 375.68),
+    (245, 96, 11, 3, 7.73),
+    (246, 97, 1, 5, 63.82),
+    (247, 97, 5, 5, 711.49),
+    (248, 97, 16, 3, 190.43),
+    (249, 97, 14, 1, 114.16),
+    (250, 98, 8, 2, 114.95),
+    (251, 98, 2, 3, 1068.19),
+    (252, 98, 1, 3, 63.82),
+    (253, 99, 9, 1, 239.63),
+    (254, 99, 16, 3, 190.43),
+    (255, 100, 5, 2, 711.49),
+    (256, 101, 11, 3, 7.73),
+    (257, 102, 3, 5, 1019.31),
+    (258, 102, 15, 2, 29.84),
+    (259, 102, 15, 4, 29.84),
+    (260, 103, 15, 2, 29.84),
+    (261, 103, 13, 1, 8.37),
+    (262, 103, 1, 2, 63.82),
+    (263, 104, 11, 5, 7.73),
+    (264, 104, 1, 4, 63.82),
+    (265, 104, 1, 5, 63.82),
+    (266, 104, 6, 3, 375.68),
+    (267, 105, 14, 1, 114.16),
+    (268, 105, 10, 1, 9.81),
+    (269, 106, 9, 4, 239.63),
+    (270, 106, 14, 2, 114.16),
+    (271, 107, 10, 3, 9.81),
+    (272, 107, 13, 2, 8.37),
+    (273, 107, 2, 3, 1068.19),
+    (274, 108, 4, 2, 817.83),
+    (275, 109, 12, 1, 6.60),
+    (276, 109, 12, 2, 6.60),
+    (277, 109, 9, 1, 239.63),
+    (278, 109, 12, 1, 6.60),
+    (279, 110, 14, 2, 114.16),
+    (280, 111, 2, 3, 1068.19),
+    (281, 112, 12, 2, 6.60),
+    (282, 112, 7, 1, 249.69),
+    (283, 112, 4, 5, 817.83),
+    (284, 112, 1, 5, 63.82),
+    (285, 113, 7, 5, 249.69),
+    (286, 114, 4, 2, 817.83),
+    (287, 114, 2, 2, 1068.19),
+    (288, 114, 15, 2, 29.84),
+    (289, 115, 16, 2, 190.43),
+    (290, 115, 1, 2, 63.82),
+    (291, 115, 2, 4, 1068.19),
+    (292, 115, 2, 5, 1068.19),
+    (293, 116, 6, 4, 375.68),
+    (294, 116, 12, 3, 6.60),
+    (295, 116, 11, 1, 7.73),
+    (296, 117, 15, 4, 29.84),
+    (297, 117, 16, 2, 190.43),
+    (298, 118, 8, 2, 114.95),
+    (299, 118, 6, 3, 375.68),
+    (300, 119, 15, 1, 29.84),
+    (301, 119, 14, 1, 114.16),
+    (302, 119, 15, 3, 29.84),
+    (303, 119, 11, 5, 7.73),
+    (304, 120, 11, 5, 7.73),
+    (305, 120, 4, 2, 817.83),
+    (306, 121, 12, 2, 6.60),
+    (307, 122, 11, 3, 7.73),
+    (308, 123, 2, 2, 1068.19),
+    (309, 123, 12, 1, 6.60),
+    (310, 124, 5, 3, 711.49),
+    (311, 124, 6, 1, 375.68),
+    (312, 124, 7, 3, 249.69),
+    (313, 124, 10, 5, 9.81),
+    (314, 125, 2, 5, 1068.19),
+    (315, 125, 10, 4, 9.81),
+    (316, 125, 10, 2, 9.81),
+    (317, 126, 11, 2, 7.73),
+    (318, 126, 1, 1, 63.82),
+    (319, 126, 14, 5, 114.16),
+    (320, 127, 16, 5, 190.43),
+    (321, 127, 5, 5, 711.49),
+    (322, 127, 1, 3, 63.82),
+    (323, 127, 10, 3, 9.81),
+    (324, 128, 5, 1, 711.49),
+    (325, 128, 4, 1, 817.83),
+    (326, 128, 9, 5, 239.63),
+    (327, 128, 16, 3, 190.43),
+    (328, 129, 12, 4, 6.60),
+    (329, 129, 9, 1, 239.63),
+    (330, 129, 7, 1, 249.69),
+    (331, 130, 9, 5, 239.63),
+    (332, 130, 3, 4, 1019.31),
+    (333, 130, 16, 5, 190.43),
+    (334, 130, 11, 2, 7.73),
+    (335, 131, 6, 5, 375.68),
+    (336, 131, 4, 3, 817.83),
+    (337, 131, 5, 3, 711.49),
+    (338, 131, 3, 2, 1019.31),
+    (339, 132, 8, 5, 114.95),
+    (340, 132, 13, 2, 8.37),
+    (341, 132, 14, 5, 114.16),
+    (342, 132, 16, 2, 190.43),
+    (343, 133, 5, 1, 711.49),
+    (344, 133, 8, 4, 114.95),
+    (345, 133, 3, 2, 1019.31),
+    (346, 133, 3, 3, 1019.31),
+    (347, 134, 3, 5, 1019.31),
+    (348, 134, 6, 1, 375.68),
+    (349, 135, 5, 5, 711.49),
+    (350, 135, 15, 1, 29.84),
+    (351, 135, 16, 3, 190.43),
+    (352, 136, 2, 4, 1068.19),
+    (353, 136, 13, 1, 8.37),
+    (354, 137, 1, 2, 63.82),
+    (355, 138, 15, 2, 29.84),
+    (356, 138, 10, 1, 9.81),
+    (357, 139, 3, 2, 1019.31),
+    (358, 140, 6, 1, 375.68),
+    (359, 140, 16, 1, 190.43),
+    (360, 140, 16, 3, 190.43),
+    (361, 140, 13, 2, 8.37),
+    (362, 141, 12, 5, 6.60),
+    (363, 141, 14, 5, 114.16),
+    (364, 141, 4, 4, 817.83),
+    (365, 141, 2, 2, 1068.19),
+    (366, 142, 16, 3, 190.43),
+    (367, 143, 12, 4, 6.60),
+    (368, 143, 4, 3, 817.83),
+    (369, 144, 3, 2, 1019.31),
+    (370, 144, 12, 1, 6.60),
+    (371, 145, 13, 2, 8.37),
+    (372, 145, 13, 4, 8.37),
+    (373, 145, 4, 2, 817.83),
+    (374, 146, 2, 4, 1068.19),
+    (375, 146, 11, 5, 7.73),
+    (376, 146, 12, 1, 6.60),
+    (377, 147, 12, 4, 6.60),
+    (378, 148, 6, 2, 375.68),
+    (379, 149, 13, 5, 8.37),
+    (380, 149, 1, 3, 63.82),
+    (381, 150, 7, 2, 249.69),
+    (382, 150, 4, 5, 817.83),
+    (383, 151, 2, 2, 1068.19),
+    (384, 151, 9, 3, 239.63),
+    (385, 151, 14, 4, 114.16),
+    (386, 151, 4, 5, 817.83),
+    (387, 152, 4, 5, 817.83),
+    (388, 152, 10, 5, 9.81),
+    (389, 152, 10, 2, 9.81),
+    (390, 152, 15, 5, 29.84),
+    (391, 153, 1, 1, 63.82),
+    (392, 154, 11, 1, 7.73),
+    (393, 154, 8, 5, 114.95),
+    (394, 154, 15, 1, 29.84),
+    (395, 154, 1, 3, 63.82),
+    (396, 155, 4, 5, 817.83),
+    (397, 155, 7, 1, 249.69),
+    (398, 156, 4, 3, 817.83),
+    (399, 156, 13, 1, 8.37),
+    (400, 157, 15, 5, 29.84),
+    (401, 157, 11, 4, 7.73),
+    (402, 157, 4, 3, 817.83),
+    (403, 157, 2, 5, 1068.19),
+    (404, 158, 5, 5, 711.49),
+    (405, 158, 10, 5, 9.81),
+    (406, 158, 8, 4, 114.95),
+    (407, 159, 2, 4, 1068.19),
+    (408, 159, 2, 5, 1068.19),
+    (409, 159, 4, 5, 817.83),
+    (410, 159, 1, 4, 63.82),
+    (411, 160, 9, 3, 239.63),
+    (412, 160, 8, 3, 114.95),
+    (413, 160, 16, 4, 190.43),
+    (414, 160, 7, 5, 249.69),
+    (415, 161, 1, 1, 63.82),
+    (416, 161, 2, 2, 1068.19),
+    (417, 161, 12, 1, 6.60),
+    (418, 162, 13, 1, 8.37),
+    (419, 162, 12, 4, 6.60),
+    (420, 162, 4, 2, 817.83),
+    (421, 162, 10, 3, 9.81),
+    (422, 163, 1, 5, 63.82),
+    (423, 163, 14, 4, 114.16),
+    (424, 163, 1, 3, 63.82),
+    (425, 164, 7, 1, 249.69),
+    (426, 164, 3, 2, 1019.31),
+    (427, 164, 7, 3, 249.69),
+    (428, 164, 15, 4, 29.84),
+    (429, 165, 4, 1, 817.83),
+    (430, 165, 6, 1, 375.68),
+    (431, 165, 12, 5, 6.60),
+    (432, 165, 10, 2, 9.81),
+    (433, 166, 7, 3, 249.69),
+    (434, 166, 5, 1, 711.49),
+    (435, 167, 2, 4, 1068.19),
+    (436, 167, 12, 5, 6.60),
+    (437, 167, 16, 3, 190.43),
+    (438, 167, 3, 4, 1019.31),
+    (439, 168, 16, 1, 190.43),
+    (440, 168, 14, 1, 114.16),
+    (441, 169, 15, 1, 29.84),
+    (442, 170, 6, 4, 375.68),
+    (443, 170, 14, 5, 114.16),
+    (444, 170, 3, 5, 1019.31),
+    (445, 170, 13, 4, 8.37),
+    (446, 171, 15, 5, 29.84),
+    (447, 171, 10, 5, 9.81),
+    (448, 171, 10, 4, 9.81),
+    (449, 171, 15, 2, 29.84),
+    (450, 172, 13, 3, 8.37),
+    (451, 172, 12, 4, 6.60),
+    (452, 172, 1, 3, 63.82),
+    (453, 173, 12, 1, 6.60),
+    (454, 173, 5, 5, 711.49),
+    (455, 173, 15, 4, 29.84),
+    (456, 173, 1, 3, 63.82),
+    (457, 174, 10, 1, 9.81),
+    (458, 174, 3, 2, 1019.31),
+    (459, 175, 12, 4, 6.60),
+    (460, 175, 16, 2, 190.43),
+    (461, 176, 14, 1, 114.16),
+    (462, 177, 9, 3, 239.63),
+    (463, 178, 8, 4, 114.95),
+    (464, 178, 15, 4, 29.84),
+    (465, 178, 1, 1, 63.82),
+    (466, 179, 15, 2, 29.84),
+    (467, 179, 5, 1, 711.49),
+    (468, 179, 7, 4, 249.69),
+    (469, 179, 8, 4, 114.95),
+    (470, 180, 6, 5, 375.68),
+    (471, 181, 2, 5, 1068.19),
+    (472, 181, 1, 2, 63.82),
+    (473, 181, 13, 4, 8.37),
+    (474, 182, 15, 4, 29.84),
+    (475, 182, 2, 4, 1068.19),
+    (476, 182, 9, 3, 239.63),
+    (477, 183, 13, 5, 8.37),
+    (478, 184, 12, 4, 6.60),
+    (479, 184, 15, 1, 29.84),
+    (480, 184, 4, 1, 817.83),
+    (481, 184, 8, 3, 114.95),
+    (482, 185, 14, 2, 114.16),
+    (483, 185, 15, 5, 29.84),
+    (484, 185, 8, 3, 114.95),
+    (485, 185, 6, 5, 375.68),
+    (486, 186, 14, 4, 114.16),
+    (487, 186, 11, 2, 7.73),
+    (488, 187, 16, 2, 190.43),
+    (489, 187, 7, 1, 249.69),
+    (490, 187, 9, 2, 239.63),
+    (491, 188, 14, 2, 114.16),
+    (492, 188, 11, 1, 7.73),
+    (493, 188, 9, 5, 239.63),
+    (494, 189, 2, 1, 1068.19),
+    (495, 189, 16, 5, 190.43),
+    (496, 189, 12, 4, 6.60),
+    (497, 189, 13, 5, 8.37),
+    (498, 190, 8, 1, 114.95),
+    (499, 190, 1, 3, 63.82),
+    (500, 190, 11, 3, 7.73),
+    (501, 191, 1, 2, 63.82),
+    (502, 192, 15, 2, 29.84),
+    (503, 192, 12, 5, 6.60),
+    (504, 192, 13, 4, 8.37),
+    (505, 192, 1, 2, 63.82),
+    (506, 193, 9, 2, 239.63),
+    (507, 193, 14, 4, 114.16),
+    (508, 193, 6, 1, 375.68),
+    (509, 194, 3, 5, 1019.31),
+    (510, 194, 6, 5, 375.68),
+    (511, 195, 4, 3, 817.83),
+    (512, 196, 16, 2, 190.43),
+    (513, 197, 11, 2, 7.73),
+    (514, 198, 12, 4, 6.60),
+    (515, 198, 13, 4, 8.37),
+    (516, 199, 15, 4, 29.84),
+    (517, 199, 5, 1, 711.49),
+    (518, 200, 4, 4, 817.83),
+    (519, 200, 16, 2, 190.43);
+
+INSERT INTO payments (id, order_id, payment_date, amount, method, status) VALUES
+    (1, 1, DATE '2024-03-31', 1019.31, 'card', 'completed'),
+    (2, 2, DATE '2023-02-05', 5004.11, 'card', 'completed'),
+    (3, 3, DATE '2024-05-03', 5064.64, 'paypal', 'completed'),
+    (4, 4, DATE '2023-05-03', 2634.42, 'paypal', 'failed'),
+    (5, 5, DATE '2024-09-14', 3381.72, 'paypal', 'completed'),
+    (6, 6, DATE '2024-11-26', 1068.19, 'bank_transfer', 'pending'),
+    (7, 7, DATE '2024-03-10', 3124.24, 'bank_transfer', 'failed'),
+    (8, 8, DATE '2024-01-08', 1083.65, 'card', 'completed'),
+    (9, 9, DATE '2023-06-10', 19.80, 'card', 'completed'),
+    (10, 10, DATE '2024-01-04', 5096.55, 'bank_transfer', 'completed'),
+    (11, 11, DATE '2023-04-23', 4464.36, 'card', 'completed'),
+    (12, 12, DATE '2023-05-01', 998.76, 'bank_transfer', 'failed'),
+    (13, 13, DATE '2023-07-04', 3842.12, 'card', 'pending'),
+    (14, 14, DATE '2023-07-05', 49.05, 'paypal', 'completed'),
+    (15, 15, DATE '2024-05-11', 49.05, 'bank_transfer', 'completed'),
+    (16, 16, DATE '2023-03-07', 270.17, 'bank_transfer', 'pending'),
+    (17, 17, DATE '2024-09-09', 5938.07, 'paypal', 'failed'),
+    (18, 18, DATE '2023-04-13', 375.68, 'bank_transfer', 'completed'),
+    (19, 19, DATE '2024-10-27', 5299.33, 'paypal', 'completed'),
+    (20, 20, DATE '2024-03-16', 492.46, 'paypal', 'completed'),
+    (21, 21, DATE '2023-05-06', 3991.23, 'paypal', 'completed'),
+    (22, 22, DATE '2023-07-23', 3559.36, 'paypal', 'pending'),
+    (23, 23, DATE '2023-08-09', 5371.87, 'card', 'completed'),
+    (24, 24, DATE '2024-05-24', 4302.19, 'paypal', 'completed'),
+    (25, 25, DATE '2024-02-08', 1543.64, 'paypal', 'completed'),
+    (26, 26, DATE '2024-01-26', 4386.92, 'paypal', 'completed'),
+    (27, 27, DATE '2023-05-25', 568.79, 'card', 'completed'),
+    (28, 28, DATE '2024-09-21', 4657.33, 'paypal', 'completed'),
+    (29, 30, DATE '2024-05-21', 3291.74, 'card', 'completed'),
+    (30, 31, DATE '2024-02-19', 4838.32, 'bank_transfer', 'failed'),
+    (31, 32, DATE '2024-06-19', 998.76, 'paypal', 'completed'),
+    (32, 33, DATE '2024-10-07', 4393.58, 'bank_transfer', 'failed'),
+    (33, 34, DATE '2024-01-12', 59.55, 'card', 'completed'),
+    (34, 35, DATE '2024-12-04', 3068.30, 'bank_transfer', 'failed'),
+    (35, 36, DATE '2024-08-02', 1206.52, 'card', 'completed'),
+    (36, 37, DATE '2024-02-18', 2046.16, 'card', 'completed'),
+    (37, 38, DATE '2023-02-02', 5527.35, 'bank_transfer', 'completed'),
+    (38, 40, DATE '2024-10-31', 958.52, 'card', 'completed'),
+    (39, 41, DATE '2023-02-27', 711.49, 'bank_transfer', 'completed'),
+    (40, 42, DATE '2024-07-26', 4192.19, 'card', 'completed'),
+    (41, 43, DATE '2023-10-01', 1903.51, 'card', 'completed'),
+    (42, 44, DATE '2023-01-04', 5390.53, 'paypal', 'completed'),
+    (43, 45, DATE '2023-09-12', 5739.82, 'paypal', 'pending'),
+    (44, 46, DATE '2024-06-07', 33.48, 'bank_transfer', 'completed'),
+    (45, 48, DATE '2023-11-23', 6151.16, 'card', 'completed'),
+    (46, 49, DATE '2024-06-20', 936.78, 'card', 'completed'),
+    (47, 50, DATE '2024-08-07', 2703.81, 'paypal', 'completed'),
+    (48, 51, DATE '2023-02-24', 8855.01, 'card', 'completed'),
+    (49, 52, DATE '2024-01-21', 2845.96, 'paypal', 'failed'),
+    (50, 53, DATE '2024-07-30', 1913.16, 'card', 'completed'),
+    (51, 54, DATE '2023-02-22', 631.14, 'paypal', 'completed'),
+    (52, 55, DATE '2023-10-14', 1222.94, 'card', 'completed'),
+    (53, 56, DATE '2023-12-15', 1940.55, 'paypal', 'completed'),
+    (54, 57, DATE '2024-08-14', 4850.87, 'card', 'completed'),
+    (55, 58, DATE '2024-09-21', 978.55, 'bank_transfer', 'completed'),
+    (56, 60, DATE '2024-03-14', 2607.47, 'paypal', 'completed'),
+    (57, 61, DATE '2024-09-01', 6592.57, 'card', 'completed'),
+    (58, 62, DATE '2023-03-26', 728.95, 'card', 'completed'),
+    (59, 63, DATE '2024-03-02', 1626.24, 'card', 'completed'),
+    (60, 64, DATE '2024-07-28', 473.00, 'paypal', 'completed'),
+    (61, 65, DATE '2023-10-15', 4568.41, 'bank_transfer', 'completed'),
+    (62, 66, DATE '2023-11-02', 1294.21, 'paypal', 'completed'),
+    (63, 67, DATE '2023-01-13', 814.01, 'paypal', 'pending'),
+    (64, 68, DATE '2024-04-16', 4783.82, 'card', 'completed'),
+    (65, 69, DATE '2024-11-26', 5068.81, 'card', 'completed'),
+    (66, 70, DATE '2024-10-28', 1081.29, 'bank_transfer', 'completed'),
+    (67, 71, DATE '2023-02-17', 1271.12, 'bank_transfer', 'completed'),
+    (68, 72, DATE '2023-06-19', 229.90, 'bank_transfer', 'completed'),
+    (69, 73, DATE '2023-03-02', 4272.76, 'bank_transfer', 'completed'),
+    (70, 74, DATE '2024-07-31', 85.62, 'paypal', 'completed'),
+    (71, 75, DATE '2024-08-24', 1117.24, 'card', 'completed'),
+    (72, 76, DATE '2024-02-12', 1248.45, 'bank_transfer', 'pending'),
+    (73, 77, DATE '2024-03-10', 1880.24, 'paypal', 'completed'),
+    (74, 79, DATE '2024-05-06', 355.68, 'paypal', 'completed'),
+    (75, 80, DATE '2024-05-13', 2164.85, 'card', 'failed'),
+    (76, 81, DATE '2024-09-19', 3271.32, 'card', 'completed'),
+    (77, 82, DATE '2023-07-07', 939.78, 'bank_transfer', 'completed'),
+    (78, 83, DATE '2024-05-17', 962.86, 'bank_transfer', 'completed'),
+    (79, 84, DATE '2023-11-18', 4338.84, 'paypal', 'completed'),
+    (80, 85, DATE '2024-11-22', 342.48, 'card', 'completed'),
+    (81, 86, DATE '2023-04-01', 868.09, 'bank_transfer', 'completed'),
+    (82, 87, DATE '2024-05-20', 3703.95, 'paypal', 'completed'),
+    (83, 88, DATE '2023-06-27', 459.80, 'bank_transfer', 'completed'),
+    (84, 89, DATE '2024-04-30', 1457.75, 'card', 'completed'),
+    (85, 90, DATE '2024-05-19', 6742.01, 'paypal', 'completed'),
+    (86, 91, DATE '2024-01-02', 23.19, 'card', 'completed'),
+    (87, 92, DATE '2024-11-27', 59.40, 'paypal', 'completed'),
+    (88, 93, DATE '2023-02-09', 4838.87, 'bank_transfer', 'completed'),
+    (89, 94, DATE '2023-03-16', 656.95, 'bank_transfer', 'completed'),
+    (90, 95, DATE '2023-10-24', 1127.04, 'bank_transfer', 'completed'),
+    (91, 96, DATE '2024-05-18', 23.19, 'card', 'completed'),
+    (92, 97, DATE '2024-05-09', 4562.00, 'card', 'completed'),
+    (93, 98, DATE '2023-10-02', 3625.93, 'bank_transfer', 'completed'),
+    (94, 99, DATE '2024-07-06', 810.92, 'card', 'pending'),
+    (95, 100, DATE '2024-09-29', 1422.98, 'paypal', 'completed'),
+    (96, 101, DATE '2024-11-11', 23.19, 'paypal', 'completed'),
+    (97, 102, DATE '2023-12-02', 5275.59, 'card', 'completed'),
+    (98, 103, DATE '2024-08-04', 195.69, 'bank_transfer', 'completed'),
+    (99, 104, DATE '2023-02-16', 1740.07, 'bank_transfer', 'completed'),
+    (100, 105, DATE '2024-10-07', 123.97, 'card', 'completed'),
+    (101, 106, DATE '2023-09-17', 1186.84, 'paypal', 'pending'),
+    (102, 107, DATE '2024-06-10', 3250.74, 'paypal', 'failed'),
+    (103, 108, DATE '2023-11-24', 1635.66, 'bank_transfer', 'completed'),
+    (104, 109, DATE '2024-01-16', 266.03, 'paypal', 'completed'),
+    (105, 110, DATE '2024-07-20', 228.32, 'card', 'completed'),
+    (106, 111, DATE '2023-07-26', 3204.57, 'bank_transfer', 'failed'),
+    (107, 112, DATE '2023-12-11', 4671.14, 'bank_transfer', 'completed'),
+    (108, 113, DATE '2024-01-06', 1248.45, 'card', 'completed'),
+    (109, 115, DATE '2023-10-07', 10122.21, 'bank_transfer', 'completed'),
+    (110, 116, DATE '2023-07-07', 1530.25, 'bank_transfer', 'failed'),
+    (111, 117, DATE '2024-05-20', 500.22, 'card', 'completed'),
+    (112, 118, DATE '2024-07-13', 1356.94, 'card', 'failed'),
+    (113, 119, DATE '2024-07-26', 272.17, 'bank_transfer', 'completed'),
+    (114, 120, DATE '2023-02-19', 1674.31, 'bank_transfer', 'completed'),
+    (115, 121, DATE '2023-03-13', 13.20, 'bank_transfer', 'completed'),
+    (116, 122, DATE '2023-09-12', 23.19, 'card', 'completed'),
+    (117, 123, DATE '2024-05-11', 2142.98, 'paypal', 'completed'),
+    (118, 124, DATE '2023-07-30', 3308.27, 'paypal', 'completed'),
+    (119, 125, DATE '2023-01-28', 5399.81, 'card', 'completed'),
+    (120, 126, DATE '2024-10-29', 650.08, 'bank_transfer', 'completed'),
+    (121, 127, DATE '2023-01-02', 4730.49, 'paypal', 'completed'),
+    (122, 128, DATE '2024-04-28', 3298.76, 'card', 'completed'),
+    (123, 129, DATE '2023-11-29', 515.72, 'bank_transfer', 'pending'),
+    (124, 130, DATE '2024-05-12', 6243.00, 'card', 'failed'),
+    (125, 131, DATE '2024-08-08', 8504.98, 'card', 'pending'),
+    (126, 132, DATE '2023-09-11', 1543.15, 'bank_transfer', 'completed'),
+    (127, 133, DATE '2023-07-28', 6267.84, 'bank_transfer', 'completed'),
+    (128, 134, DATE '2023-01-26', 5472.23, 'paypal', 'completed'),
+    (129, 135, DATE '2024-10-28', 4158.58, 'card', 'pending'),
+    (130, 136, DATE '2024-06-16', 4281.13, 'paypal', 'completed'),
+    (131, 138, DATE '2023-11-02', 69.49, 'paypal', 'completed'),
+    (132, 139, DATE '2023-08-09', 2038.62, 'card', 'completed'),
+    (133, 140, DATE '2023-04-11', 1154.14, 'card', 'failed'),
+    (134, 142, DATE '2024-08-23', 571.29, 'card', 'completed'),
+    (135, 143, DATE '2023-07-30', 2479.89, 'bank_transfer', 'completed'),
+    (136, 144, DATE '2023-04-19', 2045.22, 'bank_transfer', 'completed'),
+    (137, 145, DATE '2023-09-27', 1685.88, 'card', 'completed'),
+    (138, 146, DATE '2024-11-29', 4318.01, 'card', 'pending'),
+    (139, 147, DATE '2023-12-03', 26.40, 'paypal', 'failed'),
+    (140, 148, DATE '2024-08-29', 751.36, 'bank_transfer', 'completed'),
+    (141, 149, DATE '2023-07-19', 233.31, 'paypal', 'completed'),
+    (142, 150, DATE '2024-10-22', 4588.53, 'paypal', 'completed'),
+    (143, 152, DATE '2023-11-27', 4307.02, 'bank_transfer', 'completed'),
+    (144, 153, DATE '2024-10-07', 63.82, 'bank_transfer', 'completed'),
+    (145, 154, DATE '2024-04-21', 803.78, 'bank_transfer', 'completed'),
+    (146, 156, DATE '2023-10-14', 2461.86, 'card', 'completed'),
+    (147, 157, DATE '2023-06-17', 7974.56, 'bank_transfer', 'completed'),
+    (148, 158, DATE '2024-01-13', 4066.30, 'card', 'failed'),
+    (149, 159, DATE '2023-06-01', 13958.14, 'bank_transfer', 'completed'),
+    (150, 160, DATE '2024-11-16', 3073.91, 'bank_transfer', 'completed'),
+    (151, 161, DATE '2023-12-14', 2206.80, 'bank_transfer', 'completed'),
+    (152, 162, DATE '2024-07-29', 1699.86, 'paypal', 'completed'),
+    (153, 163, DATE '2023-06-12', 967.20, 'paypal', 'completed'),
+    (154, 164, DATE '2023-03-19', 3156.74, 'paypal', 'completed'),
+    (155, 165, DATE '2023-01-07', 1246.13, 'paypal', 'failed'),
+    (156, 167, DATE '2023-01-19', 8954.29, 'bank_transfer', 'completed'),
+    (157, 169, DATE '2023-03-15', 29.84, 'paypal', 'completed'),
+    (158, 170, DATE '2023-08-25', 7203.55, 'card', 'failed'),
+    (159, 171, DATE '2023-11-28', 297.17, 'card', 'completed'),
+    (160, 172, DATE '2024-07-21', 242.97, 'card', 'completed'),
+    (161, 173, DATE '2023-10-10', 3874.87, 'paypal', 'failed'),
+    (162, 174, DATE '2023-10-23', 2048.43, 'card', 'completed'),
+    (163, 175, DATE '2024-01-08', 407.26, 'paypal', 'completed'),
+    (164, 176, DATE '2023-07-07', 114.16, 'paypal', 'failed'),
+    (165, 177, DATE '2023-09-23', 718.89, 'card', 'completed'),
+    (166, 178, DATE '2023-12-27', 642.98, 'card', 'completed'),
+    (167, 179, DATE '2024-06-25', 2229.73, 'bank_transfer', 'completed'),
+    (168, 180, DATE '2024-04-10', 1878.40, 'paypal', 'completed'),
+    (169, 181, DATE '2023-11-30', 5502.07, 'paypal', 'completed'),
+    (170, 182, DATE '2024-05-05', 5111.01, 'paypal', 'completed'),
+    (171, 183, DATE '2023-12-14', 41.85, 'bank_transfer', 'completed'),
+    (172, 184, DATE '2023-12-18', 1218.92, 'paypal', 'completed'),
+    (173, 185, DATE '2023-12-04', 2600.77, 'paypal', 'failed'),
+    (174, 186, DATE '2024-03-30', 472.10, 'paypal', 'completed'),
+    (175, 187, DATE '2024-08-24', 1109.81, 'paypal', 'completed'),
+    (176, 188, DATE '2023-08-01', 1434.20, 'bank_transfer', 'completed'),
+    (177, 189, DATE '2024-03-21', 2088.59, 'bank_transfer', 'completed'),
+    (178, 190, DATE '2024-07-09', 329.60, 'bank_transfer', 'completed'),
+    (179, 191, DATE '2024-07-27', 127.64, 'paypal', 'completed'),
+    (180, 192, DATE '2023-12-27', 253.80, 'card', 'completed'),
+    (181, 193, DATE '2023-07-20', 1311.58, 'paypal', 'completed'),
+    (182, 194, DATE '2024-11-10', 6974.95, 'bank_transfer', 'completed'),
+    (183, 195, DATE '2023-09-27', 2453.49, 'card', 'pending'),
+    (184, 196, DATE '2024-10-25', 380.86, 'bank_transfer', 'completed'),
+    (185, 198, DATE '2023-05-08', 59.88, 'bank_transfer', 'completed'),
+    (186, 199, DATE '2023-10-11', 830.85, 'paypal', 'completed'),
+    (187, 200, DATE '2023-10-09', 3652.18, 'card', 'pending');
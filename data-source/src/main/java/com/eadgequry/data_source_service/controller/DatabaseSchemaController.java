@@ -1,10 +1,13 @@
 package com.eadgequry.data_source_service.controller;
 
 import com.eadgequry.data_source_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.data_source_service.dto.SchemaExtractionJobDTO;
 import com.eadgequry.data_source_service.service.DatabaseSchemaService;
+import com.eadgequry.data_source_service.service.SchemaExtractionJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +17,12 @@ import org.springframework.web.bind.annotation.*;
 public class DatabaseSchemaController {
 
     private final DatabaseSchemaService databaseSchemaService;
+    private final SchemaExtractionJobService schemaExtractionJobs;
 
-    public DatabaseSchemaController(DatabaseSchemaService databaseSchemaService) {
+    public DatabaseSchemaController(DatabaseSchemaService databaseSchemaService,
+                                    SchemaExtractionJobService schemaExtractionJobs) {
         this.databaseSchemaService = databaseSchemaService;
+        this.schemaExtractionJobs = schemaExtractionJobs;
     }
 
     @Operation(summary = "Get database schema by config ID", description = "Retrieve the extracted schema for a specific database configuration")
@@ -28,4 +34,31 @@ public class DatabaseSchemaController {
         DatabaseSchemaDTO schema = databaseSchemaService.getSchemaByConfigId(configId, userId);
         return ResponseEntity.ok(schema);
     }
+
+    @Operation(summary = "Re-extract database schema", description = "Start a background schema extraction, or return the one already under way")
+    @PostMapping("/config/{configId}/user/{userId}/extraction")
+    public ResponseEntity<SchemaExtractionJobDTO> startExtraction(
+            @Parameter(description = "Database configuration ID", required = true) @PathVariable Long configId,
+            @Parameter(description = "User ID", required = true) @PathVariable Long userId,
+            @Parameter(description = "Only re-read tables that changed since the last extraction")
+            @RequestParam(defaultValue = "false") boolean incremental) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(schemaExtractionJobs.submitForUser(configId, userId, incremental));
+    }
+
+    @Operation(summary = "Get schema extraction status", description = "Status and progress (tables done/total, ETA) of the latest schema extraction")
+    @GetMapping("/config/{configId}/user/{userId}/extraction")
+    public ResponseEntity<SchemaExtractionJobDTO> getExtraction(
+            @Parameter(description = "Database configuration ID", required = true) @PathVariable Long configId,
+            @Parameter(description = "User ID", required = true) @PathVariable Long userId) {
+        return ResponseEntity.ok(schemaExtractionJobs.getJob(configId, userId));
+    }
+
+    @Operation(summary = "Cancel schema extraction", description = "Cancel a queued or running schema extraction; nothing is saved")
+    @DeleteMapping("/config/{configId}/user/{userId}/extraction")
+    public ResponseEntity<SchemaExtractionJobDTO> cancelExtraction(
+            @Parameter(description = "Database configuration ID", required = true) @PathVariable Long configId,
+            @Parameter(description = "User ID", required = true) @PathVariable Long userId) {
+        return ResponseEntity.ok(schemaExtractionJobs.cancel(configId, userId));
+    }
 }
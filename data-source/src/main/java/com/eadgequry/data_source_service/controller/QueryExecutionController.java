@@ -2,16 +2,32 @@ package com.eadgequry.data_source_service.controller;
 
 import com.eadgequry.data_source_service.dto.QueryExecutionRequest;
 import com.eadgequry.data_source_service.dto.QueryExecutionResponse;
+import com.eadgequry.data_source_service.dto.ResultLayout;
+import com.eadgequry.data_source_service.dto.RunningQueryDTO;
+import com.eadgequry.data_source_service.exception.RunningQueryNotFoundException;
 import com.eadgequry.data_source_service.service.QueryExecutionService;
+import com.eadgequry.data_source_service.service.RunningQueryRegistry;
+import com.eadgequry.data_source_service.stream.ResultStreamFormat;
+import io.micrometer.context.ContextSnapshotFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/datasource/query")
@@ -21,24 +37,134 @@ public class QueryExecutionController {
 
     private static final Logger log = LoggerFactory.getLogger(QueryExecutionController.class);
 
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    // Slack on top of the statement timeout before the servlet container gives up on the request
+    private static final long REQUEST_TIMEOUT_SLACK_MS = 5000;
+
+    // Lets a streaming client cancel its own query through DELETE /running/{queryId}
+    private static final String QUERY_ID_HEADER = "X-Query-Id";
+
     private final QueryExecutionService queryExecutionService;
+    private final RunningQueryRegistry runningQueries;
 
     /**
      * Execute SQL query on a configured database
      * Note: Only SELECT queries are allowed for security
+     *
+     * Runs asynchronously so the container can report a client disconnect or request timeout
+     * while the statement is still executing; either one cancels the statement.
      */
     @PostMapping("/execute")
     @Operation(summary = "Execute SQL query", description = "Execute a SELECT query on the specified database configuration")
-    public ResponseEntity<QueryExecutionResponse> executeQuery(
+    public WebAsyncTask<ResponseEntity<QueryExecutionResponse>> executeQuery(
             @Parameter(description = "Database config ID") @RequestParam Long databaseConfigId,
             @Parameter(description = "User ID") @RequestParam Long userId,
+            @Parameter(description = "Maximum rows to return (capped by the server limit)") @RequestParam(required = false) Integer maxRows,
+            @Parameter(description = "Maximum result size in bytes (capped by the server limit)") @RequestParam(required = false) Long maxBytes,
+            @Parameter(description = "objects (one map per row) or compact (column header plus row arrays)") @RequestParam(defaultValue = "objects") String layout,
             @RequestBody String sqlQuery) {
 
-        log.info("Executing query for user {} on database config {}", userId, databaseConfigId);
+        ResultLayout resultLayout = ResultLayout.from(layout);
+        String queryId = runningQueries.newQueryId();
+        log.info("Executing query {} for user {} on database config {}", queryId, userId, databaseConfigId);
+
+        WebAsyncTask<ResponseEntity<QueryExecutionResponse>> task = new WebAsyncTask<>(
+                queryExecutionService.maxQueryDurationMillis() + REQUEST_TIMEOUT_SLACK_MS,
+                queryExecutionService.taskExecutor(),
+                CONTEXT_SNAPSHOTS.captureAll().wrap(() -> ResponseEntity.ok(queryExecutionService.executeQuery(
+                        queryId, databaseConfigId, userId, sqlQuery, maxRows, maxBytes).withLayout(resultLayout))));
+
+        task.onError(() -> {
+            runningQueries.cancelOnAbandon(queryId);
+            return ResponseEntity.ok(QueryExecutionResponse.error(sqlQuery, "Query was cancelled"));
+        });
+        task.onTimeout(() -> {
+            runningQueries.cancelOnAbandon(queryId);
+            return ResponseEntity.ok(QueryExecutionResponse.error(sqlQuery, "Query timed out and was cancelled"));
+        });
+        // Also covers a query the executor rejected, which never gets to finish its id
+        task.onCompletion(() -> runningQueries.release(queryId));
+        return task;
+    }
+
+    /**
+     * List the user's queries that are currently executing
+     */
+    @GetMapping("/running")
+    @Operation(summary = "List running queries", description = "List the user's queries that are still executing")
+    public ResponseEntity<List<RunningQueryDTO>> getRunningQueries(
+            @Parameter(description = "User ID") @RequestParam Long userId) {
+        return ResponseEntity.ok(runningQueries.listForUser(userId));
+    }
+
+    /**
+     * Cancel one of the user's running queries
+     */
+    @DeleteMapping("/running/{queryId}")
+    @Operation(summary = "Cancel running query", description = "Cancel one of the user's queries that is still executing")
+    public ResponseEntity<Void> cancelQuery(
+            @Parameter(description = "Running query ID") @PathVariable String queryId,
+            @Parameter(description = "User ID") @RequestParam Long userId) {
+        if (!runningQueries.cancelForUser(queryId, userId)) {
+            throw new RunningQueryNotFoundException(queryId);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stream query results as they are read from the database instead of buffering them.
+     * Rows are written with a bounded fetch size and memory stays flat regardless of result size;
+     * a slow reader simply slows the database cursor down, up to the stream's time budget.
+     * The body runs on the query executor under its own request timeout; a timeout or client
+     * disconnect cancels the statement.
+     */
+    @PostMapping("/stream")
+    @Operation(summary = "Stream SQL query results",
+            description = "Execute a SELECT query and stream rows as NDJSON (default) or compact columnar binary frames")
+    public ResponseEntity<StreamingResponseBody> streamQuery(
+            @Parameter(description = "Database config ID") @RequestParam Long databaseConfigId,
+            @Parameter(description = "User ID") @RequestParam Long userId,
+            @Parameter(description = "Maximum rows to stream (capped by the server limit)") @RequestParam(required = false) Integer maxRows,
+            @Parameter(description = "ndjson or columnar") @RequestParam(defaultValue = "ndjson") String format,
+            @RequestBody String sqlQuery,
+            HttpServletRequest request) {
+
+        ResultStreamFormat streamFormat = ResultStreamFormat.from(format);
+        String queryId = runningQueries.newQueryId();
+        log.info("Streaming query {} for user {} on database config {} as {}", queryId, userId, databaseConfigId,
+                streamFormat);
+
+        StreamingResponseBody body = queryExecutionService.streamQuery(queryId, databaseConfigId, userId, sqlQuery,
+                maxRows, streamFormat);
+
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(queryExecutionService.taskExecutor());
+        asyncManager.getAsyncWebRequest().setTimeout(
+                queryExecutionService.maxStreamDurationMillis() + REQUEST_TIMEOUT_SLACK_MS);
+        asyncManager.registerCallableInterceptor(queryId, new CallableProcessingInterceptor() {
+            @Override
+            public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> task) {
+                runningQueries.cancelOnAbandon(queryId);
+                return RESULT_NONE;
+            }
+
+            @Override
+            public <T> Object handleError(NativeWebRequest webRequest, Callable<T> task, Throwable t) {
+                runningQueries.cancelOnAbandon(queryId);
+                return RESULT_NONE;
+            }
 
-        QueryExecutionResponse response = queryExecutionService.executeQuery(databaseConfigId, userId, sqlQuery);
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                runningQueries.release(queryId);
+            }
+        });
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(streamFormat.getMediaType())
+                .header(QUERY_ID_HEADER, queryId)
+                .body(body);
     }
 
     /**
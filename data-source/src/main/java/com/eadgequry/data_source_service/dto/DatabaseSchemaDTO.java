@@ -7,6 +7,7 @@ public class DatabaseSchemaDTO {
     private Long databaseConfigId;
     private String schemaJson;
     private LocalDateTime extractedAt;
+    private Long schemaVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -47,6 +48,14 @@ public class DatabaseSchemaDTO {
         this.extractedAt = extractedAt;
     }
 
+    public Long getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(Long schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,26 +1,50 @@
 package com.eadgequry.data_source_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class QueryExecutionResponse {
 
     private boolean success;
     private String sqlQuery;
+
+    // Row objects keyed by column label; only filled for the OBJECTS layout
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Map<String, Object>> result;
+
+    // Compact layout: one header plus rows as arrays in column order
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ResultColumn> columns;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Object[]> rows;
+
     private Integer rowCount;
     private Long executionTimeMs;
     private String error;
 
+    // True when the row or byte cap stopped reading before the end of the result set
+    private boolean truncated;
+
+    // Rows read from the database, including the one that revealed truncation
+    private Integer rowsScanned;
+
+    // EXPLAIN estimate checked by the cost guard before execution; absent when no plan was taken
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private QueryPlanSummary plan;
+
     public static QueryExecutionResponse success(String sqlQuery, List<Map<String, Object>> result, Long executionTimeMs) {
         return QueryExecutionResponse.builder()
                 .success(true)
@@ -28,6 +52,21 @@ public class QueryExecutionResponse {
                 .result(result)
                 .rowCount(result != null ? result.size() : 0)
                 .executionTimeMs(executionTimeMs)
+                .rowsScanned(result != null ? result.size() : 0)
+                .build();
+    }
+
+    public static QueryExecutionResponse success(String sqlQuery, List<ResultColumn> columns, List<Object[]> rows,
+                                                 Long executionTimeMs, boolean truncated, int rowsScanned) {
+        return QueryExecutionResponse.builder()
+                .success(true)
+                .sqlQuery(sqlQuery)
+                .columns(columns)
+                .rows(rows)
+                .rowCount(rows != null ? rows.size() : 0)
+                .executionTimeMs(executionTimeMs)
+                .truncated(truncated)
+                .rowsScanned(rowsScanned)
                 .build();
     }
 
@@ -38,4 +77,38 @@ public class QueryExecutionResponse {
                 .error(error)
                 .build();
     }
+
+    public static QueryExecutionResponse rejected(String sqlQuery, String error, QueryPlanSummary plan) {
+        return QueryExecutionResponse.builder()
+                .success(false)
+                .sqlQuery(sqlQuery)
+                .error(error)
+                .plan(plan)
+                .build();
+    }
+
+    /**
+     * Same response in the requested layout. Converting to OBJECTS rebuilds one map per row,
+     * so it is only done for clients that ask for it.
+     */
+    public QueryExecutionResponse withLayout(ResultLayout layout) {
+        if (layout == ResultLayout.COMPACT || columns == null) {
+            return this;
+        }
+
+        List<Map<String, Object>> objects = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                object.put(columns.get(i).getName(), row[i]);
+            }
+            objects.add(object);
+        }
+
+        return toBuilder()
+                .result(objects)
+                .columns(null)
+                .rows(null)
+                .build();
+    }
 }
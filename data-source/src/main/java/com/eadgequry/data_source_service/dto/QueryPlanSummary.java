@@ -0,0 +1,61 @@
+package com.eadgequry.data_source_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the database's EXPLAIN estimated for a query, and what the cost guard made of it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryPlanSummary {
+
+    public enum Verdict {
+        OK, WARN, REJECTED
+    }
+
+    private String databaseType;
+
+    // Largest row estimate of any plan node (scan, join or result)
+    private Long estimatedRows;
+
+    // Optimizer cost of the whole statement, in the database's own units
+    private Double estimatedCost;
+
+    // Tables the plan reads with a full scan
+    @Builder.Default
+    private List<String> fullScans = new ArrayList<>();
+
+    // Thresholds the estimate went over
+    @Builder.Default
+    private List<String> violations = new ArrayList<>();
+
+    private Verdict verdict;
+
+    @JsonIgnore
+    public boolean isRejected() {
+        return verdict == Verdict.REJECTED;
+    }
+
+    /**
+     * One-line description, used in error messages and as feedback when asking for a cheaper query
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder("estimated rows ").append(estimatedRows);
+        if (estimatedCost != null) {
+            text.append(", estimated cost ").append(Math.round(estimatedCost));
+        }
+        if (!fullScans.isEmpty()) {
+            text.append(", full scans of ").append(String.join(", ", fullScans));
+        }
+        return text.toString();
+    }
+}
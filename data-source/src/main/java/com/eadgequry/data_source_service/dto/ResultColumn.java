@@ -0,0 +1,29 @@
+package com.eadgequry.data_source_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.JDBCType;
+
+/**
+ * Column header of a compact query result
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultColumn {
+
+    private String name;
+
+    // JDBC type name, e.g. INTEGER, VARCHAR, TIMESTAMP
+    private String type;
+
+    public static String typeName(int sqlType) {
+        try {
+            return JDBCType.valueOf(sqlType).getName();
+        } catch (IllegalArgumentException e) {
+            return "OTHER";
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.eadgequry.data_source_service.dto;
+
+/**
+ * Shape of the rows in a {@link QueryExecutionResponse}
+ */
+public enum ResultLayout {
+
+    // One JSON object per row keyed by column label (original format, kept for old clients)
+    OBJECTS,
+
+    // One header of columns plus rows as arrays in column order
+    COMPACT;
+
+    public static ResultLayout from(String value) {
+        if (value == null || value.isBlank()) {
+            return OBJECTS;
+        }
+        for (ResultLayout layout : values()) {
+            if (layout.name().equalsIgnoreCase(value.trim())) {
+                return layout;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported result layout: " + value + ". Use objects or compact.");
+    }
+}
@@ -0,0 +1,25 @@
+package com.eadgequry.data_source_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunningQueryDTO {
+
+    private String queryId;
+    private Long userId;
+    private Long databaseConfigId;
+
+    // Short hash of the normalized SQL; the text itself may contain customer data
+    private String sqlFingerprint;
+
+    private Instant startedAt;
+    private Long elapsedMs;
+}
@@ -0,0 +1,45 @@
+package com.eadgequry.data_source_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaExtractionJobDTO {
+
+    private String jobId;
+    private Long databaseConfigId;
+
+    // "full", or "incremental" for a refresh that re-reads only changed tables
+    private String kind;
+
+    // QUEUED, RUNNING, SUCCEEDED, PARTIAL, FAILED or CANCELLED
+    private String status;
+
+    // Extraction step in progress, e.g. "columns" or "table details"
+    private String phase;
+
+    private Integer tablesDone;
+
+    // Null until the tables have been listed
+    private Integer tablesTotal;
+
+    // Null while the rate is unknown; bulk catalog reads only report tables at the end
+    private Long etaMs;
+
+    private String message;
+
+    // Version of the stored schema this job saved, if it saved one
+    private Long schemaVersion;
+
+    private Instant queuedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long elapsedMs;
+}
@@ -0,0 +1,18 @@
+package com.eadgequry.data_source_service.exception;
+
+import com.eadgequry.data_source_service.dto.QueryPlanSummary;
+
+public class QueryCostExceededException extends RuntimeException {
+
+    private final QueryPlanSummary plan;
+
+    public QueryCostExceededException(QueryPlanSummary plan) {
+        super("Query rejected by cost guard: " + String.join("; ", plan.getViolations())
+                + " (" + plan.describe() + ")");
+        this.plan = plan;
+    }
+
+    public QueryPlanSummary getPlan() {
+        return plan;
+    }
+}
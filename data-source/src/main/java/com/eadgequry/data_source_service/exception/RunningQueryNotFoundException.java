@@ -0,0 +1,7 @@
+package com.eadgequry.data_source_service.exception;
+
+public class RunningQueryNotFoundException extends RuntimeException {
+    public RunningQueryNotFoundException(String queryId) {
+        super("No running query found with id: " + queryId);
+    }
+}
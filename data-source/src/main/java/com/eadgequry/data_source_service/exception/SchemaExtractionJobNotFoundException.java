@@ -0,0 +1,7 @@
+package com.eadgequry.data_source_service.exception;
+
+public class SchemaExtractionJobNotFoundException extends RuntimeException {
+    public SchemaExtractionJobNotFoundException(Long configId) {
+        super("No schema extraction found for config id: " + configId);
+    }
+}
@@ -1,7 +1,11 @@
 package com.eadgequry.data_source_service.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
 @Table(name = "database_schema", indexes = {
@@ -29,6 +33,15 @@ public class DatabaseSchema {
     @Column(name = "extracted_at")
     private LocalDateTime extractedAt;
 
+    // Bumped on every change to schemaJson
+    @Column(name = "schema_version", nullable = false)
+    private Long schemaVersion = 1L;
+
+    // "schema.table" -> catalog change signature, compared by the incremental refresh
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "table_signatures", columnDefinition = "JSON")
+    private Map<String, String> tableSignatures;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -90,6 +103,22 @@ public class DatabaseSchema {
         this.extractedAt = extractedAt;
     }
 
+    public Long getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(Long schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
+    public Map<String, String> getTableSignatures() {
+        return tableSignatures;
+    }
+
+    public void setTableSignatures(Map<String, String> tableSignatures) {
+        this.tableSignatures = tableSignatures;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,182 @@
+package com.eadgequry.data_source_service.plan;
+
+import com.eadgequry.data_source_service.dto.QueryPlanSummary;
+import com.eadgequry.data_source_service.exception.QueryCostExceededException;
+import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Explains a query before it runs and stops it when the optimizer expects it to be too
+ * expensive. Limits come from datasource.query.cost-guard.*; a config can override them with
+ * connectionProperties.costGuardMode (reject, warn or off), maxEstimatedRows and maxEstimatedCost.
+ *
+ * The guard fails open: when the database type has no EXPLAIN support here or the EXPLAIN itself
+ * fails, the query runs as before without a plan.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCostGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCostGuard.class);
+
+    static final String MODE_PROPERTY = "costGuardMode";
+    static final String MAX_ROWS_PROPERTY = "maxEstimatedRows";
+    static final String MAX_COST_PROPERTY = "maxEstimatedCost";
+
+    public enum Mode {
+        REJECT, WARN, OFF
+    }
+
+    private final ConnectionPoolRegistry connectionPools;
+    private final QueryPlanExplainer explainer;
+
+    @Value("${datasource.query.cost-guard.mode:reject}")
+    private String mode;
+
+    @Value("${datasource.query.cost-guard.max-estimated-rows:50000000}")
+    private long maxEstimatedRows;
+
+    // Cost units differ per database, so there is no global cost limit unless one is configured (0 = none)
+    @Value("${datasource.query.cost-guard.max-estimated-cost:0}")
+    private double maxEstimatedCost;
+
+    @Value("${datasource.query.cost-guard.explain-timeout-seconds:10}")
+    private int explainTimeoutSeconds;
+
+    /**
+     * Explain the query and check the estimate against the config's limits.
+     * Returns null when no plan was taken, throws QueryCostExceededException when the query is rejected.
+     */
+    public QueryPlanSummary guard(DatabaseConfig config, String jdbcUrl, String sqlQuery) {
+        Mode effectiveMode = effectiveMode(config);
+        if (effectiveMode == Mode.OFF || !explainer.supports(config.getType())) {
+            return null;
+        }
+
+        QueryPlanExplainer.PlanEstimate estimate;
+        try (Connection connection = connectionPools.getConnection(config.getId(), jdbcUrl, config.getUsername(),
+                config.getPassword())) {
+            estimate = explainer.explain(connection, config.getType(), sqlQuery, explainTimeoutSeconds);
+        } catch (SQLException e) {
+            log.warn("EXPLAIN failed on database config {}, running query without cost check: {}",
+                    config.getId(), e.getMessage());
+            return null;
+        }
+        if (estimate == null) {
+            return null;
+        }
+
+        QueryPlanSummary plan = evaluate(config.getType().toLowerCase(), estimate, effectiveMode,
+                effectiveMaxRows(config), effectiveMaxCost(config));
+        if (plan.isRejected()) {
+            log.info("Cost guard rejected query on database config {}: {}", config.getId(), plan.describe());
+            throw new QueryCostExceededException(plan);
+        }
+        if (plan.getVerdict() == QueryPlanSummary.Verdict.WARN) {
+            log.info("Cost guard let expensive query through on database config {}: {}", config.getId(),
+                    plan.describe());
+        }
+        return plan;
+    }
+
+    /**
+     * Upper bound for the time spent explaining before a query starts
+     */
+    public long explainTimeoutMillis() {
+        return explainTimeoutSeconds * 1000L;
+    }
+
+    /**
+     * Compare an estimate with the limits; a limit of 0 or less is not checked
+     */
+    static QueryPlanSummary evaluate(String databaseType, QueryPlanExplainer.PlanEstimate estimate, Mode mode,
+                                     long maxRows, double maxCost) {
+        List<String> violations = new ArrayList<>();
+        if (maxRows > 0 && estimate.estimatedRows() > maxRows) {
+            violations.add("estimated rows " + estimate.estimatedRows() + " exceed limit " + maxRows);
+        }
+        if (maxCost > 0 && estimate.estimatedCost() != null && estimate.estimatedCost() > maxCost) {
+            violations.add("estimated cost " + Math.round(estimate.estimatedCost()) + " exceeds limit "
+                    + Math.round(maxCost));
+        }
+
+        QueryPlanSummary.Verdict verdict = violations.isEmpty() ? QueryPlanSummary.Verdict.OK
+                : mode == Mode.REJECT ? QueryPlanSummary.Verdict.REJECTED : QueryPlanSummary.Verdict.WARN;
+
+        return QueryPlanSummary.builder()
+                .databaseType(databaseType)
+                .estimatedRows(estimate.estimatedRows())
+                .estimatedCost(estimate.estimatedCost())
+                .fullScans(new ArrayList<>(estimate.fullScans()))
+                .violations(violations)
+                .verdict(verdict)
+                .build();
+    }
+
+    Mode effectiveMode(DatabaseConfig config) {
+        Mode globalMode = parseMode(mode);
+        Object configured = property(config, MODE_PROPERTY);
+        if (configured == null) {
+            return globalMode;
+        }
+        try {
+            return Mode.valueOf(configured.toString().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid {} '{}' on database config {}", MODE_PROPERTY, configured, config.getId());
+            return globalMode;
+        }
+    }
+
+    private static Mode parseMode(String value) {
+        try {
+            return value != null ? Mode.valueOf(value.trim().toUpperCase()) : Mode.REJECT;
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown datasource.query.cost-guard.mode '{}', rejecting expensive queries", value);
+            return Mode.REJECT;
+        }
+    }
+
+    long effectiveMaxRows(DatabaseConfig config) {
+        Object configured = property(config, MAX_ROWS_PROPERTY);
+        if (configured == null) {
+            return maxEstimatedRows;
+        }
+        try {
+            return Long.parseLong(configured.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} '{}' on database config {}", MAX_ROWS_PROPERTY, configured,
+                    config.getId());
+            return maxEstimatedRows;
+        }
+    }
+
+    double effectiveMaxCost(DatabaseConfig config) {
+        Object configured = property(config, MAX_COST_PROPERTY);
+        if (configured == null) {
+            return maxEstimatedCost;
+        }
+        try {
+            return Double.parseDouble(configured.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} '{}' on database config {}", MAX_COST_PROPERTY, configured,
+                    config.getId());
+            return maxEstimatedCost;
+        }
+    }
+
+    private static Object property(DatabaseConfig config, String name) {
+        Map<String, Object> properties = config.getConnectionProperties();
+        return properties != null ? properties.get(name) : null;
+    }
+}
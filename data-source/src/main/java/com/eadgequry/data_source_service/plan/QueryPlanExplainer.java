@@ -0,0 +1,278 @@
+package com.eadgequry.data_source_service.plan;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Runs the database's own EXPLAIN for a query without executing it and reduces the plan to
+ * a few numbers: the largest row estimate of any plan node, the total optimizer cost and the
+ * tables read with a full scan.
+ *
+ * MySQL uses {@code EXPLAIN FORMAT=JSON}, PostgreSQL {@code EXPLAIN (FORMAT JSON)}, SQL Server
+ * {@code SET SHOWPLAN_XML ON} and Oracle {@code EXPLAIN PLAN} into PLAN_TABLE. Other database
+ * types are not explained.
+ */
+@Component
+public class QueryPlanExplainer {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("mysql", "postgresql", "sqlserver", "oracle");
+    private static final Set<String> SQL_SERVER_FULL_SCANS = Set.of("Table Scan", "Clustered Index Scan");
+
+    private final ObjectMapper objectMapper;
+
+    public QueryPlanExplainer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean supports(String databaseType) {
+        return databaseType != null && SUPPORTED_TYPES.contains(databaseType.toLowerCase());
+    }
+
+    /**
+     * Explain the query on the given connection. Returns null for unsupported database types.
+     */
+    public PlanEstimate explain(Connection connection, String databaseType, String sqlQuery, int timeoutSeconds)
+            throws SQLException {
+        return switch (databaseType.toLowerCase()) {
+            case "mysql" -> parseMySql(readJson(queryForText(connection,
+                    "EXPLAIN FORMAT=JSON " + sqlQuery, timeoutSeconds)));
+            case "postgresql" -> parsePostgreSql(readJson(queryForText(connection,
+                    "EXPLAIN (FORMAT JSON) " + sqlQuery, timeoutSeconds)));
+            case "sqlserver" -> parseSqlServer(showplanXml(connection, sqlQuery, timeoutSeconds));
+            case "oracle" -> explainOracle(connection, sqlQuery, timeoutSeconds);
+            default -> null;
+        };
+    }
+
+    /**
+     * {"query_block": {"cost_info": {"query_cost": "..."}, "nested_loop": [{"table": {...}}]}}
+     */
+    static PlanEstimate parseMySql(JsonNode plan) {
+        PlanEstimate.Builder estimate = new PlanEstimate.Builder();
+        JsonNode queryCost = plan.path("query_block").path("cost_info").path("query_cost");
+        if (!queryCost.isMissingNode()) {
+            estimate.cost(queryCost.asDouble());
+        }
+        walkMySql(plan, estimate);
+        return estimate.build();
+    }
+
+    private static void walkMySql(JsonNode node, PlanEstimate.Builder estimate) {
+        if (node.isObject()) {
+            if (node.has("table_name")) {
+                estimate.rows(node.path("rows_examined_per_scan").asDouble(0));
+                estimate.rows(node.path("rows_produced_per_join").asDouble(0));
+                if ("ALL".equals(node.path("access_type").asText())) {
+                    estimate.fullScan(node.path("table_name").asText());
+                }
+            }
+            node.elements().forEachRemaining(child -> walkMySql(child, estimate));
+        } else if (node.isArray()) {
+            node.elements().forEachRemaining(child -> walkMySql(child, estimate));
+        }
+    }
+
+    /**
+     * [{"Plan": {"Node Type": "...", "Total Cost": 0.0, "Plan Rows": 0, "Plans": [...]}}]
+     */
+    static PlanEstimate parsePostgreSql(JsonNode plan) {
+        PlanEstimate.Builder estimate = new PlanEstimate.Builder();
+        JsonNode root = plan.path(0).path("Plan");
+        if (root.has("Total Cost")) {
+            estimate.cost(root.path("Total Cost").asDouble());
+        }
+        walkPostgreSql(root, estimate);
+        return estimate.build();
+    }
+
+    private static void walkPostgreSql(JsonNode node, PlanEstimate.Builder estimate) {
+        estimate.rows(node.path("Plan Rows").asDouble(0));
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            estimate.fullScan(node.path("Relation Name").asText());
+        }
+        node.path("Plans").elements().forEachRemaining(child -> walkPostgreSql(child, estimate));
+    }
+
+    /**
+     * ShowPlanXML with StmtSimple/@StatementSubTreeCost and nested RelOp/@EstimateRows
+     */
+    static PlanEstimate parseSqlServer(String showplanXml) throws SQLException {
+        Document document = readXml(showplanXml);
+        PlanEstimate.Builder estimate = new PlanEstimate.Builder();
+
+        NodeList statements = document.getElementsByTagNameNS("*", "StmtSimple");
+        double cost = 0;
+        for (int i = 0; i < statements.getLength(); i++) {
+            cost += parseDouble(((Element) statements.item(i)).getAttribute("StatementSubTreeCost"));
+        }
+        if (statements.getLength() > 0) {
+            estimate.cost(cost);
+        }
+
+        NodeList operators = document.getElementsByTagNameNS("*", "RelOp");
+        for (int i = 0; i < operators.getLength(); i++) {
+            Element operator = (Element) operators.item(i);
+            estimate.rows(parseDouble(operator.getAttribute("EstimateRows")));
+            if (SQL_SERVER_FULL_SCANS.contains(operator.getAttribute("PhysicalOp"))) {
+                NodeList objects = operator.getElementsByTagNameNS("*", "Object");
+                if (objects.getLength() > 0) {
+                    String table = ((Element) objects.item(0)).getAttribute("Table");
+                    estimate.fullScan(table.replace("[", "").replace("]", ""));
+                }
+            }
+        }
+        return estimate.build();
+    }
+
+    /**
+     * Read back the rows EXPLAIN PLAN wrote for one statement id
+     */
+    static PlanEstimate readOraclePlan(Connection connection, String statementId) throws SQLException {
+        PlanEstimate.Builder estimate = new PlanEstimate.Builder();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, operation, options, object_name, cardinality, cost FROM plan_table "
+                        + "WHERE statement_id = ? ORDER BY id")) {
+            statement.setString(1, statementId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    estimate.rows(resultSet.getDouble("cardinality"));
+                    if (resultSet.getInt("id") == 0) {
+                        double cost = resultSet.getDouble("cost");
+                        if (!resultSet.wasNull()) {
+                            estimate.cost(cost);
+                        }
+                    }
+                    if ("TABLE ACCESS".equals(resultSet.getString("operation"))
+                            && "FULL".equals(resultSet.getString("options"))) {
+                        estimate.fullScan(resultSet.getString("object_name"));
+                    }
+                }
+            }
+        }
+        return estimate.build();
+    }
+
+    private PlanEstimate explainOracle(Connection connection, String sqlQuery, int timeoutSeconds)
+            throws SQLException {
+        // STATEMENT_ID is at most 30 characters
+        String statementId = "eq" + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            statement.execute("EXPLAIN PLAN SET STATEMENT_ID = '" + statementId + "' FOR " + sqlQuery);
+        }
+        try {
+            return readOraclePlan(connection, statementId);
+        } finally {
+            try (PreparedStatement cleanup = connection.prepareStatement(
+                    "DELETE FROM plan_table WHERE statement_id = ?")) {
+                cleanup.setString(1, statementId);
+                cleanup.executeUpdate();
+            }
+        }
+    }
+
+    private static String showplanXml(Connection connection, String sqlQuery, int timeoutSeconds)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            statement.execute("SET SHOWPLAN_XML ON");
+            try (ResultSet resultSet = statement.executeQuery(sqlQuery)) {
+                return resultSet.next() ? resultSet.getString(1) : "";
+            } finally {
+                // The connection goes back to the pool; never leave it in showplan mode
+                statement.execute("SET SHOWPLAN_XML OFF");
+            }
+        }
+    }
+
+    private static String queryForText(Connection connection, String sql, int timeoutSeconds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                return resultSet.next() ? resultSet.getString(1) : "";
+            }
+        }
+    }
+
+    private JsonNode readJson(String json) throws SQLException {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable EXPLAIN output: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static Document readXml(String xml) throws SQLException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new SQLException("Unreadable showplan output: " + e.getMessage(), e);
+        }
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return value == null || value.isEmpty() ? 0 : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reduced plan: largest row estimate of any node, statement cost (null when the plan has none)
+     * and tables read with a full scan
+     */
+    public record PlanEstimate(long estimatedRows, Double estimatedCost, List<String> fullScans) {
+
+        static final class Builder {
+            private double rows;
+            private Double cost;
+            private final List<String> fullScans = new ArrayList<>();
+
+            void rows(double candidate) {
+                rows = Math.max(rows, candidate);
+            }
+
+            void cost(double value) {
+                cost = value;
+            }
+
+            void fullScan(String table) {
+                if (table != null && !table.isEmpty() && !fullScans.contains(table)) {
+                    fullScans.add(table);
+                }
+            }
+
+            PlanEstimate build() {
+                return new PlanEstimate(Math.round(rows), cost, List.copyOf(fullScans));
+            }
+        }
+    }
+}
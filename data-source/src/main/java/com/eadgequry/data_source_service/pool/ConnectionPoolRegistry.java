@@ -0,0 +1,270 @@
+package com.eadgequry.data_source_service.pool;
+
+import com.eadgequry.data_source_service.exception.DatabaseConnectionException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import com.zaxxer.hikari.pool.HikariPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small HikariCP pools for customer databases, one per {@code DatabaseConfig}.
+ *
+ * Pools are created lazily on first use and keyed by config id. Each pool remembers a
+ * fingerprint of its URL and credentials, so a config whose connection details changed
+ * gets a fresh pool instead of silently reusing the old one. Pools unused for longer than
+ * {@code datasource.pools.idle-eviction-minutes} are closed by a periodic sweep, and the
+ * total number of pools and connections is capped; when a new pool would exceed the cap,
+ * the least recently used idle pool is closed to make room.
+ *
+ * Every pool reports {@code hikaricp.connections.*} meters tagged with its pool name
+ * ({@code datasource-config-<id>}) through actuator.
+ */
+@Component
+public class ConnectionPoolRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolRegistry.class);
+
+    static final String POOL_NAME_PREFIX = "datasource-config-";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, PooledDataSource> pools = new ConcurrentHashMap<>();
+
+    @Value("${datasource.pools.max-pools:50}")
+    private int maxPools;
+
+    @Value("${datasource.pools.max-total-connections:200}")
+    private int maxTotalConnections;
+
+    @Value("${datasource.pools.max-pool-size:5}")
+    private int maxPoolSize;
+
+    @Value("${datasource.pools.connection-timeout-ms:10000}")
+    private long connectionTimeoutMs;
+
+    @Value("${datasource.pools.connection-idle-timeout-ms:120000}")
+    private long connectionIdleTimeoutMs;
+
+    @Value("${datasource.pools.idle-eviction-minutes:10}")
+    private long idleEvictionMinutes;
+
+    public ConnectionPoolRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("datasource.pools.open", pools, Map::size)
+                .description("Number of open customer database connection pools")
+                .register(meterRegistry);
+        Gauge.builder("datasource.pools.connections", this, ConnectionPoolRegistry::totalConnections)
+                .description("Connections currently held across all customer database pools")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Borrow a connection for the given config. Closing the connection returns it to the pool.
+     * Configs that have not been saved yet (no id) get a plain one-off connection.
+     */
+    public Connection getConnection(Long configId, String jdbcUrl, String username, String password) throws SQLException {
+        if (configId == null) {
+            return DriverManager.getConnection(jdbcUrl, username, password);
+        }
+
+        PooledDataSource pooled = dataSourceFor(configId, jdbcUrl, username, password);
+        pooled.touch();
+        try {
+            return pooled.dataSource().getConnection();
+        } catch (SQLException e) {
+            if (!pooled.dataSource().isClosed()) {
+                throw e;
+            }
+            // Pool was evicted between lookup and borrow; open a fresh one
+            return dataSourceFor(configId, jdbcUrl, username, password).dataSource().getConnection();
+        }
+    }
+
+    /**
+     * Close the pool of a config whose connection details changed or which was deleted.
+     */
+    public void evict(Long configId) {
+        if (configId == null) {
+            return;
+        }
+        PooledDataSource removed = pools.remove(configId);
+        if (removed != null) {
+            log.info("Closing connection pool for database config ID: {}", configId);
+            removed.dataSource().close();
+        }
+    }
+
+    /**
+     * Close pools that have not handed out a connection within the idle eviction window.
+     */
+    @Scheduled(fixedDelayString = "${datasource.pools.eviction-interval-ms:60000}")
+    public synchronized void evictIdlePools() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMinutes * 60_000;
+        pools.forEach((configId, pooled) -> {
+            if (pooled.lastUsedAt() < cutoff && pooled.activeConnections() == 0) {
+                log.debug("Evicting idle connection pool for database config ID: {}", configId);
+                evict(configId);
+            }
+        });
+    }
+
+    public int poolCount() {
+        return pools.size();
+    }
+
+    boolean hasPool(Long configId) {
+        return pools.containsKey(configId);
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.keySet().forEach(this::evict);
+    }
+
+    private PooledDataSource dataSourceFor(Long configId, String jdbcUrl, String username, String password)
+            throws SQLException {
+        String fingerprint = fingerprint(jdbcUrl, username, password);
+
+        PooledDataSource existing = pools.get(configId);
+        if (existing != null && existing.fingerprint().equals(fingerprint)) {
+            return existing;
+        }
+
+        synchronized (this) {
+            existing = pools.get(configId);
+            if (existing != null) {
+                if (existing.fingerprint().equals(fingerprint)) {
+                    return existing;
+                }
+                evict(configId);
+            }
+
+            makeRoom();
+
+            PooledDataSource created = new PooledDataSource(fingerprint,
+                    createDataSource(configId, jdbcUrl, username, password));
+            pools.put(configId, created);
+            log.info("Opened connection pool for database config ID: {} ({} pools open)", configId, pools.size());
+            return created;
+        }
+    }
+
+    /**
+     * Close least recently used idle pools until another pool fits under both caps.
+     */
+    private void makeRoom() {
+        while (pools.size() >= maxPools || (pools.size() + 1) * maxPoolSize > maxTotalConnections) {
+            Optional<Map.Entry<Long, PooledDataSource>> victim = pools.entrySet().stream()
+                    .filter(entry -> entry.getValue().activeConnections() == 0)
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastUsedAt()));
+
+            if (victim.isEmpty()) {
+                throw new DatabaseConnectionException(
+                        "Connection pool limit reached: " + pools.size() + " database pools are busy");
+            }
+            log.debug("Evicting least recently used connection pool for database config ID: {}", victim.get().getKey());
+            evict(victim.get().getKey());
+        }
+    }
+
+    private HikariDataSource createDataSource(Long configId, String jdbcUrl, String username, String password)
+            throws SQLException {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(POOL_NAME_PREFIX + configId);
+        hikariConfig.setJdbcUrl(jdbcUrl);
+        hikariConfig.setUsername(username);
+        hikariConfig.setPassword(password);
+        hikariConfig.setMaximumPoolSize(maxPoolSize);
+        hikariConfig.setMinimumIdle(0);
+        hikariConfig.setConnectionTimeout(connectionTimeoutMs);
+        hikariConfig.setIdleTimeout(connectionIdleTimeoutMs);
+        hikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        try {
+            return new HikariDataSource(hikariConfig);
+        } catch (HikariPool.PoolInitializationException e) {
+            // Surface the driver's own error (bad credentials, unknown host, ...) to callers
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw e;
+        }
+    }
+
+    private int totalConnections() {
+        return pools.values().stream()
+                .mapToInt(PooledDataSource::totalConnections)
+                .sum();
+    }
+
+    private static String fingerprint(String jdbcUrl, String username, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(jdbcUrl.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(username).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(password).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class PooledDataSource {
+        private final String fingerprint;
+        private final HikariDataSource dataSource;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PooledDataSource(String fingerprint, HikariDataSource dataSource) {
+            this.fingerprint = fingerprint;
+            this.dataSource = dataSource;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        long lastUsedAt() {
+            return lastUsedAt;
+        }
+
+        void touch() {
+            lastUsedAt = System.currentTimeMillis();
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+
+        int totalConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getTotalConnections() : 0;
+        }
+    }
+}
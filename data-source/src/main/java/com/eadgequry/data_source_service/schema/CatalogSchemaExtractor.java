@@ -0,0 +1,270 @@
+package com.eadgequry.data_source_service.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a whole schema with one catalog query per object kind (tables, columns, primary keys,
+ * foreign keys, indexes) and assembles the tables in memory, instead of four DatabaseMetaData
+ * calls per table. Produces the same table maps as the DatabaseMetaData path.
+ *
+ * Every query is ordered by schema and table name first, then in the order DatabaseMetaData
+ * reports rows within a table. Each '?' in a query is bound to the same scope value.
+ */
+public abstract class CatalogSchemaExtractor {
+
+    /**
+     * Bulk extractor for the database type, or null when only DatabaseMetaData is available
+     */
+    public static CatalogSchemaExtractor forType(String databaseType) {
+        if (databaseType == null) {
+            return null;
+        }
+        return switch (databaseType.toLowerCase()) {
+            case "mysql" -> new MySqlSchemaExtractor();
+            case "postgresql" -> new PostgreSqlSchemaExtractor();
+            case "sqlserver" -> new SqlServerSchemaExtractor();
+            case "oracle" -> new OracleSchemaExtractor();
+            case "h2" -> new H2SchemaExtractor();
+            default -> null;
+        };
+    }
+
+    /**
+     * TABLE_SCHEMA, TABLE_NAME, TABLE_TYPE, REMARKS
+     */
+    protected abstract String tablesQuery();
+
+    /**
+     * TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, TYPE_NAME, COLUMN_SIZE, NULLABLE (1/0), COLUMN_DEF,
+     * ORDINAL_POSITION, REMARKS
+     */
+    protected abstract String columnsQuery();
+
+    /**
+     * TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, ordered by column name like getPrimaryKeys
+     */
+    protected abstract String primaryKeysQuery();
+
+    /**
+     * TABLE_SCHEMA, TABLE_NAME, FK_NAME, FKCOLUMN_NAME, PKTABLE_NAME, PKCOLUMN_NAME, UPDATE_RULE,
+     * DELETE_RULE (rules as text, e.g. CASCADE or NO ACTION)
+     */
+    protected abstract String foreignKeysQuery();
+
+    /**
+     * TABLE_SCHEMA, TABLE_NAME, INDEX_NAME, COLUMN_NAME, NON_UNIQUE (1/0), ORDINAL_POSITION
+     */
+    protected abstract String indexesQuery();
+
+    /**
+     * TABLE_SCHEMA, TABLE_NAME, SIGNATURE: a value that changes whenever the table's columns, keys
+     * or indexes may have changed, cheap enough to read for every table on each refresh. Null if
+     * the dialect has no such value, which leaves it to full extractions.
+     */
+    protected String signaturesQuery() {
+        return null;
+    }
+
+    /**
+     * Value bound to every parameter: the schema (or MySQL database) to read. A null value
+     * selects the dialect's default scope.
+     */
+    protected String scope(String catalog, String schema) {
+        return schema;
+    }
+
+    public boolean supportsSignatures() {
+        return signaturesQuery() != null;
+    }
+
+    /**
+     * Current change signature of every table in scope, in the same order as extractTables
+     */
+    public List<TableSignature> readSignatures(Connection connection, String catalog, String schema)
+            throws SQLException {
+        List<TableSignature> signatures = new ArrayList<>();
+        query(connection, ExtractionProgress.unbounded(), "signatures", signaturesQuery(), scope(catalog, schema),
+                rs -> signatures.add(new TableSignature(rs.getString("TABLE_SCHEMA"), rs.getString("TABLE_NAME"),
+                        rs.getString("SIGNATURE"))));
+        return signatures;
+    }
+
+    public List<Map<String, Object>> extractTables(Connection connection, String catalog, String schema)
+            throws SQLException {
+        return extractTables(connection, catalog, schema, ExtractionProgress.unbounded());
+    }
+
+    /**
+     * Runs the queries one after another, each limited to what is left of the time budget. If the
+     * extraction is cancelled or runs out of time, the tables read so far are returned with the
+     * details of the unfinished phases left empty, and the progress is marked partial.
+     */
+    public List<Map<String, Object>> extractTables(Connection connection, String catalog, String schema,
+                                                   ExtractionProgress progress) throws SQLException {
+        String scope = scope(catalog, schema);
+        Map<String, TableEntry> tables = new LinkedHashMap<>();
+        boolean complete = query(connection, progress, "tables", tablesQuery(), scope, rs -> {
+            String key = key(rs);
+            Map<String, Object> table = new LinkedHashMap<>();
+            table.put("name", rs.getString("TABLE_NAME"));
+            table.put("type", rs.getString("TABLE_TYPE"));
+            table.put("remarks", rs.getString("REMARKS"));
+            tables.put(key, new TableEntry(table));
+        });
+        progress.setTablesTotal(tables.size());
+
+        complete = complete && query(connection, progress, "columns", columnsQuery(), scope, rs -> {
+            TableEntry table = tables.get(key(rs));
+            Map<String, Object> column = new LinkedHashMap<>();
+            column.put("name", rs.getString("COLUMN_NAME"));
+            column.put("type", rs.getString("TYPE_NAME"));
+            // LOB lengths can exceed an int; drivers clamp them the same way in getColumns
+            column.put("size", (int) Math.min(rs.getLong("COLUMN_SIZE"), Integer.MAX_VALUE));
+            column.put("nullable", rs.getInt("NULLABLE") == 1);
+            column.put("defaultValue", rs.getString("COLUMN_DEF"));
+            column.put("ordinalPosition", rs.getInt("ORDINAL_POSITION"));
+            column.put("remarks", rs.getString("REMARKS"));
+            if (table != null) {
+                table.columns.add(column);
+            }
+        });
+
+        complete = complete && query(connection, progress, "primary keys", primaryKeysQuery(), scope, rs -> {
+            TableEntry table = tables.get(key(rs));
+            String column = rs.getString("COLUMN_NAME");
+            if (table != null) {
+                table.primaryKeys.add(column);
+            }
+        });
+
+        complete = complete && query(connection, progress, "foreign keys", foreignKeysQuery(), scope, rs -> {
+            TableEntry table = tables.get(key(rs));
+            Map<String, Object> fk = new LinkedHashMap<>();
+            fk.put("name", rs.getString("FK_NAME"));
+            fk.put("column", rs.getString("FKCOLUMN_NAME"));
+            fk.put("referencedTable", rs.getString("PKTABLE_NAME"));
+            fk.put("referencedColumn", rs.getString("PKCOLUMN_NAME"));
+            fk.put("updateRule", rule(rs.getString("UPDATE_RULE")));
+            fk.put("deleteRule", rule(rs.getString("DELETE_RULE")));
+            if (table != null) {
+                table.foreignKeys.add(fk);
+            }
+        });
+
+        complete = complete && query(connection, progress, "indexes", indexesQuery(), scope, rs -> {
+            TableEntry table = tables.get(key(rs));
+            Map<String, Object> index = new LinkedHashMap<>();
+            index.put("name", rs.getString("INDEX_NAME"));
+            index.put("column", rs.getString("COLUMN_NAME"));
+            index.put("unique", rs.getInt("NON_UNIQUE") == 0);
+            index.put("ordinalPosition", rs.getShort("ORDINAL_POSITION"));
+            if (table != null) {
+                table.indexes.add(index);
+            }
+        });
+
+        if (complete) {
+            progress.setTablesDone(tables.size());
+        } else {
+            progress.markPartial();
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(tables.size());
+        for (TableEntry entry : tables.values()) {
+            result.add(entry.build());
+        }
+        return result;
+    }
+
+    /**
+     * Returns false, without running the query or after abandoning it, once the extraction has to stop
+     */
+    private static boolean query(Connection connection, ExtractionProgress progress, String phase, String sql,
+                                 String scope, RowHandler handler) throws SQLException {
+        if (progress.shouldStop()) {
+            return false;
+        }
+        progress.setPhase(phase);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int parameters = (int) sql.chars().filter(c -> c == '?').count();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setString(i, scope);
+            }
+            // Catalog rows are small; fetch them in large batches
+            statement.setFetchSize(1000);
+            statement.setQueryTimeout(progress.remainingSeconds());
+            progress.startStatement(statement);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs);
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            // A cancel or the budget's statement timeout; anything else is a real failure
+            if (progress.shouldStop()) {
+                return false;
+            }
+            throw e;
+        } finally {
+            progress.endStatement();
+        }
+    }
+
+    private static String key(ResultSet rs) throws SQLException {
+        return rs.getString("TABLE_SCHEMA") + '.' + rs.getString("TABLE_NAME");
+    }
+
+    private static String rule(String rule) {
+        if (rule == null) {
+            return "UNKNOWN";
+        }
+        String normalized = rule.trim().toUpperCase().replace('_', ' ');
+        return switch (normalized) {
+            case "CASCADE", "SET NULL", "SET DEFAULT", "RESTRICT", "NO ACTION" -> normalized;
+            default -> "UNKNOWN";
+        };
+    }
+
+    /**
+     * A table's signature; key() matches the keys of stored signature maps
+     */
+    public record TableSignature(String schema, String table, String signature) {
+
+        public String key() {
+            return schema + '.' + table;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    private static final class TableEntry {
+        private final Map<String, Object> table;
+        private final List<Map<String, Object>> columns = new ArrayList<>();
+        private final List<String> primaryKeys = new ArrayList<>();
+        private final List<Map<String, Object>> foreignKeys = new ArrayList<>();
+        private final List<Map<String, Object>> indexes = new ArrayList<>();
+
+        TableEntry(Map<String, Object> table) {
+            this.table = table;
+        }
+
+        Map<String, Object> build() {
+            table.put("columns", columns);
+            table.put("primaryKeys", primaryKeys);
+            table.put("foreignKeys", foreignKeys);
+            table.put("indexes", indexes);
+            return table;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.eadgequry.data_source_service.schema;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared between a running schema extraction and whoever started it. The extraction reports
+ * its phase and how many tables it has finished; the owner can cancel it. Both a cancel and a
+ * spent time budget make the extraction stop early, keeping the tables it completed and
+ * marking the result partial.
+ */
+public class ExtractionProgress {
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+
+    private volatile boolean cancelled;
+    private volatile boolean partial;
+    private volatile String phase = "connecting";
+    private volatile int tablesTotal = -1;
+    private final AtomicInteger tablesDone = new AtomicInteger();
+
+    // Catalog query in flight, cancelled along with the extraction
+    private volatile Statement statement;
+
+    private ExtractionProgress(Duration budget) {
+        this.bounded = budget != null;
+        this.deadlineNanos = bounded ? System.nanoTime() + budget.toNanos() : 0;
+    }
+
+    public static ExtractionProgress unbounded() {
+        return new ExtractionProgress(null);
+    }
+
+    public static ExtractionProgress withBudget(Duration budget) {
+        return new ExtractionProgress(budget);
+    }
+
+    /**
+     * Whether the extraction should stop claiming further work
+     */
+    public boolean shouldStop() {
+        return cancelled || isTimedOut();
+    }
+
+    public boolean isTimedOut() {
+        return bounded && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Seconds left in the budget for a statement timeout, at least 1; 0 (no timeout) when unbounded
+     */
+    public int remainingSeconds() {
+        if (!bounded) {
+            return 0;
+        }
+        long remaining = TimeUnit.NANOSECONDS.toSeconds(deadlineNanos - System.nanoTime());
+        return (int) Math.max(1, Math.min(remaining + 1, Integer.MAX_VALUE));
+    }
+
+    public void cancel() {
+        cancelled = true;
+        Statement running = statement;
+        if (running != null) {
+            try {
+                running.cancel();
+            } catch (SQLException ignored) {
+                // The statement finishes on its own and the next check stops the extraction
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void markPartial() {
+        partial = true;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Number of tables being extracted, or -1 while they are still being listed
+     */
+    public int getTablesTotal() {
+        return tablesTotal;
+    }
+
+    public void setTablesTotal(int tablesTotal) {
+        this.tablesTotal = tablesTotal;
+    }
+
+    public int getTablesDone() {
+        return tablesDone.get();
+    }
+
+    public void setTablesDone(int done) {
+        tablesDone.set(done);
+    }
+
+    public void tableDone() {
+        tablesDone.incrementAndGet();
+    }
+
+    void startStatement(Statement statement) throws SQLException {
+        this.statement = statement;
+        if (cancelled) {
+            throw new SQLException("Schema extraction was cancelled");
+        }
+    }
+
+    void endStatement() {
+        statement = null;
+    }
+}
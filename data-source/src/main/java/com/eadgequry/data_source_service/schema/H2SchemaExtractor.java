@@ -0,0 +1,119 @@
+package com.eadgequry.data_source_service.schema;
+
+/**
+ * H2 2.x INFORMATION_SCHEMA. Without a schema every schema except INFORMATION_SCHEMA is read.
+ */
+class H2SchemaExtractor extends CatalogSchemaExtractor {
+
+    // Date/time sizes are display widths, as getColumns reports them: "2024-01-31 10:15:00.123456" is 26
+    private static final String FRACTION_DIGITS =
+            "CASE WHEN c.DATETIME_PRECISION > 0 THEN c.DATETIME_PRECISION + 1 ELSE 0 END";
+
+    private static String inScope(String schemaColumn) {
+        return "(CAST(? AS VARCHAR) IS NULL AND " + schemaColumn + " <> 'INFORMATION_SCHEMA' OR "
+                + schemaColumn + " = ?)";
+    }
+
+    @Override
+    protected String signaturesQuery() {
+        // H2 keeps no DDL timestamps, so the signature hashes the table's catalog rows
+        return """
+                SELECT t.TABLE_SCHEMA, t.TABLE_NAME,
+                       RAWTOHEX(HASH('SHA-256', CONCAT_WS('/', t.REMARKS,
+                           (SELECT LISTAGG(CONCAT_WS(':', c.ORDINAL_POSITION, c.COLUMN_NAME, c.DATA_TYPE,
+                                                     c.CHARACTER_MAXIMUM_LENGTH, c.NUMERIC_PRECISION, c.NUMERIC_SCALE,
+                                                     c.IS_NULLABLE, c.COLUMN_DEFAULT, c.REMARKS), ',')
+                                   WITHIN GROUP (ORDER BY c.ORDINAL_POSITION)
+                              FROM INFORMATION_SCHEMA.COLUMNS c
+                             WHERE c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME),
+                           (SELECT LISTAGG(CONCAT_WS(':', i.INDEX_NAME, i.ORDINAL_POSITION, i.COLUMN_NAME), ',')
+                                   WITHIN GROUP (ORDER BY i.INDEX_NAME, i.ORDINAL_POSITION)
+                              FROM INFORMATION_SCHEMA.INDEX_COLUMNS i
+                             WHERE i.TABLE_SCHEMA = t.TABLE_SCHEMA AND i.TABLE_NAME = t.TABLE_NAME),
+                           (SELECT LISTAGG(CONCAT_WS(':', r.CONSTRAINT_NAME, r.UPDATE_RULE, r.DELETE_RULE), ',')
+                                   WITHIN GROUP (ORDER BY r.CONSTRAINT_NAME)
+                              FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc
+                              JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS r
+                                ON r.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA AND r.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+                             WHERE tc.TABLE_SCHEMA = t.TABLE_SCHEMA AND tc.TABLE_NAME = t.TABLE_NAME)))) AS SIGNATURE
+                FROM INFORMATION_SCHEMA.TABLES t
+                WHERE t.TABLE_TYPE = 'BASE TABLE' AND %s
+                ORDER BY t.TABLE_SCHEMA, t.TABLE_NAME
+                """.formatted(inScope("t.TABLE_SCHEMA"));
+    }
+
+    @Override
+    protected String tablesQuery() {
+        return """
+                SELECT t.TABLE_SCHEMA, t.TABLE_NAME, t.TABLE_TYPE, t.REMARKS
+                FROM INFORMATION_SCHEMA.TABLES t
+                WHERE t.TABLE_TYPE = 'BASE TABLE' AND %s
+                ORDER BY t.TABLE_SCHEMA, t.TABLE_NAME
+                """.formatted(inScope("t.TABLE_SCHEMA"));
+    }
+
+    @Override
+    protected String columnsQuery() {
+        return """
+                SELECT c.TABLE_SCHEMA, c.TABLE_NAME, c.COLUMN_NAME,
+                       COALESCE(c.DECLARED_DATA_TYPE, c.DATA_TYPE) AS TYPE_NAME,
+                       CASE c.DATA_TYPE
+                           WHEN 'BOOLEAN' THEN 1
+                           WHEN 'DATE' THEN 10
+                           WHEN 'TIME' THEN 8 + %2$s
+                           WHEN 'TIME WITH TIME ZONE' THEN 14 + %2$s
+                           WHEN 'TIMESTAMP' THEN 19 + %2$s
+                           WHEN 'TIMESTAMP WITH TIME ZONE' THEN 25 + %2$s
+                           ELSE COALESCE(c.CHARACTER_MAXIMUM_LENGTH, c.NUMERIC_PRECISION, c.INTERVAL_PRECISION, 0)
+                       END AS COLUMN_SIZE,
+                       CASE WHEN c.IS_NULLABLE = 'YES' THEN 1 ELSE 0 END AS NULLABLE,
+                       c.COLUMN_DEFAULT AS COLUMN_DEF, c.ORDINAL_POSITION, c.REMARKS
+                FROM INFORMATION_SCHEMA.COLUMNS c
+                JOIN INFORMATION_SCHEMA.TABLES t
+                  ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME
+                WHERE t.TABLE_TYPE = 'BASE TABLE' AND %s
+                ORDER BY c.TABLE_SCHEMA, c.TABLE_NAME, c.ORDINAL_POSITION
+                """.formatted(inScope("c.TABLE_SCHEMA"), FRACTION_DIGITS);
+    }
+
+    @Override
+    protected String primaryKeysQuery() {
+        return """
+                SELECT k.TABLE_SCHEMA, k.TABLE_NAME, k.COLUMN_NAME
+                FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc
+                JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k
+                  ON k.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA AND k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+                WHERE tc.CONSTRAINT_TYPE = 'PRIMARY KEY' AND %s
+                ORDER BY k.TABLE_SCHEMA, k.TABLE_NAME, k.COLUMN_NAME
+                """.formatted(inScope("k.TABLE_SCHEMA"));
+    }
+
+    @Override
+    protected String foreignKeysQuery() {
+        return """
+                SELECT k.TABLE_SCHEMA, k.TABLE_NAME, rc.CONSTRAINT_NAME AS FK_NAME, k.COLUMN_NAME AS FKCOLUMN_NAME,
+                       u.TABLE_NAME AS PKTABLE_NAME, u.COLUMN_NAME AS PKCOLUMN_NAME,
+                       rc.UPDATE_RULE, rc.DELETE_RULE
+                FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS rc
+                JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k
+                  ON k.CONSTRAINT_SCHEMA = rc.CONSTRAINT_SCHEMA AND k.CONSTRAINT_NAME = rc.CONSTRAINT_NAME
+                JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE u
+                  ON u.CONSTRAINT_SCHEMA = rc.UNIQUE_CONSTRAINT_SCHEMA
+                 AND u.CONSTRAINT_NAME = rc.UNIQUE_CONSTRAINT_NAME
+                 AND u.ORDINAL_POSITION = k.POSITION_IN_UNIQUE_CONSTRAINT
+                WHERE %s
+                ORDER BY k.TABLE_SCHEMA, k.TABLE_NAME, u.TABLE_SCHEMA, u.TABLE_NAME, k.ORDINAL_POSITION
+                """.formatted(inScope("k.TABLE_SCHEMA"));
+    }
+
+    @Override
+    protected String indexesQuery() {
+        return """
+                SELECT c.TABLE_SCHEMA, c.TABLE_NAME, c.INDEX_NAME, c.COLUMN_NAME,
+                       CASE WHEN c.IS_UNIQUE THEN 0 ELSE 1 END AS NON_UNIQUE, c.ORDINAL_POSITION
+                FROM INFORMATION_SCHEMA.INDEX_COLUMNS c
+                WHERE %s
+                ORDER BY c.TABLE_SCHEMA, c.TABLE_NAME, NON_UNIQUE, c.INDEX_NAME, c.ORDINAL_POSITION
+                """.formatted(inScope("c.TABLE_SCHEMA"));
+    }
+}
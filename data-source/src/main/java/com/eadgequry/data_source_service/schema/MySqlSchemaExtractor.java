@@ -0,0 +1,97 @@
+package com.eadgequry.data_source_service.schema;
+
+/**
+ * MySQL information_schema, scoped to the configured database (the current one if unset).
+ */
+class MySqlSchemaExtractor extends CatalogSchemaExtractor {
+
+    @Override
+    protected String scope(String catalog, String schema) {
+        // MySQL calls databases catalogs in JDBC and schemas in information_schema
+        return catalog;
+    }
+
+    @Override
+    protected String signaturesQuery() {
+        // UPDATE_TIME moves with every InnoDB data write, so it is left out; CREATE_TIME only changes
+        // when an ALTER rebuilds the table, and instant/in-place ALTERs are caught by the checksums
+        return """
+                SELECT t.TABLE_SCHEMA, t.TABLE_NAME,
+                       CONCAT_WS('/', t.CREATE_TIME, t.TABLE_COMMENT,
+                           (SELECT SUM(CRC32(CONCAT_WS(':', c.ORDINAL_POSITION, c.COLUMN_NAME, c.COLUMN_TYPE,
+                                                       c.IS_NULLABLE, c.COLUMN_DEFAULT, c.COLUMN_COMMENT)))
+                              FROM information_schema.COLUMNS c
+                             WHERE c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME),
+                           (SELECT SUM(CRC32(CONCAT_WS(':', s.INDEX_NAME, s.SEQ_IN_INDEX, s.COLUMN_NAME, s.NON_UNIQUE)))
+                              FROM information_schema.STATISTICS s
+                             WHERE s.TABLE_SCHEMA = t.TABLE_SCHEMA AND s.TABLE_NAME = t.TABLE_NAME),
+                           (SELECT SUM(CRC32(CONCAT_WS(':', r.CONSTRAINT_NAME, r.REFERENCED_TABLE_NAME,
+                                                       r.UPDATE_RULE, r.DELETE_RULE)))
+                              FROM information_schema.REFERENTIAL_CONSTRAINTS r
+                             WHERE r.CONSTRAINT_SCHEMA = t.TABLE_SCHEMA AND r.TABLE_NAME = t.TABLE_NAME)) AS SIGNATURE
+                FROM information_schema.TABLES t
+                WHERE t.TABLE_SCHEMA = COALESCE(?, DATABASE()) AND t.TABLE_TYPE = 'BASE TABLE'
+                ORDER BY t.TABLE_SCHEMA, t.TABLE_NAME
+                """;
+    }
+
+    @Override
+    protected String tablesQuery() {
+        return """
+                SELECT TABLE_SCHEMA, TABLE_NAME, 'TABLE' AS TABLE_TYPE, TABLE_COMMENT AS REMARKS
+                FROM information_schema.TABLES
+                WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) AND TABLE_TYPE = 'BASE TABLE'
+                ORDER BY TABLE_SCHEMA, TABLE_NAME
+                """;
+    }
+
+    @Override
+    protected String columnsQuery() {
+        return """
+                SELECT TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME,
+                       CONCAT(UPPER(DATA_TYPE), IF(COLUMN_TYPE LIKE '%unsigned%', ' UNSIGNED', '')) AS TYPE_NAME,
+                       COALESCE(CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, DATETIME_PRECISION, 0) AS COLUMN_SIZE,
+                       CASE WHEN IS_NULLABLE = 'YES' THEN 1 ELSE 0 END AS NULLABLE,
+                       COLUMN_DEFAULT AS COLUMN_DEF, ORDINAL_POSITION, COLUMN_COMMENT AS REMARKS
+                FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = COALESCE(?, DATABASE())
+                ORDER BY TABLE_SCHEMA, TABLE_NAME, ORDINAL_POSITION
+                """;
+    }
+
+    @Override
+    protected String primaryKeysQuery() {
+        return """
+                SELECT TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME
+                FROM information_schema.KEY_COLUMN_USAGE
+                WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) AND CONSTRAINT_NAME = 'PRIMARY'
+                ORDER BY TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME
+                """;
+    }
+
+    @Override
+    protected String foreignKeysQuery() {
+        return """
+                SELECT k.TABLE_SCHEMA, k.TABLE_NAME, k.CONSTRAINT_NAME AS FK_NAME, k.COLUMN_NAME AS FKCOLUMN_NAME,
+                       k.REFERENCED_TABLE_NAME AS PKTABLE_NAME, k.REFERENCED_COLUMN_NAME AS PKCOLUMN_NAME,
+                       r.UPDATE_RULE, r.DELETE_RULE
+                FROM information_schema.KEY_COLUMN_USAGE k
+                JOIN information_schema.REFERENTIAL_CONSTRAINTS r
+                  ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME
+                 AND r.TABLE_NAME = k.TABLE_NAME
+                WHERE k.TABLE_SCHEMA = COALESCE(?, DATABASE()) AND k.REFERENCED_TABLE_NAME IS NOT NULL
+                ORDER BY k.TABLE_SCHEMA, k.TABLE_NAME, k.REFERENCED_TABLE_SCHEMA, k.REFERENCED_TABLE_NAME,
+                         k.ORDINAL_POSITION
+                """;
+    }
+
+    @Override
+    protected String indexesQuery() {
+        return """
+                SELECT TABLE_SCHEMA, TABLE_NAME, INDEX_NAME, COLUMN_NAME, NON_UNIQUE, SEQ_IN_INDEX AS ORDINAL_POSITION
+                FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = COALESCE(?, DATABASE())
+                ORDER BY TABLE_SCHEMA, TABLE_NAME, NON_UNIQUE, INDEX_NAME, SEQ_IN_INDEX
+                """;
+    }
+}
@@ -0,0 +1,91 @@
+package com.eadgequry.data_source_service.schema;
+
+/**
+ * Oracle ALL_* dictionary views, scoped to one owner (the session's current schema if unset).
+ * Defaults are read from DATA_DEFAULT_VC (12.2+); the LONG DATA_DEFAULT column would force the
+ * driver to fetch one row per round trip.
+ */
+class OracleSchemaExtractor extends CatalogSchemaExtractor {
+
+    private static final String OWNER = "COALESCE(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA'))";
+
+    @Override
+    protected String signaturesQuery() {
+        return """
+                SELECT t.owner AS TABLE_SCHEMA, t.table_name AS TABLE_NAME,
+                       TO_CHAR(o.last_ddl_time, 'YYYY-MM-DD"T"HH24:MI:SS') AS SIGNATURE
+                FROM all_tables t
+                JOIN all_objects o ON o.owner = t.owner AND o.object_name = t.table_name AND o.object_type = 'TABLE'
+                WHERE t.owner = %s AND t.nested = 'NO' AND t.secondary = 'N' AND t.dropped = 'NO'
+                ORDER BY t.owner, t.table_name
+                """.formatted(OWNER);
+    }
+
+    @Override
+    protected String tablesQuery() {
+        return """
+                SELECT t.owner AS TABLE_SCHEMA, t.table_name AS TABLE_NAME, 'TABLE' AS TABLE_TYPE,
+                       tc.comments AS REMARKS
+                FROM all_tables t
+                LEFT JOIN all_tab_comments tc ON tc.owner = t.owner AND tc.table_name = t.table_name
+                WHERE t.owner = %s AND t.nested = 'NO' AND t.secondary = 'N' AND t.dropped = 'NO'
+                ORDER BY t.owner, t.table_name
+                """.formatted(OWNER);
+    }
+
+    @Override
+    protected String columnsQuery() {
+        return """
+                SELECT c.owner AS TABLE_SCHEMA, c.table_name AS TABLE_NAME, c.column_name AS COLUMN_NAME,
+                       c.data_type AS TYPE_NAME,
+                       COALESCE(c.data_precision, NULLIF(c.char_length, 0), c.data_length) AS COLUMN_SIZE,
+                       CASE WHEN c.nullable = 'Y' THEN 1 ELSE 0 END AS NULLABLE,
+                       c.data_default_vc AS COLUMN_DEF, c.column_id AS ORDINAL_POSITION, cc.comments AS REMARKS
+                FROM all_tab_columns c
+                LEFT JOIN all_col_comments cc
+                  ON cc.owner = c.owner AND cc.table_name = c.table_name AND cc.column_name = c.column_name
+                WHERE c.owner = %s
+                ORDER BY c.owner, c.table_name, c.column_id
+                """.formatted(OWNER);
+    }
+
+    @Override
+    protected String primaryKeysQuery() {
+        return """
+                SELECT cc.owner AS TABLE_SCHEMA, cc.table_name AS TABLE_NAME, cc.column_name AS COLUMN_NAME
+                FROM all_constraints c
+                JOIN all_cons_columns cc ON cc.owner = c.owner AND cc.constraint_name = c.constraint_name
+                WHERE c.constraint_type = 'P' AND c.owner = %s
+                ORDER BY cc.owner, cc.table_name, cc.column_name
+                """.formatted(OWNER);
+    }
+
+    @Override
+    protected String foreignKeysQuery() {
+        // Oracle has no ON UPDATE actions
+        return """
+                SELECT c.owner AS TABLE_SCHEMA, c.table_name AS TABLE_NAME, c.constraint_name AS FK_NAME,
+                       fc.column_name AS FKCOLUMN_NAME, rc.table_name AS PKTABLE_NAME, rc.column_name AS PKCOLUMN_NAME,
+                       'NO ACTION' AS UPDATE_RULE, c.delete_rule AS DELETE_RULE
+                FROM all_constraints c
+                JOIN all_cons_columns fc ON fc.owner = c.owner AND fc.constraint_name = c.constraint_name
+                JOIN all_cons_columns rc
+                  ON rc.owner = c.r_owner AND rc.constraint_name = c.r_constraint_name AND rc.position = fc.position
+                WHERE c.constraint_type = 'R' AND c.owner = %s
+                ORDER BY c.owner, c.table_name, rc.owner, rc.table_name, fc.position
+                """.formatted(OWNER);
+    }
+
+    @Override
+    protected String indexesQuery() {
+        return """
+                SELECT i.table_owner AS TABLE_SCHEMA, i.table_name AS TABLE_NAME, i.index_name AS INDEX_NAME,
+                       ic.column_name AS COLUMN_NAME, CASE WHEN i.uniqueness = 'UNIQUE' THEN 0 ELSE 1 END AS NON_UNIQUE,
+                       ic.column_position AS ORDINAL_POSITION
+                FROM all_indexes i
+                JOIN all_ind_columns ic ON ic.index_owner = i.owner AND ic.index_name = i.index_name
+                WHERE i.table_owner = %s
+                ORDER BY i.table_owner, i.table_name, NON_UNIQUE, i.index_name, ic.column_position
+                """.formatted(OWNER);
+    }
+}
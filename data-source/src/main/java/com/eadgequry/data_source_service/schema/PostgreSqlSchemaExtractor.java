@@ -0,0 +1,126 @@
+package com.eadgequry.data_source_service.schema;
+
+/**
+ * PostgreSQL pg_catalog, scoped to one schema ('public' if unset). The catalog tables are used
+ * rather than information_schema, whose views filter by privilege row by row and are much slower.
+ */
+class PostgreSqlSchemaExtractor extends CatalogSchemaExtractor {
+
+    private static final String IN_SCOPE = "n.nspname = COALESCE(CAST(? AS text), 'public')";
+
+    private static final String RULE = """
+            CASE %s WHEN 'c' THEN 'CASCADE' WHEN 'n' THEN 'SET NULL' WHEN 'd' THEN 'SET DEFAULT'
+                    WHEN 'r' THEN 'RESTRICT' ELSE 'NO ACTION' END""";
+
+    @Override
+    protected String signaturesQuery() {
+        // A dropped and recreated table or index gets a new OID; ALTERs show in the checksums
+        return """
+                SELECT n.nspname AS table_schema, c.relname AS table_name,
+                       concat_ws('/', c.oid, obj_description(c.oid, 'pg_class'),
+                           (SELECT md5(string_agg(a.attnum || ':' || a.attname || ':'
+                                                  || format_type(a.atttypid, a.atttypmod) || ':' || a.attnotnull
+                                                  || ':' || COALESCE(pg_catalog.pg_get_expr(d.adbin, d.adrelid), '')
+                                                  || ':' || COALESCE(col_description(c.oid, a.attnum), ''),
+                                                  ',' ORDER BY a.attnum))
+                              FROM pg_catalog.pg_attribute a
+                              LEFT JOIN pg_catalog.pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum
+                             WHERE a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped),
+                           (SELECT md5(string_agg(con.conname || ':' || pg_catalog.pg_get_constraintdef(con.oid),
+                                                  ',' ORDER BY con.conname))
+                              FROM pg_catalog.pg_constraint con
+                             WHERE con.conrelid = c.oid),
+                           (SELECT string_agg(CAST(i.indexrelid AS text), ',' ORDER BY i.indexrelid)
+                              FROM pg_catalog.pg_index i
+                             WHERE i.indrelid = c.oid)) AS signature
+                FROM pg_catalog.pg_class c
+                JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                WHERE c.relkind = 'r' AND %s
+                ORDER BY n.nspname, c.relname
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String tablesQuery() {
+        return """
+                SELECT n.nspname AS table_schema, c.relname AS table_name, 'TABLE' AS table_type,
+                       obj_description(c.oid, 'pg_class') AS remarks
+                FROM pg_catalog.pg_class c
+                JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                WHERE c.relkind = 'r' AND %s
+                ORDER BY n.nspname, c.relname
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String columnsQuery() {
+        return """
+                SELECT n.nspname AS table_schema, c.relname AS table_name, a.attname AS column_name,
+                       t.typname AS type_name,
+                       COALESCE(information_schema._pg_char_max_length(a.atttypid, a.atttypmod),
+                                information_schema._pg_numeric_precision(a.atttypid, a.atttypmod),
+                                information_schema._pg_datetime_precision(a.atttypid, a.atttypmod), 0) AS column_size,
+                       CASE WHEN a.attnotnull THEN 0 ELSE 1 END AS nullable,
+                       pg_catalog.pg_get_expr(d.adbin, d.adrelid) AS column_def,
+                       a.attnum AS ordinal_position,
+                       col_description(c.oid, a.attnum) AS remarks
+                FROM pg_catalog.pg_attribute a
+                JOIN pg_catalog.pg_class c ON c.oid = a.attrelid
+                JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_catalog.pg_type t ON t.oid = a.atttypid
+                LEFT JOIN pg_catalog.pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum
+                WHERE c.relkind = 'r' AND a.attnum > 0 AND NOT a.attisdropped AND %s
+                ORDER BY n.nspname, c.relname, a.attnum
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String primaryKeysQuery() {
+        return """
+                SELECT n.nspname AS table_schema, c.relname AS table_name, a.attname AS column_name
+                FROM pg_catalog.pg_index i
+                JOIN pg_catalog.pg_class c ON c.oid = i.indrelid
+                JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum = ANY (i.indkey)
+                WHERE i.indisprimary AND %s
+                ORDER BY n.nspname, c.relname, a.attname
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String foreignKeysQuery() {
+        return """
+                SELECT n.nspname AS table_schema, c.relname AS table_name, con.conname AS fk_name,
+                       fa.attname AS fkcolumn_name, rc.relname AS pktable_name, ra.attname AS pkcolumn_name,
+                       %s AS update_rule,
+                       %s AS delete_rule
+                FROM pg_catalog.pg_constraint con
+                JOIN pg_catalog.pg_class c ON c.oid = con.conrelid
+                JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_catalog.pg_class rc ON rc.oid = con.confrelid
+                JOIN pg_catalog.pg_namespace rn ON rn.oid = rc.relnamespace
+                CROSS JOIN LATERAL unnest(con.conkey, con.confkey) WITH ORDINALITY AS k(fk_attnum, pk_attnum, key_seq)
+                JOIN pg_catalog.pg_attribute fa ON fa.attrelid = con.conrelid AND fa.attnum = k.fk_attnum
+                JOIN pg_catalog.pg_attribute ra ON ra.attrelid = con.confrelid AND ra.attnum = k.pk_attnum
+                WHERE con.contype = 'f' AND %s
+                ORDER BY n.nspname, c.relname, rn.nspname, rc.relname, k.key_seq
+                """.formatted(RULE.formatted("con.confupdtype"), RULE.formatted("con.confdeltype"), IN_SCOPE);
+    }
+
+    @Override
+    protected String indexesQuery() {
+        return """
+                SELECT n.nspname AS table_schema, c.relname AS table_name, ic.relname AS index_name,
+                       a.attname AS column_name, CASE WHEN i.indisunique THEN 0 ELSE 1 END AS non_unique,
+                       k.ord AS ordinal_position
+                FROM pg_catalog.pg_index i
+                JOIN pg_catalog.pg_class c ON c.oid = i.indrelid
+                JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_catalog.pg_class ic ON ic.oid = i.indexrelid
+                CROSS JOIN LATERAL unnest(CAST(i.indkey AS int2[])) WITH ORDINALITY AS k(attnum, ord)
+                LEFT JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum = k.attnum
+                WHERE c.relkind = 'r' AND %s
+                ORDER BY n.nspname, c.relname, non_unique, index_name, ordinal_position
+                """.formatted(IN_SCOPE);
+    }
+}
@@ -0,0 +1,112 @@
+package com.eadgequry.data_source_service.schema;
+
+/**
+ * SQL Server sys catalog views. Without a schema every user schema is read; descriptions come
+ * from the MS_Description extended property.
+ */
+class SqlServerSchemaExtractor extends CatalogSchemaExtractor {
+
+    private static final String IN_SCOPE =
+            "t.is_ms_shipped = 0 AND (? IS NULL AND s.name NOT IN ('sys', 'INFORMATION_SCHEMA') OR s.name = ?)";
+
+    @Override
+    protected String signaturesQuery() {
+        // modify_date changes with every ALTER TABLE and with index changes on the table
+        return """
+                SELECT s.name AS TABLE_SCHEMA, t.name AS TABLE_NAME,
+                       CONVERT(VARCHAR(33), t.modify_date, 126) AS SIGNATURE
+                FROM sys.tables t
+                JOIN sys.schemas s ON s.schema_id = t.schema_id
+                WHERE %s
+                ORDER BY s.name, t.name
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String tablesQuery() {
+        return """
+                SELECT s.name AS TABLE_SCHEMA, t.name AS TABLE_NAME, 'TABLE' AS TABLE_TYPE,
+                       CAST(ep.value AS NVARCHAR(4000)) AS REMARKS
+                FROM sys.tables t
+                JOIN sys.schemas s ON s.schema_id = t.schema_id
+                LEFT JOIN sys.extended_properties ep
+                  ON ep.class = 1 AND ep.major_id = t.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
+                WHERE %s
+                ORDER BY s.name, t.name
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String columnsQuery() {
+        return """
+                SELECT s.name AS TABLE_SCHEMA, t.name AS TABLE_NAME, c.name AS COLUMN_NAME, ty.name AS TYPE_NAME,
+                       CASE WHEN c.max_length = -1 THEN 2147483647
+                            WHEN ty.name IN ('nchar', 'nvarchar') THEN c.max_length / 2
+                            WHEN c.precision > 0 THEN c.precision
+                            ELSE c.max_length END AS COLUMN_SIZE,
+                       CAST(c.is_nullable AS INT) AS NULLABLE,
+                       dc.definition AS COLUMN_DEF, c.column_id AS ORDINAL_POSITION,
+                       CAST(ep.value AS NVARCHAR(4000)) AS REMARKS
+                FROM sys.columns c
+                JOIN sys.tables t ON t.object_id = c.object_id
+                JOIN sys.schemas s ON s.schema_id = t.schema_id
+                JOIN sys.types ty ON ty.user_type_id = c.user_type_id
+                LEFT JOIN sys.default_constraints dc ON dc.object_id = c.default_object_id
+                LEFT JOIN sys.extended_properties ep
+                  ON ep.class = 1 AND ep.major_id = c.object_id AND ep.minor_id = c.column_id
+                 AND ep.name = 'MS_Description'
+                WHERE %s
+                ORDER BY s.name, t.name, c.column_id
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String primaryKeysQuery() {
+        return """
+                SELECT s.name AS TABLE_SCHEMA, t.name AS TABLE_NAME, c.name AS COLUMN_NAME
+                FROM sys.indexes i
+                JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+                JOIN sys.tables t ON t.object_id = i.object_id
+                JOIN sys.schemas s ON s.schema_id = t.schema_id
+                WHERE i.is_primary_key = 1 AND %s
+                ORDER BY s.name, t.name, c.name
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String foreignKeysQuery() {
+        return """
+                SELECT s.name AS TABLE_SCHEMA, t.name AS TABLE_NAME, fk.name AS FK_NAME, pc.name AS FKCOLUMN_NAME,
+                       rt.name AS PKTABLE_NAME, rc.name AS PKCOLUMN_NAME,
+                       fk.update_referential_action_desc AS UPDATE_RULE,
+                       fk.delete_referential_action_desc AS DELETE_RULE
+                FROM sys.foreign_keys fk
+                JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+                JOIN sys.tables t ON t.object_id = fk.parent_object_id
+                JOIN sys.schemas s ON s.schema_id = t.schema_id
+                JOIN sys.columns pc ON pc.object_id = fkc.parent_object_id AND pc.column_id = fkc.parent_column_id
+                JOIN sys.tables rt ON rt.object_id = fk.referenced_object_id
+                JOIN sys.schemas rs ON rs.schema_id = rt.schema_id
+                JOIN sys.columns rc ON rc.object_id = fkc.referenced_object_id AND rc.column_id = fkc.referenced_column_id
+                WHERE %s
+                ORDER BY s.name, t.name, rs.name, rt.name, fkc.constraint_column_id
+                """.formatted(IN_SCOPE);
+    }
+
+    @Override
+    protected String indexesQuery() {
+        return """
+                SELECT s.name AS TABLE_SCHEMA, t.name AS TABLE_NAME, i.name AS INDEX_NAME, c.name AS COLUMN_NAME,
+                       CASE WHEN i.is_unique = 1 THEN 0 ELSE 1 END AS NON_UNIQUE,
+                       ic.key_ordinal AS ORDINAL_POSITION
+                FROM sys.indexes i
+                JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+                JOIN sys.tables t ON t.object_id = i.object_id
+                JOIN sys.schemas s ON s.schema_id = t.schema_id
+                WHERE i.type > 0 AND ic.is_included_column = 0 AND %s
+                ORDER BY s.name, t.name, NON_UNIQUE, i.name, ic.key_ordinal
+                """.formatted(IN_SCOPE);
+    }
+}
@@ -5,6 +5,7 @@ import com.eadgequry.data_source_service.dto.DatabaseConfigDTO;
 import com.eadgequry.data_source_service.exception.DatabaseConfigNotFoundException;
 import com.eadgequry.data_source_service.exception.DatabaseConnectionFailedException;
 import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
 import com.eadgequry.data_source_service.repository.DatabaseConfigRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,17 +24,17 @@ public class DatabaseConfigService {
 
     private final DatabaseConfigRepository databaseConfigRepository;
     private final DatabaseConnectionTestService connectionTestService;
-    private final DatabaseSchemaExtractionService schemaExtractionService;
-    private final DatabaseSchemaService schemaService;
+    private final SchemaExtractionJobService schemaExtractionJobs;
+    private final ConnectionPoolRegistry connectionPools;
 
     public DatabaseConfigService(DatabaseConfigRepository databaseConfigRepository,
                                   DatabaseConnectionTestService connectionTestService,
-                                  DatabaseSchemaExtractionService schemaExtractionService,
-                                  DatabaseSchemaService schemaService) {
+                                  SchemaExtractionJobService schemaExtractionJobs,
+                                  ConnectionPoolRegistry connectionPools) {
         this.databaseConfigRepository = databaseConfigRepository;
         this.connectionTestService = connectionTestService;
-        this.schemaExtractionService = schemaExtractionService;
-        this.schemaService = schemaService;
+        this.schemaExtractionJobs = schemaExtractionJobs;
+        this.connectionPools = connectionPools;
     }
 
     public List<DatabaseConfigDTO> getAllConfigsByUser(Long userId) {
@@ -71,18 +72,9 @@ public class DatabaseConfigService {
 
         DatabaseConfig saved = databaseConfigRepository.save(config);
 
-        // Automatically extract and save database schema
-        try {
-            logger.info("Extracting schema for database config ID: {}", saved.getId());
-            String schemaJson = schemaExtractionService.extractSchema(saved);
-            schemaService.saveOrUpdateSchema(saved.getId(), schemaJson);
-            logger.info("Schema extraction successful for database config ID: {}", saved.getId());
-        } catch (Exception e) {
-            logger.error("Schema extraction failed for database config ID: {}. Error: {}",
-                    saved.getId(), e.getMessage(), e);
-            // Don't fail the entire operation if schema extraction fails
-            // The config is still saved and usable
-        }
+        // Extract the schema in the background; progress is at /datasource/schemas/config/{id}/user/{userId}/extraction
+        logger.info("Scheduling schema extraction for database config ID: {}", saved.getId());
+        schemaExtractionJobs.submit(saved);
 
         return toDTO(saved);
     }
@@ -94,17 +86,12 @@ public class DatabaseConfigService {
         mapRequestToEntity(request, config);
         DatabaseConfig updated = databaseConfigRepository.save(config);
 
-        // Re-extract schema if connection details changed
-        try {
-            logger.info("Re-extracting schema for updated database config ID: {}", updated.getId());
-            String schemaJson = schemaExtractionService.extractSchema(updated);
-            schemaService.saveOrUpdateSchema(updated.getId(), schemaJson);
-            logger.info("Schema re-extraction successful for database config ID: {}", updated.getId());
-        } catch (Exception e) {
-            logger.warn("Schema re-extraction failed for database config ID: {}. Error: {}",
-                    updated.getId(), e.getMessage());
-            // Don't fail the update if schema extraction fails
-        }
+        // Connection details may have changed, drop the pool built from the old ones
+        connectionPools.evict(id);
+
+        // Re-extract schema if connection details changed, replacing an extraction still using the old ones
+        logger.info("Scheduling schema re-extraction for updated database config ID: {}", updated.getId());
+        schemaExtractionJobs.restart(updated);
 
         return toDTO(updated);
     }
@@ -114,6 +101,8 @@ public class DatabaseConfigService {
             throw new DatabaseConfigNotFoundException(id, userId);
         }
         databaseConfigRepository.deleteByIdAndUserId(id, userId);
+        schemaExtractionJobs.forget(id);
+        connectionPools.evict(id);
     }
 
     public void updateConnectionStatus(Long id, boolean isConnected) {
@@ -2,6 +2,7 @@ package com.eadgequry.data_source_service.service;
 
 import com.eadgequry.data_source_service.dto.CreateDatabaseConfigRequest;
 import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -17,11 +18,18 @@ public class DatabaseConnectionTestService {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnectionTestService.class);
 
+    private final ConnectionPoolRegistry connectionPools;
+
+    public DatabaseConnectionTestService(ConnectionPoolRegistry connectionPools) {
+        this.connectionPools = connectionPools;
+    }
+
     /**
      * Test database connection from CreateDatabaseConfigRequest
      */
     public ConnectionTestResult testConnection(CreateDatabaseConfigRequest request) {
         return testConnectionInternal(
+                null,
                 request.getType(),
                 request.getHost(),
                 request.getPort(),
@@ -32,10 +40,11 @@ public class DatabaseConnectionTestService {
     }
 
     /**
-     * Test database connection from existing DatabaseConfig
+     * Test database connection from existing DatabaseConfig, warming its pool on success
      */
     public ConnectionTestResult testConnection(DatabaseConfig config) {
         return testConnectionInternal(
+                config.getId(),
                 config.getType(),
                 config.getHost(),
                 config.getPort(),
@@ -46,6 +55,7 @@ public class DatabaseConnectionTestService {
     }
 
     private ConnectionTestResult testConnectionInternal(
+            Long configId,
             String type,
             String host,
             Integer port,
@@ -61,7 +71,7 @@ public class DatabaseConnectionTestService {
             // Set connection timeout
             DriverManager.setLoginTimeout(10); // 10 seconds timeout
 
-            connection = DriverManager.getConnection(jdbcUrl, username, password);
+            connection = connectionPools.getConnection(configId, jdbcUrl, username, password);
 
             // Test if connection is valid
             if (connection.isValid(5)) {
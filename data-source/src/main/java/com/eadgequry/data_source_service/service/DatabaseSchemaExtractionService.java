@@ -1,96 +1,443 @@
 package com.eadgequry.data_source_service.service;
 
 import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
+import com.eadgequry.data_source_service.schema.CatalogSchemaExtractor;
+import com.eadgequry.data_source_service.schema.CatalogSchemaExtractor.TableSignature;
+import com.eadgequry.data_source_service.schema.ExtractionProgress;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.sql.*;
 import java.util.*;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads tables, columns, keys and indexes of a customer database. Dialects with catalog views get
+ * one bulk query per object kind (see CatalogSchemaExtractor); the others, or a bulk read the
+ * account may not run, use DatabaseMetaData with the tables spread over a few pooled connections.
+ */
 @Service
 public class DatabaseSchemaExtractionService {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseSchemaExtractionService.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConnectionPoolRegistry connectionPools;
+
+    @Value("${datasource.schema.bulk-extraction:true}")
+    private boolean bulkExtraction;
+
+    // Connections used at once by the DatabaseMetaData fallback; stays below the per-config pool size
+    @Value("${datasource.schema.extraction-parallelism:3}")
+    private int extractionParallelism;
+
+    // Share of changed tables above which a refresh re-reads the whole schema instead
+    @Value("${datasource.schema.refresh.full-refresh-ratio:0.5}")
+    private double fullRefreshRatio;
+
+    public DatabaseSchemaExtractionService(ConnectionPoolRegistry connectionPools) {
+        this.connectionPools = connectionPools;
+    }
 
     /**
      * Extract database schema (tables, columns, relationships) and return as JSON string
      */
     public String extractSchema(DatabaseConfig config) {
-        Connection connection = null;
+        return extractSchema(config, ExtractionProgress.unbounded());
+    }
+
+    /**
+     * Extract the schema, reporting to and stopping on the given progress. A schema cut short by a
+     * cancel or the time budget holds only the tables that were finished and is flagged "partial".
+     */
+    public String extractSchema(DatabaseConfig config, ExtractionProgress progress) {
+        return extract(config, progress).schemaJson();
+    }
+
+    /**
+     * Full extraction, along with the table signatures a later refresh compares against
+     */
+    public ExtractedSchema extract(DatabaseConfig config, ExtractionProgress progress) {
         try {
             String jdbcUrl = buildJdbcUrl(config);
-            connection = DriverManager.getConnection(jdbcUrl, config.getUsername(), config.getPassword());
+            try (Connection connection = connectionPools.getConnection(config.getId(), jdbcUrl,
+                    config.getUsername(), config.getPassword())) {
+                // Read before the tables, so a change made during the extraction shows up on the next refresh
+                List<TableSignature> signatures = readSignatures(connection, config);
+
+                long startTime = System.currentTimeMillis();
+                List<Map<String, Object>> tables = extractTables(connection, config, jdbcUrl, progress);
+                logger.info("Extracted {} tables from database {} in {}ms", tables.size(),
+                        config.getDatabaseName(), System.currentTimeMillis() - startTime);
+
+                Map<String, String> tableSignatures = null;
+                if (signatures != null) {
+                    Set<Object> extracted = new HashSet<>();
+                    tables.forEach(table -> extracted.add(table.get("name")));
+                    tableSignatures = new LinkedHashMap<>();
+                    for (TableSignature signature : signatures) {
+                        if (extracted.contains(signature.table())) {
+                            tableSignatures.put(signature.key(), signature.signature());
+                        }
+                    }
+                }
+                return new ExtractedSchema(toJson(config, tables, progress, progress.getTablesTotal()),
+                        tableSignatures, tables.size(), 0);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to extract schema for database: {}", config.getDatabaseName(), e);
+            throw new RuntimeException("Schema extraction failed: " + e.getMessage(), e);
+        }
+    }
 
-            DatabaseMetaData metaData = connection.getMetaData();
-            Map<String, Object> schema = new LinkedHashMap<>();
+    /**
+     * Bring a stored schema up to date by re-reading only the tables whose signature changed or
+     * that are new, and dropping the ones that are gone. Falls back to a full extraction when the
+     * database type has no signatures, nothing was recorded yet, or more than
+     * full-refresh-ratio of the tables changed. Tables a stopped refresh did not reach keep their
+     * old content and signature, so the next refresh retries them.
+     */
+    public ExtractedSchema refresh(DatabaseConfig config, String previousSchemaJson,
+                                   Map<String, String> previousSignatures, ExtractionProgress progress) {
+        CatalogSchemaExtractor extractor = CatalogSchemaExtractor.forType(config.getType());
+        if (extractor == null || !extractor.supportsSignatures() || previousSchemaJson == null
+                || previousSignatures == null) {
+            return extract(config, progress);
+        }
 
-            schema.put("databaseName", config.getDatabaseName());
-            schema.put("databaseType", config.getType());
-            schema.put("extractedAt", new java.util.Date());
+        ExtractedSchema refreshed;
+        try {
+            String jdbcUrl = buildJdbcUrl(config);
+            try (Connection connection = connectionPools.getConnection(config.getId(), jdbcUrl,
+                    config.getUsername(), config.getPassword())) {
+                refreshed = refreshChangedTables(connection, config, extractor, previousSchemaJson,
+                        previousSignatures, progress);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to refresh schema for database: {}", config.getDatabaseName(), e);
+            throw new RuntimeException("Schema refresh failed: " + e.getMessage(), e);
+        }
+        return refreshed != null ? refreshed : extract(config, progress);
+    }
 
-            // Extract tables
-            List<Map<String, Object>> tables = extractTables(metaData, config);
-            schema.put("tables", tables);
+    /**
+     * Null when a full extraction is the better deal
+     */
+    private ExtractedSchema refreshChangedTables(Connection connection, DatabaseConfig config,
+                                                 CatalogSchemaExtractor extractor, String previousSchemaJson,
+                                                 Map<String, String> previousSignatures,
+                                                 ExtractionProgress progress) throws Exception {
+        progress.setPhase("signatures");
+        List<TableSignature> current = extractor.readSignatures(connection, getCatalog(config), catalogSchema(config));
+
+        // Stored tables are identified by name only
+        Set<String> currentNames = new HashSet<>();
+        for (TableSignature signature : current) {
+            if (!currentNames.add(signature.table())) {
+                logger.debug("Table name {} appears in several schemas of database {}, doing a full extraction",
+                        signature.table(), config.getDatabaseName());
+                return null;
+            }
+        }
 
-            // Convert to JSON
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(schema);
+        Map<String, Object> previousSchema = objectMapper.readValue(previousSchemaJson,
+                new TypeReference<LinkedHashMap<String, Object>>() {});
+        Map<String, Map<String, Object>> previousTables = new HashMap<>();
+        Object storedTables = previousSchema.get("tables");
+        if (storedTables instanceof List<?> list) {
+            for (Object table : list) {
+                if (table instanceof Map<?, ?> map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> tableMap = (Map<String, Object>) map;
+                    previousTables.put(String.valueOf(tableMap.get("name")), tableMap);
+                }
+            }
+        }
 
-        } catch (Exception e) {
-            logger.error("Failed to extract schema for database: {}", config.getDatabaseName(), e);
-            throw new RuntimeException("Schema extraction failed: " + e.getMessage(), e);
-        } finally {
-            if (connection != null) {
-                try {
-                    connection.close();
-                } catch (SQLException e) {
-                    logger.warn("Error closing connection", e);
+        List<TableSignature> changed = new ArrayList<>();
+        for (TableSignature signature : current) {
+            if (!Objects.equals(signature.signature(), previousSignatures.get(signature.key()))
+                    || !previousTables.containsKey(signature.table())) {
+                changed.add(signature);
+            }
+        }
+        int removed = (int) previousTables.keySet().stream().filter(name -> !currentNames.contains(name)).count();
+
+        if (changed.isEmpty() && removed == 0 && !previousSchema.containsKey("partial")) {
+            return ExtractedSchema.unchanged();
+        }
+        if (changed.size() > current.size() * fullRefreshRatio) {
+            logger.info("{} of {} tables changed in database {}, doing a full extraction", changed.size(),
+                    current.size(), config.getDatabaseName());
+            return null;
+        }
+
+        progress.setTablesTotal(changed.size());
+        progress.setPhase("changed tables");
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, Map<String, Object>> refreshed = new HashMap<>();
+        for (TableSignature signature : changed) {
+            if (progress.shouldStop()) {
+                progress.markPartial();
+                break;
+            }
+            Map<String, Object> table = readTable(metaData, config, signature, progress);
+            if (table != null) {
+                refreshed.put(signature.key(), table);
+            }
+        }
+
+        List<Map<String, Object>> tables = new ArrayList<>();
+        Map<String, String> signatures = new LinkedHashMap<>();
+        for (TableSignature signature : current) {
+            Map<String, Object> table = refreshed.get(signature.key());
+            if (table != null) {
+                tables.add(table);
+                signatures.put(signature.key(), signature.signature());
+            } else if (previousTables.containsKey(signature.table())) {
+                tables.add(previousTables.get(signature.table()));
+                String previous = previousSignatures.get(signature.key());
+                if (previous != null) {
+                    signatures.put(signature.key(), previous);
                 }
+            } else {
+                // New table the refresh did not get to
+                progress.markPartial();
             }
         }
+
+        logger.info("Refreshed schema of database {}: {} tables re-read, {} dropped", config.getDatabaseName(),
+                refreshed.size(), removed);
+        return new ExtractedSchema(toJson(config, tables, progress, current.size()), signatures, refreshed.size(),
+                removed);
     }
 
-    private List<Map<String, Object>> extractTables(DatabaseMetaData metaData, DatabaseConfig config) throws SQLException {
+    /**
+     * One table through DatabaseMetaData; null if it disappeared in the meantime or the refresh stopped
+     */
+    private Map<String, Object> readTable(DatabaseMetaData metaData, DatabaseConfig config, TableSignature signature,
+                                          ExtractionProgress progress) throws SQLException {
+        // MySQL reports databases as catalogs
+        boolean mysql = "mysql".equalsIgnoreCase(config.getType());
+        String catalog = mysql ? signature.schema() : getCatalog(config);
+        String schemaPattern = mysql ? null : signature.schema();
+
         List<Map<String, Object>> tables = new ArrayList<>();
+        try (ResultSet rs = metaData.getTables(catalog, schemaPattern, signature.table(), new String[]{"TABLE"})) {
+            while (rs.next()) {
+                // The name is a pattern; '_' matches any character
+                if (signature.table().equals(rs.getString("TABLE_NAME"))) {
+                    Map<String, Object> table = new LinkedHashMap<>();
+                    table.put("name", rs.getString("TABLE_NAME"));
+                    table.put("type", rs.getString("TABLE_TYPE"));
+                    table.put("remarks", rs.getString("REMARKS"));
+                    tables.add(table);
+                    break;
+                }
+            }
+        }
+        if (tables.isEmpty()) {
+            return null;
+        }
+        fillTables(metaData, catalog, schemaPattern, tables, new AtomicInteger(), progress);
+        return tables.get(0).containsKey("columns") ? tables.get(0) : null;
+    }
+
+    /**
+     * Null when the database type has no signatures or the account may not read them
+     */
+    private List<TableSignature> readSignatures(Connection connection, DatabaseConfig config) {
+        CatalogSchemaExtractor extractor = CatalogSchemaExtractor.forType(config.getType());
+        if (extractor == null || !extractor.supportsSignatures()) {
+            return null;
+        }
+        try {
+            return extractor.readSignatures(connection, getCatalog(config), catalogSchema(config));
+        } catch (SQLException e) {
+            logger.warn("Could not read table signatures of database {}, it will only get full extractions: {}",
+                    config.getDatabaseName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(DatabaseConfig config, List<Map<String, Object>> tables, ExtractionProgress progress,
+                          int tablesTotal) throws JsonProcessingException {
+        Map<String, Object> schema = new LinkedHashMap<>();
+
+        schema.put("databaseName", config.getDatabaseName());
+        schema.put("databaseType", config.getType());
+        schema.put("extractedAt", new java.util.Date());
+        if (progress.isPartial()) {
+            schema.put("partial", true);
+            schema.put("tablesTotal", tablesTotal);
+            logger.warn("Schema extraction of database {} stopped early with {} of {} tables",
+                    config.getDatabaseName(), tables.size(), tablesTotal);
+        }
+        schema.put("tables", tables);
+
+        // Convert to JSON
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(schema);
+    }
 
+    List<Map<String, Object>> extractTables(Connection connection, DatabaseConfig config, String jdbcUrl)
+            throws SQLException {
+        return extractTables(connection, config, jdbcUrl, ExtractionProgress.unbounded());
+    }
+
+    List<Map<String, Object>> extractTables(Connection connection, DatabaseConfig config, String jdbcUrl,
+                                            ExtractionProgress progress) throws SQLException {
         String catalog = getCatalog(config);
         String schemaPattern = getSchemaPattern(config);
 
+        CatalogSchemaExtractor bulkExtractor = bulkExtraction ? CatalogSchemaExtractor.forType(config.getType()) : null;
+        if (bulkExtractor != null) {
+            try {
+                return bulkExtractor.extractTables(connection, catalog, catalogSchema(config), progress);
+            } catch (SQLException e) {
+                // Usually missing privileges on a catalog view; DatabaseMetaData may still work
+                logger.warn("Bulk catalog extraction failed for database {}, falling back to JDBC metadata: {}",
+                        config.getDatabaseName(), e.getMessage());
+            }
+        }
+
+        return extractTablesWithMetaData(connection, config, jdbcUrl, catalog, schemaPattern, progress);
+    }
+
+    /**
+     * List tables on the given connection, then fill in their details with up to
+     * extractionParallelism connections working through the list at once. Tables not reached
+     * before the extraction had to stop are left out.
+     */
+    private List<Map<String, Object>> extractTablesWithMetaData(Connection connection, DatabaseConfig config,
+                                                                String jdbcUrl, String catalog, String schemaPattern,
+                                                                ExtractionProgress progress) throws SQLException {
+        List<Map<String, Object>> tables = new ArrayList<>();
+        progress.setPhase("tables");
+
         // Get all tables
-        try (ResultSet rs = metaData.getTables(catalog, schemaPattern, "%", new String[]{"TABLE"})) {
+        try (ResultSet rs = connection.getMetaData().getTables(catalog, schemaPattern, "%", new String[]{"TABLE"})) {
             while (rs.next()) {
                 Map<String, Object> table = new LinkedHashMap<>();
-                String tableName = rs.getString("TABLE_NAME");
-
-                table.put("name", tableName);
+                table.put("name", rs.getString("TABLE_NAME"));
                 table.put("type", rs.getString("TABLE_TYPE"));
                 table.put("remarks", rs.getString("REMARKS"));
+                tables.add(table);
+            }
+        }
 
-                // Extract columns for this table
-                List<Map<String, Object>> columns = extractColumns(metaData, catalog, schemaPattern, tableName);
-                table.put("columns", columns);
+        progress.setTablesTotal(tables.size());
+        progress.setPhase("table details");
 
-                // Extract primary keys
-                List<String> primaryKeys = extractPrimaryKeys(metaData, catalog, schemaPattern, tableName);
-                table.put("primaryKeys", primaryKeys);
+        int workers = Math.max(1, Math.min(extractionParallelism, tables.size()));
+        AtomicInteger next = new AtomicInteger();
+        if (workers == 1) {
+            fillTables(connection.getMetaData(), catalog, schemaPattern, tables, next, progress);
+            return finished(tables, progress);
+        }
 
-                // Extract foreign keys (relationships)
-                List<Map<String, Object>> foreignKeys = extractForeignKeys(metaData, catalog, schemaPattern, tableName);
-                table.put("foreignKeys", foreignKeys);
+        // The caller's connection is one of the workers; the others borrow their own, and one that
+        // cannot get a connection simply leaves its share to the rest
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> helpers = new ArrayList<>();
+            for (int i = 1; i < workers; i++) {
+                helpers.add(executor.submit(() -> {
+                    Connection helper;
+                    try {
+                        helper = connectionPools.getConnection(config.getId(), jdbcUrl, config.getUsername(),
+                                config.getPassword());
+                    } catch (SQLException e) {
+                        logger.debug("No extra connection for schema extraction of {}: {}",
+                                config.getDatabaseName(), e.getMessage());
+                        return null;
+                    }
+                    try (helper) {
+                        fillTables(helper.getMetaData(), catalog, schemaPattern, tables, next, progress);
+                    } catch (SQLException e) {
+                        next.set(tables.size());
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
 
-                // Extract indexes
-                List<Map<String, Object>> indexes = extractIndexes(metaData, catalog, schemaPattern, tableName);
-                table.put("indexes", indexes);
+            SQLException failure = null;
+            try {
+                fillTables(connection.getMetaData(), catalog, schemaPattern, tables, next, progress);
+            } catch (SQLException e) {
+                failure = e;
+                // Stop the helpers from claiming further tables
+                next.set(tables.size());
+            }
 
-                tables.add(table);
+            for (Future<Void> helper : helpers) {
+                try {
+                    helper.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof SQLException sqlException ? sqlException
+                                : new SQLException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while extracting schema", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
             }
         }
 
+        return finished(tables, progress);
+    }
+
+    private static List<Map<String, Object>> finished(List<Map<String, Object>> tables, ExtractionProgress progress) {
+        // Only filled-in tables have columns; an early stop leaves the rest without them
+        if (tables.removeIf(table -> !table.containsKey("columns"))) {
+            progress.markPartial();
+        }
         return tables;
     }
 
+    /**
+     * Claim tables from the shared list one at a time and add columns, keys and indexes to them
+     */
+    private void fillTables(DatabaseMetaData metaData, String catalog, String schemaPattern,
+                            List<Map<String, Object>> tables, AtomicInteger next,
+                            ExtractionProgress progress) throws SQLException {
+        int index;
+        while (!progress.shouldStop() && (index = next.getAndIncrement()) < tables.size()) {
+            Map<String, Object> table = tables.get(index);
+            String tableName = (String) table.get("name");
+
+            // Extract columns for this table
+            List<Map<String, Object>> columns = extractColumns(metaData, catalog, schemaPattern, tableName);
+
+            // Extract primary keys
+            List<String> primaryKeys = extractPrimaryKeys(metaData, catalog, schemaPattern, tableName);
+
+            // Extract foreign keys (relationships)
+            List<Map<String, Object>> foreignKeys = extractForeignKeys(metaData, catalog, schemaPattern, tableName);
+
+            // Extract indexes
+            List<Map<String, Object>> indexes = extractIndexes(metaData, catalog, schemaPattern, tableName);
+
+            table.put("columns", columns);
+            table.put("primaryKeys", primaryKeys);
+            table.put("foreignKeys", foreignKeys);
+            table.put("indexes", indexes);
+            progress.tableDone();
+        }
+    }
+
     private List<Map<String, Object>> extractColumns(DatabaseMetaData metaData, String catalog,
                                                        String schema, String tableName) throws SQLException {
         List<Map<String, Object>> columns = new ArrayList<>();
@@ -179,6 +526,14 @@ public class DatabaseSchemaExtractionService {
         return null;
     }
 
+    /**
+     * Schema for the catalog queries: the metadata schema pattern, else the configured schema
+     */
+    private String catalogSchema(DatabaseConfig config) {
+        String schemaPattern = getSchemaPattern(config);
+        return schemaPattern != null ? schemaPattern : config.getSchemaName();
+    }
+
     private String getSchemaPattern(DatabaseConfig config) {
         // For PostgreSQL, use schema (default is 'public')
         if ("postgresql".equalsIgnoreCase(config.getType())) {
@@ -231,4 +586,20 @@ public class DatabaseSchemaExtractionService {
                 throw new IllegalArgumentException("Unsupported database type: " + type);
         }
     }
+
+    /**
+     * Schema JSON with the table signatures it was read at, and how many tables were (re)read and
+     * dropped. An unchanged result carries no JSON: the stored schema is still current.
+     */
+    public record ExtractedSchema(String schemaJson, Map<String, String> tableSignatures, int tablesExtracted,
+                                  int tablesRemoved) {
+
+        static ExtractedSchema unchanged() {
+            return new ExtractedSchema(null, null, 0, 0);
+        }
+
+        public boolean isUnchanged() {
+            return schemaJson == null;
+        }
+    }
 }
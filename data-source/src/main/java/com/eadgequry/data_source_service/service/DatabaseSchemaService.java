@@ -10,6 +10,10 @@ import com.eadgequry.data_source_service.repository.DatabaseSchemaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 @Transactional
 public class DatabaseSchemaService {
@@ -45,12 +49,40 @@ public class DatabaseSchemaService {
         return toDTO(schema);
     }
 
+    /**
+     * Stored schema of a config, if one was extracted (internal use, e.g. incremental refresh)
+     */
+    @Transactional(readOnly = true)
+    public Optional<DatabaseSchema> findByConfigId(Long configId) {
+        return databaseSchemaRepository.findByDatabaseConfigId(configId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasSchema(Long configId) {
+        return databaseSchemaRepository.existsByDatabaseConfigId(configId);
+    }
+
     public DatabaseSchemaDTO saveOrUpdateSchema(Long configId, String schemaJson) {
+        return saveOrUpdateSchema(configId, schemaJson, null);
+    }
+
+    /**
+     * Store a newly extracted schema and bump its version. Signatures may be null when the
+     * database type has no cheap change detection.
+     */
+    public DatabaseSchemaDTO saveOrUpdateSchema(Long configId, String schemaJson, Map<String, String> tableSignatures) {
         DatabaseSchema schema = databaseSchemaRepository.findByDatabaseConfigId(configId)
-                .orElse(new DatabaseSchema());
+                .orElse(null);
+        if (schema == null) {
+            schema = new DatabaseSchema();
+        } else {
+            schema.setSchemaVersion(schema.getSchemaVersion() + 1);
+            schema.setExtractedAt(LocalDateTime.now());
+        }
 
         schema.setDatabaseConfigId(configId);
         schema.setSchemaJson(schemaJson);
+        schema.setTableSignatures(tableSignatures);
 
         DatabaseSchema saved = databaseSchemaRepository.save(schema);
         return toDTO(saved);
@@ -66,6 +98,7 @@ public class DatabaseSchemaService {
         dto.setDatabaseConfigId(entity.getDatabaseConfigId());
         dto.setSchemaJson(entity.getSchemaJson());
         dto.setExtractedAt(entity.getExtractedAt());
+        dto.setSchemaVersion(entity.getSchemaVersion());
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
         return dto;
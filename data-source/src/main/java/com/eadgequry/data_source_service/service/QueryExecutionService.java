@@ -1,17 +1,34 @@
 package com.eadgequry.data_source_service.service;
 
 import com.eadgequry.data_source_service.dto.QueryExecutionResponse;
+import com.eadgequry.data_source_service.dto.QueryPlanSummary;
+import com.eadgequry.data_source_service.dto.ResultColumn;
 import com.eadgequry.data_source_service.exception.DatabaseConfigNotFoundException;
+import com.eadgequry.data_source_service.exception.QueryCostExceededException;
 import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.plan.QueryCostGuard;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
 import com.eadgequry.data_source_service.repository.DatabaseConfigRepository;
+import com.eadgequry.data_source_service.sql.ReadOnlySqlValidator;
+import com.eadgequry.data_source_service.stream.ResultStreamFormat;
+import com.eadgequry.data_source_service.stream.ResultStreamWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.*;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -20,23 +37,82 @@ public class QueryExecutionService {
     private static final Logger log = LoggerFactory.getLogger(QueryExecutionService.class);
 
     private final DatabaseConfigRepository databaseConfigRepository;
+    private final ObservationRegistry observationRegistry;
+    private final ConnectionPoolRegistry connectionPools;
+    private final RunningQueryRegistry runningQueries;
+    private final ObjectMapper objectMapper;
+    private final QueryCostGuard costGuard;
 
-    // Forbidden SQL keywords for security
-    private static final String[] FORBIDDEN_KEYWORDS = {
-            "INSERT", "UPDATE", "DELETE", "DROP", "ALTER", "TRUNCATE",
-            "CREATE", "REPLACE", "GRANT", "REVOKE", "EXEC", "EXECUTE",
-            "CALL", "LOAD", "OUTFILE", "INFILE", "DUMPFILE", "MERGE"
-    };
+    // Server-side ceilings; callers can ask for less but never more
+    @Value("${datasource.query.max-rows:10000}")
+    private int maxRowsLimit;
 
-    private static final Pattern SELECT_PATTERN = Pattern.compile("^\\s*SELECT\\s+", Pattern.CASE_INSENSITIVE);
-    private static final Pattern FROM_PATTERN = Pattern.compile("\\s+FROM\\s+", Pattern.CASE_INSENSITIVE);
+    @Value("${datasource.query.max-bytes:8388608}")
+    private long maxBytesLimit;
+
+    // Streaming keeps memory flat, so it allows far more rows than the buffered endpoint
+    @Value("${datasource.query.max-stream-rows:1000000}")
+    private int maxStreamRowsLimit;
+
+    // Global statement timeout; a config may set a lower one via connectionProperties.queryTimeoutSeconds
+    @Value("${datasource.query.timeout-seconds:45}")
+    private int queryTimeoutSeconds;
+
+    // Wall-clock budget for a whole stream, however fast the client reads
+    @Value("${datasource.query.stream-timeout-seconds:600}")
+    private int streamTimeoutSeconds;
+
+    // Queries running at once across all users; matches the connection ceiling across pools
+    @Value("${datasource.query.max-concurrent:200}")
+    private int maxConcurrentQueries;
+
+    static final String QUERY_TIMEOUT_PROPERTY = "queryTimeoutSeconds";
+
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private SimpleAsyncTaskExecutor taskExecutor;
+
+    /**
+     * Virtual threads, so a query waiting on its database holds no platform thread. Over the limit
+     * a query is rejected right away instead of queueing and timing out before it ever runs.
+     */
+    @PostConstruct
+    void start() {
+        taskExecutor = new SimpleAsyncTaskExecutor("query-");
+        taskExecutor.setVirtualThreads(true);
+        taskExecutor.setConcurrencyLimit(maxConcurrentQueries);
+        taskExecutor.setRejectTasksWhenLimitReached(true);
+    }
+
+    @PreDestroy
+    void close() {
+        taskExecutor.close();
+    }
+
+    /**
+     * Executor for the async query and stream requests
+     */
+    public AsyncTaskExecutor taskExecutor() {
+        return taskExecutor;
+    }
 
     /**
      * Execute SQL query on the specified database
      * SECURITY: Only SELECT queries are allowed - all dangerous operations are blocked
      */
     public QueryExecutionResponse executeQuery(Long databaseConfigId, Long userId, String sqlQuery) {
+        return executeQuery(runningQueries.newQueryId(), databaseConfigId, userId, sqlQuery, null, null);
+    }
+
+    /**
+     * Execute SQL query reading at most maxRows rows and roughly maxBytes of row data.
+     * Null or out-of-range limits fall back to the server-side ceilings. While it runs the
+     * statement is listed in the running-query registry under queryId and can be cancelled.
+     */
+    public QueryExecutionResponse executeQuery(String queryId, Long databaseConfigId, Long userId, String sqlQuery,
+                                               Integer maxRows, Long maxBytes) {
         long startTime = System.currentTimeMillis();
+        int timeoutSeconds = queryTimeoutSeconds;
 
         try {
             // SECURITY: Validate query before execution
@@ -49,23 +125,82 @@ public class QueryExecutionService {
             // Build JDBC URL
             String jdbcUrl = buildJdbcUrl(config);
 
+            // Ask the optimizer first; throws when the plan is over the config's limits
+            QueryPlanSummary plan = costGuard.guard(config, jdbcUrl, sqlQuery);
+
             // Execute query
-            List<Map<String, Object>> results = executeQueryOnDatabase(jdbcUrl, config.getUsername(),
-                    config.getPassword(), sqlQuery);
+            timeoutSeconds = effectiveTimeout(config);
+            RowLimits limits = new RowLimits(effectiveLimit(maxRows, maxRowsLimit),
+                    effectiveLimit(maxBytes, maxBytesLimit), timeoutSeconds);
+            QueryRows rows = executeQueryOnDatabase(new QueryOwner(queryId, userId, config.getId()), jdbcUrl,
+                    config.getUsername(), config.getPassword(), sqlQuery, config.getType(), limits);
 
             long executionTime = System.currentTimeMillis() - startTime;
 
-            log.info("Query executed successfully in {}ms, returned {} rows", executionTime, results.size());
+            log.info("Query executed successfully in {}ms, returned {} rows{}", executionTime, rows.rows().size(),
+                    rows.truncated() ? " (truncated after " + rows.rowsScanned() + " scanned)" : "");
 
-            return QueryExecutionResponse.success(sqlQuery, results, executionTime);
+            QueryExecutionResponse response = QueryExecutionResponse.success(sqlQuery, rows.columns(), rows.rows(),
+                    executionTime, rows.truncated(), rows.rowsScanned());
+            response.setPlan(plan);
+            return response;
 
+        } catch (QueryCostExceededException e) {
+            return QueryExecutionResponse.rejected(sqlQuery, e.getMessage(), e.getPlan());
         } catch (IllegalArgumentException e) {
             // Security violation
             log.error("Security validation failed: {}", e.getMessage());
             return QueryExecutionResponse.error(sqlQuery, "Security error: " + e.getMessage());
+        } catch (SQLException e) {
+            if (runningQueries.wasCancelled(queryId)) {
+                log.info("Query {} was cancelled", queryId);
+                return QueryExecutionResponse.error(sqlQuery, "Query was cancelled");
+            }
+            if (e instanceof SQLTimeoutException) {
+                log.warn("Query {} timed out after {}s", queryId, timeoutSeconds);
+                return QueryExecutionResponse.error(sqlQuery,
+                        "Query timed out after " + timeoutSeconds + " seconds and was cancelled");
+            }
+            log.error("Query execution failed", e);
+            return QueryExecutionResponse.error(sqlQuery, e.getMessage());
         } catch (Exception e) {
             log.error("Query execution failed", e);
             return QueryExecutionResponse.error(sqlQuery, e.getMessage());
+        } finally {
+            runningQueries.finish(queryId);
+        }
+    }
+
+    /**
+     * Upper bound for how long a request may wait on a query, used for the async request timeout
+     */
+    public long maxQueryDurationMillis() {
+        return queryTimeoutSeconds * 1000L + costGuard.explainTimeoutMillis();
+    }
+
+    /**
+     * Upper bound for a streamed response, used for the stream's async request timeout
+     */
+    public long maxStreamDurationMillis() {
+        return streamTimeoutSeconds * 1000L;
+    }
+
+    /**
+     * Per-config timeout from connectionProperties, never above the global one
+     */
+    int effectiveTimeout(DatabaseConfig config) {
+        Map<String, Object> properties = config.getConnectionProperties();
+        Object configured = properties != null ? properties.get(QUERY_TIMEOUT_PROPERTY) : null;
+        if (configured == null) {
+            return queryTimeoutSeconds;
+        }
+        try {
+            int seconds = Integer.parseInt(configured.toString().trim());
+            return seconds > 0 ? Math.min(seconds, queryTimeoutSeconds) : queryTimeoutSeconds;
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} '{}' on database config {}", QUERY_TIMEOUT_PROPERTY, configured,
+                    config.getId());
+            return queryTimeoutSeconds;
         }
     }
 
@@ -74,91 +209,272 @@ public class QueryExecutionService {
      * Blocks: DELETE, DROP, UPDATE, INSERT, TRUNCATE, etc.
      */
     private void validateQuerySecurity(String sqlQuery) {
-        if (sqlQuery == null || sqlQuery.trim().isEmpty()) {
-            throw new IllegalArgumentException("SQL query cannot be empty");
-        }
+        ReadOnlySqlValidator.validate(sqlQuery);
 
-        String trimmedQuery = sqlQuery.trim();
+        log.debug("Query passed security validation");
+    }
 
-        // Must start with SELECT
-        if (!SELECT_PATTERN.matcher(trimmedQuery).find()) {
-            throw new IllegalArgumentException("Only SELECT queries are allowed. Query must start with SELECT.");
-        }
+    /**
+     * Execute query on database inside a span tagged with the database type and row count
+     */
+    private QueryRows executeQueryOnDatabase(QueryOwner owner, String jdbcUrl, String username, String password,
+                                             String sqlQuery, String databaseType, RowLimits limits)
+            throws SQLException {
+        Observation observation = Observation.createNotStarted("datasource.query.execute", observationRegistry)
+                .contextualName("execute query")
+                .lowCardinalityKeyValue("db.system", databaseType.toLowerCase());
+
+        return observation.observeChecked(() -> {
+            QueryRows rows = runQuery(owner, jdbcUrl, username, password, sqlQuery, databaseType, limits);
+            observation.highCardinalityKeyValue("db.rows", String.valueOf(rows.rows().size()));
+            observation.highCardinalityKeyValue("db.truncated", String.valueOf(rows.truncated()));
+            return rows;
+        });
+    }
 
-        // Must contain FROM clause
-        if (!FROM_PATTERN.matcher(trimmedQuery).find()) {
-            throw new IllegalArgumentException("Invalid SELECT query: FROM clause is required");
-        }
+    /**
+     * Run the query on a pooled connection and return a column header plus one array per row.
+     * The row cap is pushed down with setMaxRows (one extra row reveals truncation) and
+     * reading stops as soon as the estimated size of the collected rows would pass maxBytes.
+     */
+    QueryRows runQuery(QueryOwner owner, String jdbcUrl, String username, String password,
+                       String sqlQuery, String databaseType, RowLimits limits) throws SQLException {
+
+        return executeStatement(owner, jdbcUrl, username, password, sqlQuery, databaseType, limits.maxRows(),
+                limits.timeoutSeconds(), resultSet -> {
+                    List<Object[]> results = new ArrayList<>();
+                    int rowsScanned = 0;
+                    long bytesRead = 0;
+                    boolean truncated = false;
+
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+
+                    List<ResultColumn> columns = new ArrayList<>(columnCount);
+                    String[] columnNames = new String[columnCount];
+                    for (int i = 1; i <= columnCount; i++) {
+                        columnNames[i - 1] = metaData.getColumnLabel(i);
+                        columns.add(new ResultColumn(columnNames[i - 1],
+                                ResultColumn.typeName(metaData.getColumnType(i))));
+                    }
+
+                    while (resultSet.next()) {
+                        checkNotCancelled(owner);
+                        rowsScanned++;
+                        if (results.size() >= limits.maxRows()) {
+                            truncated = true;
+                            break;
+                        }
+
+                        Object[] row = new Object[columnCount];
+                        long rowBytes = 0;
+
+                        for (int i = 1; i <= columnCount; i++) {
+                            Object value = resultSet.getObject(i);
+                            row[i - 1] = value;
+                            // Counts the column name too, so the cap also holds when the caller asks for objects
+                            rowBytes += estimateBytes(columnNames[i - 1], value);
+                        }
+
+                        if (bytesRead + rowBytes > limits.maxBytes()) {
+                            truncated = true;
+                            break;
+                        }
+
+                        bytesRead += rowBytes;
+                        results.add(row);
+                    }
+
+                    return new QueryRows(columns, results, truncated, rowsScanned);
+                });
+    }
 
-        // Check for forbidden keywords (as whole words)
-        String upperQuery = sqlQuery.toUpperCase();
-        for (String forbiddenKeyword : FORBIDDEN_KEYWORDS) {
-            String regex = "\\b" + Pattern.quote(forbiddenKeyword) + "\\b";
-            if (Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(sqlQuery).find()) {
-                throw new IllegalArgumentException(
-                        String.format("Forbidden SQL keyword detected: %s. Only SELECT queries are allowed.", forbiddenKeyword));
-            }
+    /**
+     * Validate the query and prepare a body that streams its rows to the response as they are read.
+     * Validation, config lookup and the cost guard run now so failures still map to an HTTP error status;
+     * once streaming has started, failures are reported in-band by the format's error frame.
+     */
+    public StreamingResponseBody streamQuery(String queryId, Long databaseConfigId, Long userId, String sqlQuery,
+                                             Integer maxRows, ResultStreamFormat format) {
+        DatabaseConfig config;
+        String jdbcUrl;
+        try {
+            validateQuerySecurity(sqlQuery);
+
+            config = databaseConfigRepository.findByIdAndUserId(databaseConfigId, userId)
+                    .orElseThrow(() -> new DatabaseConfigNotFoundException(databaseConfigId, userId));
+
+            jdbcUrl = buildJdbcUrl(config);
+            costGuard.guard(config, jdbcUrl, sqlQuery);
+        } catch (RuntimeException e) {
+            // No body will run to finish the query
+            runningQueries.finish(queryId);
+            throw e;
         }
+        int rowLimit = effectiveLimit(maxRows, maxStreamRowsLimit);
+        int timeoutSeconds = effectiveTimeout(config);
+        QueryOwner owner = new QueryOwner(queryId, userId, config.getId());
+
+        return out -> {
+            long startTime = System.currentTimeMillis();
+            long deadlineNanos = System.nanoTime() + streamTimeoutSeconds * 1_000_000_000L;
+            ResultStreamWriter writer = format.open(out, objectMapper, fetchSizeFor(config.getType(), rowLimit));
+            try {
+                StreamSummary summary = executeStatement(owner, jdbcUrl, config.getUsername(), config.getPassword(),
+                        sqlQuery, config.getType(), rowLimit, timeoutSeconds,
+                        resultSet -> writeRows(owner, resultSet, writer, rowLimit, deadlineNanos));
+                long executionTime = System.currentTimeMillis() - startTime;
+                writer.end(summary.rowCount(), summary.truncated(), executionTime);
+                log.info("Query {} streamed {} rows in {}ms{}", queryId, summary.rowCount(), executionTime,
+                        summary.truncated() ? " (truncated)" : "");
+            } catch (SQLException e) {
+                String message = e instanceof StreamBudgetExceededException ? e.getMessage()
+                        : runningQueries.wasCancelled(queryId) ? "Query was cancelled"
+                        : e instanceof SQLTimeoutException
+                        ? "Query timed out after " + timeoutSeconds + " seconds and was cancelled"
+                        : e.getMessage();
+                log.warn("Streaming query {} failed: {}", queryId, message);
+                writer.error(message);
+            } catch (IOException e) {
+                log.info("Client disconnected while streaming query {}", queryId);
+                throw e;
+            } finally {
+                runningQueries.finish(queryId);
+            }
+        };
+    }
 
-        // Validate query structure (matching quotes and parentheses)
-        validateQueryStructure(sqlQuery);
+    /**
+     * Write rows until the result ends or a limit is hit. The statement timeout only covers
+     * execution, so the stream's own deadline stops a slow or stalled reader from holding the
+     * connection (and on PostgreSQL an open transaction) indefinitely.
+     */
+    private StreamSummary writeRows(QueryOwner owner, ResultSet resultSet, ResultStreamWriter writer, int rowLimit,
+                                    long deadlineNanos) throws SQLException, IOException {
+        writer.start(resultSet.getMetaData());
 
-        log.debug("Query passed security validation");
+        long rowCount = 0;
+        try {
+            while (resultSet.next()) {
+                checkNotCancelled(owner);
+                if (rowCount >= rowLimit) {
+                    return new StreamSummary(rowCount, true);
+                }
+                if (System.nanoTime() - deadlineNanos >= 0) {
+                    throw new StreamBudgetExceededException("Streaming stopped after " + streamTimeoutSeconds
+                            + " seconds, " + rowCount + " rows were sent");
+                }
+                writer.row(resultSet);
+                rowCount++;
+            }
+        } catch (IOException e) {
+            // Cancel before the result set closes, otherwise drivers like MySQL drain the remaining rows
+            runningQueries.cancel(owner.queryId());
+            throw e;
+        }
+        return new StreamSummary(rowCount, false);
     }
 
     /**
-     * Validate query structure (matching quotes, parentheses)
+     * Open a pooled connection and a forward-only statement carrying the row cap, fetch size and
+     * timeout, register it as running and hand its result set to the reader.
      */
-    private void validateQueryStructure(String query) {
-        // Check single quotes
-        long singleQuotes = query.chars().filter(ch -> ch == '\'').count();
-        if (singleQuotes % 2 != 0) {
-            throw new IllegalArgumentException("Invalid SQL syntax: Unmatched single quote detected");
+    private <T, E extends Exception> T executeStatement(QueryOwner owner, String jdbcUrl, String username,
+                                                        String password, String sqlQuery, String databaseType,
+                                                        int maxRows, int timeoutSeconds,
+                                                        ResultSetReader<T, E> reader) throws SQLException, E {
+        try (Connection connection = connectionPools.getConnection(owner.databaseConfigId(), jdbcUrl, username,
+                password)) {
+            boolean cursorNeedsTransaction = "postgresql".equalsIgnoreCase(databaseType);
+            if (cursorNeedsTransaction) {
+                // PostgreSQL only honours the fetch size inside a transaction; otherwise it buffers every row
+                connection.setAutoCommit(false);
+            }
+
+            try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                statement.setMaxRows(maxRows + 1);
+                statement.setFetchSize(fetchSizeFor(databaseType, maxRows));
+                statement.setQueryTimeout(timeoutSeconds);
+                runningQueries.register(owner.queryId(), owner.userId(), owner.databaseConfigId(), sqlQuery,
+                        statement);
+
+                try (ResultSet resultSet = statement.executeQuery(sqlQuery)) {
+                    return reader.read(resultSet);
+                }
+            } finally {
+                if (cursorNeedsTransaction) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            }
         }
+    }
 
-        // Check double quotes
-        long doubleQuotes = query.chars().filter(ch -> ch == '"').count();
-        if (doubleQuotes % 2 != 0) {
-            throw new IllegalArgumentException("Invalid SQL syntax: Unmatched double quote detected");
+    private void checkNotCancelled(QueryOwner owner) throws SQLException {
+        if (runningQueries.wasCancelled(owner.queryId())) {
+            // Some drivers drop a cancel that arrives before execution starts
+            throw new SQLException("Query was cancelled");
         }
+    }
 
-        // Check parentheses
-        long openParens = query.chars().filter(ch -> ch == '(').count();
-        long closeParens = query.chars().filter(ch -> ch == ')').count();
-        if (openParens != closeParens) {
-            throw new IllegalArgumentException("Invalid SQL syntax: Unmatched parentheses detected");
+    /**
+     * Fetch size per driver: MySQL streams row by row only with Integer.MIN_VALUE,
+     * the others fetch in batches no larger than the rows we will keep.
+     */
+    static int fetchSizeFor(String databaseType, int maxRows) {
+        if ("mysql".equalsIgnoreCase(databaseType)) {
+            return Integer.MIN_VALUE;
         }
+        return Math.max(1, Math.min(DEFAULT_FETCH_SIZE, maxRows + 1));
     }
 
     /**
-     * Execute query on database and return results as list of maps
+     * Rough size of a column as it will appear in the JSON response
      */
-    private List<Map<String, Object>> executeQueryOnDatabase(String jdbcUrl, String username,
-                                                              String password, String sqlQuery) throws SQLException {
+    static long estimateBytes(String columnName, Object value) {
+        long nameBytes = columnName.length() + 4;
+        if (value == null) {
+            return nameBytes + 4;
+        }
+        if (value instanceof byte[] bytes) {
+            return nameBytes + (bytes.length * 4L / 3) + 2;
+        }
+        if (value instanceof CharSequence text) {
+            return nameBytes + text.length() + 2;
+        }
+        return nameBytes + String.valueOf(value).length() + 2;
+    }
 
-        List<Map<String, Object>> results = new ArrayList<>();
+    private static int effectiveLimit(Integer requested, int ceiling) {
+        return requested != null && requested > 0 ? Math.min(requested, ceiling) : ceiling;
+    }
 
-        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
-             Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(sqlQuery)) {
+    private static long effectiveLimit(Long requested, long ceiling) {
+        return requested != null && requested > 0 ? Math.min(requested, ceiling) : ceiling;
+    }
 
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
+    record RowLimits(int maxRows, long maxBytes, int timeoutSeconds) {
+    }
 
-            while (resultSet.next()) {
-                Map<String, Object> row = new LinkedHashMap<>();
+    record QueryOwner(String queryId, Long userId, Long databaseConfigId) {
+    }
 
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnLabel(i);
-                    Object value = resultSet.getObject(i);
-                    row.put(columnName, value);
-                }
+    private record StreamSummary(long rowCount, boolean truncated) {
+    }
 
-                results.add(row);
-            }
+    private static class StreamBudgetExceededException extends SQLTimeoutException {
+        StreamBudgetExceededException(String message) {
+            super(message);
         }
+    }
+
+    @FunctionalInterface
+    private interface ResultSetReader<T, E extends Exception> {
+        T read(ResultSet resultSet) throws SQLException, E;
+    }
 
-        return results;
+    record QueryRows(List<ResultColumn> columns, List<Object[]> rows, boolean truncated, int rowsScanned) {
     }
 
     /**
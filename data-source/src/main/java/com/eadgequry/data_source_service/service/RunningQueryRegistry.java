@@ -0,0 +1,172 @@
+package com.eadgequry.data_source_service.service;
+
+import com.eadgequry.data_source_service.dto.RunningQueryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statements currently executing against customer databases.
+ *
+ * Each query is registered under an id handed out before execution starts, so a caller
+ * can cancel it even while the connection is still being acquired: cancelling an id that
+ * is not running yet marks it, and the statement is cancelled the moment it registers.
+ * Ids stay open from newQueryId until finish (or release, for a query that never ran), so a
+ * cancel arriving after the query is done leaves no mark behind.
+ */
+@Component
+public class RunningQueryRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RunningQueryRegistry.class);
+
+    private final Map<String, RunningQuery> running = new ConcurrentHashMap<>();
+    private final Set<String> open = ConcurrentHashMap.newKeySet();
+    private final Set<String> cancelledBeforeStart = ConcurrentHashMap.newKeySet();
+    private final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+
+    public String newQueryId() {
+        String queryId = UUID.randomUUID().toString();
+        open.add(queryId);
+        return queryId;
+    }
+
+    /**
+     * Track a statement that is about to execute. Throws if the query was cancelled before it started.
+     */
+    public void register(String queryId, Long userId, Long databaseConfigId, String sqlQuery, Statement statement)
+            throws SQLException {
+        running.put(queryId, new RunningQuery(queryId, userId, databaseConfigId, fingerprint(sqlQuery),
+                Instant.now(), statement));
+
+        if (cancelledBeforeStart.remove(queryId)) {
+            running.remove(queryId);
+            cancelled.add(queryId);
+            throw new SQLException("Query was cancelled before it started");
+        }
+    }
+
+    /**
+     * Forget the query once it finished, failed or was cancelled
+     */
+    public void finish(String queryId) {
+        open.remove(queryId);
+        running.remove(queryId);
+        cancelledBeforeStart.remove(queryId);
+        cancelled.remove(queryId);
+    }
+
+    /**
+     * Close an id whose request completed, whether or not its query ever ran. A query still
+     * running finishes as usual; a mark left for one that never started is consumed when it registers.
+     */
+    public void release(String queryId) {
+        open.remove(queryId);
+    }
+
+    /**
+     * Whether the query was cancelled through this registry (as opposed to timing out or failing)
+     */
+    public boolean wasCancelled(String queryId) {
+        return cancelled.contains(queryId);
+    }
+
+    public List<RunningQueryDTO> listForUser(Long userId) {
+        return running.values().stream()
+                .filter(query -> query.userId().equals(userId))
+                .sorted(Comparator.comparing(RunningQuery::startedAt))
+                .map(RunningQuery::toDTO)
+                .toList();
+    }
+
+    /**
+     * Internal only: cancel a query without an ownership check, for the streaming path whose client
+     * disconnected mid-result. Requests from users go through cancelForUser.
+     * Returns false when no such query is running.
+     */
+    public boolean cancel(String queryId) {
+        RunningQuery query = running.get(queryId);
+        return query != null && cancelStatement(query);
+    }
+
+    /**
+     * Cancel a running query only if it belongs to the given user
+     */
+    public boolean cancelForUser(String queryId, Long userId) {
+        RunningQuery query = running.get(queryId);
+        return query != null && query.userId().equals(userId) && cancelStatement(query);
+    }
+
+    /**
+     * Cancel on behalf of the caller that started the query (client disconnect, request timeout).
+     * Works whether or not the statement has been registered yet.
+     */
+    public void cancelOnAbandon(String queryId) {
+        // Mark first so a statement registering concurrently sees the mark or is found below
+        cancelledBeforeStart.add(queryId);
+        if (!open.contains(queryId)) {
+            // Already finished: nothing will consume the mark
+            cancelledBeforeStart.remove(queryId);
+            return;
+        }
+        RunningQuery query = running.get(queryId);
+        if (query != null) {
+            cancelledBeforeStart.remove(queryId);
+            log.info("Client went away, cancelling query {}", queryId);
+            cancelStatement(query);
+        }
+    }
+
+    private boolean cancelStatement(RunningQuery query) {
+        try {
+            cancelled.add(query.queryId());
+            query.statement().cancel();
+            log.info("Cancelled query {} on database config {} after {}ms", query.queryId(),
+                    query.databaseConfigId(), Duration.between(query.startedAt(), Instant.now()).toMillis());
+            return true;
+        } catch (SQLException e) {
+            cancelled.remove(query.queryId());
+            log.warn("Failed to cancel query {}: {}", query.queryId(), e.getMessage());
+            return false;
+        }
+    }
+
+    static String fingerprint(String sqlQuery) {
+        String normalized = sqlQuery.trim().replaceAll("\\s+", " ").toLowerCase();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record RunningQuery(String queryId, Long userId, Long databaseConfigId, String sqlFingerprint,
+                                Instant startedAt, Statement statement) {
+
+        RunningQueryDTO toDTO() {
+            return RunningQueryDTO.builder()
+                    .queryId(queryId)
+                    .userId(userId)
+                    .databaseConfigId(databaseConfigId)
+                    .sqlFingerprint(sqlFingerprint)
+                    .startedAt(startedAt)
+                    .elapsedMs(Duration.between(startedAt, Instant.now()).toMillis())
+                    .build();
+        }
+    }
+}
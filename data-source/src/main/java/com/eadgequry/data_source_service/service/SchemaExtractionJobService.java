@@ -0,0 +1,368 @@
+package com.eadgequry.data_source_service.service;
+
+import com.eadgequry.data_source_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.data_source_service.dto.SchemaExtractionJobDTO;
+import com.eadgequry.data_source_service.exception.DatabaseConfigNotFoundException;
+import com.eadgequry.data_source_service.exception.SchemaExtractionJobNotFoundException;
+import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.repository.DatabaseConfigRepository;
+import com.eadgequry.data_source_service.schema.CatalogSchemaExtractor;
+import com.eadgequry.data_source_service.schema.ExtractionProgress;
+import com.eadgequry.data_source_service.service.DatabaseSchemaExtractionService.ExtractedSchema;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs schema extractions in the background so creating or updating a config does not wait for
+ * them. At most max-concurrent extractions run at once and each config has at most one queued or
+ * running; the latest job per config is kept so its status can be polled after it finished.
+ * A scheduled refresh keeps stored schemas current by re-reading only the tables that changed.
+ */
+@Service
+public class SchemaExtractionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaExtractionJobService.class);
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, PARTIAL, FAILED, CANCELLED
+    }
+
+    private final DatabaseSchemaExtractionService extractionService;
+    private final DatabaseSchemaService schemaService;
+    private final DatabaseConfigRepository databaseConfigRepository;
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @Value("${datasource.schema.jobs.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${datasource.schema.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${datasource.schema.jobs.time-budget-seconds:600}")
+    private long timeBudgetSeconds;
+
+    @Value("${datasource.schema.refresh.enabled:true}")
+    private boolean refreshEnabled;
+
+    public SchemaExtractionJobService(DatabaseSchemaExtractionService extractionService,
+                                      DatabaseSchemaService schemaService,
+                                      DatabaseConfigRepository databaseConfigRepository) {
+        this.extractionService = extractionService;
+        this.schemaService = schemaService;
+        this.databaseConfigRepository = databaseConfigRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "schema-extraction-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void close() {
+        jobs.values().forEach(Job::cancel);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Extract the config's schema in the background, or return the extraction already queued or
+     * running for it. Inside a transaction the job only starts once it commits, so it never reads
+     * a config, or writes a schema for one, that is not visible yet.
+     */
+    public SchemaExtractionJobDTO submit(DatabaseConfig config) {
+        return startJob(config, false, false);
+    }
+
+    /**
+     * Incremental refresh of the config's stored schema (a full extraction if there is none yet),
+     * or the extraction already queued or running for it
+     */
+    public SchemaExtractionJobDTO submitRefresh(DatabaseConfig config) {
+        return startJob(config, false, true);
+    }
+
+    /**
+     * Like submit, but an extraction already under way is cancelled first because it was started
+     * from connection details that have since changed
+     */
+    public SchemaExtractionJobDTO restart(DatabaseConfig config) {
+        return startJob(config, true, false);
+    }
+
+    /**
+     * Re-extract the schema of one of the user's configs, fully or only the changed tables
+     */
+    public SchemaExtractionJobDTO submitForUser(Long configId, Long userId, boolean incremental) {
+        DatabaseConfig config = findConfig(configId, userId);
+        return incremental ? submitRefresh(config) : submit(config);
+    }
+
+    public SchemaExtractionJobDTO getJob(Long configId, Long userId) {
+        findConfig(configId, userId);
+        Job job = jobs.get(configId);
+        if (job == null) {
+            throw new SchemaExtractionJobNotFoundException(configId);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Cancel the user's queued or running extraction. Nothing is saved for a cancelled job.
+     */
+    public SchemaExtractionJobDTO cancel(Long configId, Long userId) {
+        findConfig(configId, userId);
+        Job job = jobs.get(configId);
+        if (job == null || !job.cancel()) {
+            throw new SchemaExtractionJobNotFoundException(configId);
+        }
+        logger.info("Cancelled schema extraction {} for database config ID: {}", job.id, configId);
+        return job.toDTO();
+    }
+
+    /**
+     * Queue an incremental refresh for every active config with a stored schema whose database type
+     * can report table changes cheaply
+     */
+    @Scheduled(fixedDelayString = "${datasource.schema.refresh.interval-ms:3600000}",
+            initialDelayString = "${datasource.schema.refresh.interval-ms:3600000}")
+    public void refreshSchemas() {
+        if (!refreshEnabled) {
+            return;
+        }
+        int queued = 0;
+        for (DatabaseConfig config : databaseConfigRepository.findAll()) {
+            CatalogSchemaExtractor extractor = CatalogSchemaExtractor.forType(config.getType());
+            if (!"active".equals(config.getStatus()) || extractor == null || !extractor.supportsSignatures()
+                    || !schemaService.hasSchema(config.getId())) {
+                continue;
+            }
+            submitRefresh(config);
+            queued++;
+        }
+        logger.debug("Queued incremental schema refresh for {} database configs", queued);
+    }
+
+    /**
+     * Stop and drop the config's job, e.g. once the config is deleted
+     */
+    public void forget(Long configId) {
+        Job job = jobs.remove(configId);
+        if (job != null) {
+            job.cancel();
+        }
+    }
+
+    private SchemaExtractionJobDTO startJob(DatabaseConfig config, boolean restart, boolean incremental) {
+        Job[] created = new Job[1];
+        Job job = jobs.compute(config.getId(), (configId, existing) -> {
+            if (existing != null && existing.isActive()) {
+                if (!restart) {
+                    return existing;
+                }
+                existing.cancel();
+            }
+            created[0] = new Job(config, incremental,
+                    ExtractionProgress.withBudget(Duration.ofSeconds(timeBudgetSeconds)));
+            return created[0];
+        });
+
+        if (created[0] != null) {
+            enqueueAfterCommit(created[0]);
+        }
+        return job.toDTO();
+    }
+
+    private void enqueueAfterCommit(Job job) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(job);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(job);
+                } else {
+                    job.finish(Status.CANCELLED, "The configuration change was rolled back");
+                }
+            }
+        });
+    }
+
+    private void enqueue(Job job) {
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Schema extraction queue is full, not extracting database config ID: {}", job.configId);
+            job.finish(Status.FAILED, "Too many schema extractions are queued, try again later");
+        }
+    }
+
+    private void run(Job job) {
+        if (!job.begin()) {
+            return;
+        }
+        ExtractionProgress progress = job.progress;
+        try {
+            logger.info("{} schema for database config ID: {}", job.incremental ? "Refreshing" : "Extracting",
+                    job.configId);
+            ExtractedSchema extracted = job.incremental ? refresh(job)
+                    : extractionService.extract(job.config, progress);
+            if (progress.isCancelled()) {
+                job.finish(Status.CANCELLED, "Cancelled");
+                return;
+            }
+            if (extracted.isUnchanged()) {
+                job.finish(Status.SUCCEEDED, "No table changed");
+                return;
+            }
+
+            DatabaseSchemaDTO saved = schemaService.saveOrUpdateSchema(job.configId, extracted.schemaJson(),
+                    extracted.tableSignatures());
+            job.schemaVersion = saved.getSchemaVersion();
+            if (progress.isPartial()) {
+                job.finish(Status.PARTIAL, "Time budget of " + timeBudgetSeconds
+                        + "s ran out; saved the part of the schema read so far");
+            } else {
+                job.finish(Status.SUCCEEDED, null);
+            }
+            logger.info("Schema extraction {} for database config ID: {} finished as {} in {}ms", job.id,
+                    job.configId, job.status, Duration.between(job.startedAt, job.finishedAt).toMillis());
+        } catch (Exception e) {
+            if (progress.isCancelled()) {
+                job.finish(Status.CANCELLED, "Cancelled");
+                return;
+            }
+            logger.error("Schema extraction failed for database config ID: {}. Error: {}",
+                    job.configId, e.getMessage(), e);
+            job.finish(Status.FAILED, e.getMessage());
+        }
+    }
+
+    private ExtractedSchema refresh(Job job) {
+        return schemaService.findByConfigId(job.configId)
+                .map(stored -> extractionService.refresh(job.config, stored.getSchemaJson(),
+                        stored.getTableSignatures(), job.progress))
+                .orElseGet(() -> extractionService.extract(job.config, job.progress));
+    }
+
+    private DatabaseConfig findConfig(Long configId, Long userId) {
+        return databaseConfigRepository.findByIdAndUserId(configId, userId)
+                .orElseThrow(() -> new DatabaseConfigNotFoundException(configId, userId));
+    }
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long configId;
+        private final DatabaseConfig config;
+        private final boolean incremental;
+        private final ExtractionProgress progress;
+        private final Instant queuedAt = Instant.now();
+
+        private volatile Status status = Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String message;
+        private volatile Long schemaVersion;
+
+        Job(DatabaseConfig config, boolean incremental, ExtractionProgress progress) {
+            this.configId = config.getId();
+            this.config = config;
+            this.incremental = incremental;
+            this.progress = progress;
+        }
+
+        boolean isActive() {
+            return status == Status.QUEUED || status == Status.RUNNING;
+        }
+
+        /**
+         * Moves a queued job to running; false if it was cancelled while waiting
+         */
+        synchronized boolean begin() {
+            if (status != Status.QUEUED) {
+                return false;
+            }
+            status = Status.RUNNING;
+            startedAt = Instant.now();
+            return true;
+        }
+
+        synchronized void finish(Status status, String message) {
+            if (!isActive()) {
+                return;
+            }
+            this.status = status;
+            this.message = message;
+            finishedAt = Instant.now();
+        }
+
+        /**
+         * A queued job is cancelled at once, a running one once the extraction notices
+         */
+        synchronized boolean cancel() {
+            if (!isActive()) {
+                return false;
+            }
+            progress.cancel();
+            if (status == Status.QUEUED) {
+                finish(Status.CANCELLED, "Cancelled before it started");
+            }
+            return true;
+        }
+
+        SchemaExtractionJobDTO toDTO() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            int total = progress.getTablesTotal();
+            int done = progress.getTablesDone();
+            return SchemaExtractionJobDTO.builder()
+                    .jobId(id)
+                    .databaseConfigId(configId)
+                    .kind(incremental ? "incremental" : "full")
+                    .status(status.name())
+                    .phase(status == Status.RUNNING ? progress.getPhase() : null)
+                    .tablesDone(done)
+                    .tablesTotal(total >= 0 ? total : null)
+                    .etaMs(status == Status.RUNNING ? eta(done, total, end) : null)
+                    .message(message)
+                    .schemaVersion(schemaVersion)
+                    .queuedAt(queuedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .elapsedMs(startedAt != null ? Duration.between(startedAt, end).toMillis() : null)
+                    .build();
+        }
+
+        private Long eta(int done, int total, Instant now) {
+            if (done <= 0 || total < done || startedAt == null) {
+                return null;
+            }
+            long elapsed = Duration.between(startedAt, now).toMillis();
+            return elapsed * (total - done) / done;
+        }
+    }
+}
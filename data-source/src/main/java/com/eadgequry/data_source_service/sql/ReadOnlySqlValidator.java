@@ -0,0 +1,332 @@
+package com.eadgequry.data_source_service.sql;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass check that a query is a plain SELECT.
+ *
+ * The query is tokenized once, left to right, without regular expressions. String literals,
+ * quoted identifiers and comments are recognised, so deny-listed words only count when they
+ * appear as bare SQL words: {@code WHERE action = 'DELETE'}, {@code "update"} or a
+ * {@code -- drop later} comment are fine, {@code ; DELETE FROM t} is not. Qualified names
+ * ({@code log.delete}) and the {@code REPLACE(...)} string function are treated as identifiers.
+ *
+ * Some quoting rules differ between databases: backslash escapes inside strings, MySQL's
+ * {@code #} comments and executable {@code /*!} comments, {@code --} without a following
+ * space, nested block comments, PostgreSQL {@code $tag$...$tag$} strings and SQL Server
+ * {@code [...]} identifiers. Once one of those shows up the lexer can no longer be sure where a
+ * literal or comment ends for the target database, so from that point on every word is
+ * checked against the deny-list, including words inside literals and comments.
+ *
+ * Only one statement is accepted: a top-level {@code ;} may be followed by whitespace and
+ * comments only.
+ */
+public final class ReadOnlySqlValidator {
+
+    static final String EMPTY_QUERY = "SQL query cannot be empty";
+    static final String NOT_SELECT = "Only SELECT queries are allowed. Query must start with SELECT.";
+    static final String MISSING_FROM = "Invalid SELECT query: FROM clause is required";
+    static final String FORBIDDEN_KEYWORD = "Forbidden SQL keyword detected: %s. Only SELECT queries are allowed.";
+    static final String UNMATCHED_SINGLE_QUOTE = "Invalid SQL syntax: Unmatched single quote detected";
+    static final String UNMATCHED_DOUBLE_QUOTE = "Invalid SQL syntax: Unmatched double quote detected";
+    static final String UNMATCHED_BACKTICK = "Invalid SQL syntax: Unmatched backtick detected";
+    static final String UNMATCHED_PARENTHESES = "Invalid SQL syntax: Unmatched parentheses detected";
+    static final String UNTERMINATED_COMMENT = "Invalid SQL syntax: Unterminated comment detected";
+    static final String MULTIPLE_STATEMENTS = "Invalid SQL syntax: Only a single statement is allowed";
+
+    // Forbidden SQL keywords for security
+    static final String[] FORBIDDEN_KEYWORDS = {
+            "INSERT", "UPDATE", "DELETE", "DROP", "ALTER", "TRUNCATE",
+            "CREATE", "REPLACE", "GRANT", "REVOKE", "EXEC", "EXECUTE",
+            "CALL", "LOAD", "OUTFILE", "INFILE", "DUMPFILE", "MERGE"
+    };
+
+    private static final int REPLACE = Arrays.asList(FORBIDDEN_KEYWORDS).indexOf("REPLACE");
+    private static final int MIN_KEYWORD_LENGTH = 4;
+    private static final int MAX_KEYWORD_LENGTH = 8;
+
+    private ReadOnlySqlValidator() {
+    }
+
+    /**
+     * Throws IllegalArgumentException describing the first problem found, checked in order:
+     * empty query, not a SELECT, no FROM, forbidden keyword, unbalanced quotes/comments/parentheses,
+     * more than one statement.
+     */
+    public static void validate(String sqlQuery) {
+        if (sqlQuery == null || sqlQuery.isBlank()) {
+            throw new IllegalArgumentException(EMPTY_QUERY);
+        }
+
+        Scanner scanner = new Scanner(sqlQuery);
+        scanner.run();
+
+        if (!scanner.startsWithSelect) {
+            throw new IllegalArgumentException(NOT_SELECT);
+        }
+        if (!scanner.hasFrom) {
+            throw new IllegalArgumentException(MISSING_FROM);
+        }
+        if (scanner.forbiddenKeyword >= 0) {
+            throw new IllegalArgumentException(String.format(FORBIDDEN_KEYWORD,
+                    FORBIDDEN_KEYWORDS[scanner.forbiddenKeyword]));
+        }
+        if (scanner.structureError != null) {
+            throw new IllegalArgumentException(scanner.structureError);
+        }
+        if (scanner.parenDepth != 0 || scanner.closedUnopenedParen) {
+            throw new IllegalArgumentException(UNMATCHED_PARENTHESES);
+        }
+        if (scanner.trailingStatement) {
+            throw new IllegalArgumentException(MULTIPLE_STATEMENTS);
+        }
+    }
+
+    private static final class Scanner {
+
+        private final String sql;
+        private final int length;
+        private int pos;
+
+        private boolean sawToken;
+        private boolean startsWithSelect;
+        private boolean hasFrom;
+        // Index into FORBIDDEN_KEYWORDS; the lowest one found is reported, as the regex checks did
+        private int forbiddenKeyword = -1;
+        private String structureError;
+        private int parenDepth;
+        private boolean closedUnopenedParen;
+        // A top-level ';' was seen, and then another token after it
+        private boolean statementEnded;
+        private boolean trailingStatement;
+
+        // Quoting became dialect-dependent; every word from here on is checked
+        private boolean ambiguous;
+        // Previous token was '.', so the next word is part of a qualified name
+        private boolean afterDot;
+        // REPLACE seen; it is the string function if the next token is '('
+        private boolean pendingReplace;
+
+        Scanner(String sql) {
+            this.sql = sql;
+            this.length = sql.length();
+        }
+
+        void run() {
+            while (pos < length) {
+                char c = sql.charAt(pos);
+
+                if (Character.isWhitespace(c)) {
+                    pos++;
+                } else if (isWordChar(c)) {
+                    word();
+                } else if (c == '\'') {
+                    token(false);
+                    quoted('\'', UNMATCHED_SINGLE_QUOTE);
+                } else if (c == '"') {
+                    token(false);
+                    quoted('"', UNMATCHED_DOUBLE_QUOTE);
+                } else if (c == '`') {
+                    token(false);
+                    quoted('`', UNMATCHED_BACKTICK);
+                } else if (c == '-' && peek(1) == '-') {
+                    lineComment();
+                } else if (c == '/' && peek(1) == '*') {
+                    blockComment();
+                } else if (c == '.') {
+                    token(false);
+                    afterDot = true;
+                    pos++;
+                } else {
+                    token(c == '(');
+                    if (c == '#') {
+                        // MySQL line comment, an operator or temp table prefix elsewhere
+                        ambiguous = true;
+                    } else if (c == '$' || c == '[') {
+                        // PostgreSQL dollar quote or SQL Server bracket identifier: a ' inside
+                        // either is not a string delimiter there
+                        ambiguous = true;
+                    } else if (c == ';') {
+                        statementEnded = true;
+                    } else if (c == '(') {
+                        parenDepth++;
+                    } else if (c == ')') {
+                        if (parenDepth == 0) {
+                            closedUnopenedParen = true;
+                        } else {
+                            parenDepth--;
+                        }
+                    }
+                    pos++;
+                }
+            }
+            if (pendingReplace) {
+                forbid(REPLACE);
+            }
+        }
+
+        /**
+         * Bookkeeping shared by every significant token other than a word
+         */
+        private void token(boolean openParen) {
+            if (statementEnded) {
+                trailingStatement = true;
+            }
+            sawToken = true;
+            afterDot = false;
+            if (pendingReplace) {
+                pendingReplace = false;
+                if (!openParen) {
+                    forbid(REPLACE);
+                }
+            }
+        }
+
+        private void word() {
+            int start = pos;
+            while (pos < length && isWordChar(sql.charAt(pos))) {
+                pos++;
+            }
+
+            // Once ambiguous the dot itself may sit in a comment, so the word is checked anyway
+            boolean qualified = afterDot && !ambiguous;
+            boolean first = !sawToken;
+            token(false);
+
+            if (first) {
+                startsWithSelect = matches(start, pos, "SELECT");
+            }
+            if (qualified) {
+                return;
+            }
+            if (matches(start, pos, "FROM")) {
+                hasFrom = true;
+                return;
+            }
+
+            int keyword = forbiddenKeyword(start, pos);
+            if (keyword == REPLACE && !ambiguous) {
+                pendingReplace = true;
+            } else if (keyword >= 0) {
+                forbid(keyword);
+            }
+        }
+
+        private void quoted(char quote, String unterminatedError) {
+            pos++;
+            while (pos < length) {
+                char c = sql.charAt(pos);
+                if (c == quote) {
+                    if (peek(1) != quote) {
+                        pos++;
+                        return;
+                    }
+                    pos += 2;
+                } else if (c == '\\') {
+                    // MySQL and PostgreSQL E'' strings treat this as an escape, standard SQL does not
+                    ambiguous = true;
+                    pos++;
+                } else {
+                    skipOrCheckWord(c);
+                }
+            }
+            structureError(unterminatedError);
+        }
+
+        private void lineComment() {
+            char after = peek(2);
+            if (after != 0 && !Character.isWhitespace(after)) {
+                // MySQL only starts a comment at "-- "; "--x" is two minus signs there
+                ambiguous = true;
+            }
+            pos += 2;
+            while (pos < length) {
+                char c = sql.charAt(pos);
+                if (c == '\n' || c == '\r') {
+                    return;
+                }
+                skipOrCheckWord(c);
+            }
+        }
+
+        private void blockComment() {
+            if (peek(2) == '!') {
+                // MySQL executes the contents of /*! ... */
+                ambiguous = true;
+            }
+            pos += 2;
+            while (pos < length) {
+                char c = sql.charAt(pos);
+                if (c == '*' && peek(1) == '/') {
+                    pos += 2;
+                    return;
+                }
+                if (c == '/' && peek(1) == '*') {
+                    // PostgreSQL nests block comments, MySQL and SQL Server do not
+                    ambiguous = true;
+                    pos += 2;
+                } else {
+                    skipOrCheckWord(c);
+                }
+            }
+            structureError(UNTERMINATED_COMMENT);
+        }
+
+        /**
+         * Inside a literal or comment: skip one character, or a whole word that is checked
+         * against the deny-list once quoting became ambiguous.
+         */
+        private void skipOrCheckWord(char c) {
+            if (!ambiguous || !isWordChar(c)) {
+                pos++;
+                return;
+            }
+            int start = pos;
+            while (pos < length && isWordChar(sql.charAt(pos))) {
+                pos++;
+            }
+            int keyword = forbiddenKeyword(start, pos);
+            if (keyword >= 0) {
+                forbid(keyword);
+            }
+        }
+
+        private int forbiddenKeyword(int start, int end) {
+            int wordLength = end - start;
+            if (wordLength < MIN_KEYWORD_LENGTH || wordLength > MAX_KEYWORD_LENGTH) {
+                return -1;
+            }
+            for (int i = 0; i < FORBIDDEN_KEYWORDS.length; i++) {
+                if (matches(start, end, FORBIDDEN_KEYWORDS[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(int start, int end, String keyword) {
+            return end - start == keyword.length() && sql.regionMatches(true, start, keyword, 0, keyword.length());
+        }
+
+        private void forbid(int keyword) {
+            if (forbiddenKeyword < 0 || keyword < forbiddenKeyword) {
+                forbiddenKeyword = keyword;
+            }
+        }
+
+        private void structureError(String error) {
+            if (structureError == null) {
+                structureError = error;
+            }
+        }
+
+        private char peek(int offset) {
+            int index = pos + offset;
+            return index < length ? sql.charAt(index) : 0;
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.eadgequry.data_source_service.stream;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Compact columnar framing, big-endian as written by {@link DataOutputStream}:
+ * <pre>
+ * "EQR1"                                    magic
+ * 'H' int columns { utf name, byte kind }   header
+ * 'B' int rows { per column:                one frame per batch of rows
+ *       null bitmap (ceil(rows / 8) bytes, bit set = null)
+ *       non-null values: LONG int64 | DOUBLE float64 | BOOLEAN byte | STRING/BYTES int length + bytes }
+ * 'E' long rowCount, boolean truncated, long executionTimeMs
+ * 'X' utf message                           instead of 'E' when the query failed mid-stream
+ * </pre>
+ * Only one batch is buffered at a time.
+ */
+class ColumnarResultStreamWriter implements ResultStreamWriter {
+
+    static final byte[] MAGIC = {'E', 'Q', 'R', '1'};
+
+    static final byte KIND_LONG = 1;
+    static final byte KIND_DOUBLE = 2;
+    static final byte KIND_BOOLEAN = 3;
+    static final byte KIND_STRING = 4;
+    static final byte KIND_BYTES = 5;
+
+    private final DataOutputStream out;
+    private final int batchSize;
+    private byte[] kinds;
+    private Object[][] batch;
+    private int batchRows;
+
+    ColumnarResultStreamWriter(OutputStream out, int batchSize) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 8192));
+        this.batchSize = Math.max(1, batchSize);
+        this.out.write(MAGIC);
+    }
+
+    @Override
+    public void start(ResultSetMetaData metaData) throws SQLException, IOException {
+        int columnCount = metaData.getColumnCount();
+        kinds = new byte[columnCount];
+        batch = new Object[columnCount][batchSize];
+
+        out.writeByte('H');
+        out.writeInt(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            kinds[i] = kindOf(metaData.getColumnType(i + 1));
+            out.writeUTF(metaData.getColumnLabel(i + 1));
+            out.writeByte(kinds[i]);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void row(ResultSet resultSet) throws SQLException, IOException {
+        for (int column = 0; column < kinds.length; column++) {
+            batch[column][batchRows] = ResultStreamWriter.readValue(resultSet, column + 1);
+        }
+        if (++batchRows == batchSize) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void end(long rowCount, boolean truncated, long executionTimeMs) throws IOException {
+        writeBatch();
+        out.writeByte('E');
+        out.writeLong(rowCount);
+        out.writeBoolean(truncated);
+        out.writeLong(executionTimeMs);
+        out.flush();
+    }
+
+    @Override
+    public void error(String message) throws IOException {
+        out.writeByte('X');
+        out.writeUTF(message != null ? message : "Query failed");
+        out.flush();
+    }
+
+    private void writeBatch() throws IOException {
+        if (batchRows == 0) {
+            return;
+        }
+        out.writeByte('B');
+        out.writeInt(batchRows);
+
+        for (int column = 0; column < kinds.length; column++) {
+            Object[] values = batch[column];
+
+            byte[] nulls = new byte[(batchRows + 7) / 8];
+            for (int row = 0; row < batchRows; row++) {
+                if (values[row] == null) {
+                    nulls[row / 8] |= (byte) (1 << (row % 8));
+                }
+            }
+            out.write(nulls);
+
+            for (int row = 0; row < batchRows; row++) {
+                if (values[row] != null) {
+                    writeValue(kinds[column], values[row]);
+                    values[row] = null;
+                }
+            }
+        }
+
+        out.flush();
+        batchRows = 0;
+    }
+
+    private void writeValue(byte kind, Object value) throws IOException {
+        switch (kind) {
+            case KIND_LONG -> out.writeLong(value instanceof Number number
+                    ? number.longValue() : Long.parseLong(value.toString()));
+            case KIND_DOUBLE -> out.writeDouble(value instanceof Number number
+                    ? number.doubleValue() : Double.parseDouble(value.toString()));
+            case KIND_BOOLEAN -> out.writeBoolean(value instanceof Boolean bool
+                    ? bool : value instanceof Number number ? number.intValue() != 0
+                    : Boolean.parseBoolean(value.toString()));
+            case KIND_BYTES -> writeBytes(value instanceof byte[] bytes
+                    ? bytes : value.toString().getBytes(StandardCharsets.UTF_8));
+            default -> writeBytes(toText(value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Exact numerics (DECIMAL, NUMERIC) travel as text so no precision is lost
+     */
+    static byte kindOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> KIND_LONG;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> KIND_DOUBLE;
+            case Types.BOOLEAN -> KIND_BOOLEAN;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> KIND_BYTES;
+            default -> KIND_STRING;
+        };
+    }
+}
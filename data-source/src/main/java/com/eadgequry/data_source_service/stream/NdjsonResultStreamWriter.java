@@ -0,0 +1,94 @@
+package com.eadgequry.data_source_service.stream;
+
+import com.eadgequry.data_source_service.dto.ResultColumn;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Newline-delimited JSON, one value per line:
+ * <pre>
+ * {"columns":[{"name":"id","type":"INTEGER"},{"name":"email","type":"VARCHAR"}]}
+ * [1,"a@example.com"]
+ * [2,"b@example.com"]
+ * {"rowCount":2,"truncated":false,"executionTimeMs":14}
+ * </pre>
+ * Rows are arrays in column order; a failure after the header ends the stream with {@code {"error":"..."}}.
+ */
+class NdjsonResultStreamWriter implements ResultStreamWriter {
+
+    private final JsonGenerator generator;
+    private final int flushEvery;
+    private int columnCount;
+    private int unflushedRows;
+
+    NdjsonResultStreamWriter(OutputStream out, ObjectMapper objectMapper, int flushEvery) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // The servlet container owns the response stream
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    @Override
+    public void start(ResultSetMetaData metaData) throws SQLException, IOException {
+        columnCount = metaData.getColumnCount();
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("columns");
+        for (int i = 1; i <= columnCount; i++) {
+            generator.writeStartObject();
+            generator.writeStringField("name", metaData.getColumnLabel(i));
+            generator.writeStringField("type", ResultColumn.typeName(metaData.getColumnType(i)));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        endLine();
+        generator.flush();
+    }
+
+    @Override
+    public void row(ResultSet resultSet) throws SQLException, IOException {
+        generator.writeStartArray();
+        for (int i = 1; i <= columnCount; i++) {
+            generator.writeObject(ResultStreamWriter.readValue(resultSet, i));
+        }
+        generator.writeEndArray();
+        endLine();
+
+        if (++unflushedRows >= flushEvery) {
+            generator.flush();
+            unflushedRows = 0;
+        }
+    }
+
+    @Override
+    public void end(long rowCount, boolean truncated, long executionTimeMs) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("rowCount", rowCount);
+        generator.writeBooleanField("truncated", truncated);
+        generator.writeNumberField("executionTimeMs", executionTimeMs);
+        generator.writeEndObject();
+        endLine();
+        generator.close();
+    }
+
+    @Override
+    public void error(String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+        endLine();
+        generator.close();
+    }
+
+    private void endLine() throws IOException {
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,45 @@
+package com.eadgequry.data_source_service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Wire formats supported by the streaming query endpoint
+ */
+public enum ResultStreamFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    COLUMNAR(MediaType.parseMediaType("application/vnd.eadgequry.columnar"));
+
+    private final MediaType mediaType;
+
+    ResultStreamFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public ResultStreamWriter open(OutputStream out, ObjectMapper objectMapper, int batchSize) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonResultStreamWriter(out, objectMapper, batchSize);
+            case COLUMNAR -> new ColumnarResultStreamWriter(out, batchSize);
+        };
+    }
+
+    public static ResultStreamFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        for (ResultStreamFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported stream format: " + value + ". Use ndjson or columnar.");
+    }
+}
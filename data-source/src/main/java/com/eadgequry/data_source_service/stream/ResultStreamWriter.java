@@ -0,0 +1,51 @@
+package com.eadgequry.data_source_service.stream;
+
+import java.io.IOException;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Writes a result set to the response incrementally, row by row, as it is read from the driver.
+ *
+ * Implementations hold at most one batch of rows in memory; everything else goes straight
+ * to the output stream, so a slow client blocks the reader instead of growing a buffer.
+ */
+public interface ResultStreamWriter {
+
+    /**
+     * Describe the columns before the first row
+     */
+    void start(ResultSetMetaData metaData) throws SQLException, IOException;
+
+    /**
+     * Write the current row of the result set
+     */
+    void row(ResultSet resultSet) throws SQLException, IOException;
+
+    /**
+     * Close the stream after the last row
+     */
+    void end(long rowCount, boolean truncated, long executionTimeMs) throws IOException;
+
+    /**
+     * Close the stream after a failure; the HTTP status is already committed at this point
+     */
+    void error(String message) throws IOException;
+
+    /**
+     * Column value with LOB locators read out, since they are only valid while the row is current
+     */
+    static Object readValue(ResultSet resultSet, int column) throws SQLException {
+        Object value = resultSet.getObject(column);
+        if (value instanceof Blob blob) {
+            return blob.getBytes(1, (int) blob.length());
+        }
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value;
+    }
+}
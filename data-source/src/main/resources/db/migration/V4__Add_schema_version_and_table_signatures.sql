@@ -0,0 +1,6 @@
+-- Incremental schema refresh
+-- schema_version is bumped every time the stored schema changes;
+-- table_signatures maps "schema.table" to the catalog change signature seen at extraction
+ALTER TABLE database_schema
+    ADD COLUMN schema_version BIGINT NOT NULL DEFAULT 1,
+    ADD COLUMN table_signatures JSON NULL;
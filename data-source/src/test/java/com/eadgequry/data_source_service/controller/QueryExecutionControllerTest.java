@@ -0,0 +1,63 @@
+package com.eadgequry.data_source_service.controller;
+
+import com.eadgequry.data_source_service.service.QueryExecutionService;
+import com.eadgequry.data_source_service.service.RunningQueryRegistry;
+import com.eadgequry.data_source_service.stream.ResultStreamFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class QueryExecutionControllerTest {
+
+    private QueryExecutionService queryExecutionService;
+    private SimpleAsyncTaskExecutor queryExecutor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        queryExecutionService = mock(QueryExecutionService.class);
+        queryExecutor = new SimpleAsyncTaskExecutor("query-");
+        when(queryExecutionService.taskExecutor()).thenReturn(queryExecutor);
+        when(queryExecutionService.maxStreamDurationMillis()).thenReturn(60_000L);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new QueryExecutionController(queryExecutionService, new RunningQueryRegistry()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryExecutor.close();
+    }
+
+    @Test
+    void streamQuery_ShouldRunOnQueryExecutorWithItsOwnTimeout() throws Exception {
+        StreamingResponseBody body = out -> out.write(Thread.currentThread().getName().getBytes(StandardCharsets.UTF_8));
+        when(queryExecutionService.streamQuery(anyString(), eq(1L), eq(100L), anyString(), isNull(),
+                eq(ResultStreamFormat.NDJSON))).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(post("/datasource/query/stream")
+                        .param("databaseConfigId", "1")
+                        .param("userId", "100")
+                        .content("SELECT 1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(65_000L, result.getRequest().getAsyncContext().getTimeout());
+        result.getAsyncResult(5000);
+        assertTrue(result.getResponse().getContentAsString().startsWith("query-"));
+    }
+}
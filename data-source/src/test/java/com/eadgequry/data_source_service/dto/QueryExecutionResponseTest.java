@@ -0,0 +1,58 @@
+package com.eadgequry.data_source_service.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryExecutionResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final QueryExecutionResponse compact = QueryExecutionResponse.success("SELECT id, name FROM customers",
+            List.of(new ResultColumn("id", "INTEGER"), new ResultColumn("name", "VARCHAR")),
+            List.of(new Object[]{1, "Ada"}, new Object[]{2, null}), 12L, true, 3);
+
+    @Test
+    void withLayout_Compact_ShouldSerializeHeaderAndRowArraysOnly() {
+        JsonNode json = objectMapper.valueToTree(compact.withLayout(ResultLayout.COMPACT));
+
+        assertFalse(json.has("result"));
+        assertEquals("id", json.get("columns").get(0).get("name").asText());
+        assertEquals("INTEGER", json.get("columns").get(0).get("type").asText());
+        assertEquals("Ada", json.get("rows").get(0).get(1).asText());
+        assertTrue(json.get("rows").get(1).get(1).isNull());
+        assertEquals(2, json.get("rowCount").asInt());
+    }
+
+    @Test
+    void withLayout_Objects_ShouldRebuildRowMapsForOldClients() {
+        QueryExecutionResponse objects = compact.withLayout(ResultLayout.OBJECTS);
+
+        assertNull(objects.getColumns());
+        assertNull(objects.getRows());
+        assertEquals(List.of("id", "name"), List.copyOf(objects.getResult().get(0).keySet()));
+        assertEquals(Map.of("id", 1, "name", "Ada"), objects.getResult().get(0));
+        assertNull(objects.getResult().get(1).get("name"));
+        assertTrue(objects.isTruncated());
+        assertEquals(3, objects.getRowsScanned());
+    }
+
+    @Test
+    void withLayout_ErrorResponse_ShouldStayUnchanged() {
+        QueryExecutionResponse error = QueryExecutionResponse.error("SELECT 1", "boom");
+
+        assertSame(error, error.withLayout(ResultLayout.OBJECTS));
+    }
+
+    @Test
+    void resultLayoutFrom_ShouldDefaultToObjectsAndRejectUnknownValues() {
+        assertEquals(ResultLayout.OBJECTS, ResultLayout.from(null));
+        assertEquals(ResultLayout.COMPACT, ResultLayout.from("Compact"));
+        assertThrows(IllegalArgumentException.class, () -> ResultLayout.from("columnar"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.eadgequry.data_source_service.plan;
+
+import com.eadgequry.data_source_service.dto.QueryPlanSummary;
+import com.eadgequry.data_source_service.exception.QueryCostExceededException;
+import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QueryCostGuardTest {
+
+    private static final String SQL = "SELECT * FROM events e CROSS JOIN users u";
+
+    private ConnectionPoolRegistry connectionPools;
+    private QueryPlanExplainer explainer;
+    private QueryCostGuard costGuard;
+    private DatabaseConfig config;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connectionPools = mock(ConnectionPoolRegistry.class);
+        explainer = mock(QueryPlanExplainer.class);
+        when(connectionPools.getConnection(any(), any(), any(), any())).thenReturn(mock(Connection.class));
+        when(explainer.supports("postgresql")).thenReturn(true);
+
+        costGuard = new QueryCostGuard(connectionPools, explainer);
+        ReflectionTestUtils.setField(costGuard, "mode", "reject");
+        ReflectionTestUtils.setField(costGuard, "maxEstimatedRows", 1_000_000L);
+        ReflectionTestUtils.setField(costGuard, "explainTimeoutSeconds", 10);
+
+        config = new DatabaseConfig();
+        config.setId(7L);
+        config.setType("postgresql");
+    }
+
+    @Test
+    void guard_EstimateOverRowLimit_ShouldRejectWithPlan() throws SQLException {
+        explainReturns(new QueryPlanExplainer.PlanEstimate(250_000_000L, 4.1e6, List.of("events", "users")));
+
+        QueryCostExceededException error = assertThrows(QueryCostExceededException.class,
+                () -> costGuard.guard(config, "jdbc:test", SQL));
+
+        assertEquals(QueryPlanSummary.Verdict.REJECTED, error.getPlan().getVerdict());
+        assertEquals(List.of("estimated rows 250000000 exceed limit 1000000"), error.getPlan().getViolations());
+        assertTrue(error.getMessage().contains("full scans of events, users"), error.getMessage());
+    }
+
+    @Test
+    void guard_EstimateUnderLimits_ShouldReturnOkPlan() throws SQLException {
+        explainReturns(new QueryPlanExplainer.PlanEstimate(500L, 12.5, List.of()));
+
+        QueryPlanSummary plan = costGuard.guard(config, "jdbc:test", SQL);
+
+        assertEquals(QueryPlanSummary.Verdict.OK, plan.getVerdict());
+        assertEquals(500L, plan.getEstimatedRows());
+        assertTrue(plan.getViolations().isEmpty());
+    }
+
+    @Test
+    void guard_PerConfigWarnModeAndCostLimit_ShouldLetQueryThrough() throws SQLException {
+        config.setConnectionProperties(Map.of(QueryCostGuard.MODE_PROPERTY, "warn",
+                QueryCostGuard.MAX_COST_PROPERTY, "1000"));
+        explainReturns(new QueryPlanExplainer.PlanEstimate(800L, 5000.0, List.of("events")));
+
+        QueryPlanSummary plan = costGuard.guard(config, "jdbc:test", SQL);
+
+        assertEquals(QueryPlanSummary.Verdict.WARN, plan.getVerdict());
+        assertEquals(List.of("estimated cost 5000 exceeds limit 1000"), plan.getViolations());
+    }
+
+    @Test
+    void guard_ModeOff_ShouldNotExplain() throws SQLException {
+        config.setConnectionProperties(Map.of(QueryCostGuard.MODE_PROPERTY, "off"));
+
+        assertNull(costGuard.guard(config, "jdbc:test", SQL));
+        verify(explainer, never()).explain(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void guard_UnsupportedDatabaseOrExplainFailure_ShouldFailOpen() throws SQLException {
+        config.setType("h2");
+        assertNull(costGuard.guard(config, "jdbc:test", SQL));
+
+        config.setType("postgresql");
+        when(explainer.explain(any(), eq("postgresql"), eq(SQL), eq(10)))
+                .thenThrow(new SQLException("permission denied for table events"));
+        assertNull(costGuard.guard(config, "jdbc:test", SQL));
+    }
+
+    @Test
+    void effectiveLimits_InvalidOverrides_ShouldFallBackToGlobalSettings() {
+        config.setConnectionProperties(Map.of(QueryCostGuard.MODE_PROPERTY, "sometimes",
+                QueryCostGuard.MAX_ROWS_PROPERTY, "lots"));
+
+        assertEquals(QueryCostGuard.Mode.REJECT, costGuard.effectiveMode(config));
+        assertEquals(1_000_000L, costGuard.effectiveMaxRows(config));
+
+        config.setConnectionProperties(Map.of(QueryCostGuard.MAX_ROWS_PROPERTY, 5_000_000_000L));
+        assertEquals(5_000_000_000L, costGuard.effectiveMaxRows(config));
+    }
+
+    private void explainReturns(QueryPlanExplainer.PlanEstimate estimate) throws SQLException {
+        when(explainer.explain(any(), eq("postgresql"), eq(SQL), eq(10))).thenReturn(estimate);
+    }
+}
@@ -0,0 +1,124 @@
+package com.eadgequry.data_source_service.plan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlanExplainerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parseMySql_ShouldTakeLargestRowEstimateQueryCostAndFullScans() throws Exception {
+        String plan = """
+                {"query_block": {"select_id": 1,
+                  "cost_info": {"query_cost": "120482.50"},
+                  "nested_loop": [
+                    {"table": {"table_name": "orders", "access_type": "ALL",
+                               "rows_examined_per_scan": 998000, "rows_produced_per_join": 99800}},
+                    {"table": {"table_name": "customers", "access_type": "eq_ref",
+                               "rows_examined_per_scan": 1, "rows_produced_per_join": 99800}}
+                  ]}}
+                """;
+
+        QueryPlanExplainer.PlanEstimate estimate = QueryPlanExplainer.parseMySql(objectMapper.readTree(plan));
+
+        assertEquals(998000, estimate.estimatedRows());
+        assertEquals(120482.5, estimate.estimatedCost());
+        assertEquals(List.of("orders"), estimate.fullScans());
+    }
+
+    @Test
+    void parsePostgreSql_ShouldWalkNestedPlans() throws Exception {
+        String plan = """
+                [{"Plan": {"Node Type": "Hash Join", "Total Cost": 35811.42, "Plan Rows": 1200,
+                  "Plans": [
+                    {"Node Type": "Seq Scan", "Relation Name": "events", "Total Cost": 30000.0, "Plan Rows": 2500000},
+                    {"Node Type": "Hash", "Plan Rows": 40, "Plans": [
+                      {"Node Type": "Index Scan", "Relation Name": "users", "Plan Rows": 40}
+                    ]}
+                  ]}}]
+                """;
+
+        QueryPlanExplainer.PlanEstimate estimate = QueryPlanExplainer.parsePostgreSql(objectMapper.readTree(plan));
+
+        assertEquals(2500000, estimate.estimatedRows());
+        assertEquals(35811.42, estimate.estimatedCost());
+        assertEquals(List.of("events"), estimate.fullScans());
+    }
+
+    @Test
+    void parseSqlServer_ShouldReadShowplanXml() throws SQLException {
+        String plan = """
+                <ShowPlanXML xmlns="http://schemas.microsoft.com/sqlserver/2004/07/showplan" Version="1.5">
+                  <BatchSequence><Batch><Statements>
+                    <StmtSimple StatementText="SELECT ..." StatementSubTreeCost="14.7321">
+                      <QueryPlan>
+                        <RelOp NodeId="0" PhysicalOp="Hash Match" EstimateRows="5000">
+                          <Hash>
+                            <RelOp NodeId="1" PhysicalOp="Clustered Index Scan" EstimateRows="1.2e+006">
+                              <IndexScan><Object Database="[shop]" Schema="[dbo]" Table="[Orders]"/></IndexScan>
+                            </RelOp>
+                            <RelOp NodeId="2" PhysicalOp="Index Seek" EstimateRows="10">
+                              <IndexScan><Object Database="[shop]" Schema="[dbo]" Table="[Customers]"/></IndexScan>
+                            </RelOp>
+                          </Hash>
+                        </RelOp>
+                      </QueryPlan>
+                    </StmtSimple>
+                  </Statements></Batch></BatchSequence>
+                </ShowPlanXML>
+                """;
+
+        QueryPlanExplainer.PlanEstimate estimate = QueryPlanExplainer.parseSqlServer(plan);
+
+        assertEquals(1_200_000, estimate.estimatedRows());
+        assertEquals(14.7321, estimate.estimatedCost());
+        assertEquals(List.of("Orders"), estimate.fullScans());
+    }
+
+    @Test
+    void parseSqlServer_DoctypeOrGarbage_ShouldFailAsSqlException() {
+        assertThrows(SQLException.class, () -> QueryPlanExplainer.parseSqlServer(
+                "<!DOCTYPE x [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><ShowPlanXML>&e;</ShowPlanXML>"));
+        assertThrows(SQLException.class, () -> QueryPlanExplainer.parseSqlServer("not xml"));
+    }
+
+    @Test
+    void readOraclePlan_ShouldOnlyReadRowsOfItsStatement() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:oracle_plan", "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE plan_table (statement_id VARCHAR(30), id INT, operation VARCHAR(30), "
+                    + "options VARCHAR(30), object_name VARCHAR(30), cardinality BIGINT, cost BIGINT)");
+            statement.execute("INSERT INTO plan_table VALUES "
+                    + "('eq1', 0, 'SELECT STATEMENT', NULL, NULL, 300, 8123), "
+                    + "('eq1', 1, 'HASH JOIN', NULL, NULL, 300, 8123), "
+                    + "('eq1', 2, 'TABLE ACCESS', 'FULL', 'SALES', 4000000, 8000), "
+                    + "('eq1', 3, 'TABLE ACCESS', 'BY INDEX ROWID', 'PRODUCTS', 20, 3), "
+                    + "('other', 0, 'TABLE ACCESS', 'FULL', 'AUDIT', 99000000, 1)");
+
+            QueryPlanExplainer.PlanEstimate estimate = QueryPlanExplainer.readOraclePlan(connection, "eq1");
+
+            assertEquals(4_000_000, estimate.estimatedRows());
+            assertEquals(8123.0, estimate.estimatedCost());
+            assertEquals(List.of("SALES"), estimate.fullScans());
+        }
+    }
+
+    @Test
+    void supports_ShouldSkipDatabasesWithoutExplainSupport() {
+        QueryPlanExplainer explainer = new QueryPlanExplainer(objectMapper);
+
+        assertTrue(explainer.supports("PostgreSQL"));
+        assertTrue(explainer.supports("oracle"));
+        assertFalse(explainer.supports("h2"));
+        assertFalse(explainer.supports(null));
+    }
+}
@@ -0,0 +1,133 @@
+package com.eadgequry.data_source_service.pool;
+
+import com.eadgequry.data_source_service.exception.DatabaseConnectionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolRegistryTest {
+
+    private static final String URL_A = "jdbc:h2:mem:pool_a;DB_CLOSE_DELAY=-1";
+    private static final String URL_B = "jdbc:h2:mem:pool_b;DB_CLOSE_DELAY=-1";
+    private static final String URL_C = "jdbc:h2:mem:pool_c;DB_CLOSE_DELAY=-1";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPoolRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new ConnectionPoolRegistry(meterRegistry);
+        ReflectionTestUtils.setField(registry, "maxPools", 2);
+        ReflectionTestUtils.setField(registry, "maxTotalConnections", 10);
+        ReflectionTestUtils.setField(registry, "maxPoolSize", 2);
+        ReflectionTestUtils.setField(registry, "connectionTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(registry, "connectionIdleTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(registry, "idleEvictionMinutes", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void getConnection_SameConfig_ShouldReuseOnePool() throws SQLException {
+        borrowAndReturn(1L, URL_A, "sa");
+        borrowAndReturn(1L, URL_A, "sa");
+
+        assertEquals(1, registry.poolCount());
+        assertNotNull(meterRegistry.find("hikaricp.connections")
+                .tag("pool", ConnectionPoolRegistry.POOL_NAME_PREFIX + 1).gauge());
+    }
+
+    @Test
+    void getConnection_WithoutConfigId_ShouldNotCreatePool() throws SQLException {
+        borrowAndReturn(null, URL_A, "sa");
+
+        assertEquals(0, registry.poolCount());
+    }
+
+    @Test
+    void getConnection_ChangedFingerprint_ShouldReplacePool() throws SQLException {
+        borrowAndReturn(1L, URL_A, "sa");
+
+        try (Connection connection = registry.getConnection(1L, URL_B, "sa", "")) {
+            assertEquals("jdbc:h2:mem:pool_b", connection.getMetaData().getURL());
+        }
+        assertEquals(1, registry.poolCount());
+    }
+
+    @Test
+    void evict_ShouldClosePoolAndRemoveMeters() throws SQLException {
+        borrowAndReturn(1L, URL_A, "sa");
+
+        registry.evict(1L);
+
+        assertFalse(registry.hasPool(1L));
+        assertNull(meterRegistry.find("hikaricp.connections")
+                .tag("pool", ConnectionPoolRegistry.POOL_NAME_PREFIX + 1).gauge());
+    }
+
+    @Test
+    void getConnection_OverPoolCap_ShouldEvictLeastRecentlyUsedIdlePool() throws SQLException {
+        borrowAndReturn(1L, URL_A, "sa");
+        borrowAndReturn(2L, URL_B, "sa");
+        borrowAndReturn(1L, URL_A, "sa");
+
+        borrowAndReturn(3L, URL_C, "sa");
+
+        assertEquals(2, registry.poolCount());
+        assertTrue(registry.hasPool(1L));
+        assertFalse(registry.hasPool(2L));
+        assertTrue(registry.hasPool(3L));
+    }
+
+    @Test
+    void getConnection_OverPoolCapWithAllPoolsBusy_ShouldThrow() throws SQLException {
+        try (Connection a = registry.getConnection(1L, URL_A, "sa", "");
+             Connection b = registry.getConnection(2L, URL_B, "sa", "")) {
+
+            assertThrows(DatabaseConnectionException.class,
+                    () -> registry.getConnection(3L, URL_C, "sa", ""));
+            assertTrue(a.isValid(1));
+            assertTrue(b.isValid(1));
+        }
+    }
+
+    @Test
+    void evictIdlePools_ShouldCloseOnlyPoolsPastTheWindow() throws SQLException {
+        borrowAndReturn(1L, URL_A, "sa");
+        registry.evictIdlePools();
+        assertTrue(registry.hasPool(1L));
+
+        ReflectionTestUtils.setField(registry, "idleEvictionMinutes", -1L);
+        registry.evictIdlePools();
+
+        assertEquals(0, registry.poolCount());
+    }
+
+    @Test
+    void getConnection_BadCredentials_ShouldSurfaceDriverError() throws SQLException {
+        borrowAndReturn(null, URL_A, "sa");
+
+        SQLException error = assertThrows(SQLException.class,
+                () -> registry.getConnection(1L, URL_A, "sa", "wrong"));
+
+        assertFalse(registry.hasPool(1L));
+        assertNotNull(error.getMessage());
+    }
+
+    private void borrowAndReturn(Long configId, String url, String username) throws SQLException {
+        try (Connection connection = registry.getConnection(configId, url, username, "")) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.eadgequry.data_source_service.dto.DatabaseConfigDTO;
 import com.eadgequry.data_source_service.exception.DatabaseConfigNotFoundException;
 import com.eadgequry.data_source_service.exception.DatabaseConnectionFailedException;
 import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
 import com.eadgequry.data_source_service.repository.DatabaseConfigRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,10 +33,10 @@ class DatabaseConfigServiceTest {
     private DatabaseConnectionTestService connectionTestService;
 
     @Mock
-    private DatabaseSchemaExtractionService schemaExtractionService;
+    private SchemaExtractionJobService schemaExtractionJobs;
 
     @Mock
-    private DatabaseSchemaService schemaService;
+    private ConnectionPoolRegistry connectionPools;
 
     @InjectMocks
     private DatabaseConfigService databaseConfigService;
@@ -120,14 +121,12 @@ class DatabaseConfigServiceTest {
     }
 
     @Test
-    void createConfig_WhenConnectionSucceeds_ShouldSaveAndExtractSchema() {
+    void createConfig_WhenConnectionSucceeds_ShouldSaveAndScheduleSchemaExtraction() {
         // Arrange
         when(connectionTestService.testConnection(any(CreateDatabaseConfigRequest.class)))
                 .thenReturn(successResult);
         when(databaseConfigRepository.save(any(DatabaseConfig.class)))
                 .thenReturn(testConfig);
-        when(schemaExtractionService.extractSchema(any(DatabaseConfig.class)))
-                .thenReturn("{\"tables\":[]}");
 
         // Act
         DatabaseConfigDTO result = databaseConfigService.createConfig(100L, testRequest);
@@ -137,8 +136,7 @@ class DatabaseConfigServiceTest {
         assertEquals("Test DB", result.getName());
         verify(connectionTestService).testConnection(any(CreateDatabaseConfigRequest.class));
         verify(databaseConfigRepository).save(any(DatabaseConfig.class));
-        verify(schemaExtractionService).extractSchema(any(DatabaseConfig.class));
-        verify(schemaService).saveOrUpdateSchema(anyLong(), anyString());
+        verify(schemaExtractionJobs).submit(testConfig);
     }
 
     @Test
@@ -152,28 +150,7 @@ class DatabaseConfigServiceTest {
                 databaseConfigService.createConfig(100L, testRequest));
         verify(connectionTestService).testConnection(any(CreateDatabaseConfigRequest.class));
         verify(databaseConfigRepository, never()).save(any(DatabaseConfig.class));
-        verify(schemaExtractionService, never()).extractSchema(any(DatabaseConfig.class));
-    }
-
-    @Test
-    void createConfig_WhenSchemaExtractionFails_ShouldStillSaveConfig() {
-        // Arrange
-        when(connectionTestService.testConnection(any(CreateDatabaseConfigRequest.class)))
-                .thenReturn(successResult);
-        when(databaseConfigRepository.save(any(DatabaseConfig.class)))
-                .thenReturn(testConfig);
-        when(schemaExtractionService.extractSchema(any(DatabaseConfig.class)))
-                .thenThrow(new RuntimeException("Schema extraction failed"));
-
-        // Act
-        DatabaseConfigDTO result = databaseConfigService.createConfig(100L, testRequest);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals("Test DB", result.getName());
-        verify(databaseConfigRepository).save(any(DatabaseConfig.class));
-        verify(schemaExtractionService).extractSchema(any(DatabaseConfig.class));
-        verify(schemaService, never()).saveOrUpdateSchema(anyLong(), anyString());
+        verify(schemaExtractionJobs, never()).submit(any(DatabaseConfig.class));
     }
 
     @Test
@@ -183,8 +160,6 @@ class DatabaseConfigServiceTest {
                 .thenReturn(Optional.of(testConfig));
         when(databaseConfigRepository.save(any(DatabaseConfig.class)))
                 .thenReturn(testConfig);
-        when(schemaExtractionService.extractSchema(any(DatabaseConfig.class)))
-                .thenReturn("{\"tables\":[]}");
 
         // Act
         DatabaseConfigDTO result = databaseConfigService.updateConfig(1L, 100L, testRequest);
@@ -193,8 +168,8 @@ class DatabaseConfigServiceTest {
         assertNotNull(result);
         verify(databaseConfigRepository).findByIdAndUserId(1L, 100L);
         verify(databaseConfigRepository).save(any(DatabaseConfig.class));
-        verify(schemaExtractionService).extractSchema(any(DatabaseConfig.class));
-        verify(schemaService).saveOrUpdateSchema(anyLong(), anyString());
+        verify(schemaExtractionJobs).restart(testConfig);
+        verify(connectionPools).evict(1L);
     }
 
     @Test
@@ -221,6 +196,8 @@ class DatabaseConfigServiceTest {
         // Assert
         verify(databaseConfigRepository).existsById(1L);
         verify(databaseConfigRepository).deleteByIdAndUserId(1L, 100L);
+        verify(schemaExtractionJobs).forget(1L);
+        verify(connectionPools).evict(1L);
     }
 
     @Test
@@ -233,6 +210,7 @@ class DatabaseConfigServiceTest {
                 databaseConfigService.deleteConfig(1L, 100L));
         verify(databaseConfigRepository).existsById(1L);
         verify(databaseConfigRepository, never()).deleteByIdAndUserId(anyLong(), anyLong());
+        verify(connectionPools, never()).evict(anyLong());
     }
 
     @Test
@@ -305,27 +283,6 @@ class DatabaseConfigServiceTest {
         verify(databaseConfigRepository).save(any(DatabaseConfig.class));
     }
 
-    @Test
-    void updateConfig_WhenSchemaExtractionFails_ShouldStillSaveConfig() {
-        // Arrange
-        when(databaseConfigRepository.findByIdAndUserId(1L, 100L))
-                .thenReturn(Optional.of(testConfig));
-        when(databaseConfigRepository.save(any(DatabaseConfig.class)))
-                .thenReturn(testConfig);
-        when(schemaExtractionService.extractSchema(any(DatabaseConfig.class)))
-                .thenThrow(new RuntimeException("Schema extraction failed"));
-
-        // Act
-        DatabaseConfigDTO result = databaseConfigService.updateConfig(1L, 100L, testRequest);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals("Test DB", result.getName());
-        verify(databaseConfigRepository).save(any(DatabaseConfig.class));
-        verify(schemaExtractionService).extractSchema(any(DatabaseConfig.class));
-        verify(schemaService, never()).saveOrUpdateSchema(anyLong(), anyString());
-    }
-
     @Test
     void updateConnectionStatus_WhenConfigNotFound_ShouldThrowException() {
         // Arrange
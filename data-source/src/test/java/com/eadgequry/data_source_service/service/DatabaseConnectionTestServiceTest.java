@@ -2,6 +2,8 @@ package com.eadgequry.data_source_service.service;
 
 import com.eadgequry.data_source_service.dto.CreateDatabaseConfigRequest;
 import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -13,7 +15,7 @@ class DatabaseConnectionTestServiceTest {
 
     @BeforeEach
     void setUp() {
-        connectionTestService = new DatabaseConnectionTestService();
+        connectionTestService = new DatabaseConnectionTestService(new ConnectionPoolRegistry(new SimpleMeterRegistry()));
     }
 
     @Test
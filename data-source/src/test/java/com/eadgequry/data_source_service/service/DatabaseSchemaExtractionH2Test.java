@@ -0,0 +1,242 @@
+package com.eadgequry.data_source_service.service;
+
+import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
+import com.eadgequry.data_source_service.schema.ExtractionProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs both extraction paths against the same in-memory H2 database
+ */
+class DatabaseSchemaExtractionH2Test {
+
+    private static final String URL = "jdbc:h2:mem:schema_extraction;DB_CLOSE_DELAY=-1";
+    private static final int FILLER_TABLES = 25;
+
+    private DatabaseSchemaExtractionService extractionService;
+    private DatabaseConfig config;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE customers (id INT PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(255) UNIQUE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, active BOOLEAN, "
+                    + "opens_at TIME(3), updated_at TIMESTAMP(0) WITH TIME ZONE, notes CLOB)");
+            statement.execute("COMMENT ON TABLE customers IS 'People who buy things'");
+            statement.execute("COMMENT ON COLUMN customers.email IS 'Login address'");
+            statement.execute("CREATE TABLE products (sku VARCHAR(20) PRIMARY KEY, price DECIMAL(10, 2))");
+            statement.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, customer_id INT NOT NULL, "
+                    + "total DECIMAL(12, 2), status VARCHAR(10) DEFAULT 'NEW', "
+                    + "CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customers (id) "
+                    + "ON DELETE CASCADE)");
+            statement.execute("CREATE INDEX idx_orders_customer_total ON orders (customer_id, total)");
+            statement.execute("CREATE TABLE order_items (order_id BIGINT, line_no INT, sku VARCHAR(20), "
+                    + "quantity INT, PRIMARY KEY (order_id, line_no), "
+                    + "CONSTRAINT fk_items_order FOREIGN KEY (order_id) REFERENCES orders (id), "
+                    + "CONSTRAINT fk_items_product FOREIGN KEY (sku) REFERENCES products (sku) ON UPDATE CASCADE)");
+            for (int i = 0; i < FILLER_TABLES; i++) {
+                statement.execute("CREATE TABLE filler_" + i + " (id INT PRIMARY KEY, label VARCHAR(" + (10 + i)
+                        + "), amount DOUBLE)");
+            }
+            statement.execute("CREATE SCHEMA archive");
+            statement.execute("CREATE TABLE archive.old_orders (id BIGINT PRIMARY KEY, closed_on DATE)");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        extractionService = new DatabaseSchemaExtractionService(new ConnectionPoolRegistry(new SimpleMeterRegistry()));
+        config = new DatabaseConfig();
+        config.setType("h2");
+        config.setDatabaseName("schema_extraction");
+        config.setUsername("sa");
+        config.setPassword("");
+    }
+
+    @Test
+    void bulkExtraction_ShouldMatchParallelMetaDataExtraction() throws SQLException {
+        List<Map<String, Object>> bulk = extract(true, 3);
+        Set<Object> userTables = bulk.stream().map(table -> table.get("name")).collect(Collectors.toSet());
+        // Without a schema H2's getTables also lists INFORMATION_SCHEMA; the bulk read leaves it out
+        List<Map<String, Object>> metaData = extract(false, 3).stream()
+                .filter(table -> userTables.contains(table.get("name")))
+                .toList();
+
+        assertEquals(4 + FILLER_TABLES + 1, bulk.size());
+        assertEquals(metaData, bulk);
+    }
+
+    @Test
+    void bulkExtraction_ShouldAssembleKeysAndIndexesPerTable() throws SQLException {
+        Map<String, Map<String, Object>> tables = byName(extract(true, 1));
+
+        Map<String, Object> customers = tables.get("CUSTOMERS");
+        assertEquals("People who buy things", customers.get("remarks"));
+        Map<String, Object> email = columns(customers).get(2);
+        assertEquals("EMAIL", email.get("name"));
+        assertEquals(255, email.get("size"));
+        assertEquals(true, email.get("nullable"));
+        assertEquals("Login address", email.get("remarks"));
+        assertEquals(false, columns(customers).get(1).get("nullable"));
+
+        assertEquals(List.of("LINE_NO", "ORDER_ID"), tables.get("ORDER_ITEMS").get("primaryKeys"));
+
+        List<Map<String, Object>> itemKeys = list(tables.get("ORDER_ITEMS"), "foreignKeys");
+        assertEquals(2, itemKeys.size());
+        assertEquals(Map.of("name", "FK_ITEMS_ORDER", "column", "ORDER_ID", "referencedTable", "ORDERS",
+                "referencedColumn", "ID", "updateRule", "RESTRICT", "deleteRule", "RESTRICT"), itemKeys.get(0));
+        assertEquals("CASCADE", itemKeys.get(1).get("updateRule"));
+        assertEquals("CASCADE", list(tables.get("ORDERS"), "foreignKeys").get(0).get("deleteRule"));
+
+        List<Map<String, Object>> orderIndexes = list(tables.get("ORDERS"), "indexes");
+        assertTrue(orderIndexes.stream().anyMatch(index -> "IDX_ORDERS_CUSTOMER_TOTAL".equals(index.get("name"))
+                && "TOTAL".equals(index.get("column")) && Short.valueOf((short) 2).equals(index.get("ordinalPosition"))
+                && Boolean.FALSE.equals(index.get("unique"))), orderIndexes.toString());
+    }
+
+    @Test
+    void bulkExtraction_WithSchemaName_ShouldOnlyReadThatSchema() throws SQLException {
+        config.setSchemaName("ARCHIVE");
+
+        List<Map<String, Object>> tables = extract(true, 1);
+
+        assertEquals(1, tables.size());
+        assertEquals("OLD_ORDERS", tables.get(0).get("name"));
+    }
+
+    @Test
+    void metaDataExtraction_ParallelAndSerial_ShouldProduceSameTablesInSameOrder() throws SQLException {
+        assertEquals(extract(false, 1), extract(false, 4));
+    }
+
+    @Test
+    void extraction_WithBudgetSpent_ShouldReturnPartialResult() throws SQLException {
+        for (boolean bulk : new boolean[]{true, false}) {
+            ExtractionProgress progress = ExtractionProgress.withBudget(Duration.ZERO);
+
+            List<Map<String, Object>> tables = extract(bulk, 1, progress);
+
+            assertTrue(tables.isEmpty());
+            assertTrue(progress.isPartial());
+        }
+    }
+
+    @Test
+    void metaDataExtraction_WhenCancelled_ShouldKeepFinishedTables() throws SQLException {
+        ExtractionProgress progress = spy(ExtractionProgress.unbounded());
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            if (progress.getTablesDone() == 5) {
+                progress.cancel();
+            }
+            return null;
+        }).when(progress).tableDone();
+
+        List<Map<String, Object>> tables = extract(false, 1, progress);
+
+        assertEquals(5, tables.size());
+        assertTrue(tables.stream().allMatch(table -> table.containsKey("columns")));
+        assertTrue(progress.isPartial());
+        assertEquals(5, progress.getTablesDone());
+    }
+
+    @Test
+    void refresh_ShouldReReadOnlyChangedAndNewTablesAndDropRemovedOnes() throws SQLException {
+        String url = "jdbc:h2:mem:schema_refresh;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 6; i++) {
+                statement.execute("CREATE TABLE t" + i + " (id INT PRIMARY KEY, label VARCHAR(20))");
+            }
+
+            ConnectionPoolRegistry pools = mock(ConnectionPoolRegistry.class);
+            when(pools.getConnection(any(), anyString(), any(), any()))
+                    .thenAnswer(invocation -> DriverManager.getConnection(url, "sa", ""));
+            DatabaseSchemaExtractionService service = new DatabaseSchemaExtractionService(pools);
+            ReflectionTestUtils.setField(service, "bulkExtraction", true);
+            ReflectionTestUtils.setField(service, "extractionParallelism", 1);
+            ReflectionTestUtils.setField(service, "fullRefreshRatio", 0.5);
+            config.setDatabaseName("schema_refresh");
+
+            DatabaseSchemaExtractionService.ExtractedSchema full = service.extract(config, ExtractionProgress.unbounded());
+            assertEquals(6, full.tableSignatures().size());
+
+            DatabaseSchemaExtractionService.ExtractedSchema unchanged = service.refresh(config, full.schemaJson(),
+                    full.tableSignatures(), ExtractionProgress.unbounded());
+            assertTrue(unchanged.isUnchanged());
+
+            statement.execute("ALTER TABLE t1 ADD COLUMN note VARCHAR(50)");
+            statement.execute("DROP TABLE t2");
+            statement.execute("CREATE TABLE t6 (id INT PRIMARY KEY)");
+
+            DatabaseSchemaExtractionService.ExtractedSchema refreshed = service.refresh(config, full.schemaJson(),
+                    full.tableSignatures(), ExtractionProgress.unbounded());
+
+            assertFalse(refreshed.isUnchanged());
+            assertEquals(2, refreshed.tablesExtracted());
+            assertEquals(1, refreshed.tablesRemoved());
+            assertEquals(full.tableSignatures().get("PUBLIC.T0"), refreshed.tableSignatures().get("PUBLIC.T0"));
+            assertNotEquals(full.tableSignatures().get("PUBLIC.T1"), refreshed.tableSignatures().get("PUBLIC.T1"));
+
+            DatabaseSchemaExtractionService.ExtractedSchema fresh = service.extract(config, ExtractionProgress.unbounded());
+            assertEquals(fresh.tableSignatures(), refreshed.tableSignatures());
+            assertEquals(tablesOf(fresh.schemaJson()), tablesOf(refreshed.schemaJson()));
+        }
+    }
+
+    private List<Map<String, Object>> extract(boolean bulk, int parallelism) throws SQLException {
+        return extract(bulk, parallelism, ExtractionProgress.unbounded());
+    }
+
+    private List<Map<String, Object>> extract(boolean bulk, int parallelism, ExtractionProgress progress)
+            throws SQLException {
+        ReflectionTestUtils.setField(extractionService, "bulkExtraction", bulk);
+        ReflectionTestUtils.setField(extractionService, "extractionParallelism", parallelism);
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            return extractionService.extractTables(connection, config, URL, progress);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object tablesOf(String schemaJson) throws SQLException {
+        try {
+            return new com.fasterxml.jackson.databind.ObjectMapper().readValue(schemaJson, Map.class).get("tables");
+        } catch (java.io.IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private static Map<String, Map<String, Object>> byName(List<Map<String, Object>> tables) {
+        Map<String, Map<String, Object>> byName = new java.util.HashMap<>();
+        tables.forEach(table -> byName.put((String) table.get("name"), table));
+        return byName;
+    }
+
+    private static List<Map<String, Object>> columns(Map<String, Object> table) {
+        return list(table, "columns");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> list(Map<String, Object> table, String key) {
+        return (List<Map<String, Object>>) table.get(key);
+    }
+}
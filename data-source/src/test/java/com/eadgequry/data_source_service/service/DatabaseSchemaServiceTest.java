@@ -15,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -164,6 +165,25 @@ class DatabaseSchemaServiceTest {
                 schema.getSchemaJson().equals(newSchemaJson)));
     }
 
+    @Test
+    void saveOrUpdateSchema_WhenSchemaExists_ShouldBumpVersionAndStoreSignatures() {
+        // Arrange
+        testSchema.setSchemaVersion(4L);
+        Map<String, String> signatures = Map.of("test_db.users", "2024-05-01T10:00:00");
+        when(databaseSchemaRepository.findByDatabaseConfigId(100L))
+                .thenReturn(Optional.of(testSchema));
+        when(databaseSchemaRepository.save(any(DatabaseSchema.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        DatabaseSchemaDTO result = databaseSchemaService.saveOrUpdateSchema(100L, testSchemaJson, signatures);
+
+        // Assert
+        assertEquals(5L, result.getSchemaVersion());
+        verify(databaseSchemaRepository).save(argThat(schema ->
+                schema.getSchemaVersion() == 5L && signatures.equals(schema.getTableSignatures())));
+    }
+
     @Test
     void saveOrUpdateSchema_WhenSchemaDoesNotExist_ShouldCreateNewSchema() {
         // Arrange
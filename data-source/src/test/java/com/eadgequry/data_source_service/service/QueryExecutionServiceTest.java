@@ -0,0 +1,170 @@
+package com.eadgequry.data_source_service.service;
+
+import com.eadgequry.data_source_service.dto.ResultColumn;
+import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.plan.QueryCostGuard;
+import com.eadgequry.data_source_service.pool.ConnectionPoolRegistry;
+import com.eadgequry.data_source_service.repository.DatabaseConfigRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class QueryExecutionServiceTest {
+
+    private static final String URL = "jdbc:h2:mem:query_execution;DB_CLOSE_DELAY=-1";
+    private static final String SQL = "SELECT id, name FROM customers ORDER BY id";
+
+    private QueryExecutionService queryExecutionService;
+    private RunningQueryRegistry runningQueries;
+
+    @BeforeAll
+    static void createTable() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS customers (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("DELETE FROM customers");
+            for (int i = 1; i <= 20; i++) {
+                statement.execute("INSERT INTO customers VALUES (" + i + ", 'customer-" + i + "')");
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        runningQueries = new RunningQueryRegistry();
+        queryExecutionService = new QueryExecutionService(mock(DatabaseConfigRepository.class),
+                ObservationRegistry.NOOP, new ConnectionPoolRegistry(new SimpleMeterRegistry()), runningQueries,
+                new ObjectMapper(), mock(QueryCostGuard.class));
+        ReflectionTestUtils.setField(queryExecutionService, "queryTimeoutSeconds", 45);
+    }
+
+    @Test
+    void runQuery_UnderLimits_ShouldReturnAllRowsNotTruncated() throws SQLException {
+        QueryExecutionService.QueryRows rows = run(new QueryExecutionService.RowLimits(50, 1_000_000, 10));
+
+        assertEquals(20, rows.rows().size());
+        assertEquals(20, rows.rowsScanned());
+        assertFalse(rows.truncated());
+        assertEquals(new ResultColumn("ID", "INTEGER"), rows.columns().get(0));
+        assertEquals(new ResultColumn("NAME", "VARCHAR"), rows.columns().get(1));
+    }
+
+    @Test
+    void runQuery_OverRowCap_ShouldStopAtCapAndFlagTruncation() throws SQLException {
+        QueryExecutionService.QueryRows rows = run(new QueryExecutionService.RowLimits(5, 1_000_000, 10));
+
+        assertEquals(5, rows.rows().size());
+        assertEquals(6, rows.rowsScanned());
+        assertTrue(rows.truncated());
+        assertEquals(1, rows.rows().get(0)[0]);
+    }
+
+    @Test
+    void runQuery_RowCapEqualToResultSize_ShouldNotFlagTruncation() throws SQLException {
+        QueryExecutionService.QueryRows rows = run(new QueryExecutionService.RowLimits(20, 1_000_000, 10));
+
+        assertEquals(20, rows.rows().size());
+        assertFalse(rows.truncated());
+    }
+
+    @Test
+    void runQuery_OverByteCap_ShouldStopBeforeRowThatDoesNotFit() throws SQLException {
+        long rowBytes = QueryExecutionService.estimateBytes("ID", 1)
+                + QueryExecutionService.estimateBytes("NAME", "customer-1");
+
+        QueryExecutionService.QueryRows rows = run(new QueryExecutionService.RowLimits(50, rowBytes * 3, 10));
+
+        assertEquals(3, rows.rows().size());
+        assertTrue(rows.truncated());
+    }
+
+    @Test
+    void fetchSizeFor_ShouldStreamMySqlAndBatchOthers() {
+        assertEquals(Integer.MIN_VALUE, QueryExecutionService.fetchSizeFor("mysql", 50));
+        assertEquals(51, QueryExecutionService.fetchSizeFor("postgresql", 50));
+        assertEquals(500, QueryExecutionService.fetchSizeFor("oracle", 10_000));
+    }
+
+    @Test
+    void runQuery_CancelledThroughRegistry_ShouldStopStatement() throws Exception {
+        QueryExecutionService.QueryOwner owner = new QueryExecutionService.QueryOwner("q-1", 1L, null);
+        String slowSql = "SELECT SUM(a.X * b.X) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b";
+
+        CompletableFuture<QueryExecutionService.QueryRows> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queryExecutionService.runQuery(owner, URL, "sa", "", slowSql, "h2",
+                        new QueryExecutionService.RowLimits(50, 1_000_000, 30));
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (runningQueries.listForUser(1L).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Registration happens just before executeQuery; give the driver time to start executing
+        Thread.sleep(300);
+        assertFalse(runningQueries.cancelForUser("q-1", 2L));
+        assertTrue(runningQueries.cancelForUser("q-1", 1L));
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> running.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, error.getCause());
+        assertTrue(runningQueries.wasCancelled("q-1"));
+    }
+
+    @Test
+    void taskExecutor_OverConcurrencyLimit_ShouldRejectInsteadOfQueueing() throws Exception {
+        ReflectionTestUtils.setField(queryExecutionService, "maxConcurrentQueries", 1);
+        queryExecutionService.start();
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        try {
+            queryExecutionService.taskExecutor().execute(release::join);
+
+            assertThrows(org.springframework.core.task.TaskRejectedException.class,
+                    () -> queryExecutionService.taskExecutor().execute(() -> { }));
+        } finally {
+            release.complete(null);
+            queryExecutionService.close();
+        }
+    }
+
+    @Test
+    void effectiveTimeout_ShouldHonourLowerPerConfigValueOnly() {
+        DatabaseConfig config = new DatabaseConfig();
+        assertEquals(45, queryExecutionService.effectiveTimeout(config));
+
+        config.setConnectionProperties(Map.of(QueryExecutionService.QUERY_TIMEOUT_PROPERTY, 10));
+        assertEquals(10, queryExecutionService.effectiveTimeout(config));
+
+        config.setConnectionProperties(Map.of(QueryExecutionService.QUERY_TIMEOUT_PROPERTY, "600"));
+        assertEquals(45, queryExecutionService.effectiveTimeout(config));
+
+        config.setConnectionProperties(Map.of(QueryExecutionService.QUERY_TIMEOUT_PROPERTY, "soon"));
+        assertEquals(45, queryExecutionService.effectiveTimeout(config));
+    }
+
+    private QueryExecutionService.QueryRows run(QueryExecutionService.RowLimits limits) throws SQLException {
+        QueryExecutionService.QueryOwner owner = new QueryExecutionService.QueryOwner(runningQueries.newQueryId(),
+                1L, null);
+        return queryExecutionService.runQuery(owner, URL, "sa", "", SQL, "h2", limits);
+    }
+}
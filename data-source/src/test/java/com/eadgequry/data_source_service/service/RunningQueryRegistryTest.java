@@ -0,0 +1,76 @@
+package com.eadgequry.data_source_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RunningQueryRegistryTest {
+
+    private RunningQueryRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RunningQueryRegistry();
+    }
+
+    @Test
+    void register_ShouldListQueryForOwnerOnly() throws SQLException {
+        registry.register("q-1", 1L, 10L, "SELECT * FROM users", mock(Statement.class));
+
+        assertEquals(1, registry.listForUser(1L).size());
+        assertTrue(registry.listForUser(2L).isEmpty());
+        assertEquals(10L, registry.listForUser(1L).get(0).getDatabaseConfigId());
+        assertEquals(RunningQueryRegistry.fingerprint("select *   FROM users "),
+                registry.listForUser(1L).get(0).getSqlFingerprint());
+    }
+
+    @Test
+    void cancelForUser_OtherUser_ShouldNotCancel() throws SQLException {
+        Statement statement = mock(Statement.class);
+        registry.register("q-1", 1L, 10L, "SELECT 1 FROM dual", statement);
+
+        assertFalse(registry.cancelForUser("q-1", 2L));
+        assertTrue(registry.cancel("q-1"));
+        verify(statement).cancel();
+        assertTrue(registry.wasCancelled("q-1"));
+    }
+
+    @Test
+    void cancelOnAbandon_BeforeRegistration_ShouldRejectStatement() {
+        String queryId = registry.newQueryId();
+        registry.cancelOnAbandon(queryId);
+
+        assertThrows(SQLException.class,
+                () -> registry.register(queryId, 1L, 10L, "SELECT 1 FROM dual", mock(Statement.class)));
+        assertTrue(registry.listForUser(1L).isEmpty());
+        assertTrue(registry.wasCancelled(queryId));
+    }
+
+    @Test
+    void cancelOnAbandon_AfterFinish_ShouldLeaveNoMark() throws SQLException {
+        String queryId = registry.newQueryId();
+        registry.register(queryId, 1L, 10L, "SELECT 1 FROM dual", mock(Statement.class));
+        registry.finish(queryId);
+
+        registry.cancelOnAbandon(queryId);
+
+        // A leftover mark would reject a statement registering under the same id
+        registry.register(queryId, 1L, 10L, "SELECT 1 FROM dual", mock(Statement.class));
+        assertFalse(registry.wasCancelled(queryId));
+    }
+
+    @Test
+    void finish_ShouldForgetQuery() throws SQLException {
+        registry.register("q-1", 1L, 10L, "SELECT 1 FROM dual", mock(Statement.class));
+
+        registry.finish("q-1");
+
+        assertTrue(registry.listForUser(1L).isEmpty());
+        assertFalse(registry.cancel("q-1"));
+    }
+}
@@ -0,0 +1,269 @@
+package com.eadgequry.data_source_service.service;
+
+import com.eadgequry.data_source_service.dto.DatabaseSchemaDTO;
+import com.eadgequry.data_source_service.dto.SchemaExtractionJobDTO;
+import com.eadgequry.data_source_service.exception.DatabaseConfigNotFoundException;
+import com.eadgequry.data_source_service.exception.SchemaExtractionJobNotFoundException;
+import com.eadgequry.data_source_service.model.DatabaseConfig;
+import com.eadgequry.data_source_service.model.DatabaseSchema;
+import com.eadgequry.data_source_service.repository.DatabaseConfigRepository;
+import com.eadgequry.data_source_service.schema.ExtractionProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SchemaExtractionJobServiceTest {
+
+    private static final Map<String, String> SIGNATURES = Map.of("db1.users", "2024-01-01T00:00:00/1");
+
+    private DatabaseSchemaExtractionService extractionService;
+    private DatabaseSchemaService schemaService;
+    private DatabaseConfigRepository databaseConfigRepository;
+    private SchemaExtractionJobService jobService;
+    private DatabaseConfig config;
+
+    @BeforeEach
+    void setUp() {
+        extractionService = mock(DatabaseSchemaExtractionService.class);
+        schemaService = mock(DatabaseSchemaService.class);
+        databaseConfigRepository = mock(DatabaseConfigRepository.class);
+        jobService = newJobService(2, 10);
+
+        config = config(1L);
+        when(databaseConfigRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(config));
+        DatabaseSchemaDTO saved = new DatabaseSchemaDTO();
+        saved.setSchemaVersion(3L);
+        when(schemaService.saveOrUpdateSchema(anyLong(), anyString(), any())).thenReturn(saved);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.close();
+    }
+
+    @Test
+    void submit_ShouldExtractInBackgroundAndSaveSchema() throws InterruptedException {
+        when(extractionService.extract(eq(config), any(ExtractionProgress.class))).thenReturn(extracted("{\"tables\":[]}"));
+
+        SchemaExtractionJobDTO submitted = jobService.submit(config);
+
+        SchemaExtractionJobDTO finished = awaitFinished();
+        assertEquals(submitted.getJobId(), finished.getJobId());
+        assertEquals("SUCCEEDED", finished.getStatus());
+        assertEquals("full", finished.getKind());
+        assertEquals(3L, finished.getSchemaVersion());
+        assertNotNull(finished.getElapsedMs());
+        verify(schemaService).saveOrUpdateSchema(1L, "{\"tables\":[]}", SIGNATURES);
+    }
+
+    @Test
+    void submit_WhileExtractionRunning_ShouldReturnSameJob() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(extractionService.extract(eq(config), any(ExtractionProgress.class))).thenAnswer(invocation -> {
+            ExtractionProgress progress = invocation.getArgument(1);
+            progress.setTablesTotal(10);
+            progress.setTablesDone(4);
+            release.await(5, TimeUnit.SECONDS);
+            return extracted("{\"tables\":[]}");
+        });
+
+        SchemaExtractionJobDTO first = jobService.submit(config);
+        SchemaExtractionJobDTO second = jobService.submit(config);
+        SchemaExtractionJobDTO running = awaitProgress();
+
+        assertEquals(first.getJobId(), second.getJobId());
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(10, running.getTablesTotal());
+        assertNotNull(running.getEtaMs());
+
+        release.countDown();
+        assertEquals("SUCCEEDED", awaitFinished().getStatus());
+        verify(extractionService, times(1)).extract(eq(config), any(ExtractionProgress.class));
+    }
+
+    @Test
+    void cancel_RunningExtraction_ShouldStopItWithoutSaving() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        when(extractionService.extract(eq(config), any(ExtractionProgress.class))).thenAnswer(invocation -> {
+            ExtractionProgress progress = invocation.getArgument(1);
+            started.countDown();
+            while (!progress.shouldStop()) {
+                Thread.sleep(5);
+            }
+            progress.markPartial();
+            return extracted("{\"partial\":true,\"tables\":[]}");
+        });
+
+        jobService.submit(config);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.cancel(1L, 100L);
+
+        assertEquals("CANCELLED", awaitFinished().getStatus());
+        verify(schemaService, never()).saveOrUpdateSchema(anyLong(), anyString(), any());
+        assertThrows(SchemaExtractionJobNotFoundException.class, () -> jobService.cancel(1L, 100L));
+    }
+
+    @Test
+    void submit_WhenTimeBudgetRunsOut_ShouldSavePartialSchema() throws InterruptedException {
+        ReflectionTestUtils.setField(jobService, "timeBudgetSeconds", 0L);
+        when(extractionService.extract(eq(config), any(ExtractionProgress.class))).thenAnswer(invocation -> {
+            ExtractionProgress progress = invocation.getArgument(1);
+            assertTrue(progress.isTimedOut());
+            progress.markPartial();
+            return extracted("{\"partial\":true,\"tables\":[]}");
+        });
+
+        jobService.submit(config);
+
+        assertEquals("PARTIAL", awaitFinished().getStatus());
+        verify(schemaService).saveOrUpdateSchema(1L, "{\"partial\":true,\"tables\":[]}", SIGNATURES);
+    }
+
+    @Test
+    void submit_WhenExtractionFails_ShouldReportFailure() throws InterruptedException {
+        when(extractionService.extract(eq(config), any(ExtractionProgress.class)))
+                .thenThrow(new RuntimeException("Schema extraction failed: access denied"));
+
+        jobService.submit(config);
+
+        SchemaExtractionJobDTO finished = awaitFinished();
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("Schema extraction failed: access denied", finished.getMessage());
+        verify(schemaService, never()).saveOrUpdateSchema(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldFailJob() {
+        jobService.close();
+        jobService = newJobService(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(extractionService.extract(any(DatabaseConfig.class), any(ExtractionProgress.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return extracted("{\"tables\":[]}");
+                });
+
+        jobService.submit(config(1L));
+        jobService.submit(config(2L));
+        SchemaExtractionJobDTO rejected = jobService.submit(config(3L));
+
+        assertEquals("FAILED", rejected.getStatus());
+        release.countDown();
+    }
+
+    @Test
+    void getJob_ForOtherUsersConfig_ShouldThrow() {
+        when(databaseConfigRepository.findByIdAndUserId(1L, 200L)).thenReturn(Optional.empty());
+
+        assertThrows(DatabaseConfigNotFoundException.class, () -> jobService.getJob(1L, 200L));
+        assertThrows(SchemaExtractionJobNotFoundException.class, () -> jobService.getJob(1L, 100L));
+    }
+
+    @Test
+    void submitRefresh_WithStoredSchema_ShouldRefreshIncrementally() throws InterruptedException {
+        DatabaseSchema stored = new DatabaseSchema();
+        stored.setSchemaJson("{\"tables\":[]}");
+        stored.setTableSignatures(SIGNATURES);
+        when(schemaService.findByConfigId(1L)).thenReturn(Optional.of(stored));
+        when(extractionService.refresh(eq(config), eq("{\"tables\":[]}"), eq(SIGNATURES), any(ExtractionProgress.class)))
+                .thenReturn(extracted("{\"tables\":[{}]}"));
+
+        SchemaExtractionJobDTO submitted = jobService.submitRefresh(config);
+
+        assertEquals("incremental", submitted.getKind());
+        assertEquals("SUCCEEDED", awaitFinished().getStatus());
+        verify(schemaService).saveOrUpdateSchema(1L, "{\"tables\":[{}]}", SIGNATURES);
+        verify(extractionService, never()).extract(any(DatabaseConfig.class), any(ExtractionProgress.class));
+    }
+
+    @Test
+    void submitRefresh_WhenNothingChanged_ShouldNotSave() throws InterruptedException {
+        DatabaseSchema stored = new DatabaseSchema();
+        stored.setSchemaJson("{\"tables\":[]}");
+        stored.setTableSignatures(SIGNATURES);
+        when(schemaService.findByConfigId(1L)).thenReturn(Optional.of(stored));
+        when(extractionService.refresh(eq(config), anyString(), anyMap(), any(ExtractionProgress.class)))
+                .thenReturn(DatabaseSchemaExtractionService.ExtractedSchema.unchanged());
+
+        jobService.submitRefresh(config);
+
+        SchemaExtractionJobDTO finished = awaitFinished();
+        assertEquals("SUCCEEDED", finished.getStatus());
+        assertNull(finished.getSchemaVersion());
+        verify(schemaService, never()).saveOrUpdateSchema(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void refreshSchemas_ShouldOnlyQueueActiveConfigsWithSignaturesAndStoredSchema() throws InterruptedException {
+        DatabaseConfig inactive = config(2L);
+        inactive.setStatus("inactive");
+        DatabaseConfig noSignatures = config(3L);
+        noSignatures.setType("snowflake");
+        DatabaseConfig neverExtracted = config(4L);
+        when(databaseConfigRepository.findAll()).thenReturn(List.of(config, inactive, noSignatures, neverExtracted));
+        when(schemaService.hasSchema(1L)).thenReturn(true);
+        when(schemaService.hasSchema(4L)).thenReturn(false);
+        when(extractionService.extract(eq(config), any(ExtractionProgress.class))).thenReturn(extracted("{\"tables\":[]}"));
+
+        jobService.refreshSchemas();
+
+        assertEquals("incremental", awaitFinished().getKind());
+        verify(schemaService, never()).hasSchema(2L);
+        verify(schemaService, never()).hasSchema(3L);
+    }
+
+    private static DatabaseSchemaExtractionService.ExtractedSchema extracted(String schemaJson) {
+        return new DatabaseSchemaExtractionService.ExtractedSchema(schemaJson, SIGNATURES, 1, 0);
+    }
+
+    private SchemaExtractionJobService newJobService(int maxConcurrent, int queueCapacity) {
+        SchemaExtractionJobService service =
+                new SchemaExtractionJobService(extractionService, schemaService, databaseConfigRepository);
+        ReflectionTestUtils.setField(service, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "timeBudgetSeconds", 60L);
+        ReflectionTestUtils.setField(service, "refreshEnabled", true);
+        service.start();
+        return service;
+    }
+
+    private static DatabaseConfig config(Long id) {
+        DatabaseConfig config = new DatabaseConfig();
+        config.setId(id);
+        config.setUserId(100L);
+        config.setType("mysql");
+        config.setDatabaseName("db" + id);
+        return config;
+    }
+
+    private SchemaExtractionJobDTO awaitFinished() throws InterruptedException {
+        return await(job -> job.getFinishedAt() != null);
+    }
+
+    private SchemaExtractionJobDTO awaitProgress() throws InterruptedException {
+        return await(job -> job.getTablesDone() != null && job.getTablesDone() > 0);
+    }
+
+    private SchemaExtractionJobDTO await(java.util.function.Predicate<SchemaExtractionJobDTO> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        SchemaExtractionJobDTO job = jobService.getJob(1L, 100L);
+        while (!condition.test(job) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = jobService.getJob(1L, 100L);
+        }
+        assertTrue(condition.test(job), job.toString());
+        return job;
+    }
+}
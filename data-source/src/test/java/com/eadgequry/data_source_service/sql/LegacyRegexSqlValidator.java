@@ -0,0 +1,57 @@
+package com.eadgequry.data_source_service.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based validation QueryExecutionService used before {@link ReadOnlySqlValidator},
+ * kept as the baseline for the benchmark and the differential fuzz test.
+ */
+final class LegacyRegexSqlValidator {
+
+    private static final Pattern SELECT_PATTERN = Pattern.compile("^\\s*SELECT\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FROM_PATTERN = Pattern.compile("\\s+FROM\\s+", Pattern.CASE_INSENSITIVE);
+
+    private LegacyRegexSqlValidator() {
+    }
+
+    static void validate(String sqlQuery) {
+        if (sqlQuery == null || sqlQuery.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL query cannot be empty");
+        }
+
+        String trimmedQuery = sqlQuery.trim();
+
+        if (!SELECT_PATTERN.matcher(trimmedQuery).find()) {
+            throw new IllegalArgumentException("Only SELECT queries are allowed. Query must start with SELECT.");
+        }
+
+        if (!FROM_PATTERN.matcher(trimmedQuery).find()) {
+            throw new IllegalArgumentException("Invalid SELECT query: FROM clause is required");
+        }
+
+        String upperQuery = sqlQuery.toUpperCase();
+        for (String forbiddenKeyword : ReadOnlySqlValidator.FORBIDDEN_KEYWORDS) {
+            String regex = "\\b" + Pattern.quote(forbiddenKeyword) + "\\b";
+            if (Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(sqlQuery).find()) {
+                throw new IllegalArgumentException(
+                        String.format("Forbidden SQL keyword detected: %s. Only SELECT queries are allowed.", forbiddenKeyword));
+            }
+        }
+
+        long singleQuotes = sqlQuery.chars().filter(ch -> ch == '\'').count();
+        if (singleQuotes % 2 != 0) {
+            throw new IllegalArgumentException("Invalid SQL syntax: Unmatched single quote detected");
+        }
+
+        long doubleQuotes = sqlQuery.chars().filter(ch -> ch == '"').count();
+        if (doubleQuotes % 2 != 0) {
+            throw new IllegalArgumentException("Invalid SQL syntax: Unmatched double quote detected");
+        }
+
+        long openParens = sqlQuery.chars().filter(ch -> ch == '(').count();
+        long closeParens = sqlQuery.chars().filter(ch -> ch == ')').count();
+        if (openParens != closeParens) {
+            throw new IllegalArgumentException("Invalid SQL syntax: Unmatched parentheses detected");
+        }
+    }
+}
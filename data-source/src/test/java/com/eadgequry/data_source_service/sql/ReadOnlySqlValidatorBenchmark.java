@@ -0,0 +1,80 @@
+package com.eadgequry.data_source_service.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only query validation, single-pass lexer against the previous regex checks.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=ReadOnlySqlValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlySqlValidatorBenchmark {
+
+    private static final String SHORT_QUERY = "SELECT id, email FROM customers WHERE status = 'active' LIMIT 50";
+
+    private static final String JOIN_QUERY = """
+            SELECT c.id, c.name, SUM(o.total) AS revenue, COUNT(DISTINCT o.id) AS orders
+            FROM customers c
+            JOIN orders o ON o.customer_id = c.id
+            LEFT JOIN refunds r ON r.order_id = o.id AND r.reason <> 'duplicate charge'
+            WHERE o.created_at >= '2024-01-01' AND (c.country IN ('FR', 'DE', 'ES') OR c.vip = 1)
+            GROUP BY c.id, c.name
+            HAVING SUM(o.total) > 1000
+            ORDER BY revenue DESC
+            LIMIT 50""";
+
+    @Param({"short", "join", "long"})
+    public String size;
+
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        query = switch (size) {
+            case "short" -> SHORT_QUERY;
+            case "join" -> JOIN_QUERY;
+            default -> longQuery();
+        };
+    }
+
+    @Benchmark
+    public String lexer() {
+        ReadOnlySqlValidator.validate(query);
+        return query;
+    }
+
+    @Benchmark
+    public String legacyRegex() {
+        LegacyRegexSqlValidator.validate(query);
+        return query;
+    }
+
+    /**
+     * Roughly 20 KB: a wide projection with many CASE expressions and string literals
+     */
+    private static String longQuery() {
+        StringBuilder sql = new StringBuilder("SELECT o.id");
+        for (int i = 0; i < 200; i++) {
+            sql.append(",\n  CASE WHEN o.status_").append(i).append(" = 'state ").append(i)
+                    .append("' THEN o.amount_").append(i).append(" ELSE 0 END AS amount_").append(i);
+        }
+        return sql.append("\nFROM orders o WHERE o.created_at >= '2024-01-01'").toString();
+    }
+}
@@ -0,0 +1,220 @@
+package com.eadgequry.data_source_service.sql;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadOnlySqlValidatorTest {
+
+    private static final long SEED = 20241018L;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT id FROM customers",
+            "select * from orders where action = 'DELETE'",
+            "SELECT id FROM audit WHERE note = 'it''s an UPDATE'",
+            "SELECT \"update\", `drop` FROM t",
+            "SELECT id FROM t -- delete these later\nWHERE id > 1",
+            "SELECT id /* TRUNCATE me */ FROM t",
+            "SELECT log.delete, log.call FROM audit_log log",
+            "SELECT REPLACE(name, 'a', 'b') FROM t",
+            "SELECT replace (name, 'a', 'b') FROM t",
+            "/* report */ SELECT id FROM t",
+            "SELECT deleted_at, updates, executes FROM t",
+            "SELECT*FROM(SELECT id FROM t)x",
+            "SELECT COUNT(*) FROM t WHERE (a = 1 OR (b = 2))",
+            "SELECT id FROM t;",
+            "SELECT id FROM t; -- done\n /* end */ ",
+            "SELECT $$note$$ AS note, [order id] FROM t",
+    })
+    void validate_ReadOnlyQueries_ShouldPass(String sql) {
+        assertDoesNotThrow(() -> ReadOnlySqlValidator.validate(sql));
+    }
+
+    @Test
+    void validate_ShouldKeepExistingErrorMessages() {
+        assertRejected("   ", ReadOnlySqlValidator.EMPTY_QUERY);
+        assertRejected("UPDATE t SET a = 1", ReadOnlySqlValidator.NOT_SELECT);
+        assertRejected("(SELECT id FROM t)", ReadOnlySqlValidator.NOT_SELECT);
+        assertRejected("SELECT 1", ReadOnlySqlValidator.MISSING_FROM);
+        assertRejected("SELECT 'x FROM y'", ReadOnlySqlValidator.MISSING_FROM);
+        assertRejected("SELECT id FROM t; DELETE FROM t",
+                "Forbidden SQL keyword detected: DELETE. Only SELECT queries are allowed.");
+        assertRejected("SELECT id FROM t WHERE a = 'x", ReadOnlySqlValidator.UNMATCHED_SINGLE_QUOTE);
+        assertRejected("SELECT \"id FROM t", ReadOnlySqlValidator.MISSING_FROM);
+        assertRejected("SELECT id FROM \"t", ReadOnlySqlValidator.UNMATCHED_DOUBLE_QUOTE);
+        assertRejected("SELECT id FROM `t", ReadOnlySqlValidator.UNMATCHED_BACKTICK);
+        assertRejected("SELECT COUNT(id FROM t", ReadOnlySqlValidator.UNMATCHED_PARENTHESES);
+        assertRejected("SELECT id) FROM (t", ReadOnlySqlValidator.UNMATCHED_PARENTHESES);
+        assertRejected("SELECT id FROM t /* open", ReadOnlySqlValidator.UNTERMINATED_COMMENT);
+        assertRejected("SELECT id FROM t; SELECT name FROM t", ReadOnlySqlValidator.MULTIPLE_STATEMENTS);
+        assertRejected("SELECT id FROM t;;", ReadOnlySqlValidator.MULTIPLE_STATEMENTS);
+    }
+
+    @Test
+    void validate_SeveralForbiddenKeywords_ShouldReportTheFirstInDenyListOrder() {
+        assertRejected("SELECT id FROM t; drop table t; delete from t",
+                "Forbidden SQL keyword detected: DELETE. Only SELECT queries are allowed.");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT id FROM t; REPLACE INTO t VALUES (1)",
+            "SELECT id FROM t REPLACE",
+            "SELECT id FROM t; REPLACE /* (x) */ t VALUES (1)",
+    })
+    void validate_ReplaceStatement_ShouldBeRejected(String sql) {
+        assertRejected(sql, "Forbidden SQL keyword detected: REPLACE. Only SELECT queries are allowed.");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // MySQL reads \' as an escaped quote, so the DELETE below is outside any string there
+            "SELECT id FROM t WHERE a = 'x\\' , ' DELETE FROM t -- '",
+            "SELECT id FROM t /*! DELETE FROM t */",
+            "SELECT id FROM t # it's\n DELETE FROM t '",
+            "SELECT id FROM t /* /* */ DELETE FROM t */",
+            "SELECT id FROM t --x\n' DELETE FROM t'",
+            "SELECT id FROM t # .\nDELETE FROM t",
+            "SELECT $$'$$ AS a FROM t; DELETE FROM t; SELECT $$'$$ AS b FROM t",
+            "SELECT $tag$'$tag$ AS a FROM t; DELETE FROM t; SELECT $tag$'$tag$ AS b FROM t",
+            "SELECT [a'b] FROM t; DELETE FROM t; SELECT 1 AS [x'] FROM t",
+    })
+    void validate_DialectDependentQuoting_ShouldCheckEveryWordAfterwards(String sql) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ReadOnlySqlValidator.validate(sql));
+        assertTrue(error.getMessage().contains("DELETE"), error.getMessage());
+    }
+
+    /**
+     * Plain token sequences without quotes, comments or dots, where the old regex checks were
+     * already right, must get exactly the same verdict and message as before.
+     */
+    @Test
+    void fuzz_PlainTokenSequences_ShouldMatchLegacyValidator() {
+        Random random = new Random(SEED);
+        String[] vocabulary = {"SELECT", "select", "FROM", "from", "id", "name", "customers", "orders", "WHERE",
+                "AND", "OR", "=", "1", ",", "*", "count", "DELETE", "drop", "Update", "merge", "call", "executes",
+                "deleted", "grant", "LOADS", "truncate", "sum", "$", "$$", "$1", "[", "]", "[id]", "$DELETE$"};
+        String[] whitespace = {" ", "  ", "\n", "\t"};
+
+        for (int i = 0; i < 5000; i++) {
+            List<String> tokens = new ArrayList<>();
+            tokens.add(random.nextInt(10) == 0 ? vocabulary[random.nextInt(vocabulary.length)] : "SELECT");
+            int count = 1 + random.nextInt(12);
+            for (int t = 0; t < count; t++) {
+                tokens.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                int open = 1 + random.nextInt(tokens.size());
+                tokens.add(open, "(");
+                if (random.nextInt(4) != 0) {
+                    tokens.add(open + 1 + random.nextInt(tokens.size() - open), ")");
+                }
+            }
+            tokens.add("t");
+
+            StringBuilder sql = new StringBuilder();
+            for (String token : tokens) {
+                sql.append(token).append(whitespace[random.nextInt(whitespace.length)]);
+            }
+
+            assertEquals(verdict(() -> LegacyRegexSqlValidator.validate(sql.toString())),
+                    verdict(() -> ReadOnlySqlValidator.validate(sql.toString())), sql.toString());
+        }
+    }
+
+    /**
+     * Deny-listed words hidden in literals, quoted identifiers and comments never reject a query,
+     * the same word as a bare token always does.
+     */
+    @Test
+    void fuzz_KeywordsInsideLiteralsAndComments_ShouldOnlyCountWhenBare() {
+        Random random = new Random(SEED);
+        String[] keywords = ReadOnlySqlValidator.FORBIDDEN_KEYWORDS;
+
+        for (int i = 0; i < 5000; i++) {
+            String keyword = randomCase(keywords[random.nextInt(keywords.length)], random);
+            String hidden = switch (random.nextInt(6)) {
+                case 0 -> "'" + keyword + " it''s'";
+                case 1 -> "\"" + keyword + "\"";
+                case 2 -> "`" + keyword + "`";
+                case 3 -> "/* " + keyword + " ( ' \" */";
+                case 4 -> "-- " + keyword + " ' (\n";
+                default -> "alias." + keyword;
+            };
+
+            String safe = "SELECT id, " + hidden + " FROM t WHERE x = 'a' AND (y = 2)";
+            assertDoesNotThrow(() -> ReadOnlySqlValidator.validate(safe), safe);
+
+            String unsafe = safe + "; " + keyword + " t";
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> ReadOnlySqlValidator.validate(unsafe), unsafe);
+            assertTrue(error.getMessage().startsWith("Forbidden SQL keyword detected"), unsafe);
+        }
+    }
+
+    /**
+     * Random strings over the characters that drive the lexer: every input either passes or fails
+     * with IllegalArgumentException, and a large input is handled in one linear pass.
+     */
+    @Test
+    void fuzz_RandomInput_ShouldOnlyEverThrowIllegalArgument() {
+        Random random = new Random(SEED);
+        String alphabet = "SELECTFROMdelte_ $.'\"`\\-/*#()!;[]\n\t";
+
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sql = new StringBuilder(random.nextBoolean() ? "SELECT " : "");
+            int length = random.nextInt(60);
+            for (int c = 0; c < length; c++) {
+                sql.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String query = sql.toString();
+            try {
+                ReadOnlySqlValidator.validate(query);
+            } catch (IllegalArgumentException expected) {
+                assertNotNull(expected.getMessage());
+            } catch (RuntimeException e) {
+                fail("Unexpected " + e + " for: " + query);
+            }
+        }
+
+        StringBuilder large = new StringBuilder("SELECT id FROM t WHERE a IN (");
+        for (int i = 0; i < 200_000; i++) {
+            large.append("'v").append(i).append("', ");
+        }
+        large.append("'last')");
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> ReadOnlySqlValidator.validate(large.toString()));
+    }
+
+    private static void assertRejected(String sql, String message) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ReadOnlySqlValidator.validate(sql));
+        assertEquals(message, error.getMessage());
+    }
+
+    private static String verdict(Runnable validation) {
+        try {
+            validation.run();
+            return "valid";
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String randomCase(String keyword, Random random) {
+        StringBuilder word = new StringBuilder(keyword.length());
+        for (char c : keyword.toCharArray()) {
+            word.append(random.nextBoolean() ? Character.toLowerCase(c) : c);
+        }
+        return word.toString();
+    }
+}
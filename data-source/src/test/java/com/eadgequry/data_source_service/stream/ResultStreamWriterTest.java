@@ -0,0 +1,150 @@
+package com.eadgequry.data_source_service.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStreamWriterTest {
+
+    private static final String SQL = "SELECT id, name, score, active FROM players ORDER BY id";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:result_stream;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS players (id BIGINT, name VARCHAR(20), "
+                    + "score DOUBLE, active BOOLEAN)");
+            statement.execute("DELETE FROM players");
+            statement.execute("INSERT INTO players VALUES (1, 'ada', 9.5, TRUE), (2, NULL, 7.25, FALSE), "
+                    + "(3, 'linus', NULL, TRUE)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void ndjson_ShouldWriteHeaderRowArraysAndTrailer() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream(ResultStreamFormat.NDJSON.open(out, objectMapper, 2));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+
+        JsonNode header = objectMapper.readTree(lines[0]);
+        assertEquals("NAME", header.get("columns").get(1).get("name").asText());
+        assertEquals("BIGINT", header.get("columns").get(0).get("type").asText());
+
+        assertEquals("[1,\"ada\",9.5,true]", lines[1]);
+        assertEquals("[2,null,7.25,false]", lines[2]);
+
+        JsonNode trailer = objectMapper.readTree(lines[4]);
+        assertEquals(3, trailer.get("rowCount").asInt());
+        assertFalse(trailer.get("truncated").asBoolean());
+    }
+
+    @Test
+    void ndjson_Error_ShouldEndStreamWithErrorLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResultStreamFormat.NDJSON.open(out, objectMapper, 10).error("boom");
+
+        assertEquals("{\"error\":\"boom\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void columnar_ShouldWriteTypedBatchesWithNullBitmaps() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream(ResultStreamFormat.COLUMNAR.open(out, objectMapper, 2));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertArrayEquals(ColumnarResultStreamWriter.MAGIC, in.readNBytes(4));
+
+        assertEquals('H', in.readByte());
+        assertEquals(4, in.readInt());
+        byte[] kinds = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            in.readUTF();
+            kinds[i] = in.readByte();
+        }
+        assertArrayEquals(new byte[]{ColumnarResultStreamWriter.KIND_LONG, ColumnarResultStreamWriter.KIND_STRING,
+                ColumnarResultStreamWriter.KIND_DOUBLE, ColumnarResultStreamWriter.KIND_BOOLEAN}, kinds);
+
+        // First batch: rows 1-2, name is null in row 2
+        assertEquals('B', in.readByte());
+        assertEquals(2, in.readInt());
+        assertEquals(0, in.readByte());
+        assertEquals(1L, in.readLong());
+        assertEquals(2L, in.readLong());
+        assertEquals(0b10, in.readByte());
+        assertEquals("ada", readString(in));
+        assertEquals(0, in.readByte());
+        assertEquals(9.5, in.readDouble());
+        assertEquals(7.25, in.readDouble());
+        assertEquals(0, in.readByte());
+        assertTrue(in.readBoolean());
+        assertFalse(in.readBoolean());
+
+        // Second batch: row 3, score is null
+        assertEquals('B', in.readByte());
+        assertEquals(1, in.readInt());
+        assertEquals(0, in.readByte());
+        assertEquals(3L, in.readLong());
+        assertEquals(0, in.readByte());
+        assertEquals("linus", readString(in));
+        assertEquals(1, in.readByte());
+        assertEquals(0, in.readByte());
+        assertTrue(in.readBoolean());
+
+        assertEquals('E', in.readByte());
+        assertEquals(3L, in.readLong());
+        assertFalse(in.readBoolean());
+        assertEquals(5L, in.readLong());
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void from_ShouldDefaultToNdjsonAndRejectUnknownFormats() {
+        assertEquals(ResultStreamFormat.NDJSON, ResultStreamFormat.from(null));
+        assertEquals(ResultStreamFormat.COLUMNAR, ResultStreamFormat.from("Columnar"));
+        assertThrows(IllegalArgumentException.class, () -> ResultStreamFormat.from("arrow"));
+    }
+
+    private void stream(ResultStreamWriter writer) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SQL)) {
+            writer.start(resultSet.getMetaData());
+            long rows = 0;
+            while (resultSet.next()) {
+                writer.row(resultSet);
+                rows++;
+            }
+            writer.end(rows, false, 5L);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}